@@ -0,0 +1,50 @@
+package io.github.dependency4j.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+/**
+ *
+ * Runs {@link QueryBenchmark#queryByType()} with {@code -prof gc} and asserts that
+ * the normalized allocation rate is zero bytes per operation on a warmed container.
+ * The process exits with status {@code 1} when the query path allocates.
+ *
+ **/
+public final class AllocationAssertion {
+
+    /* JMH reports tiny non-zero values caused by the harness itself. */
+    private static final double ALLOCATION_TOLERANCE_BYTES = 0.5;
+    private static final String ALLOCATION_RATE_NORM = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(QueryBenchmark.class.getName() + ".queryByType$")
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        Collection<RunResult> runResults = new Runner(options).run();
+
+        for (RunResult runResult : runResults) {
+            Result<?> allocationResult = runResult.getSecondaryResults().get(ALLOCATION_RATE_NORM);
+
+            if (allocationResult == null)
+                throw new IllegalStateException("GC profiler did not report " + ALLOCATION_RATE_NORM + ".");
+
+            double bytesPerOperation = allocationResult.getScore();
+            System.out.printf("%s: %.3f B/op%n", runResult.getParams().getBenchmark(), bytesPerOperation);
+
+            if (bytesPerOperation > ALLOCATION_TOLERANCE_BYTES) {
+                System.err.printf("query(Class) allocates %.3f B/op, expected 0 B/op.%n", bytesPerOperation);
+                System.exit(1);
+            }
+        }
+    }
+
+}
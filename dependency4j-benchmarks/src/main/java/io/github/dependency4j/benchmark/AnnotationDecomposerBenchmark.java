@@ -0,0 +1,50 @@
+package io.github.dependency4j.benchmark;
+
+import io.github.dependency4j.AnnotationDecomposer;
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.TypeInformationHolderFactory;
+import io.github.dependency4j.benchmark.composed.ComposedBeans;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * Measures {@link AnnotationDecomposer} on classes whose {@link Managed} annotation is
+ * reached through 0 to 4 meta-annotations.
+ *
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnnotationDecomposerBenchmark {
+
+    @Param({"0", "1", "2", "3", "4"})
+    private int depth;
+
+    private Class<?> composedClassType;
+    private Annotation managedSiblingAnnotation;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        composedClassType = ComposedBeans.BY_DEPTH[depth];
+        managedSiblingAnnotation = AnnotationDecomposer
+                .decomposeSiblingAnnotation(composedClassType, Managed.class);
+    }
+
+    @Benchmark
+    public Managed decomposeAnnotationFromMember() {
+        return AnnotationDecomposer.decomposeAnnotationFromMember(composedClassType, Managed.class);
+    }
+
+    @Benchmark
+    public Object decomposeProperty() {
+        return AnnotationDecomposer.decomposeProperty(
+                TypeInformationHolderFactory.MANAGED_PROPERTY_NAME, managedSiblingAnnotation);
+    }
+
+}
@@ -0,0 +1,101 @@
+package io.github.dependency4j.benchmark;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ *
+ * Runs the benchmarks and records the results per Dependency4j version, so they can be
+ * compared across releases:
+ * <pre>
+ *  benchmark-results/dependency4j-&lt;version&gt;.json   full JMH result of this run
+ *  benchmark-results/history.csv                     one line per benchmark and run
+ * </pre>
+ * The first argument is an optional JMH include pattern. The output directory can be
+ * changed with {@code -Ddependency4j.results.dir}.
+ *
+ **/
+public final class BenchmarkReport {
+
+    private static final String DEFAULT_INCLUDE = "io\\.github\\.dependency4j\\.benchmark\\..*Benchmark";
+    private static final String HISTORY_HEADER = "version,timestamp,benchmark,params,mode,score,error,unit";
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String version = libraryVersion();
+        String include = (args.length > 0) ? args[0] : DEFAULT_INCLUDE;
+
+        Path resultDirectory = Path.of(System.getProperty("dependency4j.results.dir", "benchmark-results"));
+        Files.createDirectories(resultDirectory);
+
+        Path jsonResultFile = resultDirectory.resolve("dependency4j-" + version + ".json");
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(jsonResultFile.toString())
+                .build();
+
+        Collection<RunResult> runResults = new Runner(options).run();
+        appendHistory(resultDirectory.resolve("history.csv"), version, runResults);
+    }
+
+    private static void appendHistory(Path historyFile, String version,
+                                      Collection<RunResult> runResults) throws IOException {
+        StringBuilder historyLines = new StringBuilder();
+
+        if (Files.notExists(historyFile))
+            historyLines.append(HISTORY_HEADER).append('\n');
+
+        String timestamp = Instant.now().toString();
+        for (RunResult runResult : runResults) {
+            var primaryResult = runResult.getPrimaryResult();
+            var benchmarkParams = runResult.getParams();
+
+            String params = new TreeMap<>(benchmarkParams.getParamsKeys().stream()
+                    .collect(Collectors.toMap(key -> key, benchmarkParams::getParam)))
+                    .entrySet().stream()
+                    .map(entry -> entry.getKey() + "=" + entry.getValue())
+                    .collect(Collectors.joining(";"));
+
+            historyLines.append(String.join(",",
+                    version,
+                    timestamp,
+                    benchmarkParams.getBenchmark(),
+                    params,
+                    benchmarkParams.getMode().shortLabel(),
+                    Double.toString(primaryResult.getScore()),
+                    Double.toString(primaryResult.getScoreError()),
+                    primaryResult.getScoreUnit())).append('\n');
+        }
+        Files.writeString(historyFile, historyLines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static String libraryVersion() {
+        try (InputStream inputStream = BenchmarkReport.class
+                .getResourceAsStream("/dependency4j-benchmarks.properties")) {
+            Properties properties = new Properties();
+            if (inputStream != null)
+                properties.load(inputStream);
+            return properties.getProperty("dependency4j.version", "unknown");
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+}
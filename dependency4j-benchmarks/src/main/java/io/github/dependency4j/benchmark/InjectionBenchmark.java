@@ -0,0 +1,42 @@
+package io.github.dependency4j.benchmark;
+
+import io.github.dependency4j.DependencyManager;
+import io.github.dependency4j.InstallationType;
+import io.github.dependency4j.benchmark.fixture.InjectionTarget;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * Measures {@code installInstance} field and setter injection into a non managed
+ * object, on a warmed container. {@link InstallationType#STANDALONE} keeps the tree
+ * unchanged between invocations.
+ *
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InjectionBenchmark {
+
+    private DependencyManager dependencyManager;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dependencyManager = DependencyManager.builder()
+                .installPackage(QueryBenchmark.FIXTURE_PACKAGE)
+                .getDependencyManager();
+
+        if (!dependencyManager.installInstance(new InjectionTarget(), InstallationType.STANDALONE).isInjected())
+            throw new IllegalStateException("InjectionTarget was not injected.");
+    }
+
+    @Benchmark
+    public InjectionTarget installInstance() {
+        return dependencyManager.installInstance(new InjectionTarget(), InstallationType.STANDALONE);
+    }
+
+}
@@ -0,0 +1,52 @@
+package io.github.dependency4j.benchmark;
+
+import io.github.dependency4j.DependencyManager;
+import io.github.dependency4j.benchmark.generator.FixtureSpec;
+import io.github.dependency4j.benchmark.generator.Fixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * Measures a full {@code installPackage} over generated packages of 100, 1k and 10k
+ * managed classes: scanning, decomposition, tree insertion and instantiation. Classes
+ * are loaded by the first installation, so the measurement excludes class loading.
+ *
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class InstallPackageBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int beanCount;
+
+    private String packageName;
+    private URLClassLoader classLoader;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        packageName = "io.github.dependency4j.generated.install" + beanCount;
+        classLoader = Fixtures.generate(new FixtureSpec(packageName, beanCount))
+                .newDirectoryClassLoader();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        classLoader.close();
+    }
+
+    @Benchmark
+    public DependencyManager installPackage() {
+        DependencyManager dependencyManager = new DependencyManager();
+        dependencyManager.installPackage(packageName, classLoader);
+        return dependencyManager;
+    }
+
+}
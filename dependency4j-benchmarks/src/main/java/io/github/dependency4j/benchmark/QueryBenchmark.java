@@ -0,0 +1,64 @@
+package io.github.dependency4j.benchmark;
+
+import io.github.dependency4j.DependencyManager;
+import io.github.dependency4j.QueryOptions;
+import io.github.dependency4j.benchmark.fixture.CatalogService;
+import io.github.dependency4j.benchmark.fixture.IRepository;
+import io.github.dependency4j.benchmark.fixture.IService;
+import io.github.dependency4j.benchmark.fixture.OrderController;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * Measures the single-result query path of a warmed {@link DependencyManager}.
+ * {@link AllocationAssertion} runs this benchmark with the GC profiler and fails
+ * when {@link #queryByType()} allocates.
+ *
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+
+    public static final String FIXTURE_PACKAGE = "io.github.dependency4j.benchmark.fixture";
+
+    private static final QueryOptions BY_REPOSITORY_NAME = QueryOptions.byName("inMemoryRepository");
+
+    private DependencyManager dependencyManager;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dependencyManager = DependencyManager.builder()
+                .installPackage(FIXTURE_PACKAGE)
+                .getDependencyManager();
+
+        if (dependencyManager.query(OrderController.class) == null)
+            throw new IllegalStateException("The fixture package was not installed.");
+    }
+
+    @Benchmark
+    public Object queryByType() {
+        return dependencyManager.query(IService.class);
+    }
+
+    @Benchmark
+    public Object queryByConcreteType() {
+        return dependencyManager.query(CatalogService.class);
+    }
+
+    @Benchmark
+    public Object queryByName() {
+        return dependencyManager.query(IRepository.class, BY_REPOSITORY_NAME);
+    }
+
+    @Benchmark
+    public Object queryAll() {
+        return dependencyManager.queryAll(IService.class);
+    }
+
+}
@@ -0,0 +1,56 @@
+package io.github.dependency4j.benchmark;
+
+import io.github.dependency4j.ClassFinder;
+import io.github.dependency4j.benchmark.generator.GeneratedFixture;
+import io.github.dependency4j.benchmark.generator.FixtureSpec;
+import io.github.dependency4j.benchmark.generator.Fixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * Measures {@link ClassFinder#scanPackages(ClassLoader, String)} over the same generated
+ * classes stored as a class directory and as a jar file.
+ *
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScanBenchmark {
+
+    public static final int SCANNED_BEAN_COUNT = 1000;
+
+    @Param({"directory", "jar"})
+    private String source;
+
+    private String packageName;
+    private URLClassLoader classLoader;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        packageName = "io.github.dependency4j.generated.scan";
+        GeneratedFixture generatedFixture = Fixtures.generate(new FixtureSpec(packageName, SCANNED_BEAN_COUNT));
+
+        classLoader = source.equals("jar")
+                ? generatedFixture.newJarClassLoader()
+                : generatedFixture.newDirectoryClassLoader();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        classLoader.close();
+    }
+
+    @Benchmark
+    public Set<Class<?>> scanPackages() {
+        return ClassFinder.scanPackages(classLoader, packageName);
+    }
+
+}
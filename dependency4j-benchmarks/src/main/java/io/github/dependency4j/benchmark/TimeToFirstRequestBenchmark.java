@@ -0,0 +1,81 @@
+package io.github.dependency4j.benchmark;
+
+import io.github.dependency4j.DependencyManager;
+import io.github.dependency4j.benchmark.generator.FixtureSpec;
+import io.github.dependency4j.benchmark.generator.Fixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * Measures the time to the first request: {@code installPackage} of 1k and 10k generated
+ * classes followed by the first query of one bean. With {@code accessTrace}, the manager
+ * reads the trace saved by a previous run that queried the same bean, so only that bean
+ * and its dependencies are instantiated before the query; the cold beans are created by
+ * the warm-up thread, which is awaited outside of the measurement.
+ *
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TimeToFirstRequestBenchmark {
+
+    @Param({"1000", "10000"})
+    private int beanCount;
+
+    @Param({"false", "true"})
+    private boolean accessTrace;
+
+    private String packageName;
+    private URLClassLoader classLoader;
+    private Class<?> requestedClassType;
+    private Path traceFile;
+    private DependencyManager dependencyManager;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        packageName = "io.github.dependency4j.generated.request" + beanCount;
+        classLoader = Fixtures.generate(new FixtureSpec(packageName, beanCount))
+                .newDirectoryClassLoader();
+        requestedClassType = classLoader.loadClass(packageName + ".Bean0");
+        traceFile = Files.createTempFile("dependency4j-access", ".trace");
+
+        /* the previous run, which records the first request */
+        DependencyManager previousManager = new DependencyManager();
+        previousManager.enableAccessTrace(traceFile);
+        previousManager.installPackage(packageName, classLoader);
+        previousManager.query(requestedClassType);
+        previousManager.saveAccessTrace();
+    }
+
+    @TearDown(Level.Invocation)
+    public void awaitWarmUp() throws InterruptedException {
+        dependencyManager.awaitWarmUp(Duration.ofMinutes(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        classLoader.close();
+        Files.deleteIfExists(traceFile);
+    }
+
+    @Benchmark
+    public Object firstRequest() {
+        dependencyManager = new DependencyManager();
+        if (accessTrace)
+            dependencyManager.enableAccessTrace(traceFile);
+
+        dependencyManager.installPackage(packageName, classLoader);
+        return dependencyManager.query(requestedClassType);
+    }
+
+}
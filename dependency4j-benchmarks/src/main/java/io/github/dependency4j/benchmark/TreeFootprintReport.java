@@ -0,0 +1,158 @@
+package io.github.dependency4j.benchmark;
+
+import io.github.dependency4j.AbstractNode;
+import io.github.dependency4j.DependencySearchTree;
+import io.github.dependency4j.TypeInformationHolderFactory;
+import io.github.dependency4j.node.SingletonNode;
+import org.openjdk.jol.vm.VM;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ *
+ * Reports the heap retained by the {@link DependencySearchTree} structure itself: the
+ * nodes and the containers that hold their children. Bean instances, class metadata and
+ * {@code TypeInformationHolder}s are not counted. The tree is filled with the public
+ * concrete classes of a few {@code java.base} packages, which gives realistic interface
+ * and superclass hierarchies.
+ * <p>
+ * Requires {@code --add-opens java.base/java.util=ALL-UNNAMED} to walk the JDK
+ * collections used by the nodes.
+ *
+ **/
+public final class TreeFootprintReport {
+
+    private static final List<String> SCANNED_PACKAGES = List.of(
+            "java/util", "java/util/concurrent", "java/io", "java/time", "java/text", "java/net");
+
+    public static void main(String[] args) throws IOException {
+        List<Class<?>> classTypes = collectConcreteClassTypes();
+
+        DependencySearchTree dependencySearchTree = new DependencySearchTree();
+        for (Class<?> classType : classTypes)
+            dependencySearchTree.insert(TypeInformationHolderFactory.createTypeInformation(classType));
+
+        Map<Object, Boolean> visitedObjects = new IdentityHashMap<>();
+        long structureBytes = measureNode(dependencySearchTree.getRootNode(), visitedObjects);
+
+        System.out.printf("beans: %d%n", classTypes.size());
+        System.out.printf("tree structure: %d bytes%n", structureBytes);
+        System.out.printf("bytes per bean: %.1f%n", (double) structureBytes / classTypes.size());
+    }
+
+    private static long measureNode(AbstractNode node, Map<Object, Boolean> visitedObjects) {
+        if (visitedObjects.put(node, Boolean.TRUE) != null)
+            return 0;
+
+        long size = VM.current().sizeOf(node);
+
+        if (node instanceof SingletonNode)
+            return size;
+
+        for (Field field : declaredFieldsOf(node.getClass())) {
+            Object fieldValue = readField(field, node);
+            if (fieldValue != null)
+                size += measureContainer(fieldValue, visitedObjects);
+        }
+        for (AbstractNode childNode : node.children())
+            size += measureNode(childNode, visitedObjects);
+
+        return size;
+    }
+
+    /* walks collection internals and arrays, stops at nodes and any other object */
+    private static long measureContainer(Object object, Map<Object, Boolean> visitedObjects) {
+        if (object instanceof AbstractNode || object instanceof Class<?>)
+            return 0;
+
+        Class<?> objectClassType = object.getClass();
+        boolean isContainer = objectClassType.isArray() || objectClassType.getName().startsWith("java.util.");
+
+        if (!isContainer || visitedObjects.put(object, Boolean.TRUE) != null)
+            return 0;
+
+        long size = VM.current().sizeOf(object);
+
+        if (objectClassType.isArray()) {
+            if (!objectClassType.getComponentType().isPrimitive())
+                for (int i = 0; i < Array.getLength(object); i++) {
+                    Object element = Array.get(object, i);
+                    if (element != null)
+                        size += measureContainer(element, visitedObjects);
+                }
+            return size;
+        }
+        for (Field field : declaredFieldsOf(objectClassType)) {
+            Object fieldValue = readField(field, object);
+            if (fieldValue != null)
+                size += measureContainer(fieldValue, visitedObjects);
+        }
+        return size;
+    }
+
+    private static List<Field> declaredFieldsOf(Class<?> classType) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = classType; current != null; current = current.getSuperclass())
+            for (Field field : current.getDeclaredFields())
+                if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive())
+                    fields.add(field);
+        return fields;
+    }
+
+    private static Object readField(Field field, Object object) {
+        try {
+            field.setAccessible(true);
+            return field.get(object);
+        } catch (IllegalAccessException | RuntimeException exception) {
+            throw new IllegalStateException("Could not read " + field + ", is java.util opened?", exception);
+        }
+    }
+
+    private static List<Class<?>> collectConcreteClassTypes() throws IOException {
+        List<Class<?>> classTypes = new ArrayList<>();
+        FileSystem jrtFileSystem = FileSystems.getFileSystem(URI.create("jrt:/"));
+
+        for (String packagePath : SCANNED_PACKAGES) {
+            Path packageDirectory = jrtFileSystem.getPath("modules", "java.base", packagePath);
+
+            if (!Files.isDirectory(packageDirectory))
+                continue;
+
+            try (Stream<Path> classFiles = Files.list(packageDirectory)) {
+                classFiles
+                        .map(Path::getFileName)
+                        .map(Path::toString)
+                        .filter(fileName -> fileName.endsWith(".class") && !fileName.contains("$"))
+                        .sorted()
+                        .map(fileName -> packagePath.replace('/', '.') + "." +
+                                fileName.substring(0, fileName.length() - ".class".length()))
+                        .map(TreeFootprintReport::loadClass)
+                        .filter(Objects::nonNull)
+                        .filter(classType -> Modifier.isPublic(classType.getModifiers()))
+                        .filter(classType -> !classType.isInterface() && !classType.isAnnotation())
+                        .filter(classType -> !Modifier.isAbstract(classType.getModifiers()))
+                        .forEach(classTypes::add);
+            }
+        }
+        return classTypes;
+    }
+
+    private static Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className, false, ClassLoader.getSystemClassLoader());
+        } catch (ClassNotFoundException | LinkageError exception) {
+            return null;
+        }
+    }
+
+}
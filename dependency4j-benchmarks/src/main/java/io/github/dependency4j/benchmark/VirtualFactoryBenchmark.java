@@ -0,0 +1,32 @@
+package io.github.dependency4j.benchmark;
+
+import io.github.dependency4j.DependencyManager;
+import io.github.dependency4j.benchmark.virtual.ConnectionPool;
+import io.github.dependency4j.benchmark.virtual.VirtualFactories;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * Measures the resolution of {@code @Virtual} factory methods on a fresh container:
+ * insertion of the virtual nodes, lazy invocation on query, and injection of one virtual
+ * product into another.
+ *
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VirtualFactoryBenchmark {
+
+    @Benchmark
+    public ConnectionPool resolveVirtualFactories() {
+        DependencyManager dependencyManager = new DependencyManager();
+        dependencyManager.installType(VirtualFactories.class);
+        return dependencyManager.query(ConnectionPool.class);
+    }
+
+}
@@ -0,0 +1,34 @@
+package io.github.dependency4j.benchmark.composed;
+
+import io.github.dependency4j.Managed;
+
+/**
+ *
+ * Managed classes whose {@link Managed} annotation is reached through an increasing
+ * number of meta-annotations. The index of {@link #BY_DEPTH} is the composition depth.
+ *
+ **/
+public final class ComposedBeans {
+
+    public static final Class<?>[] BY_DEPTH = {
+            Depth0Bean.class, Depth1Bean.class, Depth2Bean.class, Depth3Bean.class, Depth4Bean.class
+    };
+
+    private ComposedBeans() {}
+
+    @Managed(name = "depth0")
+    public static class Depth0Bean { }
+
+    @ComposedDepth1
+    public static class Depth1Bean { }
+
+    @ComposedDepth2
+    public static class Depth2Bean { }
+
+    @ComposedDepth3
+    public static class Depth3Bean { }
+
+    @ComposedDepth4
+    public static class Depth4Bean { }
+
+}
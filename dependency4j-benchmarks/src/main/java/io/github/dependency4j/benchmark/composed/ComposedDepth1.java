@@ -0,0 +1,13 @@
+package io.github.dependency4j.benchmark.composed;
+
+import io.github.dependency4j.Managed;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Managed
+@Target({ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ComposedDepth1 { }
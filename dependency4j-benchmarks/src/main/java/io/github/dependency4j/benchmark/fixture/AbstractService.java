@@ -0,0 +1,3 @@
+package io.github.dependency4j.benchmark.fixture;
+
+public abstract class AbstractService implements IService { }
@@ -0,0 +1,19 @@
+package io.github.dependency4j.benchmark.fixture;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Pull;
+
+@Managed(name = "catalogService")
+public class CatalogService extends AbstractService {
+
+    private final IRepository repository;
+
+    public @Pull CatalogService(IRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public IRepository getRepository() {
+        return repository;
+    }
+}
@@ -0,0 +1,7 @@
+package io.github.dependency4j.benchmark.fixture;
+
+public interface IRepository {
+
+    String findById(long id);
+
+}
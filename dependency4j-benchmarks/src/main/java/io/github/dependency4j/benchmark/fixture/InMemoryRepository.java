@@ -0,0 +1,12 @@
+package io.github.dependency4j.benchmark.fixture;
+
+import io.github.dependency4j.Managed;
+
+@Managed(name = "inMemoryRepository")
+public class InMemoryRepository implements IRepository {
+
+    @Override
+    public String findById(long id) {
+        return "entity-" + id;
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.dependency4j.benchmark.fixture;
+
+import io.github.dependency4j.Pull;
+
+/**
+ *
+ * Non managed class used by the installInstance benchmarks. It receives field
+ * injection by type and by name, and setter injection.
+ *
+ **/
+public class InjectionTarget {
+
+    private @Pull IService service;
+
+    private @Pull("inMemoryRepository") IRepository repository;
+
+    private OrderController orderController;
+
+    @Pull
+    public void setOrderController(OrderController orderController) {
+        this.orderController = orderController;
+    }
+
+    public boolean isInjected() {
+        return service != null && repository != null && orderController != null;
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.dependency4j.benchmark.fixture;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Pull;
+
+@Managed(name = "orderController")
+public class OrderController {
+
+    private @Pull IService service;
+
+    private @Pull("inMemoryRepository") IRepository repository;
+
+    public IService getService() {
+        return service;
+    }
+
+    public IRepository getRepository() {
+        return repository;
+    }
+}
@@ -0,0 +1,235 @@
+package io.github.dependency4j.benchmark.generator;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ *
+ * Writes synthetic {@code @Managed} classes shaped by a {@link FixtureSpec}, compiles them
+ * with the system Java compiler and packs the result as a jar. Outputs are cached by {@link FixtureSpec#signature()}
+ * under the given root directory, so the same specification is compiled only once.
+ *
+ **/
+public final class FixtureGenerator {
+
+    private static final String COMPLETED_MARKER = ".completed";
+    public static final int LEVEL_COUNT = 10;
+
+    private FixtureGenerator() {}
+
+    public static GeneratedFixture generate(FixtureSpec spec, Path rootDirectory) {
+        Path fixtureDirectory = rootDirectory.resolve(spec.signature());
+        Path sourceDirectory  = fixtureDirectory.resolve("src");
+        Path classDirectory   = fixtureDirectory.resolve("classes");
+        Path jarFile          = fixtureDirectory.resolve(spec.signature() + ".jar");
+
+        GeneratedFixture generatedFixture = new GeneratedFixture(spec, classDirectory, jarFile);
+
+        if (Files.exists(fixtureDirectory.resolve(COMPLETED_MARKER)))
+            return generatedFixture;
+
+        try {
+            List<Path> sourceFiles = writeSources(spec, sourceDirectory);
+            compile(sourceFiles, classDirectory);
+            writeJar(classDirectory, jarFile);
+            Files.createFile(fixtureDirectory.resolve(COMPLETED_MARKER));
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to generate " + spec, exception);
+        }
+        return generatedFixture;
+    }
+
+    private static List<Path> writeSources(FixtureSpec spec, Path sourceDirectory) throws IOException {
+        Path packageDirectory = sourceDirectory.resolve(spec.packageName().replace('.', '/'));
+        Files.createDirectories(packageDirectory);
+
+        List<Path> sourceFiles = new ArrayList<>();
+        int levelCount = Math.min(LEVEL_COUNT, spec.beanCount());
+
+        for (int level = 0; level < levelCount; level++)
+            for (int contract = 0; contract < spec.interfaceFanOut(); contract++)
+                sourceFiles.add(writeSource(packageDirectory, contractName(level, contract), """
+                        package %s;
+
+                        public interface %s {
+                            int id();
+                        }
+                        """.formatted(spec.packageName(), contractName(level, contract))));
+
+        for (int depth = 0; depth < spec.hierarchyDepth(); depth++)
+            sourceFiles.add(writeSource(packageDirectory, "Layer" + depth, """
+                    package %s;
+
+                    public abstract class Layer%d %s {
+                    }
+                    """.formatted(spec.packageName(), depth, (depth > 0) ? "extends Layer" + (depth - 1) : "")));
+
+        for (int depth = 1; depth <= spec.composedAnnotationDepth(); depth++)
+            sourceFiles.add(writeSource(packageDirectory, "Composed" + depth, """
+                    package %s;
+
+                    import java.lang.annotation.ElementType;
+                    import java.lang.annotation.Retention;
+                    import java.lang.annotation.RetentionPolicy;
+                    import java.lang.annotation.Target;
+
+                    @%s
+                    @Retention(RetentionPolicy.RUNTIME)
+                    @Target({ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+                    public @interface Composed%d {
+                    }
+                    """.formatted(spec.packageName(),
+                    (depth > 1) ? "Composed" + (depth - 1) : "io.github.dependency4j.Managed", depth)));
+
+        String beanAnnotation = (spec.composedAnnotationDepth() > 0)
+                ? "Composed" + spec.composedAnnotationDepth()
+                : "io.github.dependency4j.Managed";
+
+        String superclass = (spec.hierarchyDepth() > 0)
+                ? "extends Layer" + (spec.hierarchyDepth() - 1) + " "
+                : "";
+
+        for (int i = 0; i < spec.beanCount(); i++) {
+            int level = i % levelCount;
+
+            StringJoiner implementedContracts = new StringJoiner(", ");
+            for (int contract = 0; contract < spec.interfaceFanOut(); contract++)
+                implementedContracts.add(contractName(level, contract));
+
+            /* beans only pull contracts of the following levels, so the dependency graph stays acyclic */
+            StringBuilder dependencyFields = new StringBuilder();
+            for (int edge = 0; edge < spec.pullDensity() && level + 1 + edge < levelCount; edge++)
+                dependencyFields.append("    private @io.github.dependency4j.Pull %s dependency%d;\n"
+                        .formatted(contractName(level + 1 + edge, edge % spec.interfaceFanOut()), edge));
+
+            sourceFiles.add(writeSource(packageDirectory, "Bean" + i, """
+                    package %s;
+
+                    @%s
+                    public class Bean%d %simplements %s {
+
+                    %s
+                        @Override
+                        public int id() {
+                            return %d;
+                        }
+                    }
+                    """.formatted(spec.packageName(), beanAnnotation, i, superclass,
+                    implementedContracts, dependencyFields, i)));
+        }
+
+        if (spec.virtualFactoryCount() > 0)
+            sourceFiles.addAll(writeVirtualFactory(spec, packageDirectory));
+
+        return sourceFiles;
+    }
+
+    private static List<Path> writeVirtualFactory(FixtureSpec spec, Path packageDirectory) throws IOException {
+        List<Path> sourceFiles = new ArrayList<>();
+        StringBuilder virtualMethods = new StringBuilder();
+        StringBuilder productFields  = new StringBuilder();
+
+        for (int i = 0; i < spec.virtualFactoryCount(); i++) {
+            sourceFiles.add(writeSource(packageDirectory, "Product" + i, """
+                    package %s;
+
+                    public record Product%d(int id) {
+                    }
+                    """.formatted(spec.packageName(), i)));
+
+            virtualMethods.append("""
+                        @io.github.dependency4j.Virtual
+                        public Product%d product%d() {
+                            return new Product%d(%d);
+                        }
+
+                    """.formatted(i, i, i, i));
+
+            productFields.append("    private @io.github.dependency4j.Pull Product%d product%d;\n".formatted(i, i));
+        }
+
+        sourceFiles.add(writeSource(packageDirectory, "VirtualFactory", """
+                package %s;
+
+                @io.github.dependency4j.Managed
+                public class VirtualFactory {
+
+                %s}
+                """.formatted(spec.packageName(), virtualMethods)));
+
+        /* virtual products are only created when pulled */
+        sourceFiles.add(writeSource(packageDirectory, "VirtualConsumer", """
+                package %s;
+
+                @io.github.dependency4j.Managed
+                public class VirtualConsumer {
+
+                %s}
+                """.formatted(spec.packageName(), productFields)));
+
+        return sourceFiles;
+    }
+
+    private static String contractName(int level, int contract) {
+        return "Contract" + level + "x" + contract;
+    }
+
+    private static Path writeSource(Path packageDirectory, String simpleName, String source) throws IOException {
+        return Files.writeString(packageDirectory.resolve(simpleName + ".java"), source);
+    }
+
+    private static void compile(List<Path> sourceFiles, Path classDirectory) throws IOException {
+        JavaCompiler javaCompiler = ToolProvider.getSystemJavaCompiler();
+
+        if (javaCompiler == null)
+            throw new IllegalStateException("A JDK is required to generate fixtures.");
+
+        Files.createDirectories(classDirectory);
+
+        List<String> arguments = new ArrayList<>(List.of(
+                "-proc:none",
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", classDirectory.toString()));
+
+        sourceFiles.forEach(sourceFile -> arguments.add(sourceFile.toString()));
+
+        int exitCode = javaCompiler.run(null, null, null, arguments.toArray(String[]::new));
+
+        if (exitCode != 0)
+            throw new IllegalStateException("Fixture compilation failed with exit code " + exitCode + ".");
+    }
+
+    private static void writeJar(Path classDirectory, Path jarFile) throws IOException {
+        try (JarOutputStream jarOutputStream = new JarOutputStream(Files.newOutputStream(jarFile));
+             Stream<Path> classFiles = Files.walk(classDirectory)) {
+
+            /* directory entries are required for ClassLoader#getResources to find the package */
+            for (Path classFile : (Iterable<Path>) classFiles.filter(path -> !path.equals(classDirectory))::iterator) {
+                String entryName = classDirectory.relativize(classFile).toString().replace('\\', '/');
+                if (Files.isDirectory(classFile)) {
+                    jarOutputStream.putNextEntry(new JarEntry(entryName + "/"));
+                } else {
+                    jarOutputStream.putNextEntry(new JarEntry(entryName));
+                    copy(classFile, jarOutputStream);
+                }
+                jarOutputStream.closeEntry();
+            }
+        }
+    }
+
+    private static void copy(Path classFile, OutputStream outputStream) throws IOException {
+        Files.copy(classFile, outputStream);
+    }
+
+}
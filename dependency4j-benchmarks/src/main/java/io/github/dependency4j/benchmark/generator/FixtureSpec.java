@@ -0,0 +1,113 @@
+package io.github.dependency4j.benchmark.generator;
+
+/**
+ *
+ * Describes a synthetic package of managed classes written by {@link FixtureGenerator}.
+ * <p>
+ * Beans are spread over {@link FixtureGenerator#LEVEL_COUNT} levels. A bean implements
+ * {@code interfaceFanOut} contracts of its own level and pulls contracts of the following
+ * levels only, so the dependency graph is always acyclic.
+ *
+ * @param packageName             The package of the generated classes.
+ * @param beanCount               The number of {@code @Managed} classes.
+ * @param interfaceFanOut         The number of contracts implemented by each bean.
+ * @param hierarchyDepth          The number of abstract superclasses above each bean.
+ * @param composedAnnotationDepth The number of annotations between {@code @Managed} and
+ *                                the annotation present on each bean.
+ * @param pullDensity             The number of {@code @Pull} fields of each bean.
+ * @param virtualFactoryCount     The number of {@code @Virtual} methods of the generated
+ *                                factory class. No factory is generated when zero.
+ *
+ **/
+public record FixtureSpec(String packageName,
+                          int beanCount,
+                          int interfaceFanOut,
+                          int hierarchyDepth,
+                          int composedAnnotationDepth,
+                          int pullDensity,
+                          int virtualFactoryCount) {
+
+    public FixtureSpec {
+        if (packageName == null || packageName.isBlank())
+            throw new IllegalArgumentException("packageName must not be blank.");
+        if (beanCount < 1)
+            throw new IllegalArgumentException("beanCount must be positive.");
+        if (interfaceFanOut < 1)
+            throw new IllegalArgumentException("interfaceFanOut must be positive.");
+        if (hierarchyDepth < 0 || composedAnnotationDepth < 0 || pullDensity < 0 || virtualFactoryCount < 0)
+            throw new IllegalArgumentException("depths, density and counts must not be negative.");
+    }
+
+    /**
+     *
+     * One contract per bean, no superclass, {@code @Managed} directly, one {@code @Pull}
+     * field and no virtual factory.
+     *
+     **/
+    public FixtureSpec(String packageName, int beanCount) {
+        this(packageName, beanCount, 1, 0, 0, 1, 0);
+    }
+
+    public static Builder builder(String packageName, int beanCount) {
+        return new Builder(packageName, beanCount);
+    }
+
+    /**
+     *
+     * A stable identifier of the specification, used to reuse generated output
+     * across benchmark forks and test runs.
+     *
+     **/
+    public String signature() {
+        return "%s-%d-f%d-h%d-c%d-p%d-v%d".formatted(packageName, beanCount, interfaceFanOut,
+                hierarchyDepth, composedAnnotationDepth, pullDensity, virtualFactoryCount);
+    }
+
+    public static final class Builder {
+
+        private final String packageName;
+        private final int beanCount;
+        private int interfaceFanOut = 1;
+        private int hierarchyDepth;
+        private int composedAnnotationDepth;
+        private int pullDensity = 1;
+        private int virtualFactoryCount;
+
+        private Builder(String packageName, int beanCount) {
+            this.packageName = packageName;
+            this.beanCount = beanCount;
+        }
+
+        public Builder interfaceFanOut(int interfaceFanOut) {
+            this.interfaceFanOut = interfaceFanOut;
+            return this;
+        }
+
+        public Builder hierarchyDepth(int hierarchyDepth) {
+            this.hierarchyDepth = hierarchyDepth;
+            return this;
+        }
+
+        public Builder composedAnnotationDepth(int composedAnnotationDepth) {
+            this.composedAnnotationDepth = composedAnnotationDepth;
+            return this;
+        }
+
+        public Builder pullDensity(int pullDensity) {
+            this.pullDensity = pullDensity;
+            return this;
+        }
+
+        public Builder virtualFactoryCount(int virtualFactoryCount) {
+            this.virtualFactoryCount = virtualFactoryCount;
+            return this;
+        }
+
+        public FixtureSpec build() {
+            return new FixtureSpec(packageName, beanCount, interfaceFanOut, hierarchyDepth,
+                    composedAnnotationDepth, pullDensity, virtualFactoryCount);
+        }
+
+    }
+
+}
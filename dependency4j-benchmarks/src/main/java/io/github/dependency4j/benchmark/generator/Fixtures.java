@@ -0,0 +1,26 @@
+package io.github.dependency4j.benchmark.generator;
+
+import java.nio.file.Path;
+
+/**
+ *
+ * Shared location of the generated fixtures. Defaults to a directory under
+ * {@code java.io.tmpdir} and can be changed with {@code -Ddependency4j.fixtures.dir}.
+ *
+ **/
+public final class Fixtures {
+
+    public static final String FIXTURES_DIRECTORY_PROPERTY = "dependency4j.fixtures.dir";
+
+    private Fixtures() {}
+
+    public static Path rootDirectory() {
+        return Path.of(System.getProperty(FIXTURES_DIRECTORY_PROPERTY,
+                Path.of(System.getProperty("java.io.tmpdir"), "dependency4j-fixtures").toString()));
+    }
+
+    public static GeneratedFixture generate(FixtureSpec spec) {
+        return FixtureGenerator.generate(spec, rootDirectory());
+    }
+
+}
@@ -0,0 +1,50 @@
+package io.github.dependency4j.benchmark.generator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+
+/**
+ *
+ * The output of {@link FixtureGenerator}: the same compiled classes as a class directory
+ * and as a jar file.
+ *
+ * @param spec           The specification used to generate the classes.
+ * @param classDirectory The root directory of the compiled classes.
+ * @param jarFile        A jar file with the same compiled classes.
+ *
+ **/
+public record GeneratedFixture(FixtureSpec spec, Path classDirectory, Path jarFile) {
+
+    /**
+     *
+     * Creates a new class loader over the class directory. The parent is the class
+     * loader of Dependency4j, so the generated classes see the same annotations.
+     *
+     **/
+    public URLClassLoader newDirectoryClassLoader() {
+        return newClassLoader(classDirectory);
+    }
+
+    /**
+     *
+     * Creates a new class loader over the jar file.
+     *
+     **/
+    public URLClassLoader newJarClassLoader() {
+        return newClassLoader(jarFile);
+    }
+
+    private static URLClassLoader newClassLoader(Path classPathEntry) {
+        try {
+            URL[] urls = { classPathEntry.toUri().toURL() };
+            return new URLClassLoader(urls, GeneratedFixture.class.getClassLoader());
+        } catch (MalformedURLException exception) {
+            throw new UncheckedIOException(new IOException(exception));
+        }
+    }
+
+}
@@ -0,0 +1,3 @@
+package io.github.dependency4j.benchmark.virtual;
+
+public record Clock(String zone) { }
@@ -0,0 +1,3 @@
+package io.github.dependency4j.benchmark.virtual;
+
+public record ConnectionPool(Clock clock, int size) { }
@@ -0,0 +1,23 @@
+package io.github.dependency4j.benchmark.virtual;
+
+import io.github.dependency4j.Virtual;
+
+/**
+ *
+ * Holder of {@link Virtual} factory methods. The pool factory depends on the clock
+ * product, so resolving it exercises virtual parameter injection.
+ *
+ **/
+public class VirtualFactories {
+
+    @Virtual
+    public Clock clock() {
+        return new Clock("UTC");
+    }
+
+    @Virtual
+    public ConnectionPool connectionPool(Clock clock) {
+        return new ConnectionPool(clock, 8);
+    }
+
+}
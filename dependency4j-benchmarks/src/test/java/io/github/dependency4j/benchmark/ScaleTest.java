@@ -0,0 +1,129 @@
+package io.github.dependency4j.benchmark;
+
+import io.github.dependency4j.DependencyManager;
+import io.github.dependency4j.benchmark.generator.FixtureGenerator;
+import io.github.dependency4j.benchmark.generator.FixtureSpec;
+import io.github.dependency4j.benchmark.generator.Fixtures;
+import io.github.dependency4j.benchmark.generator.GeneratedFixture;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.net.URLClassLoader;
+
+@DisplayName("installPackage scaling over generated packages")
+public class ScaleTest {
+
+    private static final int SMALL_BEAN_COUNT = 1000;
+    private static final int LARGE_BEAN_COUNT = 8000;
+
+    /* linear growth gives a ratio of 8, quadratic growth a ratio of 64 */
+    private static final double TIME_TOLERANCE   = 2.5;
+    private static final double MEMORY_TOLERANCE = 1.5;
+
+    private static final int MEASURED_INSTALLATIONS = 5;
+
+    @Test
+    @DisplayName("Generated knobs shape the installed container")
+    void generatedShapeTest() throws Exception {
+        FixtureSpec spec = FixtureSpec.builder("io.github.dependency4j.generated.shape", 40)
+                .interfaceFanOut(3)
+                .hierarchyDepth(3)
+                .composedAnnotationDepth(2)
+                .pullDensity(3)
+                .virtualFactoryCount(5)
+                .build();
+
+        try (URLClassLoader classLoader = Fixtures.generate(spec).newJarClassLoader()) {
+            DependencyManager dependencyManager = new DependencyManager();
+            dependencyManager.installPackage(spec.packageName(), classLoader);
+
+            Class<?> firstContract = classLoader.loadClass(spec.packageName() + ".Contract0x2");
+            Class<?> deepestLayer  = classLoader.loadClass(spec.packageName() + ".Layer2");
+            Class<?> lastProduct   = classLoader.loadClass(spec.packageName() + ".Product4");
+
+            Assertions.assertEquals(40 / FixtureGenerator.LEVEL_COUNT,
+                    dependencyManager.queryAll(firstContract).size());
+            Assertions.assertEquals(40, dependencyManager.queryAll(deepestLayer).size());
+            Assertions.assertNotNull(dependencyManager.query(lastProduct));
+        }
+    }
+
+    @Test
+    @DisplayName("installPackage time grows near-linearly with the bean count")
+    void installationTimeScalingTest() throws IOException {
+        double smallTime = measureInstallationNanos(SMALL_BEAN_COUNT);
+        double largeTime = measureInstallationNanos(LARGE_BEAN_COUNT);
+
+        double expectedRatio = (double) LARGE_BEAN_COUNT / SMALL_BEAN_COUNT;
+        double actualRatio   = largeTime / smallTime;
+
+        Assertions.assertTrue(actualRatio <= expectedRatio * TIME_TOLERANCE,
+                "installPackage time grew %.1fx for %.0fx more beans.".formatted(actualRatio, expectedRatio));
+    }
+
+    @Test
+    @DisplayName("Retained container memory grows near-linearly with the bean count")
+    void retainedMemoryScalingTest() throws IOException {
+        double smallMemory = measureRetainedBytes(SMALL_BEAN_COUNT);
+        double largeMemory = measureRetainedBytes(LARGE_BEAN_COUNT);
+
+        double expectedRatio = (double) LARGE_BEAN_COUNT / SMALL_BEAN_COUNT;
+        double actualRatio   = largeMemory / smallMemory;
+
+        Assertions.assertTrue(actualRatio <= expectedRatio * MEMORY_TOLERANCE,
+                "Retained memory grew %.1fx for %.0fx more beans.".formatted(actualRatio, expectedRatio));
+    }
+
+    private static double measureInstallationNanos(int beanCount) throws IOException {
+        GeneratedFixture generatedFixture = generate(beanCount);
+        String packageName = generatedFixture.spec().packageName();
+
+        try (URLClassLoader classLoader = generatedFixture.newDirectoryClassLoader()) {
+            /* the first installation loads the classes */
+            new DependencyManager().installPackage(packageName, classLoader);
+
+            long bestTime = Long.MAX_VALUE;
+            for (int i = 0; i < MEASURED_INSTALLATIONS; i++) {
+                long startTime = System.nanoTime();
+                new DependencyManager().installPackage(packageName, classLoader);
+                bestTime = Math.min(bestTime, System.nanoTime() - startTime);
+            }
+            return bestTime;
+        }
+    }
+
+    private static double measureRetainedBytes(int beanCount) throws IOException {
+        GeneratedFixture generatedFixture = generate(beanCount);
+        String packageName = generatedFixture.spec().packageName();
+
+        try (URLClassLoader classLoader = generatedFixture.newDirectoryClassLoader()) {
+            new DependencyManager().installPackage(packageName, classLoader);
+
+            long usedBefore = usedHeapAfterCollection();
+            DependencyManager dependencyManager = new DependencyManager();
+            dependencyManager.installPackage(packageName, classLoader);
+            long usedAfter = usedHeapAfterCollection();
+
+            Reference.reachabilityFence(dependencyManager);
+            return Math.max(1, usedAfter - usedBefore);
+        }
+    }
+
+    private static GeneratedFixture generate(int beanCount) {
+        return Fixtures.generate(new FixtureSpec("io.github.dependency4j.generated.scale" + beanCount, beanCount));
+    }
+
+    private static long usedHeapAfterCollection() {
+        Runtime runtime = Runtime.getRuntime();
+        long usedHeap = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            usedHeap = Math.min(usedHeap, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return usedHeap;
+    }
+
+}
@@ -0,0 +1,94 @@
+package io.github.dependency4j.processor;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ *
+ * A singleton of the generated container: a managed class, or the product of a virtual
+ * method of another singleton. {@link ContainerPlan} fills the creation expression, the
+ * injection statements and the dependencies.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+final class BeanDefinition {
+
+    private final TypeElement typeElement;
+    private final String name;
+    private final BeanDefinition virtualParent;
+    private final ExecutableElement virtualMethod;
+
+    private final Set<BeanDefinition> dependencies = new LinkedHashSet<>();
+    private final List<String> injectionStatements = new ArrayList<>();
+    private String fieldName;
+    private String creationExpression;
+
+    BeanDefinition(TypeElement typeElement, String name) {
+        this(typeElement, name, null, null);
+    }
+
+    BeanDefinition(TypeElement typeElement, String name,
+                   BeanDefinition virtualParent, ExecutableElement virtualMethod) {
+        this.typeElement   = typeElement;
+        this.name          = name;
+        this.virtualParent = virtualParent;
+        this.virtualMethod = virtualMethod;
+    }
+
+    boolean isVirtual() {
+        return virtualParent != null;
+    }
+
+    TypeElement getTypeElement() {
+        return typeElement;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    BeanDefinition getVirtualParent() {
+        return virtualParent;
+    }
+
+    ExecutableElement getVirtualMethod() {
+        return virtualMethod;
+    }
+
+    Set<BeanDefinition> getDependencies() {
+        return dependencies;
+    }
+
+    List<String> getInjectionStatements() {
+        return injectionStatements;
+    }
+
+    String getFieldName() {
+        return fieldName;
+    }
+
+    void setFieldName(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    String getCreationExpression() {
+        return creationExpression;
+    }
+
+    void setCreationExpression(String creationExpression) {
+        this.creationExpression = creationExpression;
+    }
+
+    @Override
+    public String toString() {
+        return typeElement.getQualifiedName().toString();
+    }
+
+}
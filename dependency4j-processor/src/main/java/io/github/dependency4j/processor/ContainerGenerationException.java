@@ -0,0 +1,28 @@
+package io.github.dependency4j.processor;
+
+import javax.lang.model.element.Element;
+
+/**
+ *
+ * Reports a managed class that cannot be created without reflection. The processor
+ * prints the message as a compilation error on {@link #getElement()}.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+final class ContainerGenerationException extends RuntimeException {
+
+    private final transient Element element;
+
+    ContainerGenerationException(String message, Element element) {
+        super(message);
+        this.element = element;
+    }
+
+    Element getElement() {
+        return element;
+    }
+
+}
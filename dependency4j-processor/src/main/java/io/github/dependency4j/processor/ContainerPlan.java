@@ -0,0 +1,370 @@
+package io.github.dependency4j.processor;
+
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.*;
+
+/**
+ *
+ * Resolves the singletons of a generated container the way {@code DependencyManager}
+ * resolves them at runtime, but at compile time:
+ * <pre>
+ *  1. The creation expression: the {@code @Pull} annotated public constructor, the empty
+ *     constructor, or the virtual method of the parent singleton
+ *  2. The injection statements of {@code @Pull} setters, then {@code @Pull} fields
+ *  3. The creation order, where every singleton comes after its dependencies
+ *  4. The candidates of every queryable type, used by the generated query switch
+ * </pre>
+ * A member is resolved to the first candidate assignable to its type, or to the candidate
+ * named by {@code @Pull}. {@code List} and {@code Collection} members receive every
+ * assignable candidate, and a {@code QueryableProxy} member without candidates receives the
+ * container itself. Unlike the runtime, primitive members always receive their default value.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+final class ContainerPlan {
+
+    private static final String QUERYABLE_PROXY = "io.github.dependency4j.QueryableProxy";
+
+    private final Elements elements;
+    private final Types types;
+    private final ManagedClassReader managedClassReader;
+    private final String containerPackage;
+    private final List<BeanDefinition> beanDefinitions;
+    private final List<BeanDefinition> orderedBeanDefinitions = new ArrayList<>();
+
+    ContainerPlan(Elements elements, Types types, ManagedClassReader managedClassReader,
+                  String containerPackage, List<BeanDefinition> beanDefinitions) {
+        this.elements           = elements;
+        this.types              = types;
+        this.managedClassReader = managedClassReader;
+        this.containerPackage   = containerPackage;
+        this.beanDefinitions    = beanDefinitions;
+    }
+
+    /**
+     *
+     * Resolves every singleton and computes the creation order.
+     *
+     * @throws ContainerGenerationException When a singleton cannot be created without
+     *                                      reflection, or the singletons have a cycle.
+     *
+     * @since 1.0.9
+     *
+     **/
+    void resolve() {
+        assignFieldNames();
+
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            checkAccessibleType(beanDefinition.getTypeElement(), beanDefinition.getTypeElement());
+            resolveCreationExpression(beanDefinition);
+            resolveInjectionStatements(beanDefinition);
+        }
+
+        Set<BeanDefinition> orderedBeans = new LinkedHashSet<>();
+        for (BeanDefinition beanDefinition : beanDefinitions)
+            visitInCreationOrder(beanDefinition, orderedBeans, new ArrayList<>());
+
+        orderedBeanDefinitions.addAll(orderedBeans);
+    }
+
+    List<BeanDefinition> getOrderedBeanDefinitions() {
+        return orderedBeanDefinitions;
+    }
+
+    /**
+     *
+     * @return The candidates of each queryable type, keyed by the binary class name of the
+     *         type: every singleton class, its superclasses and its interfaces, except
+     *         {@link Object}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    Map<String, List<BeanDefinition>> collectQueryableTypes() {
+        Map<String, List<BeanDefinition>> queryableTypes = new TreeMap<>();
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            Set<TypeElement> assignableTypes = new LinkedHashSet<>();
+            collectAssignableTypes(beanDefinition.getTypeElement().asType(), assignableTypes);
+
+            for (TypeElement assignableType : assignableTypes)
+                queryableTypes.computeIfAbsent(elements.getBinaryName(assignableType).toString(),
+                        binaryName -> new ArrayList<>()).add(beanDefinition);
+        }
+        return queryableTypes;
+    }
+
+    private void collectAssignableTypes(TypeMirror typeMirror, Set<TypeElement> assignableTypes) {
+        TypeElement typeElement = (TypeElement) types.asElement(types.erasure(typeMirror));
+
+        if (typeElement.getQualifiedName().contentEquals(Object.class.getName())
+                || !assignableTypes.add(typeElement))
+            return;
+
+        for (TypeMirror supertype : types.directSupertypes(typeMirror))
+            collectAssignableTypes(supertype, assignableTypes);
+    }
+
+    private void assignFieldNames() {
+        Set<String> fieldNames = new HashSet<>();
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            String simpleName = beanDefinition.getTypeElement().getSimpleName().toString();
+            String fieldName  = Character.toLowerCase(simpleName.charAt(0)) + simpleName.substring(1);
+
+            if (SourceVersion.isKeyword(fieldName))
+                fieldName += "Bean";
+
+            String uniqueFieldName = fieldName;
+            for (int i = 2; !fieldNames.add(uniqueFieldName); i++)
+                uniqueFieldName = fieldName + i;
+
+            beanDefinition.setFieldName(uniqueFieldName);
+        }
+    }
+
+    private void resolveCreationExpression(BeanDefinition beanDefinition) {
+        if (beanDefinition.isVirtual()) {
+            ExecutableElement virtualMethod = beanDefinition.getVirtualMethod();
+            beanDefinition.getDependencies().add(beanDefinition.getVirtualParent());
+            beanDefinition.setCreationExpression(beanDefinition.getVirtualParent().getFieldName() + "." +
+                    virtualMethod.getSimpleName() + "(" + resolveArguments(beanDefinition, virtualMethod) + ")");
+            return;
+        }
+
+        TypeElement typeElement = beanDefinition.getTypeElement();
+        ExecutableElement pulledConstructor = null;
+        ExecutableElement emptyConstructor  = null;
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(typeElement.getEnclosedElements())) {
+            if (pulledConstructor == null && constructor.getModifiers().contains(Modifier.PUBLIC)
+                    && managedClassReader.isAnnotationComposed(constructor, ManagedClassReader.PULL))
+                pulledConstructor = constructor;
+
+            else if (constructor.getParameters().isEmpty())
+                emptyConstructor = constructor;
+        }
+
+        ExecutableElement constructor = (pulledConstructor != null) ? pulledConstructor : emptyConstructor;
+
+        if (constructor == null)
+            throw new ContainerGenerationException(typeElement.getQualifiedName() +
+                    " has neither a public @Pull constructor nor an empty constructor.", typeElement);
+
+        checkAccessibleMember(constructor, typeElement);
+        beanDefinition.setCreationExpression("new " + typeElement.getQualifiedName() +
+                "(" + resolveArguments(beanDefinition, constructor) + ")");
+    }
+
+    private void resolveInjectionStatements(BeanDefinition beanDefinition) {
+        TypeElement typeElement = beanDefinition.getTypeElement();
+        String fieldName = beanDefinition.getFieldName();
+
+        for (ExecutableElement method : ElementFilter.methodsIn(typeElement.getEnclosedElements())) {
+            if (!managedClassReader.isAnnotationComposed(method, ManagedClassReader.PULL)
+                    || !method.getSimpleName().toString().startsWith("set"))
+                continue;
+
+            checkAccessibleMember(method, typeElement);
+            beanDefinition.getInjectionStatements().add(fieldName + "." + method.getSimpleName() +
+                    "(" + resolveArguments(beanDefinition, method) + ");");
+        }
+
+        for (VariableElement field : ElementFilter.fieldsIn(typeElement.getEnclosedElements())) {
+            AnnotationMirror pullAnnotation =
+                    managedClassReader.findComposedAnnotation(field, ManagedClassReader.PULL);
+
+            if (pullAnnotation == null)
+                continue;
+
+            if (field.getModifiers().contains(Modifier.FINAL) || field.getModifiers().contains(Modifier.STATIC))
+                throw new ContainerGenerationException("@Pull field " + field.getSimpleName() + " of " +
+                        typeElement.getQualifiedName() + " must be neither final nor static.", field);
+
+            checkAccessibleMember(field, typeElement);
+            beanDefinition.getInjectionStatements().add(fieldName + "." + field.getSimpleName() +
+                    " = " + resolveValue(beanDefinition, field.asType(), pullAnnotation) + ";");
+        }
+    }
+
+    private String resolveArguments(BeanDefinition beanDefinition, ExecutableElement executableElement) {
+        AnnotationMirror pullAnnotation =
+                managedClassReader.findComposedAnnotation(executableElement, ManagedClassReader.PULL);
+
+        StringJoiner arguments = new StringJoiner(", ");
+        for (VariableElement parameter : executableElement.getParameters())
+            arguments.add(resolveValue(beanDefinition, parameter.asType(), pullAnnotation));
+
+        return arguments.toString();
+    }
+
+    private String resolveValue(BeanDefinition beanDefinition, TypeMirror memberType, AnnotationMirror pullAnnotation) {
+        if (memberType.getKind().isPrimitive())
+            return defaultValueLiteral(memberType.getKind());
+
+        TypeMirror elementType = resolveCollectionElementType(memberType);
+        if (elementType != null) {
+            StringJoiner elementValues = new StringJoiner(", ", "java.util.List.of(", ")");
+            for (BeanDefinition candidate : findCandidates(beanDefinition, elementType)) {
+                beanDefinition.getDependencies().add(candidate);
+                elementValues.add(candidate.getFieldName());
+            }
+            return elementValues.toString();
+        }
+
+        String pulledName = (pullAnnotation != null)
+                ? (String) managedClassReader.readValue(pullAnnotation, "value") : "";
+        boolean retrieveAnyways = pullAnnotation == null
+                || (Boolean) managedClassReader.readValue(pullAnnotation, "retrieveAnyways");
+
+        List<BeanDefinition> candidates = findCandidates(beanDefinition, memberType);
+        BeanDefinition chosenCandidate = null;
+
+        if (!pulledName.isBlank())
+            for (BeanDefinition candidate : candidates)
+                if (candidate.getName().equals(pulledName)) {
+                    chosenCandidate = candidate;
+                    break;
+                }
+
+        /* like the runtime, an unnamed pull takes the first match, and a missing name the last one */
+        if (chosenCandidate == null && !candidates.isEmpty() && pulledName.isBlank())
+            chosenCandidate = candidates.get(0);
+
+        else if (chosenCandidate == null && !candidates.isEmpty() && retrieveAnyways)
+            chosenCandidate = candidates.get(candidates.size() - 1);
+
+        if (chosenCandidate != null) {
+            beanDefinition.getDependencies().add(chosenCandidate);
+            return chosenCandidate.getFieldName();
+        }
+
+        TypeElement memberTypeElement = (TypeElement) types.asElement(types.erasure(memberType));
+        if (candidates.isEmpty() && memberTypeElement.getQualifiedName().contentEquals(QUERYABLE_PROXY))
+            return "this";
+
+        return "null";
+    }
+
+    private List<BeanDefinition> findCandidates(BeanDefinition beanDefinition, TypeMirror memberType) {
+        TypeMirror erasedMemberType = types.erasure(memberType);
+        List<BeanDefinition> candidates = new ArrayList<>();
+
+        for (BeanDefinition candidate : beanDefinitions)
+            if (candidate != beanDefinition && types.isAssignable(
+                    types.erasure(candidate.getTypeElement().asType()), erasedMemberType))
+                candidates.add(candidate);
+
+        return candidates;
+    }
+
+    private TypeMirror resolveCollectionElementType(TypeMirror memberType) {
+        if (memberType.getKind() != TypeKind.DECLARED)
+            return null;
+
+        DeclaredType declaredType = (DeclaredType) memberType;
+        TypeElement typeElement = (TypeElement) declaredType.asElement();
+
+        if (!typeElement.getQualifiedName().contentEquals(List.class.getName())
+                && !typeElement.getQualifiedName().contentEquals(Collection.class.getName()))
+            return null;
+
+        if (declaredType.getTypeArguments().size() != 1)
+            return null;
+
+        TypeMirror typeArgument = declaredType.getTypeArguments().get(0);
+
+        if (typeArgument instanceof WildcardType wildcardType)
+            return (wildcardType.getExtendsBound() != null)
+                    ? wildcardType.getExtendsBound()
+                    : elements.getTypeElement(Object.class.getName()).asType();
+
+        return typeArgument;
+    }
+
+    private void visitInCreationOrder(BeanDefinition beanDefinition, Set<BeanDefinition> orderedBeans,
+                                      List<BeanDefinition> creationPath) {
+        if (orderedBeans.contains(beanDefinition))
+            return;
+
+        if (creationPath.contains(beanDefinition)) {
+            StringJoiner cycle = new StringJoiner(" -> ");
+            creationPath.subList(creationPath.indexOf(beanDefinition), creationPath.size())
+                    .forEach(pathBean -> cycle.add(pathBean.toString()));
+            cycle.add(beanDefinition.toString());
+
+            throw new ContainerGenerationException("Dependency cycle: " + cycle + ".",
+                    beanDefinition.getTypeElement());
+        }
+
+        creationPath.add(beanDefinition);
+        for (BeanDefinition dependency : beanDefinition.getDependencies())
+            visitInCreationOrder(dependency, orderedBeans, creationPath);
+        creationPath.remove(creationPath.size() - 1);
+
+        orderedBeans.add(beanDefinition);
+    }
+
+    private void checkAccessibleType(TypeElement typeElement, Element reportedElement) {
+        if (typeElement.getNestingKind().isNested() && typeElement.getKind() == ElementKind.CLASS
+                && !typeElement.getModifiers().contains(Modifier.STATIC))
+            throw new ContainerGenerationException(typeElement.getQualifiedName() +
+                    " is an inner class and cannot be created by the container.", reportedElement);
+
+        for (Element element = typeElement; element instanceof TypeElement enclosingType;
+             element = element.getEnclosingElement())
+            checkAccessibleMember(enclosingType, typeElement);
+    }
+
+    private void checkAccessibleMember(Element member, TypeElement ownerType) {
+        Set<Modifier> modifiers = member.getModifiers();
+
+        if (modifiers.contains(Modifier.PUBLIC))
+            return;
+
+        String ownerPackage = elements.getPackageOf(ownerType).getQualifiedName().toString();
+
+        if (modifiers.contains(Modifier.PRIVATE) || !ownerPackage.equals(containerPackage))
+            throw new ContainerGenerationException(describe(member, ownerType) + " is not accessible from the " +
+                    "generated container in package \"" + containerPackage + "\". Make it public, or use a " +
+                    "public @Pull setter instead of a private @Pull field.", member);
+    }
+
+    private static String describe(Element member, TypeElement ownerType) {
+        return switch (member.getKind()) {
+            case CONSTRUCTOR -> "The constructor of " + ownerType.getQualifiedName();
+            case FIELD       -> "Field " + member.getSimpleName() + " of " + ownerType.getQualifiedName();
+            case METHOD      -> "Method " + member.getSimpleName() + " of " + ownerType.getQualifiedName();
+            default          -> ((TypeElement) member).getQualifiedName().toString();
+        };
+    }
+
+    private static String defaultValueLiteral(TypeKind typeKind) {
+        return switch (typeKind) {
+            case BOOLEAN -> "false";
+            case CHAR    -> "'\\0'";
+            case LONG    -> "0L";
+            case FLOAT   -> "0F";
+            case DOUBLE  -> "0D";
+            case BYTE    -> "(byte) 0";
+            case SHORT   -> "(short) 0";
+            default      -> "0";
+        };
+    }
+
+}
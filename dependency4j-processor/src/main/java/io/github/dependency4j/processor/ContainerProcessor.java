@@ -0,0 +1,223 @@
+package io.github.dependency4j.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ *
+ * <b>ContainerProcessor</b> generates a reflection-free container for every type annotated
+ * with {@link GenerateContainer}. The managed classes of the requested package are selected
+ * with the same strategy rules as {@code DependencyManager.installPackage}, including the
+ * singletons created by {@code @Virtual} methods, and resolved by {@link ContainerPlan}.
+ * The generated class implements {@code QueryableProxy}, so code that queries a
+ * {@code DependencyManager} can query the generated container instead.
+ * <p>
+ * Managed classes are found among the sources of the compilation, sub packages included,
+ * and among the classpath classes of the requested package itself. Members that cannot be
+ * reached without reflection, such as private {@code @Pull} fields, are reported as
+ * compilation errors.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+@SupportedAnnotationTypes("io.github.dependency4j.processor.GenerateContainer")
+public final class ContainerProcessor extends AbstractProcessor {
+
+    private final Set<String> generatedContainers = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        for (Element annotatedElement : roundEnvironment.getElementsAnnotatedWith(GenerateContainer.class)) {
+            if (!(annotatedElement instanceof TypeElement sourceType))
+                continue;
+
+            try {
+                generateContainer(sourceType, roundEnvironment);
+            } catch (ContainerGenerationException exception) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        exception.getMessage(), exception.getElement());
+            } catch (IOException exception) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Could not write the generated container: " + exception.getMessage(), sourceType);
+            }
+        }
+        return true;
+    }
+
+    private void generateContainer(TypeElement sourceType, RoundEnvironment roundEnvironment) throws IOException {
+        GenerateContainer generateContainer = sourceType.getAnnotation(GenerateContainer.class);
+
+        String containerPackage = processingEnv.getElementUtils().getPackageOf(sourceType).getQualifiedName().toString();
+        String scannedPackage = generateContainer.packageName().isBlank()
+                ? containerPackage : generateContainer.packageName();
+        String containerClassName = generateContainer.className().isBlank()
+                ? sourceType.getSimpleName() + "Container" : generateContainer.className();
+        String containerQualifiedName = containerPackage.isEmpty()
+                ? containerClassName : containerPackage + "." + containerClassName;
+
+        if (!generatedContainers.add(containerQualifiedName))
+            return;
+
+        ManagedClassReader managedClassReader = new ManagedClassReader(processingEnv.getElementUtils());
+        Set<String> strategies = new HashSet<>(Arrays.asList(generateContainer.strategies()));
+
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        for (TypeElement typeElement : findTypeElements(scannedPackage, roundEnvironment)) {
+            if (typeElement.getKind() != ElementKind.CLASS && typeElement.getKind() != ElementKind.RECORD
+                    || typeElement.getModifiers().contains(Modifier.ABSTRACT))
+                continue;
+
+            ManagedClassReader.ManagedProperties managedProperties =
+                    managedClassReader.readManagedProperties(typeElement);
+
+            if (managedProperties == null || !checkEligibility(managedProperties, strategies))
+                continue;
+
+            BeanDefinition beanDefinition = new BeanDefinition(typeElement, managedProperties.name());
+            beanDefinitions.add(beanDefinition);
+            addVirtualBeanDefinitions(beanDefinition, managedClassReader, beanDefinitions);
+        }
+
+        ContainerPlan containerPlan = new ContainerPlan(processingEnv.getElementUtils(), processingEnv.getTypeUtils(),
+                managedClassReader, containerPackage, beanDefinitions);
+        containerPlan.resolve();
+
+        JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(containerQualifiedName, sourceType);
+        try (Writer writer = sourceFile.openWriter()) {
+            ContainerSourceWriter.write(writer, containerPackage, containerClassName,
+                    sourceType.getQualifiedName().toString(), containerPlan);
+        }
+    }
+
+    /**
+     *
+     * Same rules as {@code DependencyManager.checkTypeInformationHolderEligibility}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private static boolean checkEligibility(ManagedClassReader.ManagedProperties managedProperties,
+                                            Set<String> strategies) {
+        if (managedProperties.dynamic())
+            return false;
+
+        if (strategies.isEmpty())
+            return true;
+
+        for (String classStrategyName : managedProperties.strategies())
+            if (strategies.contains(classStrategyName))
+                return true;
+
+        return !managedProperties.disposable();
+    }
+
+    /**
+     *
+     * Adds one singleton per public {@code @Virtual} method of {@code parentBeanDefinition},
+     * recursively, as {@code DependencySearchTree} does when a class is inserted.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private void addVirtualBeanDefinitions(BeanDefinition parentBeanDefinition, ManagedClassReader managedClassReader,
+                                           List<BeanDefinition> beanDefinitions) {
+        for (ExecutableElement method : ElementFilter.methodsIn(
+                processingEnv.getElementUtils().getAllMembers(parentBeanDefinition.getTypeElement()))) {
+
+            if (!method.getModifiers().contains(Modifier.PUBLIC)
+                    || !managedClassReader.isAnnotationComposed(method, ManagedClassReader.VIRTUAL))
+                continue;
+
+            TypeMirror returnType = method.getReturnType();
+            if (returnType.getKind() != TypeKind.DECLARED)
+                continue;
+
+            TypeElement productType = (TypeElement) processingEnv.getTypeUtils().asElement(returnType);
+
+            if (isCreatedBy(parentBeanDefinition, productType))
+                throw new ContainerGenerationException("Virtual method " + method.getSimpleName() + " of " +
+                        parentBeanDefinition + " creates its own parent type.", method);
+
+            ManagedClassReader.ManagedProperties productProperties =
+                    managedClassReader.readManagedProperties(productType);
+
+            BeanDefinition productBeanDefinition = new BeanDefinition(productType,
+                    (productProperties != null) ? productProperties.name() : productType.getSimpleName().toString(),
+                    parentBeanDefinition, method);
+
+            beanDefinitions.add(productBeanDefinition);
+            addVirtualBeanDefinitions(productBeanDefinition, managedClassReader, beanDefinitions);
+        }
+    }
+
+    private static boolean isCreatedBy(BeanDefinition beanDefinition, TypeElement productType) {
+        for (BeanDefinition ancestor = beanDefinition; ancestor != null; ancestor = ancestor.getVirtualParent())
+            if (ancestor.getTypeElement().equals(productType))
+                return true;
+
+        return false;
+    }
+
+    /**
+     *
+     * @return The types of {@code packageName} and its sub packages among the compiled
+     *         sources, and the types of {@code packageName} on the classpath, ordered by
+     *         qualified name. Static nested types are included.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private Collection<TypeElement> findTypeElements(String packageName, RoundEnvironment roundEnvironment) {
+        Map<String, TypeElement> typeElements = new TreeMap<>();
+
+        for (Element rootElement : roundEnvironment.getRootElements()) {
+            if (!(rootElement instanceof TypeElement typeElement))
+                continue;
+
+            String elementPackage = processingEnv.getElementUtils().getPackageOf(typeElement)
+                    .getQualifiedName().toString();
+
+            if (elementPackage.equals(packageName) || elementPackage.startsWith(packageName + "."))
+                collectTypeElements(typeElement, typeElements);
+        }
+
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageElement(packageName);
+        if (packageElement != null)
+            for (TypeElement typeElement : ElementFilter.typesIn(packageElement.getEnclosedElements()))
+                collectTypeElements(typeElement, typeElements);
+
+        return typeElements.values();
+    }
+
+    private static void collectTypeElements(TypeElement typeElement, Map<String, TypeElement> typeElements) {
+        typeElements.putIfAbsent(typeElement.getQualifiedName().toString(), typeElement);
+
+        for (TypeElement nestedType : ElementFilter.typesIn(typeElement.getEnclosedElements()))
+            if (nestedType.getModifiers().contains(Modifier.STATIC) || nestedType.getKind() != ElementKind.CLASS)
+                collectTypeElements(nestedType, typeElements);
+    }
+
+}
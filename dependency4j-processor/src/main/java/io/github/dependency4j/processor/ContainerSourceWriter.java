@@ -0,0 +1,110 @@
+package io.github.dependency4j.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ *
+ * Writes the Java source of a generated container from a resolved {@link ContainerPlan}.
+ * The container holds one final field per singleton, creates and injects them in its
+ * constructor, and answers {@code query} with a switch over the binary name of the
+ * queried class.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+final class ContainerSourceWriter {
+
+    private ContainerSourceWriter() {}
+
+    static void write(Writer writer, String containerPackage, String containerClassName,
+                      String sourceTypeName, ContainerPlan containerPlan) throws IOException {
+
+        List<BeanDefinition> beanDefinitions = containerPlan.getOrderedBeanDefinitions();
+        StringBuilder source = new StringBuilder();
+
+        if (!containerPackage.isEmpty())
+            source.append("package ").append(containerPackage).append(";\n\n");
+
+        source.append("import io.github.dependency4j.QueryOptions;\n")
+              .append("import io.github.dependency4j.QueryableProxy;\n\n")
+              .append("/**\n")
+              .append(" * Container generated from {@link ").append(sourceTypeName).append("}. Do not edit.\n")
+              .append(" **/\n")
+              .append("@javax.annotation.processing.Generated(\"").append(ContainerProcessor.class.getName()).append("\")\n")
+              .append("public final class ").append(containerClassName).append(" implements QueryableProxy {\n\n");
+
+        for (BeanDefinition beanDefinition : beanDefinitions)
+            source.append("    private final ").append(beanDefinition.getTypeElement().getQualifiedName())
+                  .append(' ').append(beanDefinition.getFieldName()).append(";\n");
+
+        source.append("\n    public ").append(containerClassName).append("() {\n");
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            source.append("        ").append(beanDefinition.getFieldName()).append(" = ")
+                  .append(beanDefinition.getCreationExpression()).append(";\n");
+
+            for (String injectionStatement : beanDefinition.getInjectionStatements())
+                source.append("        ").append(injectionStatement).append('\n');
+        }
+        source.append("    }\n\n");
+
+        source.append("    @Override\n")
+              .append("    @SuppressWarnings(\"unchecked\")\n")
+              .append("    public <T> T query(Class<? extends T> classType, QueryOptions queryOptions) {\n")
+              .append("        return (T) switch (classType.getName()) {\n");
+
+        for (Map.Entry<String, List<BeanDefinition>> queryableType : containerPlan.collectQueryableTypes().entrySet()) {
+            List<BeanDefinition> candidates = queryableType.getValue();
+            source.append("            case \"").append(queryableType.getKey()).append("\" -> ");
+
+            if (candidates.size() == 1)
+                source.append("selectOne(queryOptions, ").append(candidates.get(0).getFieldName())
+                      .append(", \"").append(escape(candidates.get(0).getName())).append("\");\n");
+            else {
+                StringJoiner instances = new StringJoiner(", ", "new Object[] {", "}");
+                StringJoiner names = new StringJoiner(", ", "new String[] {", "}");
+                for (BeanDefinition candidate : candidates) {
+                    instances.add(candidate.getFieldName());
+                    names.add('"' + escape(candidate.getName()) + '"');
+                }
+                source.append("select(queryOptions, ").append(instances).append(", ").append(names).append(");\n");
+            }
+        }
+
+        source.append("            default -> null;\n")
+              .append("        };\n")
+              .append("    }\n\n")
+              .append("    @Override\n")
+              .append("    public <T> T query(Class<? extends T> classType) {\n")
+              .append("        return query(classType, QueryOptions.none());\n")
+              .append("    }\n\n")
+              .append("    private static Object selectOne(QueryOptions queryOptions, Object instance, String name) {\n")
+              .append("        String filteredName = queryOptions.filteredClassName();\n")
+              .append("        if (filteredName == null || filteredName.isBlank() || filteredName.equals(name))\n")
+              .append("            return instance;\n")
+              .append("        return queryOptions.retrieveAnyways() ? instance : null;\n")
+              .append("    }\n\n")
+              .append("    private static Object select(QueryOptions queryOptions, Object[] instances, String[] names) {\n")
+              .append("        String filteredName = queryOptions.filteredClassName();\n")
+              .append("        if (filteredName == null || filteredName.isBlank())\n")
+              .append("            return instances[0];\n")
+              .append("        for (int i = 0; i < names.length; i++)\n")
+              .append("            if (names[i].equals(filteredName))\n")
+              .append("                return instances[i];\n")
+              .append("        return queryOptions.retrieveAnyways() ? instances[instances.length - 1] : null;\n")
+              .append("    }\n\n")
+              .append("}\n");
+
+        writer.write(source.toString());
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+}
@@ -0,0 +1,61 @@
+package io.github.dependency4j.processor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ *
+ * Requests a generated container for a package and a strategy set. At compile time,
+ * {@link ContainerProcessor} writes a {@code QueryableProxy} implementation next to the
+ * annotated type. The generated container creates every eligible managed class with
+ * direct {@code new}, setter and field calls, in dependency order, and answers queries
+ * with a generated switch. No reflection is used at runtime.
+ * <pre>
+ *  &#64;GenerateContainer(packageName = "com.example", strategies = "Production")
+ *  public class Application { }
+ *
+ *  QueryableProxy container = new ApplicationContainer();
+ * </pre>
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateContainer {
+
+    /**
+     *
+     * The package scanned for managed classes, sub packages included. By default, the
+     * package of the annotated type.
+     *
+     * @since 1.0.9
+     *
+     **/
+    String packageName() default "";
+
+    /**
+     *
+     * The strategies used to select the managed classes, the same way as
+     * {@code DependencyManager.addStrategy}. No strategy selects every managed class.
+     *
+     * @since 1.0.9
+     *
+     **/
+    String[] strategies() default {};
+
+    /**
+     *
+     * The simple name of the generated class. By default, the simple name of the
+     * annotated type followed by {@code Container}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    String className() default "";
+
+}
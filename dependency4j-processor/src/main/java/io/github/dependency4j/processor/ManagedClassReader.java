@@ -0,0 +1,182 @@
+package io.github.dependency4j.processor;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ *
+ * Reads the Dependency4j annotations from the compiler model, the same way
+ * {@code AnnotationDecomposer} reads them through reflection at runtime. Annotations
+ * are matched by qualified name, so the processor does not depend on the core library.
+ * Composed annotations are supported: an annotation meta-annotated with {@code @Managed}
+ * or {@code @Pull} counts as the annotation itself, and its members annotated with
+ * {@code @Mapped("@Managed.<property>")} override the composed {@code @Managed} properties.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+final class ManagedClassReader {
+
+    static final String MANAGED = "io.github.dependency4j.Managed";
+    static final String MAPPED  = "io.github.dependency4j.Mapped";
+    static final String PULL    = "io.github.dependency4j.Pull";
+    static final String VIRTUAL = "io.github.dependency4j.Virtual";
+
+    /**
+     *
+     * The decomposed {@code @Managed} properties of a class.
+     *
+     * @since 1.0.9
+     *
+     **/
+    record ManagedProperties(String name, List<String> strategies, boolean disposable, boolean dynamic) {}
+
+    private final Elements elements;
+
+    ManagedClassReader(Elements elements) {
+        this.elements = elements;
+    }
+
+    /**
+     *
+     * @return The {@code @Managed} properties of {@code typeElement}, or null when the type
+     *         is not managed.
+     *
+     * @since 1.0.9
+     *
+     **/
+    ManagedProperties readManagedProperties(TypeElement typeElement) {
+        AnnotationMirror siblingAnnotation = findSiblingAnnotation(typeElement, MANAGED);
+
+        if (siblingAnnotation == null)
+            return null;
+
+        AnnotationMirror managedAnnotation = findComposedAnnotation(typeElement, MANAGED);
+
+        String name = (String) readManagedProperty(siblingAnnotation, managedAnnotation, "name");
+        if (name.isBlank())
+            name = typeElement.getSimpleName().toString();
+
+        AnnotationMirror strategyAnnotation =
+                (AnnotationMirror) readManagedProperty(siblingAnnotation, managedAnnotation, "strategy");
+
+        List<String> strategies = new ArrayList<>();
+        for (Object strategyValue : (List<?>) readValue(strategyAnnotation, "value"))
+            strategies.add((String) ((AnnotationValue) strategyValue).getValue());
+
+        return new ManagedProperties(name, strategies,
+                (Boolean) readManagedProperty(siblingAnnotation, managedAnnotation, "disposable"),
+                (Boolean) readManagedProperty(siblingAnnotation, managedAnnotation, "dynamic"));
+    }
+
+    private Object readManagedProperty(AnnotationMirror siblingAnnotation,
+                                       AnnotationMirror managedAnnotation, String propertyName) {
+        String mappedPropertyName = "@Managed." + propertyName;
+
+        for (ExecutableElement member : ElementFilter.methodsIn(
+                siblingAnnotation.getAnnotationType().asElement().getEnclosedElements())) {
+
+            AnnotationMirror mappedAnnotation = findDirectAnnotation(member, MAPPED);
+
+            if (mappedAnnotation != null && mappedPropertyName.equals(readValue(mappedAnnotation, "value")))
+                return readValue(siblingAnnotation, member.getSimpleName().toString());
+        }
+        return readValue(managedAnnotation, propertyName);
+    }
+
+    /**
+     *
+     * @return The {@code annotationName} annotation present on {@code element}, directly or
+     *         as a meta-annotation of one of its annotations, or null.
+     *
+     * @since 1.0.9
+     *
+     **/
+    AnnotationMirror findComposedAnnotation(Element element, String annotationName) {
+        return findComposedAnnotation(element, annotationName, new HashSet<>());
+    }
+
+    private AnnotationMirror findComposedAnnotation(Element element, String annotationName,
+                                                    Set<String> visitedAnnotations) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            TypeElement annotationElement = (TypeElement) annotationMirror.getAnnotationType().asElement();
+            String qualifiedName = annotationElement.getQualifiedName().toString();
+
+            if (qualifiedName.equals(annotationName))
+                return annotationMirror;
+
+            if (!visitedAnnotations.add(qualifiedName))
+                continue;
+
+            AnnotationMirror composedAnnotation =
+                    findComposedAnnotation(annotationElement, annotationName, visitedAnnotations);
+
+            if (composedAnnotation != null)
+                return composedAnnotation;
+        }
+        return null;
+    }
+
+    /**
+     *
+     * @return The annotation directly present on {@code element} that is, or is composed
+     *         of, the {@code annotationName} annotation, or null.
+     *
+     * @since 1.0.9
+     *
+     **/
+    AnnotationMirror findSiblingAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            TypeElement annotationElement = (TypeElement) annotationMirror.getAnnotationType().asElement();
+
+            if (annotationElement.getQualifiedName().contentEquals(annotationName)
+                    || findComposedAnnotation(annotationElement, annotationName) != null)
+                return annotationMirror;
+        }
+        return null;
+    }
+
+    boolean isAnnotationComposed(Element element, String annotationName) {
+        return findComposedAnnotation(element, annotationName) != null;
+    }
+
+    private AnnotationMirror findDirectAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            TypeElement annotationElement = (TypeElement) annotationMirror.getAnnotationType().asElement();
+            if (annotationElement.getQualifiedName().contentEquals(annotationName))
+                return annotationMirror;
+        }
+        return null;
+    }
+
+    /**
+     *
+     * @return The value of the {@code memberName} member of {@code annotationMirror},
+     *         its default value included.
+     *
+     * @since 1.0.9
+     *
+     **/
+    Object readValue(AnnotationMirror annotationMirror, String memberName) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> annotationEntry
+                : elements.getElementValuesWithDefaults(annotationMirror).entrySet()) {
+
+            if (annotationEntry.getKey().getSimpleName().contentEquals(memberName))
+                return annotationEntry.getValue().getValue();
+        }
+        throw new IllegalArgumentException("No member named " + memberName + " in " + annotationMirror + ".");
+    }
+
+}
@@ -0,0 +1,338 @@
+package io.github.dependency4j.processor;
+
+import io.github.dependency4j.QueryOptions;
+import io.github.dependency4j.QueryableProxy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@DisplayName("Generated container processor")
+public class ContainerProcessorTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private static final Map<String, String> APPLICATION_SOURCES = Map.of(
+            "app/Application.java", """
+                    package app;
+
+                    import io.github.dependency4j.processor.GenerateContainer;
+
+                    @GenerateContainer(strategies = "Production")
+                    public class Application { }
+                    """,
+            "app/repository/ReportRepository.java", """
+                    package app.repository;
+
+                    public interface ReportRepository { }
+                    """,
+            "app/repository/SqlReportRepository.java", """
+                    package app.repository;
+
+                    import io.github.dependency4j.Managed;
+                    import io.github.dependency4j.Strategy;
+
+                    @Managed(name = "sql", strategy = @Strategy("Production"))
+                    public class SqlReportRepository implements ReportRepository { }
+                    """,
+            "app/repository/MemoryReportRepository.java", """
+                    package app.repository;
+
+                    import io.github.dependency4j.Managed;
+                    import io.github.dependency4j.Strategy;
+
+                    @Managed(name = "memory", strategy = @Strategy("Testing"))
+                    public class MemoryReportRepository implements ReportRepository { }
+                    """,
+            "app/ReportFormatter.java", """
+                    package app;
+
+                    public class ReportFormatter {
+                        public final String format;
+                        public ReportFormatter(String format) { this.format = format; }
+                    }
+                    """,
+            "app/ReportConfig.java", """
+                    package app;
+
+                    import io.github.dependency4j.Managed;
+                    import io.github.dependency4j.Strategy;
+                    import io.github.dependency4j.Virtual;
+
+                    @Managed(strategy = @Strategy("Production"))
+                    public class ReportConfig {
+                        @Virtual
+                        public ReportFormatter reportFormatter() { return new ReportFormatter("csv"); }
+                    }
+                    """,
+            "app/ReportService.java", """
+                    package app;
+
+                    import app.repository.ReportRepository;
+                    import io.github.dependency4j.Managed;
+                    import io.github.dependency4j.Pull;
+                    import io.github.dependency4j.QueryableProxy;
+                    import io.github.dependency4j.Strategy;
+
+                    @Managed(strategy = @Strategy("Production"))
+                    public class ReportService {
+                        public final ReportRepository reportRepository;
+                        public final ReportFormatter reportFormatter;
+                        public AuditLog auditLog;
+                        @Pull QueryableProxy container;
+
+                        @Pull
+                        public ReportService(ReportRepository reportRepository, ReportFormatter reportFormatter) {
+                            this.reportRepository = reportRepository;
+                            this.reportFormatter = reportFormatter;
+                        }
+
+                        @Pull
+                        public void setAuditLog(AuditLog auditLog) { this.auditLog = auditLog; }
+                    }
+                    """,
+            "app/AuditLog.java", """
+                    package app;
+
+                    import io.github.dependency4j.Managed;
+
+                    @Managed(disposable = false)
+                    public class AuditLog { }
+                    """);
+
+    private CompilationResult compile(Map<String, String> sources) throws IOException {
+        Path sourceDirectory = Files.createDirectories(temporaryDirectory.resolve("src"));
+        Path classDirectory  = Files.createDirectories(temporaryDirectory.resolve("classes"));
+
+        List<Path> sourceFiles = new ArrayList<>();
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            Path sourceFile = sourceDirectory.resolve(source.getKey());
+            Files.createDirectories(sourceFile.getParent());
+            Files.writeString(sourceFile, source.getValue());
+            sourceFiles.add(sourceFile);
+        }
+
+        JavaCompiler javaCompiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        try (StandardJavaFileManager fileManager = javaCompiler.getStandardFileManager(diagnostics, null, null)) {
+            JavaCompiler.CompilationTask compilationTask = javaCompiler.getTask(null, fileManager, diagnostics,
+                    List.of("-classpath", System.getProperty("java.class.path"),
+                            "-d", classDirectory.toString(), "-s", classDirectory.toString()),
+                    null, fileManager.getJavaFileObjectsFromPaths(sourceFiles));
+
+            compilationTask.setProcessors(List.of(new ContainerProcessor()));
+            boolean compiled = compilationTask.call();
+
+            String errors = diagnostics.getDiagnostics().stream()
+                    .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                    .map(diagnostic -> diagnostic.getMessage(null))
+                    .collect(Collectors.joining("\n"));
+
+            return new CompilationResult(compiled, errors, classDirectory);
+        }
+    }
+
+    private record CompilationResult(boolean compiled, String errors, Path classDirectory) {
+
+        QueryableProxy createContainer(String className) throws Exception {
+            URLClassLoader classLoader = new URLClassLoader(new URL[] {classDirectory.toUri().toURL()},
+                    ContainerProcessorTest.class.getClassLoader());
+            return (QueryableProxy) classLoader.loadClass(className).getConstructor().newInstance();
+        }
+    }
+
+    @Test
+    @DisplayName("The generated container creates and wires the selected singletons")
+    void generatedContainerTest() throws Exception {
+        CompilationResult compilationResult = compile(APPLICATION_SOURCES);
+        Assertions.assertTrue(compilationResult.compiled(), compilationResult.errors());
+
+        QueryableProxy container = compilationResult.createContainer("app.ApplicationContainer");
+        ClassLoader classLoader = container.getClass().getClassLoader();
+
+        Class<?> repositoryType = classLoader.loadClass("app.repository.ReportRepository");
+        Class<?> serviceType    = classLoader.loadClass("app.ReportService");
+
+        Object reportRepository = container.query(repositoryType);
+        Object reportService    = container.query(serviceType);
+
+        Assertions.assertEquals("app.repository.SqlReportRepository", reportRepository.getClass().getName());
+        Assertions.assertSame(reportRepository, serviceType.getField("reportRepository").get(reportService));
+        Assertions.assertSame(container.query(classLoader.loadClass("app.AuditLog")),
+                serviceType.getField("auditLog").get(reportService));
+
+        Object reportFormatter = serviceType.getField("reportFormatter").get(reportService);
+        Assertions.assertSame(container.query(classLoader.loadClass("app.ReportFormatter")), reportFormatter);
+        Assertions.assertEquals("csv", reportFormatter.getClass().getField("format").get(reportFormatter));
+
+        /* a class of another strategy is not part of the container */
+        Assertions.assertNull(container.query(classLoader.loadClass("app.repository.MemoryReportRepository")));
+        Assertions.assertSame(reportRepository, container.query(repositoryType, QueryOptions.byName("sql")));
+        Assertions.assertNull(container.query(repositoryType, QueryOptions.builder()
+                .filterByName("memory").disableRetrieveAnyways().build()));
+        Assertions.assertNull(container.query(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("The generated source does not use reflection")
+    void reflectionFreeSourceTest() throws Exception {
+        CompilationResult compilationResult = compile(APPLICATION_SOURCES);
+        Assertions.assertTrue(compilationResult.compiled(), compilationResult.errors());
+
+        String generatedSource = Files.readString(
+                compilationResult.classDirectory().resolve("app/ApplicationContainer.java"));
+
+        Assertions.assertFalse(generatedSource.contains("java.lang.reflect"));
+        Assertions.assertFalse(generatedSource.contains("getDeclared"));
+        Assertions.assertFalse(generatedSource.contains("DependencyManager"));
+        Assertions.assertTrue(generatedSource.contains("new app.repository.SqlReportRepository()"));
+        Assertions.assertTrue(generatedSource.contains("reportService.setAuditLog(auditLog);"));
+
+        /* dependencies are created before the singletons that need them */
+        Assertions.assertTrue(generatedSource.indexOf("reportFormatter = reportConfig.reportFormatter()")
+                < generatedSource.indexOf("reportService = new app.ReportService("));
+
+        /* the QueryableProxy member receives the container itself */
+        Assertions.assertTrue(generatedSource.contains("reportService.container = this;"));
+
+        Method queryMethod = QueryableProxy.class.getMethod("query", Class.class);
+        Assertions.assertNotNull(queryMethod);
+    }
+
+    @Test
+    @DisplayName("A missing name retrieves the last type match, like the runtime")
+    void retrieveAnywaysTest() throws Exception {
+        CompilationResult compilationResult = compile(Map.of(
+                "named/Application.java", """
+                        package named;
+
+                        @io.github.dependency4j.processor.GenerateContainer
+                        public class Application { }
+                        """,
+                "named/Channel.java", """
+                        package named;
+
+                        public interface Channel { }
+                        """,
+                "named/EmailChannel.java", """
+                        package named;
+
+                        @io.github.dependency4j.Managed(name = "email")
+                        public class EmailChannel implements Channel { }
+                        """,
+                "named/SmsChannel.java", """
+                        package named;
+
+                        @io.github.dependency4j.Managed(name = "sms")
+                        public class SmsChannel implements Channel { }
+                        """,
+                "named/Notifier.java", """
+                        package named;
+
+                        import io.github.dependency4j.Managed;
+                        import io.github.dependency4j.Pull;
+
+                        @Managed
+                        public class Notifier {
+                            @Pull public Channel defaultChannel;
+                            @Pull("push") public Channel fallbackChannel;
+                        }
+                        """));
+        Assertions.assertTrue(compilationResult.compiled(), compilationResult.errors());
+
+        QueryableProxy container = compilationResult.createContainer("named.ApplicationContainer");
+        ClassLoader classLoader = container.getClass().getClassLoader();
+
+        Class<?> channelType  = classLoader.loadClass("named.Channel");
+        Class<?> notifierType = classLoader.loadClass("named.Notifier");
+        Object notifier = container.query(notifierType);
+
+        Object firstChannel = container.query(channelType);
+        Object lastChannel  = container.query(channelType, QueryOptions.byName("push"));
+
+        Assertions.assertNotSame(firstChannel, lastChannel);
+        Assertions.assertSame(firstChannel, notifierType.getField("defaultChannel").get(notifier));
+        Assertions.assertSame(lastChannel, notifierType.getField("fallbackChannel").get(notifier));
+    }
+
+    @Test
+    @DisplayName("Private @Pull fields and dependency cycles are compilation errors")
+    void compilationErrorTest() throws IOException {
+        CompilationResult privateFieldResult = compile(Map.of(
+                "bad/Application.java", """
+                        package bad;
+
+                        @io.github.dependency4j.processor.GenerateContainer
+                        public class Application { }
+                        """,
+                "bad/Client.java", """
+                        package bad;
+
+                        import io.github.dependency4j.Managed;
+                        import io.github.dependency4j.Pull;
+
+                        @Managed
+                        public class Client {
+                            private @Pull Application application;
+                        }
+                        """));
+
+        Assertions.assertFalse(privateFieldResult.compiled());
+        Assertions.assertTrue(privateFieldResult.errors().contains("Field application of bad.Client"),
+                privateFieldResult.errors());
+
+        CompilationResult cycleResult = compile(Map.of(
+                "cycle/Application.java", """
+                        package cycle;
+
+                        @io.github.dependency4j.processor.GenerateContainer(className = "CycleContainer")
+                        public class Application { }
+                        """,
+                "cycle/First.java", """
+                        package cycle;
+
+                        import io.github.dependency4j.Managed;
+                        import io.github.dependency4j.Pull;
+
+                        @Managed
+                        public class First {
+                            @Pull public First(Second second) { }
+                        }
+                        """,
+                "cycle/Second.java", """
+                        package cycle;
+
+                        import io.github.dependency4j.Managed;
+                        import io.github.dependency4j.Pull;
+
+                        @Managed
+                        public class Second {
+                            @Pull public Second(First first) { }
+                        }
+                        """));
+
+        Assertions.assertFalse(cycleResult.compiled());
+        Assertions.assertTrue(cycleResult.errors().contains("Dependency cycle: cycle.First -> cycle.Second -> cycle.First"),
+                cycleResult.errors());
+    }
+
+}
@@ -2,6 +2,7 @@ package io.github.dependency4j;
 
 import io.github.dependency4j.node.*;
 
+import java.util.Iterator;
 import java.util.Objects;
 import java.util.Set;
 
@@ -26,6 +27,39 @@ public interface AbstractNode {
      **/
     Set<? extends AbstractNode> children();
 
+    /**
+     *
+     * The number of children of this node. Used together with {@link #childAt(int)}
+     * to iterate over the children without creating an iterator. The default
+     * implementation returns the size of {@link #children()}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    default int childCount() {
+        return children().size();
+    }
+
+    /**
+     *
+     * Returns the child at {@code index}, in the iteration order of {@link #children()}.
+     * The default implementation walks {@link #children()}, nodes that store their
+     * children in an indexed structure should override it.
+     *
+     * @throws IndexOutOfBoundsException if {@code index} is not lower than {@link #childCount()}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    default AbstractNode childAt(int index) {
+        Objects.checkIndex(index, childCount());
+
+        Iterator<? extends AbstractNode> childIterator = children().iterator();
+        for (int i = 0; i < index; i++)
+            childIterator.next();
+
+        return childIterator.next();
+    }
 
     /**
      *
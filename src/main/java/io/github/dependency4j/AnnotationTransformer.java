@@ -27,6 +27,9 @@ public final class AnnotationTransformer {
      **/
     public static QueryOptions transformPullAnnotationToQueryOptions(Pull pullAnnotation)  {
 
+        if (StrUtil.isNullOrBlank(pullAnnotation.value()) && pullAnnotation.retrieveAnyways())
+            return QueryOptions.none();
+
         final QueryOptions.QueryOptionsBuilder queryOptionsBuilder = QueryOptions.builder();
 
         if (!StrUtil.isNullOrBlank(pullAnnotation.value()))
@@ -0,0 +1,179 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.exception.ShutdownFailedException;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *
+ * <b>BeanShutdown</b> closes the {@link AutoCloseable} beans of a {@link DependencyManager}
+ * in reverse dependency order: a bean is closed only after every bean that depends on it,
+ * directly or through beans that are not closeable, has been closed. Beans of independent
+ * branches are closed in parallel, so the shutdown takes as long as its slowest dependency
+ * chain instead of the sum of all close calls.
+ * <p>
+ * Each close call has a timeout. A bean that fails or times out is reported, and the beans
+ * it depends on are closed anyway. Close calls run on daemon threads, so a close call that
+ * never returns does not keep the JVM alive.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+final class BeanShutdown {
+
+    private static final AtomicInteger SHUTDOWN_THREAD_COUNT = new AtomicInteger();
+
+    private final Map<Class<?>, AutoCloseable> closeableBeans;
+    private final Map<Class<?>, Set<Class<?>>> beanDependents;
+    private final Map<Class<?>, CompletableFuture<Void>> closeFutures = new HashMap<>();
+    private final Map<Class<?>, Throwable> closeFailures = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Set<Class<?>> visitingBeans = new HashSet<>();
+    private final Duration closeTimeout;
+
+    private ExecutorService shutdownExecutor;
+
+    /**
+     *
+     * @param closeableBeans   The closeable beans, keyed by their class type.
+     * @param beanDependencies The class types each class type was injected with.
+     * @param closeTimeout     The maximum time given to each close call.
+     *
+     * @since 1.0.9
+     *
+     **/
+    BeanShutdown(Map<Class<?>, AutoCloseable> closeableBeans,
+                 Map<Class<?>, Set<Class<?>>> beanDependencies, Duration closeTimeout) {
+        this.closeableBeans = closeableBeans;
+        this.closeTimeout   = closeTimeout;
+        this.beanDependents = new HashMap<>();
+
+        beanDependencies.forEach((classType, dependencies) -> dependencies.forEach(dependency ->
+                beanDependents.computeIfAbsent(dependency, dependencyType -> new LinkedHashSet<>()).add(classType)));
+    }
+
+    /**
+     *
+     * Closes every bean and waits for all close calls to finish or time out.
+     *
+     * @throws ShutdownFailedException When any bean failed to close or timed out. Each
+     *                                 failure is a suppressed exception.
+     *
+     * @since 1.0.9
+     *
+     **/
+    void closeAll() {
+        if (closeableBeans.isEmpty())
+            return;
+
+        shutdownExecutor = Executors.newCachedThreadPool(createDaemonThreadFactory());
+        try {
+            for (Class<?> classType : closeableBeans.keySet())
+                scheduleClose(classType);
+
+            CompletableFuture.allOf(closeFutures.values().toArray(CompletableFuture[]::new)).join();
+        } finally {
+            shutdownExecutor.shutdown();
+        }
+
+        if (!closeFailures.isEmpty()) {
+            ShutdownFailedException shutdownFailedException = new ShutdownFailedException(
+                    closeFailures.size() + " bean(s) failed to close: " + closeFailures.keySet());
+
+            closeFailures.values().forEach(shutdownFailedException::addSuppressed);
+            throw shutdownFailedException;
+        }
+    }
+
+    private CompletableFuture<Void> scheduleClose(Class<?> classType) {
+        CompletableFuture<Void> closeFuture = closeFutures.get(classType);
+        if (closeFuture != null)
+            return closeFuture;
+
+        visitingBeans.add(classType);
+        List<CompletableFuture<Void>> dependentFutures = new ArrayList<>();
+        for (Class<?> dependentType : collectCloseableDependents(classType))
+            if (!visitingBeans.contains(dependentType))
+                dependentFutures.add(scheduleClose(dependentType));
+        visitingBeans.remove(classType);
+
+        AutoCloseable closeableBean = closeableBeans.get(classType);
+        closeFuture = CompletableFuture.allOf(dependentFutures.toArray(CompletableFuture[]::new))
+                .thenCompose(dependentsClosed -> CompletableFuture
+                        .runAsync(() -> closeBean(closeableBean), shutdownExecutor)
+                        .orTimeout(closeTimeout.toNanos(), TimeUnit.NANOSECONDS))
+                .handle((closed, closeException) -> {
+                    if (closeException != null)
+                        closeFailures.put(classType, unwrap(closeException, classType));
+                    return null;
+                });
+
+        closeFutures.put(classType, closeFuture);
+        return closeFuture;
+    }
+
+    /**
+     *
+     * Collects the nearest closeable dependents of {@code classType}. Dependents that are
+     * not closeable are crossed, so their own dependents are still closed first.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private Set<Class<?>> collectCloseableDependents(Class<?> classType) {
+        Set<Class<?>> closeableDependents = new LinkedHashSet<>();
+        Set<Class<?>> visitedTypes = new HashSet<>();
+        Deque<Class<?>> pendingTypes = new ArrayDeque<>(beanDependents.getOrDefault(classType, Set.of()));
+
+        while (!pendingTypes.isEmpty()) {
+            Class<?> dependentType = pendingTypes.pop();
+
+            if (dependentType == classType || !visitedTypes.add(dependentType))
+                continue;
+
+            if (closeableBeans.containsKey(dependentType))
+                closeableDependents.add(dependentType);
+            else
+                pendingTypes.addAll(beanDependents.getOrDefault(dependentType, Set.of()));
+        }
+        return closeableDependents;
+    }
+
+    private static void closeBean(AutoCloseable closeableBean) {
+        try {
+            closeableBean.close();
+        } catch (Exception exception) {
+            throw new CompletionException(exception);
+        }
+    }
+
+    private Throwable unwrap(Throwable closeException, Class<?> classType) {
+        Throwable cause = (closeException instanceof CompletionException && closeException.getCause() != null)
+                ? closeException.getCause() : closeException;
+
+        if (cause instanceof TimeoutException)
+            return new TimeoutException(classType.getName() + " did not close within " + closeTimeout + ".");
+
+        return cause;
+    }
+
+    private static ThreadFactory createDaemonThreadFactory() {
+        return runnable -> {
+            Thread shutdownThread = new Thread(runnable,
+                    "dependency4j-shutdown-" + SHUTDOWN_THREAD_COUNT.incrementAndGet());
+            shutdownThread.setDaemon(true);
+            return shutdownThread;
+        };
+    }
+
+}
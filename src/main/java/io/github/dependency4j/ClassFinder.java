@@ -1,6 +1,7 @@
 package io.github.dependency4j;
 
 import io.github.dependency4j.exception.ScanFailedException;
+import io.github.dependency4j.jfr.PackageScanEvent;
 import io.github.dependency4j.util.Checks;
 
 import java.io.*;
@@ -25,6 +26,8 @@ public class ClassFinder {
     public static Set<Class<?>> scanPackages(ClassLoader classLoader, String parentPackageName) {
         Checks.nonNull(parentPackageName, "The parent package name can not be null.");
         Checks.nonNull(classLoader, "Could not scan \"" + parentPackageName + "\" with a null classLoader.");
+        PackageScanEvent packageScanEvent = new PackageScanEvent();
+        packageScanEvent.begin();
         Set<Class<?>> classes = new HashSet<>();
         String relPath = parentPackageName.replace('.', '/');
         try {
@@ -36,13 +39,18 @@ public class ClassFinder {
                 do {
                     URL resource = resources.nextElement();
                     if (resource.toString().startsWith("jar:")) {
-                        classes.addAll(processJarFile(resource, parentPackageName));
+                        classes.addAll(processJarFile(classLoader, resource, parentPackageName, packageScanEvent));
                     } else {
                         File dir = new File(resource.getPath());
-                        classes.addAll(processDirectory(dir, parentPackageName));
+                        classes.addAll(processDirectory(classLoader, dir, parentPackageName, packageScanEvent));
                     }
                 } while (resources.hasMoreElements());
             }
+            if (packageScanEvent.shouldCommit()) {
+                packageScanEvent.packageName = parentPackageName;
+                packageScanEvent.classCount  = classes.size();
+                packageScanEvent.commit();
+            }
             return classes;
         } catch (IOException e) {
             String err = "Unexpected error loading resources";
@@ -50,23 +58,78 @@ public class ClassFinder {
         }
     }
 
+    /**
+     *
+     * Finds the directories of the class path that hold {@code packageName}, the same
+     * directories that {@link #scanPackages(ClassLoader, String)} reads with
+     * {@link #processDirectory(ClassLoader, File, String)}. Packages found in jar files
+     * are left out.
+     *
+     * @return The package directories, without their subdirectories.
+     *
+     * @throws ScanFailedException If the class path resources could not be read.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public static List<File> findPackageDirectories(ClassLoader classLoader, String packageName) {
+        Checks.nonNull(packageName, "The package name can not be null.");
+        Checks.nonNull(classLoader, "Could not find \"" + packageName + "\" with a null classLoader.");
+        List<File> directories = new ArrayList<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(packageName.replace('.', '/'));
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                if (resource.toString().startsWith("jar:"))
+                    continue;
+
+                File directory = new File(resource.getPath());
+                if (directory.isDirectory())
+                    directories.add(directory);
+            }
+        } catch (IOException e) {
+            throw new ScanFailedException(format("Unexpected error finding the directories of [%s]", packageName), e);
+        }
+        return directories;
+    }
+
     public static List<Class<?>> processDirectory(File directory, String packageName) {
+        return processDirectory(ClassFinder.class.getClassLoader(), directory, packageName);
+    }
+
+    public static List<Class<?>> processDirectory(ClassLoader classLoader, File directory, String packageName) {
+        return processDirectory(classLoader, directory, packageName, null);
+    }
+
+    private static List<Class<?>> processDirectory(ClassLoader classLoader, File directory, String packageName,
+                                                   PackageScanEvent packageScanEvent) {
         List<Class<?>> classes = new ArrayList<>();
         for(String file : directory.list()) {
             String cls;
             if (file.endsWith(CLASS_SUFFIX)) {
                 cls = packageName + '.' + file.substring(0, file.length() - 6);
-                classes.add(loadClass(cls));
+                classes.add(loadClass(classLoader, cls));
+                if (isRecording(packageScanEvent))
+                    packageScanEvent.bytesRead += new File(directory, file).length();
             }
             File subdir = new File(directory, file);
             if (subdir.isDirectory()) {
-                classes.addAll(processDirectory(subdir, packageName + '.' + file));
+                classes.addAll(processDirectory(classLoader, subdir, packageName + '.' + file, packageScanEvent));
             }
         }
         return classes;
     }
 
     public static List<Class<?>> processJarFile(URL resource, String pkgname) {
+        return processJarFile(ClassFinder.class.getClassLoader(), resource, pkgname);
+    }
+
+    public static List<Class<?>> processJarFile(ClassLoader classLoader, URL resource, String pkgname) {
+        return processJarFile(classLoader, resource, pkgname, null);
+    }
+
+    private static List<Class<?>> processJarFile(ClassLoader classLoader, URL resource, String pkgname,
+                                                 PackageScanEvent packageScanEvent) {
         List<Class<?>> classes = new ArrayList<>();
         String relPath = pkgname.replace('.', '/');
         String resPath = resource.getPath();
@@ -85,7 +148,9 @@ public class ClassFinder {
                 }
 
                 if (className != null) {
-                    classes.add(loadClass(className));
+                    classes.add(loadClass(classLoader, className));
+                    if (isRecording(packageScanEvent))
+                        packageScanEvent.bytesRead += Math.max(0, entry.getSize());
                 }
             }
         } catch (IOException e) {
@@ -95,9 +160,13 @@ public class ClassFinder {
         return classes;
     }
 
-    private static Class<?> loadClass(String cls) {
+    private static boolean isRecording(PackageScanEvent packageScanEvent) {
+        return packageScanEvent != null && packageScanEvent.isEnabled();
+    }
+
+    private static Class<?> loadClass(ClassLoader classLoader, String cls) {
         try {
-            return Class.forName(cls);
+            return Class.forName(cls, true, classLoader);
         }
         catch (ClassNotFoundException e) {
             throw new ScanFailedException(format("Unexpected ClassNotFoundException " +
@@ -0,0 +1,184 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.util.Checks;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *
+ * <b>ClassMetadataRegistry</b> holds the class metadata that never changes, so it is computed
+ * once per JVM and shared by every {@link DependencyManager}, instead of once per manager:
+ *
+ * <pre>
+ *  1. Scanned class sets, the classes found by {@link ClassFinder} in a package, per {@link ClassLoader}.
+ *  2. Injection plans, the {@link Pull} constructors, fields and setters of a class, with the
+ *     query options of each injected member.
+ *  3. Hierarchy paths, the interface and superclass paths under which a class is inserted in
+ *     the {@link DependencySearchTree}, and the class types it is assignable to.
+ * </pre>
+ *
+ * The decomposed {@link Managed} properties are shared the same way by {@link TypeInformationHolderFactory}.
+ * <p>
+ * Nothing in the registry keeps a class loader reachable. Injection plans and hierarchy paths
+ * are stored in {@link ClassValue}s, which are released with their class. Scanned class sets
+ * are weakly keyed by their class loader and only weakly reference the scanned classes, so a
+ * plugin class loader can be unloaded as soon as the application drops it.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+public final class ClassMetadataRegistry {
+
+    private static final Map<ClassLoader, Map<String, List<WeakReference<Class<?>>>>> SCANNED_PACKAGES =
+            new WeakHashMap<>();
+
+    private static final ClassValue<InjectionPlan> INJECTION_PLANS = new ClassValue<>() {
+        @Override
+        protected InjectionPlan computeValue(Class<?> classType) {
+            return new InjectionPlan(classType);
+        }
+    };
+
+    private static final ClassValue<HierarchyPaths> HIERARCHY_PATHS = new ClassValue<>() {
+        @Override
+        protected HierarchyPaths computeValue(Class<?> classType) {
+            return new HierarchyPaths(
+                    Collections.unmodifiableMap(DependencySearchTree.createInterfaceTreeMapping(classType)),
+                    classType.isInterface() ? Collections.emptyMap()
+                            : Collections.unmodifiableMap(DependencySearchTree.createSuperclassTreeMapping(classType)),
+                    Collections.unmodifiableSet(DependencySearchTree.collectAssignableClassTypes(classType)));
+        }
+    };
+
+    private ClassMetadataRegistry() {}
+
+    /**
+     *
+     * Retrieves the classes of {@code packageName} and its subpackages, loaded by
+     * {@code classLoader}. The package is scanned by {@link ClassFinder} only the first time;
+     * the next calls with the same class loader and package return the same classes, in the
+     * same order, without reading the class path again.
+     *
+     * @param classLoader The class loader used to find and load the classes.
+     * @param packageName The scanned package.
+     *
+     * @return A new {@link Set} of the scanned classes.
+     *
+     * @throws NullPointerException When {@code classLoader} or {@code packageName} is null.
+     *
+     * @see #forgetScannedPackages(ClassLoader)
+     *
+     * @since 1.0.9
+     *
+     **/
+    public static Set<Class<?>> scanPackage(ClassLoader classLoader, String packageName) {
+        Checks.nonNull(classLoader, "classLoader must not be null.");
+        Checks.nonNull(packageName, "packageName must not be null.");
+
+        final Map<String, List<WeakReference<Class<?>>>> scannedPackages;
+        synchronized (SCANNED_PACKAGES) {
+            scannedPackages = SCANNED_PACKAGES.computeIfAbsent(classLoader,
+                    scanningClassLoader -> new ConcurrentHashMap<>());
+        }
+
+        List<WeakReference<Class<?>>> scannedClasses = scannedPackages.get(packageName);
+        if (scannedClasses != null) {
+            Set<Class<?>> classes = resolveScannedClasses(scannedClasses);
+            if (classes != null)
+                return classes;
+        }
+
+        Set<Class<?>> classes = new LinkedHashSet<>(ClassFinder.scanPackages(classLoader, packageName));
+
+        List<WeakReference<Class<?>>> classReferences = new ArrayList<>(classes.size());
+        for (Class<?> classType : classes)
+            classReferences.add(new WeakReference<>(classType));
+
+        scannedPackages.put(packageName, List.copyOf(classReferences));
+        return classes;
+    }
+
+    /**
+     *
+     * @return The scanned classes, or null if any of them was unloaded.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private static Set<Class<?>> resolveScannedClasses(List<WeakReference<Class<?>>> scannedClasses) {
+        Set<Class<?>> classes = new LinkedHashSet<>(scannedClasses.size());
+        for (WeakReference<Class<?>> classReference : scannedClasses) {
+            Class<?> classType = classReference.get();
+            if (classType == null)
+                return null;
+
+            classes.add(classType);
+        }
+        return classes;
+    }
+
+    /**
+     *
+     * @return {@code true} if {@code packageName} was scanned with {@code classLoader} and
+     *         its classes are still cached.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public static boolean isPackageScanned(ClassLoader classLoader, String packageName) {
+        synchronized (SCANNED_PACKAGES) {
+            Map<String, List<WeakReference<Class<?>>>> scannedPackages = SCANNED_PACKAGES.get(classLoader);
+            return scannedPackages != null && scannedPackages.containsKey(packageName);
+        }
+    }
+
+    /**
+     *
+     * Forgets the packages scanned with {@code classLoader}, so they are scanned again the
+     * next time. Useful when classes are added to a directory of the class path at runtime.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public static void forgetScannedPackages(ClassLoader classLoader) {
+        synchronized (SCANNED_PACKAGES) {
+            SCANNED_PACKAGES.remove(classLoader);
+        }
+    }
+
+    static InjectionPlan getInjectionPlan(Class<?> classType) {
+        return INJECTION_PLANS.get(classType);
+    }
+
+    static HierarchyPaths getHierarchyPaths(Class<?> classType) {
+        return HIERARCHY_PATHS.get(classType);
+    }
+
+    /**
+     *
+     * The hierarchy of a class type, as inserted in the {@link DependencySearchTree}.
+     *
+     * @param interfaceTreeMapping  Each implemented interface, mapped to its path of interfaces.
+     * @param superclassTreeMapping The class type mapped to its path of superclasses. Empty for
+     *                              interfaces.
+     * @param assignableClassTypes  The class type, its superclasses and all of their interfaces.
+     *
+     * @since 1.0.9
+     *
+     **/
+    record HierarchyPaths(Map<Class<?>, Set<Class<?>>> interfaceTreeMapping,
+                          Map<Class<?>, Set<Class<?>>> superclassTreeMapping,
+                          Set<Class<?>> assignableClassTypes) {
+    }
+
+}
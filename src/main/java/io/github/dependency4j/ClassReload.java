@@ -0,0 +1,28 @@
+package io.github.dependency4j;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ *
+ * The result of a reload applied by a {@link PackageWatcher}.
+ *
+ * @param reloadedClassTypes     The new versions of the changed {@link Managed} classes,
+ *                               inserted and instantiated.
+ * @param removedClassTypes      The previous versions of the changed or deleted classes, and
+ *                               the virtual class types they produced, removed from the tree.
+ * @param removedInstances       The instances of the removed class types. They are not closed,
+ *                               so the caller can release them.
+ * @param rewiredInjectionPoints The number of recreated dependents and rewired {@link Pull}
+ *                               fields and setters.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+public record ClassReload(Set<Class<?>> reloadedClassTypes,
+                          Set<Class<?>> removedClassTypes,
+                          List<Object> removedInstances,
+                          int rewiredInjectionPoints) {
+}
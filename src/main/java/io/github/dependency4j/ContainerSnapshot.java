@@ -0,0 +1,415 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.exception.SnapshotFailedException;
+import io.github.dependency4j.node.JavaTypeNode;
+import io.github.dependency4j.node.SingletonNode;
+import io.github.dependency4j.node.VirtualSingletonNode;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.zip.CRC32C;
+
+import static java.lang.String.format;
+
+/**
+ *
+ * <b>ContainerSnapshot</b> writes and reads the binary snapshot of a {@link DependencyManager}
+ * used by {@link DependencyManager#snapshot(java.nio.file.Path)} and
+ * {@link DependencyManager#restore(java.nio.file.Path)}. The snapshot holds the resolved graph
+ * metadata, so a restore rebuilds the {@link DependencySearchTree} without scanning packages or
+ * decomposing annotations:
+ * <pre>
+ *  1. Header: magic number and format version
+ *  2. Strategies of the manager
+ *  3. Class table: class names and the CRC32C of their class files
+ *  4. Singleton table: {@link TypeInformationHolder} properties and virtual methods
+ *  5. Node layout of the tree, in pre-order
+ *  6. Instantiation order
+ * </pre>
+ * Only beans created by the manager are written. Instances installed with
+ * {@link DependencyManager#installInstance(Object)}, and the virtual nodes they declare, are
+ * not part of the snapshot and must be installed again after the restore.
+ * <p>
+ * The class file checksums detect classes changed since the snapshot was written. They are
+ * meant to detect stale snapshots, not tampered ones.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+final class ContainerSnapshot {
+
+    static final int   MAGIC          = 0x44344A53; /* "D4JS" */
+    static final short FORMAT_VERSION = 1;
+
+    private static final byte CONCRETE_SINGLETON = 0;
+    private static final byte VIRTUAL_SINGLETON  = 1;
+
+    private static final byte JAVA_TYPE_NODE = 0;
+    private static final byte SINGLETON_NODE = 1;
+
+    private static final Map<String, Class<?>> PRIMITIVE_CLASS_TYPES = Map.of(
+            "boolean", boolean.class, "byte", byte.class, "char", char.class, "short", short.class,
+            "int", int.class, "long", long.class, "float", float.class, "double", double.class,
+            "void", void.class);
+
+    private final Map<Class<?>, Integer> classTable = new LinkedHashMap<>();
+    private final Map<SingletonKey, Integer> singletonTable = new LinkedHashMap<>();
+    private final Map<AbstractNode, Boolean> includedNodes = new IdentityHashMap<>();
+
+    private ContainerSnapshot() {}
+
+    /**
+     *
+     * Writes the snapshot of {@code dependencySearchTree}.
+     *
+     * @param dependencySearchTree The tree of the manager.
+     * @param strategies           The strategies of the manager.
+     * @param instantiationOrder   The class types created by the manager, in completion order.
+     * @param outputStream         The snapshot output. It is not closed.
+     *
+     * @throws IOException When the output fails.
+     *
+     * @since 1.0.9
+     *
+     **/
+    static void write(DependencySearchTree dependencySearchTree, Set<String> strategies,
+                      Collection<Class<?>> instantiationOrder, DataOutputStream outputStream) throws IOException {
+        new ContainerSnapshot().writeSnapshot(dependencySearchTree, strategies,
+                new HashSet<>(instantiationOrder), instantiationOrder, outputStream);
+    }
+
+    /**
+     *
+     * Reads a snapshot and rebuilds its nodes in {@code dependencySearchTree}. No instance is
+     * created: the caller instantiates the returned class types, in order.
+     *
+     * @param inputStream          The snapshot input. It is not closed.
+     * @param classLoader          The class loader of the snapshot classes.
+     * @param dependencySearchTree The empty tree that receives the nodes.
+     * @param strategies           The strategies of the manager. They must be equal to
+     *                             the strategies of the snapshot.
+     *
+     * @return The class types to be instantiated, in order.
+     *
+     * @throws IOException             When the input fails.
+     * @throws SnapshotFailedException When the snapshot is not valid or a class changed
+     *                                 since the snapshot was written.
+     *
+     * @since 1.0.9
+     *
+     **/
+    static List<Class<?>> read(DataInputStream inputStream, ClassLoader classLoader,
+                               DependencySearchTree dependencySearchTree, Set<String> strategies) throws IOException {
+        return new ContainerSnapshot().readSnapshot(inputStream, classLoader, dependencySearchTree, strategies);
+    }
+
+    private void writeSnapshot(DependencySearchTree dependencySearchTree, Set<String> strategies,
+                               Set<Class<?>> instantiatedClassTypes, Collection<Class<?>> instantiationOrder,
+                               DataOutputStream outputStream) throws IOException {
+
+        AbstractNode rootNode = dependencySearchTree.getRootNode();
+        List<SingletonNode> singletonDescriptors = new ArrayList<>();
+        collectSingletonDescriptors(rootNode, instantiatedClassTypes, singletonDescriptors);
+
+        for (Class<?> classType : instantiationOrder)
+            registerClassType(classType);
+
+        outputStream.writeInt(MAGIC);
+        outputStream.writeShort(FORMAT_VERSION);
+
+        List<String> sortedStrategies = new ArrayList<>(strategies);
+        Collections.sort(sortedStrategies);
+        writeStrings(sortedStrategies, outputStream);
+
+        outputStream.writeInt(classTable.size());
+        for (Class<?> classType : classTable.keySet()) {
+            outputStream.writeUTF(classType.getName());
+            outputStream.writeLong(computeClassFileChecksum(classType));
+        }
+
+        outputStream.writeInt(singletonDescriptors.size());
+        for (SingletonNode singletonNode : singletonDescriptors)
+            writeSingletonDescriptor(singletonNode, outputStream);
+
+        writeChildNodes(rootNode, outputStream);
+
+        outputStream.writeInt(instantiationOrder.size());
+        for (Class<?> classType : instantiationOrder)
+            outputStream.writeInt(classTable.get(classType));
+
+        outputStream.flush();
+    }
+
+    /**
+     *
+     * Collects one descriptor node per written singleton, registering the referenced class
+     * types. A virtual singleton is always preceded by the singleton that declares it.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private boolean collectSingletonDescriptors(AbstractNode node, Set<Class<?>> instantiatedClassTypes,
+                                                List<SingletonNode> singletonDescriptors) {
+        boolean included = false;
+
+        if (node instanceof SingletonNode singletonNode)
+            included = collectSingletonDescriptor(singletonNode, instantiatedClassTypes, singletonDescriptors);
+
+        for (int i = 0; i < node.childCount(); i++)
+            included |= collectSingletonDescriptors(node.childAt(i), instantiatedClassTypes, singletonDescriptors);
+
+        if (included && node instanceof JavaTypeNode javaTypeNode)
+            registerClassType(javaTypeNode.getNodeClassType());
+
+        includedNodes.put(node, included);
+        return included;
+    }
+
+    private boolean collectSingletonDescriptor(SingletonNode singletonNode, Set<Class<?>> instantiatedClassTypes,
+                                               List<SingletonNode> singletonDescriptors) {
+        SingletonKey singletonKey = SingletonKey.of(singletonNode);
+
+        if (singletonTable.containsKey(singletonKey))
+            return true;
+
+        if (singletonNode instanceof VirtualSingletonNode virtualSingletonNode) {
+            SingletonNode parentSingletonNode = virtualSingletonNode.getParentSingletionNode();
+
+            if (!collectSingletonDescriptor(parentSingletonNode, instantiatedClassTypes, singletonDescriptors))
+                return false;
+
+            Method virtualMethod = virtualSingletonNode.getVirtualMethod();
+            registerClassType(virtualMethod.getDeclaringClass());
+            for (Class<?> parameterClassType : virtualMethod.getParameterTypes())
+                registerClassType(parameterClassType);
+        }
+        else if (!instantiatedClassTypes.contains(singletonNode.getNodeClassType()))
+            return false;
+
+        registerClassType(singletonNode.getNodeClassType());
+        singletonTable.put(singletonKey, singletonDescriptors.size());
+        singletonDescriptors.add(singletonNode);
+        return true;
+    }
+
+    private void registerClassType(Class<?> classType) {
+        classTable.putIfAbsent(classType, classTable.size());
+    }
+
+    private void writeSingletonDescriptor(SingletonNode singletonNode, DataOutputStream outputStream) throws IOException {
+        TypeInformationHolder typeInformationHolder = singletonNode.getTypeInformationHolder();
+
+        outputStream.writeByte(singletonNode instanceof VirtualSingletonNode ? VIRTUAL_SINGLETON : CONCRETE_SINGLETON);
+        outputStream.writeInt(classTable.get(singletonNode.getNodeClassType()));
+        outputStream.writeUTF(typeInformationHolder.getName());
+        writeStrings(typeInformationHolder.getStrategies(), outputStream);
+        outputStream.writeBoolean(typeInformationHolder.isDisposable());
+        outputStream.writeBoolean(typeInformationHolder.isDynamic());
+
+        if (singletonNode instanceof VirtualSingletonNode virtualSingletonNode) {
+            Method virtualMethod = virtualSingletonNode.getVirtualMethod();
+            outputStream.writeInt(singletonTable.get(SingletonKey.of(virtualSingletonNode.getParentSingletionNode())));
+            outputStream.writeInt(classTable.get(virtualMethod.getDeclaringClass()));
+            outputStream.writeUTF(virtualMethod.getName());
+            outputStream.writeInt(virtualMethod.getParameterCount());
+            for (Class<?> parameterClassType : virtualMethod.getParameterTypes())
+                outputStream.writeInt(classTable.get(parameterClassType));
+        }
+    }
+
+    private void writeChildNodes(AbstractNode node, DataOutputStream outputStream) throws IOException {
+        List<AbstractNode> includedChildNodes = new ArrayList<>(node.childCount());
+        for (int i = 0; i < node.childCount(); i++)
+            if (includedNodes.get(node.childAt(i)))
+                includedChildNodes.add(node.childAt(i));
+
+        outputStream.writeInt(includedChildNodes.size());
+        for (AbstractNode childNode : includedChildNodes) {
+            if (childNode instanceof JavaTypeNode javaTypeNode) {
+                outputStream.writeByte(JAVA_TYPE_NODE);
+                outputStream.writeInt(classTable.get(javaTypeNode.getNodeClassType()));
+                writeChildNodes(javaTypeNode, outputStream);
+            }
+            else {
+                outputStream.writeByte(SINGLETON_NODE);
+                outputStream.writeInt(singletonTable.get(SingletonKey.of((SingletonNode) childNode)));
+            }
+        }
+    }
+
+    private List<Class<?>> readSnapshot(DataInputStream inputStream, ClassLoader classLoader,
+                                        DependencySearchTree dependencySearchTree,
+                                        Set<String> strategies) throws IOException {
+
+        if (inputStream.readInt() != MAGIC)
+            throw new SnapshotFailedException("The file is not a Dependency4j snapshot.");
+
+        short formatVersion = inputStream.readShort();
+        if (formatVersion != FORMAT_VERSION)
+            throw new SnapshotFailedException(format("Unsupported snapshot format version %d, expected %d.",
+                    formatVersion, FORMAT_VERSION));
+
+        Set<String> snapshotStrategies = new HashSet<>(readStrings(inputStream));
+        if (!snapshotStrategies.equals(strategies))
+            throw new SnapshotFailedException(format("The snapshot was written with strategies %s, " +
+                    "but the manager has %s.", snapshotStrategies, strategies));
+
+        Class<?>[] classTypes = new Class<?>[inputStream.readInt()];
+        for (int i = 0; i < classTypes.length; i++)
+            classTypes[i] = loadValidatedClassType(inputStream.readUTF(), inputStream.readLong(), classLoader);
+
+        SingletonNode[] singletonPrototypeArray = new SingletonNode[inputStream.readInt()];
+        for (int i = 0; i < singletonPrototypeArray.length; i++)
+            singletonPrototypeArray[i] = readSingletonDescriptor(inputStream, classTypes, singletonPrototypeArray);
+
+        readChildNodes(dependencySearchTree.getRootNode(), inputStream, classTypes,
+                singletonPrototypeArray, dependencySearchTree);
+
+        List<Class<?>> instantiationOrder = new ArrayList<>();
+        for (int i = inputStream.readInt(); i > 0; i--)
+            instantiationOrder.add(classTypes[inputStream.readInt()]);
+
+        return instantiationOrder;
+    }
+
+    private SingletonNode readSingletonDescriptor(DataInputStream inputStream, Class<?>[] classTypes,
+                                                  SingletonNode[] singletonPrototypeArray) throws IOException {
+        byte singletonKind = inputStream.readByte();
+
+        TypeInformationHolder typeInformationHolder = new TypeInformation(
+                classTypes[inputStream.readInt()],
+                inputStream.readUTF(),
+                List.copyOf(readStrings(inputStream)),
+                inputStream.readBoolean(),
+                inputStream.readBoolean());
+
+        if (singletonKind == CONCRETE_SINGLETON)
+            return new SingletonNode(typeInformationHolder);
+
+        SingletonNode parentSingletonNode = singletonPrototypeArray[inputStream.readInt()];
+        Class<?> declaringClassType = classTypes[inputStream.readInt()];
+        String methodName = inputStream.readUTF();
+
+        Class<?>[] parameterClassTypes = new Class<?>[inputStream.readInt()];
+        for (int i = 0; i < parameterClassTypes.length; i++)
+            parameterClassTypes[i] = classTypes[inputStream.readInt()];
+
+        try {
+            Method virtualMethod = declaringClassType.getMethod(methodName, parameterClassTypes);
+            return new VirtualSingletonNode(typeInformationHolder, parentSingletonNode, virtualMethod);
+
+        } catch (NoSuchMethodException exception) {
+            throw new SnapshotFailedException(format("Virtual method \"%s\" of %s no longer exists.",
+                    methodName, declaringClassType.getName()), exception);
+        }
+    }
+
+    private void readChildNodes(AbstractNode parentNode, DataInputStream inputStream, Class<?>[] classTypes,
+                                SingletonNode[] singletonPrototypeArray,
+                                DependencySearchTree dependencySearchTree) throws IOException {
+
+        for (int i = inputStream.readInt(); i > 0; i--) {
+            byte nodeKind = inputStream.readByte();
+
+            if (nodeKind == JAVA_TYPE_NODE) {
+                JavaTypeNode javaTypeNode = new JavaTypeNode(classTypes[inputStream.readInt()]);
+                parentNode.addChildNode(javaTypeNode);
+                readChildNodes(javaTypeNode, inputStream, classTypes, singletonPrototypeArray, dependencySearchTree);
+            }
+            else if (nodeKind == SINGLETON_NODE) {
+                SingletonNode singletonPrototype = singletonPrototypeArray[inputStream.readInt()];
+                dependencySearchTree.appendSingletonNode(parentNode,
+                        dependencySearchTree.createPathSingletonNode(singletonPrototype));
+            }
+            else
+                throw new SnapshotFailedException("Unknown snapshot node kind " + nodeKind + ".");
+        }
+    }
+
+    private static Class<?> loadValidatedClassType(String className, long checksum, ClassLoader classLoader) {
+        Class<?> classType = PRIMITIVE_CLASS_TYPES.get(className);
+        if (classType != null)
+            return classType;
+
+        try {
+            classType = Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException exception) {
+            throw new SnapshotFailedException(format("Snapshot class \"%s\" was not found.", className), exception);
+        }
+
+        if (computeClassFileChecksum(classType) != checksum)
+            throw new SnapshotFailedException(format("Class \"%s\" changed since the snapshot was written.",
+                    className));
+
+        return classType;
+    }
+
+    /**
+     *
+     * Computes the CRC32C of the class file of {@code classType}. Primitive types, arrays and
+     * classes without a readable class file have a checksum of {@code 0}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    static long computeClassFileChecksum(Class<?> classType) {
+        if (classType.isPrimitive() || classType.isArray())
+            return 0L;
+
+        String classFileName = classType.getName().replace('.', '/') + ".class";
+        ClassLoader classLoader = classType.getClassLoader();
+
+        try (InputStream classFileStream = (classLoader != null)
+                ? classLoader.getResourceAsStream(classFileName)
+                : ClassLoader.getSystemResourceAsStream(classFileName)) {
+
+            if (classFileStream == null)
+                return 0L;
+
+            CRC32C classFileChecksum = new CRC32C();
+            classFileChecksum.update(classFileStream.readAllBytes());
+            return classFileChecksum.getValue();
+
+        } catch (IOException exception) {
+            throw new SnapshotFailedException(format("Could not read the class file of \"%s\".",
+                    classType.getName()), exception);
+        }
+    }
+
+    private static void writeStrings(List<String> strings, DataOutputStream outputStream) throws IOException {
+        outputStream.writeInt(strings.size());
+        for (String string : strings)
+            outputStream.writeUTF(string);
+    }
+
+    private static List<String> readStrings(DataInputStream inputStream) throws IOException {
+        String[] strings = new String[inputStream.readInt()];
+        for (int i = 0; i < strings.length; i++)
+            strings[i] = inputStream.readUTF();
+        return Arrays.asList(strings);
+    }
+
+    /**
+     *
+     * Identifies a singleton of the tree: its class type and, for a virtual singleton, the
+     * virtual method that creates it. Each path node of the same singleton has the same key.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private record SingletonKey(Class<?> classType, Method virtualMethod) {
+
+        static SingletonKey of(SingletonNode singletonNode) {
+            return new SingletonKey(singletonNode.getNodeClassType(),
+                    (singletonNode instanceof VirtualSingletonNode virtualSingletonNode)
+                            ? virtualSingletonNode.getVirtualMethod() : null);
+        }
+    }
+
+}
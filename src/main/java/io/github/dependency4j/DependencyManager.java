@@ -4,19 +4,60 @@ import io.github.dependency4j.exception.ClassCreationFailedException;
 import io.github.dependency4j.exception.InstallationFailedException;
 import io.github.dependency4j.exception.MemberInjectionFailedException;
 import io.github.dependency4j.exception.ReflectionStateException;
+import io.github.dependency4j.exception.ScanFailedException;
+import io.github.dependency4j.exception.ShutdownFailedException;
+import io.github.dependency4j.exception.SnapshotFailedException;
+import io.github.dependency4j.exception.StateException;
+import io.github.dependency4j.jfr.BeanInstantiationEvent;
+import io.github.dependency4j.jfr.InjectionEvent;
+import io.github.dependency4j.metrics.ContainerMetrics;
+import io.github.dependency4j.metrics.ContainerMetricsMBean;
+import io.github.dependency4j.metrics.DefaultContainerMetrics;
 import io.github.dependency4j.node.SingletonNode;
 import io.github.dependency4j.node.VirtualSingletonNode;
+import io.github.dependency4j.trace.AccessTrace;
+import io.github.dependency4j.trace.StartupTimeline;
 import io.github.dependency4j.util.Checks;
 import io.github.dependency4j.util.D4JUtil;
 import io.github.dependency4j.util.ReflectionUtil;
-
+import jdk.jfr.EventType;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static io.github.dependency4j.util.StrUtil.isNullOrBlank;
 import static java.lang.String.format;
@@ -39,991 +80,3394 @@ import static java.lang.String.format;
  * @version 1.0.8
  *
  **/
-public @InternalDynamicallyManaged class DependencyManager implements QueryableProxy {
+public @InternalDynamicallyManaged class DependencyManager implements QueryableProxy, AutoCloseable {
 
     public static final String ANNOTATED_CONSTRUCTOR = "ANNOTATED";
     public static final String DEFAULT_CONSTRUCTOR   = "EMPTY/DEFAULT";
 
-    private boolean enablePrimitiveDefaultValue = false;
+    public static final Duration DEFAULT_CLOSE_TIMEOUT = Duration.ofSeconds(30);
 
+    private static final EventType BEAN_INSTANTIATION_EVENT_TYPE = EventType.getEventType(BeanInstantiationEvent.class);
+    private static final EventType INJECTION_EVENT_TYPE          = EventType.getEventType(InjectionEvent.class);
+
+    private boolean enablePrimitiveDefaultValue = false;
+    private volatile boolean closed = false;
+    private volatile boolean installingPackage = false;
+    private Duration closeTimeout = DEFAULT_CLOSE_TIMEOUT;
+    private StartupTimeline startupTimeline;
+    private ContainerMetrics containerMetrics = ContainerMetrics.NOOP;
+    private SingletonEviction singletonEviction;
+    private Executor virtualProductionExecutor;
+    private ForwardingReferences forwardingReferences;
+    private volatile long instanceVersion;
+    private final AtomicInteger openPackageWatchers = new AtomicInteger();
+    private AccessTrace accessTrace;
+    private Path accessTraceFile;
+    private List<String> previousAccessOrder = List.of();
+    private volatile Thread warmUpThread;
+    private volatile RuntimeException warmUpFailure;
+
+    /* guards the writes made after the install: deferred creations, sweeps, reloads, replaces and overrides */
+    private final Object managerLock = new Object();
+
+    private final AtomicLong lineageModificationCount;
+    private final StampedLock strategySwitchLock;
     private final DependencySearchTree dependencySearchTree;
     private final Set<String> strategies;
+    private StrategyMask strategyMask = StrategyMask.EMPTY;
+    private final Set<Class<?>> instantiationOrder;
+    private final Map<Class<?>, Set<Class<?>>> beanDependencies;
+    private final Set<TypeInformationHolder> candidateTypeInformations;
+    private final Set<Class<?>> deferredClassTypes;
+    private InjectionPoints injectionPoints;
+    private final DependencyManager parent;
+    private final LayeredResolutionCache layeredResolutionCache;
+    private final ForkOverlay forkOverlay;
 
     public static DependencyManagerChainBuilder builder() {
         return new DependencyManagerChainBuilder();
     }
 
     public DependencyManager() {
-        dependencySearchTree = new DependencySearchTree();
+        this(null, false);
+    }
+
+    private DependencyManager(DependencyManager parent, boolean fork) {
+        /* the trees of a manager and of its children share one modification count */
+        lineageModificationCount = (parent != null) ? parent.lineageModificationCount : new AtomicLong();
+        /* and one switch lock, since a child query reads the trees of its parents */
+        strategySwitchLock       = (parent != null) ? parent.strategySwitchLock : new StampedLock();
+        dependencySearchTree = new DependencySearchTree(lineageModificationCount);
         strategies           = new HashSet<>();
+        instantiationOrder   = new LinkedHashSet<>();
+        beanDependencies     = new HashMap<>();
+        candidateTypeInformations = new LinkedHashSet<>();
+        deferredClassTypes   = ConcurrentHashMap.newKeySet();
+        this.parent          = parent;
+        layeredResolutionCache = (parent != null) ? new LayeredResolutionCache() : null;
+        forkOverlay          = fork ? new ForkOverlay() : null;
     }
 
     /**
      *
-     * Given a package name, install function searches for all classes annotated with
-     * {@link Managed} annotation, appends all available classes to the {@link DependencySearchTree},
-     * then starts the recursive instantiation. An available class is a managed class
-     * with {@code dynamic} parameter set to true (default value for {@link Managed}.
+     * Creates a child manager that sees every bean of this manager without copying them.
+     * Queries of the child look at its own beans first, then fall through to this manager,
+     * and to its parents in turn. Classes installed in the child stay in the child: this
+     * manager is never modified by it, so the same parent can be shared by many children,
+     * such as one child per tenant or per request scope.
      * <p>
-     * The recursive instantiation works by creating objects whose parameters are managed
-     * classes. When a non-managed class is passed, the installation process will give
-     * a null value to the non-managed parameter.
+     * A bean of the child can replace a bean of the parent for the child members, since
+     * the child beans are resolved first. The beans of the parent are still created and
+     * injected by the parent, with the parent beans only. A deferred or evicted bean of the
+     * parent needed by a child is created while holding the lock of the parent, so children
+     * can be queried concurrently with each other and with the parent.
+     * <p>
+     * The child starts with the strategies, primitive default values, close timeout,
+     * metrics, virtual production executor and injection rewiring of this manager. Eviction is not inherited,
+     * and closing the child closes only the beans it created.
      *
-     * @param packagePath Package path
+     * @return A new, empty child of this manager.
      *
-     * @throws NullPointerException        {@code packageName} is null or blank.
-     * @throws InstallationFailedException When any error occurs while package installation,
-     *                                     It will give a cause exception.
+     * @throws StateException If this manager was closed.
      *
-     * @since 1.0
+     * @since 1.0.9
      *
      **/
-    public void installPackage(String packagePath) {
-        installPackage(packagePath, ClassLoader.getSystemClassLoader());
+    public DependencyManager createChild() {
+        return createLinkedManager(false);
     }
 
     /**
      *
-     * Given a package name, install function searches for all classes annotated with
-     * {@link Managed} annotation, appends all available classes to the {@link DependencySearchTree},
-     * then starts the recursive instantiation. An available class is a managed class
-     * with {@code dynamic} parameter set to true (default value for {@link Managed}.
+     * Creates a fork of this manager. Like a child created by {@link #createChild()}, a fork
+     * starts empty and shares the tree, the metadata and the instances of this manager, so
+     * forking costs about the same as creating an empty manager, whatever the number of beans.
      * <p>
-     * The recursive instantiation works by creating objects whose parameters are managed
-     * classes. When a non-managed class is passed, the installation process will give
-     * a null value to the non-managed parameter.
+     * A fork can replace individual beans with {@link #override(Class, Object)}. The beans of
+     * this manager that depend on an overridden bean, directly or not, are then recreated by
+     * the fork the first time they are resolved, with the overrides injected. Only those beans
+     * are copied into the tree of the fork; every other bean is still shared. This manager is
+     * never modified by its forks.
+     * <pre>
+     * DependencyManager testManager = dependencyManager.fork();
+     * testManager.override(ReportRepository.class, new InMemoryReportRepository());
      *
-     * @param packagePath Package path
-     * @param classLoader the scan package class loader
+     * // a new ReportService, injected with the in-memory repository
+     * ReportService reportService = testManager.query(ReportService.class);
+     * </pre>
      *
-     * @throws NullPointerException        {@code packageName} is null or blank.
-     * @throws InstallationFailedException When any error occurs while package installation,
-     *                                     It will give a cause exception.
+     * @return A new fork of this manager.
      *
-     * @since 1.0
+     * @throws StateException If this manager was closed.
+     *
+     * @see #override(Class, Object)
+     *
+     * @since 1.0.9
      *
      **/
-    public void installPackage(String packagePath, ClassLoader classLoader) {
-        try {
-            Checks.state(!isNullOrBlank(packagePath), "packageName must not be null or blank.");
-            Set<TypeInformationHolder> managedClassSet = ClassFinder.scanPackages(classLoader, packagePath)
-                    .stream()
-                        .filter(classType -> AnnotationDecomposer.isAnnotationComposed(classType, Managed.class))
-                        .filter(this::checkNonAbstractClassType)
-                        .map(TypeInformationHolderFactory::createTypeInformation)
-                        .filter(this::checkTypeInformationHolderEligibility)
-                    .collect(Collectors.toSet());
+    public DependencyManager fork() {
+        return createLinkedManager(true);
+    }
 
-            /* 1. insert all dependencies to tree */
-            managedClassSet.forEach(dependencySearchTree::insert);
-            /* 2. create all dependencies instances */
-            managedClassSet.forEach(this::instantiateWithInjection);
+    private DependencyManager createLinkedManager(boolean fork) {
+        Checks.state(!closed, "A closed manager can not create child managers.");
 
-        } catch (Exception exception) {
-            throw new InstallationFailedException(packagePath, exception);
-        }
+        DependencyManager childManager = new DependencyManager(this, fork);
+        childManager.strategies.addAll(strategies);
+        childManager.strategyMask                = strategyMask;
+        childManager.enablePrimitiveDefaultValue = enablePrimitiveDefaultValue;
+        childManager.closeTimeout                = closeTimeout;
+        childManager.virtualProductionExecutor   = virtualProductionExecutor;
+        childManager.setContainerMetrics(containerMetrics);
+
+        if (forwardingReferences != null)
+            childManager.enableForwardingReferences();
+
+        if (injectionPoints != null)
+            childManager.enableInjectionRewiring();
+
+        return childManager;
     }
 
     /**
      *
-     * Performs method and field injection to {@code instance}.
-     * <p>
-     * The instance class does not need to be annotated with {@link Managed}, but fields and
-     * methods can be annotated with {@link Pull} to enable dependency injection.
-     * <p>
-     * This function also allows you to choose the installation type. When using
-     * {@link InstallationType#DEFAULT}, the class type and its instance will be appended
-     * to the {@link DependencySearchTree} and can be used later to search with
-     * {@code query()} for the same singleton type. If {@link  InstallationType#STANDALONE}
-     * is used, the function will only inject dependencies to its fields and methods.
-     * The class type will not be handled by the search tree. This function does not
-     * support <i>constructor injection</i>.
-     *
-     * @param instance The instance object that will receive the dependency injection.
-     * @param installationType The selected installation type.
+     * @return The manager this manager was created from with {@link #createChild()}, or
+     *         null if it is not a child.
      *
-     * @return The same {@code instance} object.
+     * @since 1.0.9
      *
-     * @throws NullPointerException           When {@code object} or {@code installationType} is null.
-     * @throws MemberInjectionFailedException May occur while performing field/method injection.
-     *                                        It will give a cause exception.
+     **/
+    public DependencyManager getParent() {
+        return parent;
+    }
+
+    /**
      *
-     * @see DependencyManager#installInstance(Object)
+     * @return {@code true} if this manager was created by {@link #fork()}.
      *
-     * @since 1.0
+     * @since 1.0.9
      *
      **/
-    public <T> T installInstance(T instance, InstallationType installationType) {
-        Checks.nonNull(instance, "object must not be null.");
-        Checks.nonNull(installationType, "installationType must not be null.");
-        performMethodAndFieldInjection(instance);
-        if (installationType != InstallationType.STANDALONE) {
-            dependencySearchTree.insertPropagation(instance.getClass(), instance);
-            installVirtualMethodsToSingleInstance(instance);
-        }
-        return instance;
+    public boolean isFork() {
+        return forkOverlay != null;
     }
 
     /**
      *
-     * Handles installation of virtual methods to a user's single instance. If the instance
-     * is installed as {@link InstallationType#STANDALONE}, virtual methods will not be used
-     * in this case. Standalone instances are not stored in the {@link DependencySearchTree}
-     * so its dependencies will not be inserted to the tree too.
+     * Replaces, in this fork only, the bean that {@code classType} resolves to with
+     * {@code instance}. The instance is installed like {@link #installInstance(Object)}, so
+     * its {@link Pull} fields and setters are injected. Every bean of the parents that was
+     * injected with the replaced bean, directly or through other beans, becomes stale: it is
+     * recreated by the fork the first time it is queried, injected or listed by
+     * {@link #queryAll(Class)}, and the parent instance is no longer visible from the fork.
+     * <p>
+     * The dependents are found from the injection plans of the installed classes, so beans
+     * of the parents that were not created yet, evicted or deferred, are recreated too. A
+     * virtual bean is recreated with its parent bean. Beans the fork already created keep
+     * their dependencies, so overrides are meant to be made right after {@link #fork()}.
      *
-     * @param instance The instance object that will receive the dependency injection.
+     * @param classType The class type whose bean is replaced.
+     * @param instance  The replacing instance.
      *
-     * @see DependencyManager#installInstance(Object)
+     * @throws NullPointerException     When {@code classType} or {@code instance} is null.
+     * @throws IllegalArgumentException When {@code instance} is not an instance of {@code classType}.
+     * @throws StateException           When this manager is not a fork.
      *
-     * @since 1.0.4
+     * @see #fork()
+     *
+     * @since 1.0.9
      *
      **/
-    private void installVirtualMethodsToSingleInstance(Object instance) {
-        Class<?> parentClassType = instance.getClass();
-        ReflectionUtil.consumeAllVirtualMethodsFromClassType(parentClassType, (virtualMethod) -> {
-            Class<?> virtualMethodReturnType = virtualMethod.getReturnType();
-            if (virtualMethodReturnType.isPrimitive()) {
-                return;
+    public <T> void override(Class<T> classType, T instance) {
+        synchronized (managerLock) {
+            Checks.nonNull(classType, "classType must not be null.");
+            Checks.nonNull(instance, "instance must not be null.");
+            Checks.state(forkOverlay != null, "Only forked managers can override beans.");
+
+            if (!classType.isInstance(instance))
+                throw new IllegalArgumentException("instance is not an instance of \"" + classType.getName() + "\".");
+
+            SingletonNode overriddenSingletonNode = resolveSingletonNode(classType, QueryOptions.none());
+            installInstance(instance);
+
+            if (overriddenSingletonNode != null) {
+                final Class<?> overriddenClassType = overriddenSingletonNode.getNodeClassType();
+                final Set<Class<?>> staleDependents = collectChainDependents(overriddenClassType);
+
+                /* beans the fork created itself already have an instance slot of their own */
+                staleDependents.removeIf(dependent -> dependencySearchTree.getRegisteredSingletonNode(dependent) != null);
+                forkOverlay.recordOverride(overriddenClassType, staleDependents);
+
+                /* the children of the fork may have cached the stale beans before they became stale */
+                lineageModificationCount.incrementAndGet();
             }
-            dependencySearchTree.propagateSingletonInstanceToNodes(virtualMethodReturnType,
-                    invokeMethodWithInjection(instance, virtualMethod));
-        });
+            layeredResolutionCache.clearLayeredInstances();
+        }
     }
 
     /**
      *
-     * Performs method invocation and field injection to {@code instance}.
-     * <p>
-     * The instance class does not need to be annotated with {@link Managed}, but fields and
-     * methods can be annotated with {@link Pull} to enable dependency injection.
-     * <p>
-     * By default, the installation type of this function is {@link InstallationType#DEFAULT}.
-     * This function does not support <i>constructor injection</i>.
-     *
-     * @param instance The instance object that will receive the dependency injection.
-     *
-     * @return The same {@code instance} object.
-     *
-     * @throws NullPointerException           When {@code object} or {@code installationType} is null.
-     * @throws MemberInjectionFailedException May occur while performing field/method injection.
-     *                                        It will give a cause exception.
+     * @return The class types installed in the chain that depend on {@code classType},
+     *         directly or not, according to their declared dependencies. Beans that were
+     *         never created are included, unlike with the dependencies recorded at creation.
      *
-     * @see DependencyManager#installInstance(Object, InstallationType)
+     * @see #collectDeclaredDependencies(SingletonNode)
      *
-     * @since 1.0
+     * @since 1.0.9
      *
      **/
-    public <T> T installInstance(T instance) {
-        return installInstance(instance, InstallationType.DEFAULT);
+    private Set<Class<?>> collectChainDependents(Class<?> classType) {
+        final Map<Class<?>, List<Class<?>>> declaredDependencies = new LinkedHashMap<>();
+        for (DependencyManager manager = this; manager != null; manager = manager.parent) {
+            for (SingletonNode singletonNode : manager.dependencySearchTree.querySingletonsByAssignableType(Object.class))
+                declaredDependencies.putIfAbsent(singletonNode.getNodeClassType(), collectDeclaredDependencies(singletonNode));
+        }
+        final Set<Class<?>> dependents = new LinkedHashSet<>();
+        final Deque<Class<?>> pendingClassTypes = new ArrayDeque<>();
+        pendingClassTypes.add(classType);
+
+        while (!pendingClassTypes.isEmpty()) {
+            final Class<?> dependencyClassType = pendingClassTypes.poll();
+
+            declaredDependencies.forEach((dependentClassType, dependencyClassTypes) -> {
+                if (dependentClassType == classType || dependents.contains(dependentClassType))
+                    return;
+
+                for (Class<?> declaredClassType : dependencyClassTypes) {
+                    if (declaredClassType.isAssignableFrom(dependencyClassType)) {
+                        dependents.add(dependentClassType);
+                        pendingClassTypes.add(dependentClassType);
+                        return;
+                    }
+                }
+            });
+        }
+        return dependents;
     }
 
     /**
      *
-     * Creates an instance for a given {@code classType}. This functions acts similar
-     * to {@link DependencyManager#installPackage(String)}, initializing the class type
-     * with an instance that supports all kinds of dependency injection <i>(Constructor,
-     * Field and Method)</i>. It also supports dynamic {@link Managed} classes, allowing
-     * detached objects to be instantiated.
-     * <p>
-     * The class type does not need to be annotated with {@link Managed}, but the constructor,
-     * fields or methods can be annotated with {@link Pull} to enable dependency injection.
-     * <p>
-     * This function also allows you to choose the installation type. When using
-     * {@link InstallationType#DEFAULT}, the class type and its instance will be appended
-     * to the {@link DependencySearchTree} and can be used later to search with
-     * {@code query()} for the same singleton type. If {@link  InstallationType#STANDALONE}
-     * is used, the function will only inject dependencies to its constructor, fields or
-     * methods. The class type will not be handled by the search tree.
+     * @return The class types {@code singletonNode} may be injected with, from the
+     *         {@link InjectionPlan} of its class: the parameters of its {@link Pull}
+     *         constructor, its {@link Pull} fields and setters. A virtual bean depends on its
+     *         parent bean and on the parameters of its virtual method. Collection members
+     *         give their element type.
      *
-     * @param classType The class type to be instantiated.
-     * @param installationType The selected installation type.
+     * @since 1.0.9
      *
-     * @return An instance of {@code classType}.
+     **/
+    private static List<Class<?>> collectDeclaredDependencies(SingletonNode singletonNode) {
+        final List<Class<?>> declaredDependencies = new ArrayList<>();
+
+        if (singletonNode instanceof VirtualSingletonNode virtualSingletonNode) {
+            declaredDependencies.add(virtualSingletonNode.getParentSingletionNode().getNodeClassType());
+            addParameterTypes(declaredDependencies, virtualSingletonNode.getVirtualMethod());
+            return declaredDependencies;
+        }
+        InjectionPlan injectionPlan = ClassMetadataRegistry.getInjectionPlan(singletonNode.getNodeClassType());
+
+        if (injectionPlan.getPullConstructor() != null)
+            addParameterTypes(declaredDependencies, injectionPlan.getPullConstructor());
+
+        for (Field pullField : injectionPlan.getPullFields())
+            addMemberType(declaredDependencies, pullField.getType(), pullField.getGenericType());
+
+        for (Method pullSetter : injectionPlan.getPullSetters())
+            addParameterTypes(declaredDependencies, pullSetter);
+
+        return declaredDependencies;
+    }
+
+    private static void addParameterTypes(List<Class<?>> declaredDependencies, Executable executable) {
+        for (Parameter parameter : executable.getParameters())
+            addMemberType(declaredDependencies, parameter.getType(), parameter.getParameterizedType());
+    }
+
+    private static void addMemberType(List<Class<?>> declaredDependencies, Class<?> memberType, Type genericType) {
+        Class<?> elementClassType = ReflectionUtil.resolveCollectionElementType(memberType, genericType);
+        declaredDependencies.add((elementClassType != null) ? elementClassType : memberType);
+    }
+
+    /**
      *
-     * @throws NullPointerException           When {@code classType} or {@code installationType} is null.
-     * @throws ClassCreationFailedException   May occur during instance creation and dependency injection
-     *                                        process. It will give a cause exception.
+     * Recreates a stale bean of the parents in this fork, with the overrides injected. The
+     * bean is recreated while holding the lock of this fork, since queries of the fork and
+     * of its children resolve stale beans concurrently.
      *
-     * @see DependencyManager#installInstance(Object, InstallationType)
+     * @return The singleton node of the fork.
      *
-     * @since 1.0
+     * @since 1.0.9
      *
      **/
-    public <T> T installType(Class<T> classType, InstallationType installationType) {
-        Checks.nonNull(classType, "classType must not be null.");
-        Checks.nonNull(installationType, "installationType must not be null.");
-
-        TypeInformationHolder typeInformationHolder = TypeInformationHolderFactory
-                .createTypeInformation(classType);
-
-        if (installationType != InstallationType.STANDALONE)
-            dependencySearchTree.insert(typeInformationHolder);
+    private SingletonNode copyStaleSingletonNode(SingletonNode staleSingletonNode) {
+        synchronized (managerLock) {
+            final Class<?> staleClassType = staleSingletonNode.getNodeClassType();
+
+            /* another query may have recreated it while this one was waiting */
+            if (!forkOverlay.isStale(staleClassType)) {
+                SingletonNode copiedSingletonNode = dependencySearchTree.getRegisteredSingletonNode(staleClassType);
+                return (copiedSingletonNode != null) ? copiedSingletonNode : staleSingletonNode;
+            }
+            /* the copy is being created by this thread, stale until its instance is complete */
+            if (dependencySearchTree.containsSingletonNode(staleSingletonNode))
+                return staleSingletonNode;
 
-        return instantiateWithInjection(classType);
+            return copyParentSingletonNode(staleSingletonNode);
+        }
     }
 
     /**
      *
-     * Creates an instance for a given {@code classType}. This functions acts similar
-     * to {@link DependencyManager#installPackage(String)}, initializing the class type
-     * with an instance that supports all kinds of dependency injection <i>(Constructor,
-     * Field and Method)</i>. It also supports dynamic {@link Managed} classes, allowing
-     * detached objects to be instantiated.
-     * <p>
-     * The class type does not need to be annotated with {@link Managed}, but the constructor,
-     * fields or methods can be annotated with {@link Pull} to enable dependency injection.
-     * <p>
-     * By default, the installation type of this function is {@link InstallationType#DEFAULT}.
+     * Creates in this fork a copy of {@code parentSingletonNode}, a bean of the parents that
+     * is stale or has no instance, so the parents are never modified by the fork. A virtual
+     * bean is copied with its parent bean. The parent instance of the copied class types is
+     * shadowed from then on.
      *
-     * @param classType The class type to be instantiated.
+     * @return The instantiated singleton node of the fork.
      *
-     * @return An instance of {@code classType}.
+     * @since 1.0.9
      *
-     * @throws NullPointerException           When {@code classType} is null.
-     * @throws ClassCreationFailedException   May occur during instance creation and dependency injection
-     *                                        process. It will give a cause exception.
+     **/
+    private SingletonNode copyParentSingletonNode(SingletonNode parentSingletonNode) {
+        synchronized (managerLock) {
+            final Class<?> copiedClassType = parentSingletonNode.getNodeClassType();
+            SingletonNode copiedSingletonNode = dependencySearchTree.getRegisteredSingletonNode(copiedClassType);
+
+            if (copiedSingletonNode == null) {
+                final Class<?> installedClassType = (parentSingletonNode instanceof VirtualSingletonNode virtualSingletonNode)
+                        ? virtualSingletonNode.getParentSingletionNode().getNodeClassType()
+                        : copiedClassType;
+
+                installType(installedClassType);
+                forkOverlay.recordCopy(installedClassType);
+                copiedSingletonNode = dependencySearchTree.getRegisteredSingletonNode(copiedClassType);
+            }
+            instantiateWithInjection(copiedSingletonNode);
+            forkOverlay.recordCopy(copiedClassType);
+
+            return copiedSingletonNode;
+        }
+    }
+
+    /**
      *
-     * @see DependencyManager#installInstance(Object, InstallationType)
+     * @return The nearest fork between this manager, included, and {@code nodeOwner}, excluded,
+     *         or null if there is none. That fork creates the beans of {@code nodeOwner} that
+     *         are needed without an instance.
      *
-     * @since 1.0
+     * @since 1.0.9
      *
      **/
-    public <T> T installType(Class<T> classType) {
-        return installType(classType, InstallationType.DEFAULT);
+    private DependencyManager findNearestFork(DependencyManager nodeOwner) {
+        for (DependencyManager manager = this; manager != nodeOwner; manager = manager.parent) {
+            if (manager.forkOverlay != null)
+                return manager;
+        }
+        return null;
     }
 
     /**
      *
-     * The main core function of {@link DependencyManager}. This function starts the class type
-     * instantiation and dependency propagation through the constructor. Firstly, the function
-     * will try to find an already instantiated object for {@code classType}, if no instance is
-     * found, it will start creating the instance from scratch.
+     * Atomically replaces the instance of the bean that {@code classType} resolves to with
+     * {@code instance}. The singleton nodes of every interface and superclass path of the
+     * bean share one instance slot, so all of them see the new instance at once. Queries
+     * read the slot without locking; the {@link #queryAll(Class)} lists holding the previous
+     * instance are rebuilt, since the {@link DependencySearchTree} validates its cached lists
+     * against its own version of the instances. The {@link #getInstanceVersion() replace
+     * count} is then incremented.
      * <p>
-     * The function is only able to create constructors with more than one parameter if the
-     * constructor is annotated with {@link Pull}. If no constructor annotated is found, it will
-     * try to create with an empty constructor method.
-     * <p>
-     * After instantiation and constructor injection, a method and field injection will be
-     * performed in methods and fields annotated with {@link Pull} to the built instance.
-     * <p>
-     * All instances created by this function will be propagated to the {@link DependencySearchTree}.
+     * Unlike {@link #override(Class, Object)}, no bean is recreated and {@code instance} is
+     * not injected. Members already injected with the previous instance keep it, unless
+     * they received a forwarding reference, see {@link #enableForwardingReferences()}.
+     * The previous instance is not closed; it is returned to the caller instead, and
+     * {@code instance} is closed with this manager.
      *
-     * @param classTypeSingletonNode The singleton node to be instantiated.
-     *
-     * @return A fully handled instance of {@code classType}.
+     * @param classType The class type whose bean is replaced.
+     * @param instance  The new instance, of the class type of the replaced bean.
      *
-     * @throws ClassCreationFailedException May occur during instance creation and dependency
-     *                                      injection process. It will give a cause exception.
-
-     * @throws IllegalStateException        If the function could not instantiate any of the
-     *                                      class constructors.
+     * @return The previous instance, or null if the bean was not created yet.
      *
-     * @see DependencyManager#installPackage(String)
-     * @see DependencyManager#installType(Class, InstallationType)
-     * @see DependencyManager#installType(Class)
+     * @throws NullPointerException     When {@code classType} or {@code instance} is null.
+     * @throws IllegalArgumentException When {@code instance} is not an instance of the class
+     *                                  type of the replaced bean.
+     * @throws StateException           When no bean of {@code classType} is installed in this
+     *                                  manager, or this manager was closed.
      *
-     * @since 1.0.4
+     * @since 1.0.9
      *
      **/
-    @SuppressWarnings("Unchecked")
-    private <T> T instantiateWithInjection(SingletonNode classTypeSingletonNode) {
-        final Class<?> nodeClassType = classTypeSingletonNode.getNodeClassType();
+    @SuppressWarnings("unchecked")
+    public <T> T replace(Class<T> classType, T instance) {
+        synchronized (managerLock) {
+            Checks.nonNull(classType, "classType must not be null.");
+            Checks.nonNull(instance, "instance must not be null.");
+            Checks.state(!closed, "A closed manager can not replace beans.");
 
-        if (classTypeSingletonNode.getNodeInstance() != null)
-            return (T) classTypeSingletonNode.getNodeInstance();
+            SingletonNode replacedSingletonNode = resolveSingletonNode(classType, QueryOptions.none());
+            Checks.state(replacedSingletonNode != null && findNodeOwner(replacedSingletonNode) == this,
+                    "No bean of \"" + classType.getName() + "\" is installed in this manager.");
 
-        try {
-            Object newInstanceOfType;
-            if (classTypeSingletonNode instanceof VirtualSingletonNode virtualSingletonNode)
-                newInstanceOfType =
-                        handleVirtualSingletonClassInstantiation(virtualSingletonNode);
-            else
-                newInstanceOfType =
-                        handleConcreteSingletonClassInstantiation(classTypeSingletonNode);
+            final Class<?> replacedClassType = replacedSingletonNode.getNodeClassType();
+            if (!replacedClassType.isInstance(instance))
+                throw new IllegalArgumentException("instance is not an instance of \"" + replacedClassType.getName() + "\".");
 
-            if (newInstanceOfType == null)
-                throw new IllegalStateException("Could not created a instance to " + nodeClassType);
+            Object previousInstance = replacedSingletonNode.getNodeInstance();
+            dependencySearchTree.propagateSingletonInstanceToNodes(replacedClassType, instance);
+            instanceVersion++;
 
-            performMethodAndFieldInjection(newInstanceOfType);
-            dependencySearchTree.propagateSingletonInstanceToNodes(nodeClassType, newInstanceOfType);
-            return (T) newInstanceOfType;
+            if (layeredResolutionCache != null)
+                layeredResolutionCache.clearLayeredInstances();
 
-        } catch (Exception exception) {
-            throw new ClassCreationFailedException(nodeClassType, exception);
+            return (T) previousInstance;
         }
     }
 
     /**
      *
-     * The main core function of {@link DependencyManager}. This function starts the class type
-     * instantiation and dependency propagation through the constructor. Firstly, the function
-     * will try to find an already instantiated object for {@code classType}, if no instance is
-     * found, it will start creating the instance from scratch.
-     * <p>
-     * The function is only able to create constructors with more than one parameter if the
-     * constructor is annotated with {@link Pull}. If no constructor annotated is found, it will
-     * try to create with an empty constructor method.
+     * @return The number of instances replaced by {@link #replace(Class, Object)} so far,
+     *         so callers can tell that a bean was replaced. The caches of the manager do not
+     *         depend on it, they are validated by the {@link DependencySearchTree} itself.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public long getInstanceVersion() {
+        return instanceVersion;
+    }
+
+    /**
+     *
+     * From now on, members declared as a public interface are injected with a forwarding
+     * reference instead of the instance. A forwarding reference implements the interface
+     * and forwards each call to the current instance of the bean, read with a single volatile
+     * read and without locking, so the beans replaced by {@link #replace(Class, Object)} are
+     * picked up by the next call. A bean injected twice receives the same reference.
+     * <p>
+     * Calls are forwarded by reflection, and {@code equals} and {@code hashCode} compare the
+     * references themselves. Members declared as a class, or a collection, still receive
+     * the instances. Child managers and forks inherit the setting.
+     *
+     * @see #replace(Class, Object)
+     *
+     * @since 1.0.9
+     *
+     **/
+    public void enableForwardingReferences() {
+        if (forwardingReferences == null)
+            forwardingReferences = new ForwardingReferences();
+    }
+
+    /**
+     *
+     * From now on, the manager records the values it injects: the arguments of each
+     * {@link Pull} constructor and {@link Virtual} method, and the values of each {@link Pull}
+     * field and setter. {@link #switchStrategies(String...)} and the reloads of a
+     * {@link #watchPackage(String) package watcher} need them to rewire only the injections
+     * whose resolution changed. Managers that never switch or reload do not enable it, so
+     * their beans are created without the records. Child managers and forks inherit the
+     * setting.
+     *
+     * @throws StateException When a bean was already created by this manager.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public void enableInjectionRewiring() {
+        if (injectionPoints != null)
+            return;
+
+        Checks.state(instantiationOrder.isEmpty(),
+                "Injection rewiring must be enabled before the first bean is created.");
+        injectionPoints = new InjectionPoints();
+    }
+
+    /**
+     *
+     * Given a package name, install function searches for all classes annotated with
+     * {@link Managed} annotation, appends all available classes to the {@link DependencySearchTree},
+     * then starts the recursive instantiation. An available class is a managed class
+     * with {@code dynamic} parameter set to true (default value for {@link Managed}.
+     * <p>
+     * The recursive instantiation works by creating objects whose parameters are managed
+     * classes. When a non-managed class is passed, the installation process will give
+     * a null value to the non-managed parameter.
+     *
+     * @param packagePath Package path
+     *
+     * @throws NullPointerException        {@code packageName} is null or blank.
+     * @throws InstallationFailedException When any error occurs while package installation,
+     *                                     It will give a cause exception.
+     *
+     * @since 1.0
+     *
+     **/
+    public void installPackage(String packagePath) {
+        installPackage(packagePath, ClassLoader.getSystemClassLoader());
+    }
+
+    /**
+     *
+     * Given a package name, install function searches for all classes annotated with
+     * {@link Managed} annotation, appends all available classes to the {@link DependencySearchTree},
+     * then starts the recursive instantiation. An available class is a managed class
+     * with {@code dynamic} parameter set to true (default value for {@link Managed}.
+     * <p>
+     * The recursive instantiation works by creating objects whose parameters are managed
+     * classes. When a non-managed class is passed, the installation process will give
+     * a null value to the non-managed parameter.
+     *
+     * @param packagePath Package path
+     * @param classLoader the scan package class loader
+     *
+     * @throws NullPointerException        {@code packageName} is null or blank.
+     * @throws InstallationFailedException When any error occurs while package installation,
+     *                                     It will give a cause exception.
+     *
+     * @since 1.0
+     *
+     **/
+    public void installPackage(String packagePath, ClassLoader classLoader) {
+        installPackage(packagePath, classLoader, null);
+    }
+
+    /**
+     *
+     * Installs {@code packagePath} like {@link #installPackage(String)}, but only instantiates
+     * the root class types and the beans they reach through their {@link Pull} members and
+     * {@link Virtual} parents, transitively. The other managed classes of the package are
+     * inserted in the {@link DependencySearchTree} without an instance, and are created the
+     * first time they are queried, listed by {@link #queryAll(Class)} or injected, if ever.
+     * This keeps the startup of a large package proportional to what the application uses.
+     * <p>
+     * The virtual beans of the deferred classes are deferred with them. Concurrent virtual
+     * production is not applied to rooted installs.
+     *
+     * @param packagePath    Package path
+     * @param rootClassTypes The class types instantiated right away. Interfaces and virtual
+     *                       bean types are resolved like a query.
+     *
+     * @throws NullPointerException        {@code packageName} is null or blank, or a root is null.
+     * @throws InstallationFailedException When any error occurs while package installation,
+     *                                     such as a root that is not installed. It will give
+     *                                     a cause exception.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public void installPackage(String packagePath, Class<?>... rootClassTypes) {
+        Checks.nonNull(rootClassTypes, "rootClassTypes must not be null.");
+        for (Class<?> rootClassType : rootClassTypes)
+            Checks.nonNull(rootClassType, "rootClassTypes must not contain null.");
+
+        installPackage(packagePath, ClassLoader.getSystemClassLoader(), List.of(rootClassTypes));
+    }
+
+    private void installPackage(String packagePath, ClassLoader classLoader, List<Class<?>> rootClassTypes) {
+        StartupTimeline.OpenSpan installSpan = beginSpan(StartupTimeline.INSTALL_PACKAGE, null);
+        try {
+            awaitWarmUpThread();
+            installingPackage = true;
+
+            Checks.state(!isNullOrBlank(packagePath), "packageName must not be null or blank.");
+            Set<TypeInformationHolder> candidateClassSet = scanPackages(classLoader, packagePath)
+                    .stream()
+                        .filter(classType -> AnnotationDecomposer.isAnnotationComposed(classType, Managed.class))
+                        .filter(this::checkNonAbstractClassType)
+                        .map(this::createTypeInformation)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+
+            /* candidates are retained, so switchStrategies does not need to scan again */
+            candidateTypeInformations.addAll(candidateClassSet);
+
+            Set<TypeInformationHolder> managedClassSet = candidateClassSet
+                    .stream()
+                        .filter(this::checkTypeInformationHolderEligibility)
+                    .collect(Collectors.toSet());
+
+            /* 1. insert all dependencies to tree */
+            managedClassSet.forEach(this::insertToSearchTree);
+
+            if (rootClassTypes != null) {
+                instantiateFromRoots(managedClassSet, rootClassTypes);
+                return;
+            }
+            if (!previousAccessOrder.isEmpty()) {
+                instantiateInAccessOrder(managedClassSet);
+                return;
+            }
+            /* 2. create all dependencies instances */
+            managedClassSet.forEach(this::instantiateWithInjection);
+            /* 3. produce the virtual dependencies concurrently, when enabled */
+            if (virtualProductionExecutor != null)
+                managedClassSet.forEach(this::produceVirtualSingletons);
+
+        } catch (Exception exception) {
+            throw new InstallationFailedException(packagePath, exception);
+        } finally {
+            installingPackage = false;
+            endSpan(installSpan);
+        }
+    }
+
+    /**
+     *
+     * Instantiates the roots of a rooted {@link #installPackage(String, Class[])}, which
+     * instantiates their dependencies transitively. The classes of {@code managedClassSet}
+     * left without an instance are deferred.
+     *
+     * @throws StateException When a root class type is not installed.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private void instantiateFromRoots(Set<TypeInformationHolder> managedClassSet, List<Class<?>> rootClassTypes) {
+        for (Class<?> rootClassType : rootClassTypes) {
+            SingletonNode rootSingletonNode = resolveSingletonNode(rootClassType, QueryOptions.none());
+            Checks.state(rootSingletonNode != null, "Root \"" + rootClassType.getName() + "\" is not installed.");
+
+            if (!rootSingletonNode.hasSingletonInstance())
+                instantiateThroughOwner(rootSingletonNode);
+        }
+        deferUninstantiated(managedClassSet);
+    }
+
+    /**
+     *
+     * Instantiates the hot beans of the previous run, in the order recorded by its
+     * {@link AccessTrace}, then defers the cold beans and creates them on a background
+     * thread. Class names of the trace that are no longer installed are ignored.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private void instantiateInAccessOrder(Set<TypeInformationHolder> managedClassSet) {
+        final Set<Class<?>> managedClassTypes = new HashSet<>();
+        for (TypeInformationHolder typeInformationHolder : managedClassSet)
+            managedClassTypes.add(typeInformationHolder.getWrappedClassType());
+
+        /* a single pass over the registered nodes, virtual nodes included */
+        final Map<String, SingletonNode> installedSingletonNodes = new HashMap<>();
+        for (SingletonNode singletonNode : dependencySearchTree.querySingletonsByAssignableType(Object.class)) {
+            final Class<?> installedClassType = (singletonNode instanceof VirtualSingletonNode virtualSingletonNode)
+                    ? virtualSingletonNode.getParentSingletionNode().getNodeClassType()
+                    : singletonNode.getNodeClassType();
+
+            if (managedClassTypes.contains(installedClassType))
+                installedSingletonNodes.put(singletonNode.getNodeClassType().getName(), singletonNode);
+        }
+
+        for (String hotClassName : previousAccessOrder) {
+            SingletonNode hotSingletonNode = installedSingletonNodes.get(hotClassName);
+
+            if (hotSingletonNode != null && !hotSingletonNode.hasSingletonInstance())
+                instantiateWithInjection(hotSingletonNode);
+        }
+        startWarmUp(deferUninstantiated(managedClassSet));
+    }
+
+    /**
+     *
+     * Defers the classes of {@code managedClassSet} left without an instance.
+     *
+     * @return The deferred class types.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private List<Class<?>> deferUninstantiated(Set<TypeInformationHolder> managedClassSet) {
+        final List<Class<?>> uninstantiatedClassTypes = new ArrayList<>();
+
+        for (TypeInformationHolder typeInformationHolder : managedClassSet) {
+            final Class<?> managedClassType = typeInformationHolder.getWrappedClassType();
+            SingletonNode singletonNode = dependencySearchTree.getRegisteredSingletonNode(managedClassType);
+
+            if (singletonNode != null && !singletonNode.hasSingletonInstance())
+                uninstantiatedClassTypes.add(managedClassType);
+        }
+        deferredClassTypes.addAll(uninstantiatedClassTypes);
+        return uninstantiatedClassTypes;
+    }
+
+    /**
+     *
+     * Creates the deferred {@code coldClassTypes} on a background daemon thread, one at a
+     * time while holding the lock of this manager. Queries of beans that have an instance do
+     * not take the lock, so they are never delayed by a cold bean being created. A cold bean
+     * queried before the thread reaches it is created by the query, under the same lock.
+     * The first failure is kept and thrown by {@link #awaitWarmUp(Duration)}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private void startWarmUp(List<Class<?>> coldClassTypes) {
+        if (coldClassTypes.isEmpty())
+            return;
+
+        warmUpThread = new Thread(() -> {
+            for (Class<?> coldClassType : coldClassTypes) {
+                if (closed)
+                    return;
+                try {
+                    synchronized (managerLock) {
+                        SingletonNode coldSingletonNode = dependencySearchTree.getRegisteredSingletonNode(coldClassType);
+
+                        if (coldSingletonNode != null && isDeferred(coldSingletonNode))
+                            instantiateWithInjection(coldSingletonNode);
+                    }
+                } catch (RuntimeException exception) {
+                    if (warmUpFailure == null)
+                        warmUpFailure = exception;
+                }
+            }
+        }, "dependency4j-warm-up");
+
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
+    }
+
+    private void awaitWarmUpThread() throws InterruptedException {
+        final Thread runningWarmUpThread = warmUpThread;
+
+        if (runningWarmUpThread != null && runningWarmUpThread != Thread.currentThread())
+            runningWarmUpThread.join();
+    }
+
+    /**
+     *
+     * Waits up to {@code timeout} for the cold beans of an install ordered by the
+     * {@link #enableAccessTrace(Path) access trace} to be created in the background.
+     * Installing more beans while the cold beans are created is not supported, apart from
+     * {@link #installPackage(String)}, which waits for them first.
+     *
+     * @return {@code true} if no cold bean is left to create.
+     *
+     * @throws ClassCreationFailedException When a cold bean could not be created.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public boolean awaitWarmUp(Duration timeout) throws InterruptedException {
+        Checks.nonNull(timeout, "timeout must not be null.");
+        final Thread runningWarmUpThread = warmUpThread;
+
+        if (runningWarmUpThread != null)
+            runningWarmUpThread.join(Math.max(1, timeout.toMillis()));
+
+        if (warmUpFailure != null)
+            throw warmUpFailure;
+
+        return runningWarmUpThread == null || !runningWarmUpThread.isAlive();
+    }
+
+    /**
+     *
+     * @return {@code true} if {@code singletonNode} has no instance because its class, or
+     *         the parent of its virtual method, was deferred by a rooted install.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private boolean isDeferred(SingletonNode singletonNode) {
+        if (singletonNode.hasSingletonInstance() || deferredClassTypes.isEmpty())
+            return false;
+
+        if (singletonNode instanceof VirtualSingletonNode virtualSingletonNode)
+            return deferredClassTypes.contains(virtualSingletonNode.getParentSingletionNode().getNodeClassType());
+
+        return deferredClassTypes.contains(singletonNode.getNodeClassType());
+    }
+
+    /**
+     *
+     * Creates the deferred singletons assignable to {@code classType}, so they are listed
+     * by {@link #queryAll(Class)}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private void materializeDeferredSingletons(Class<?> classType) {
+        if (deferredClassTypes.isEmpty())
+            return;
+
+        /* children list the instances of this manager without holding its lock */
+        synchronized (managerLock) {
+            for (SingletonNode singletonNode : List.copyOf(dependencySearchTree.querySingletonsByAssignableType(classType))) {
+                if (isDeferred(singletonNode))
+                    instantiateWithInjection(singletonNode);
+            }
+        }
+    }
+
+    /**
+     *
+     * Produces the pending virtual beans of {@code parentTypeInformation} on the
+     * {@link #enableConcurrentVirtualProduction(Executor) virtual production executor}.
+     * The arguments of every {@link Virtual} method are resolved first, on the installing
+     * thread, since the resolution changes the {@link DependencySearchTree}. The methods
+     * are then invoked concurrently, and their products are injected and propagated on
+     * the installing thread again.
+     *
+     * @throws ClassCreationFailedException When a virtual method fails.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private void produceVirtualSingletons(TypeInformationHolder parentTypeInformation) {
+        final Class<?> parentClassType = parentTypeInformation.getWrappedClassType();
+        SingletonNode parentSingletonNode = dependencySearchTree.getRegisteredSingletonNode(parentClassType);
+
+        if (parentSingletonNode == null || !parentSingletonNode.hasSingletonInstance())
+            return;
+
+        final Object parentInstance = parentSingletonNode.getNodeInstance();
+        final Map<VirtualSingletonNode, Object[]> virtualArguments = new LinkedHashMap<>();
+
+        for (VirtualSingletonNode virtualSingletonNode : dependencySearchTree.queryVirtualSingletonNodes(parentClassType)) {
+            if (virtualSingletonNode.hasSingletonInstance())
+                continue;
+
+            Method virtualMethod = virtualSingletonNode.getVirtualMethod();
+            virtualArguments.put(virtualSingletonNode, createObjectsFromParameters(
+                    parentInstance.getClass(), virtualMethod, virtualMethod.getParameters()));
+        }
+
+        /* the resolution of an argument may have produced another virtual bean already */
+        virtualArguments.keySet().removeIf(SingletonNode::hasSingletonInstance);
+
+        final long productionStartTime = System.nanoTime();
+        final Map<VirtualSingletonNode, CompletableFuture<Object>> virtualProducts = new LinkedHashMap<>();
+
+        virtualArguments.forEach((virtualSingletonNode, parameterValues) ->
+                virtualProducts.put(virtualSingletonNode, CompletableFuture.supplyAsync(() ->
+                        invokeVirtualMethod(parentInstance, virtualSingletonNode.getVirtualMethod(),
+                                parameterValues, null), virtualProductionExecutor)));
+
+        virtualProducts.forEach((virtualSingletonNode, virtualProduct) -> {
+            final Class<?> nodeClassType = virtualSingletonNode.getNodeClassType();
+            try {
+                recordDependency(nodeClassType, parentClassType);
+                if (injectionPoints != null)
+                    injectionPoints.recordCreation(nodeClassType,
+                            prependArgument(parentInstance, virtualArguments.get(virtualSingletonNode)));
+
+                completeInstantiation(nodeClassType, virtualProduct.join(), productionStartTime);
+
+            } catch (CompletionException exception) {
+                throw new ClassCreationFailedException(nodeClassType, exception.getCause());
+            } catch (Exception exception) {
+                throw new ClassCreationFailedException(nodeClassType, exception);
+            }
+        });
+    }
+
+    /**
+     *
+     * Scans {@code packagePath} with {@link ClassFinder}, recording a
+     * {@link StartupTimeline#SCAN} span when the startup timeline is enabled. Packages
+     * already scanned with the same class loader, by any manager, are retrieved from the
+     * {@link ClassMetadataRegistry}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private Set<Class<?>> scanPackages(ClassLoader classLoader, String packagePath) {
+        StartupTimeline.OpenSpan scanSpan = beginSpan(StartupTimeline.SCAN, null);
+        try {
+            return ClassMetadataRegistry.scanPackage(classLoader, packagePath);
+        } finally {
+            endSpan(scanSpan);
+        }
+    }
+
+    /**
+     *
+     * Decomposes the {@link Managed} properties of {@code classType}, recording a
+     * {@link StartupTimeline#DECOMPOSE} span when the startup timeline is enabled.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private TypeInformationHolder createTypeInformation(Class<?> classType) {
+        StartupTimeline.OpenSpan decomposeSpan = beginSpan(StartupTimeline.DECOMPOSE, classType);
+        try {
+            return TypeInformationHolderFactory.createTypeInformation(classType);
+        } finally {
+            endSpan(decomposeSpan);
+        }
+    }
+
+    /**
+     *
+     * Inserts {@code typeInformationHolder} in the {@link DependencySearchTree}, recording a
+     * {@link StartupTimeline#INSERT} span when the startup timeline is enabled.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private void insertToSearchTree(TypeInformationHolder typeInformationHolder) {
+        StartupTimeline.OpenSpan insertSpan =
+                beginSpan(StartupTimeline.INSERT, typeInformationHolder.getWrappedClassType());
+        try {
+            dependencySearchTree.insert(typeInformationHolder);
+        } finally {
+            endSpan(insertSpan);
+        }
+    }
+
+    /**
+     *
+     * Opens a span in the startup timeline. When the timeline is disabled, nothing is
+     * allocated or recorded and null is returned.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private StartupTimeline.OpenSpan beginSpan(String phase, Class<?> beanType) {
+        return (startupTimeline != null) ? startupTimeline.begin(phase, beanType) : null;
+    }
+
+    /**
+     *
+     * Closes a span opened by {@link #beginSpan(String, Class)}. Null spans are ignored.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private void endSpan(StartupTimeline.OpenSpan openSpan) {
+        if (openSpan != null)
+            startupTimeline.end(openSpan);
+    }
+
+    /**
+     *
+     * Performs method and field injection to {@code instance}.
+     * <p>
+     * The instance class does not need to be annotated with {@link Managed}, but fields and
+     * methods can be annotated with {@link Pull} to enable dependency injection.
+     * <p>
+     * This function also allows you to choose the installation type. When using
+     * {@link InstallationType#DEFAULT}, the class type and its instance will be appended
+     * to the {@link DependencySearchTree} and can be used later to search with
+     * {@code query()} for the same singleton type. If {@link  InstallationType#STANDALONE}
+     * is used, the function will only inject dependencies to its fields and methods.
+     * The class type will not be handled by the search tree. This function does not
+     * support <i>constructor injection</i>.
+     *
+     * @param instance The instance object that will receive the dependency injection.
+     * @param installationType The selected installation type.
+     *
+     * @return The same {@code instance} object.
+     *
+     * @throws NullPointerException           When {@code object} or {@code installationType} is null.
+     * @throws MemberInjectionFailedException May occur while performing field/method injection.
+     *                                        It will give a cause exception.
+     *
+     * @see DependencyManager#installInstance(Object)
+     *
+     * @since 1.0
+     *
+     **/
+    public <T> T installInstance(T instance, InstallationType installationType) {
+        Checks.nonNull(instance, "object must not be null.");
+        Checks.nonNull(installationType, "installationType must not be null.");
+        performMethodAndFieldInjection(instance);
+        if (installationType != InstallationType.STANDALONE) {
+            dependencySearchTree.insertPropagation(instance.getClass(), instance);
+            installVirtualMethodsToSingleInstance(instance);
+        }
+        return instance;
+    }
+
+    /**
+     *
+     * Handles installation of virtual methods to a user's single instance. If the instance
+     * is installed as {@link InstallationType#STANDALONE}, virtual methods will not be used
+     * in this case. Standalone instances are not stored in the {@link DependencySearchTree}
+     * so its dependencies will not be inserted to the tree too.
+     *
+     * @param instance The instance object that will receive the dependency injection.
+     *
+     * @see DependencyManager#installInstance(Object)
+     *
+     * @since 1.0.4
+     *
+     **/
+    private void installVirtualMethodsToSingleInstance(Object instance) {
+        Class<?> parentClassType = instance.getClass();
+        ReflectionUtil.consumeAllVirtualMethodsFromClassType(parentClassType, (virtualMethod) -> {
+            Class<?> virtualMethodReturnType = virtualMethod.getReturnType();
+            if (virtualMethodReturnType.isPrimitive()) {
+                return;
+            }
+            Object[] parameterValues =
+                    createObjectsFromParameters(parentClassType, virtualMethod, virtualMethod.getParameters());
+
+            dependencySearchTree.propagateSingletonInstanceToNodes(virtualMethodReturnType,
+                    invokeVirtualMethod(instance, virtualMethod, parameterValues, null));
+        });
+    }
+
+    /**
+     *
+     * Performs method invocation and field injection to {@code instance}.
+     * <p>
+     * The instance class does not need to be annotated with {@link Managed}, but fields and
+     * methods can be annotated with {@link Pull} to enable dependency injection.
+     * <p>
+     * By default, the installation type of this function is {@link InstallationType#DEFAULT}.
+     * This function does not support <i>constructor injection</i>.
+     *
+     * @param instance The instance object that will receive the dependency injection.
+     *
+     * @return The same {@code instance} object.
+     *
+     * @throws NullPointerException           When {@code object} or {@code installationType} is null.
+     * @throws MemberInjectionFailedException May occur while performing field/method injection.
+     *                                        It will give a cause exception.
+     *
+     * @see DependencyManager#installInstance(Object, InstallationType)
+     *
+     * @since 1.0
+     *
+     **/
+    public <T> T installInstance(T instance) {
+        return installInstance(instance, InstallationType.DEFAULT);
+    }
+
+    /**
+     *
+     * Creates an instance for a given {@code classType}. This functions acts similar
+     * to {@link DependencyManager#installPackage(String)}, initializing the class type
+     * with an instance that supports all kinds of dependency injection <i>(Constructor,
+     * Field and Method)</i>. It also supports dynamic {@link Managed} classes, allowing
+     * detached objects to be instantiated.
+     * <p>
+     * The class type does not need to be annotated with {@link Managed}, but the constructor,
+     * fields or methods can be annotated with {@link Pull} to enable dependency injection.
+     * <p>
+     * This function also allows you to choose the installation type. When using
+     * {@link InstallationType#DEFAULT}, the class type and its instance will be appended
+     * to the {@link DependencySearchTree} and can be used later to search with
+     * {@code query()} for the same singleton type. If {@link  InstallationType#STANDALONE}
+     * is used, the function will only inject dependencies to its constructor, fields or
+     * methods. The class type will not be handled by the search tree.
+     *
+     * @param classType The class type to be instantiated.
+     * @param installationType The selected installation type.
+     *
+     * @return An instance of {@code classType}.
+     *
+     * @throws NullPointerException           When {@code classType} or {@code installationType} is null.
+     * @throws ClassCreationFailedException   May occur during instance creation and dependency injection
+     *                                        process. It will give a cause exception.
+     *
+     * @see DependencyManager#installInstance(Object, InstallationType)
+     *
+     * @since 1.0
+     *
+     **/
+    public <T> T installType(Class<T> classType, InstallationType installationType) {
+        Checks.nonNull(classType, "classType must not be null.");
+        Checks.nonNull(installationType, "installationType must not be null.");
+
+        TypeInformationHolder typeInformationHolder = TypeInformationHolderFactory
+                .createTypeInformation(classType);
+
+        if (installationType != InstallationType.STANDALONE)
+            dependencySearchTree.insert(typeInformationHolder);
+
+        return instantiateWithInjection(classType);
+    }
+
+    /**
+     *
+     * Creates an instance for a given {@code classType}. This functions acts similar
+     * to {@link DependencyManager#installPackage(String)}, initializing the class type
+     * with an instance that supports all kinds of dependency injection <i>(Constructor,
+     * Field and Method)</i>. It also supports dynamic {@link Managed} classes, allowing
+     * detached objects to be instantiated.
+     * <p>
+     * The class type does not need to be annotated with {@link Managed}, but the constructor,
+     * fields or methods can be annotated with {@link Pull} to enable dependency injection.
+     * <p>
+     * By default, the installation type of this function is {@link InstallationType#DEFAULT}.
+     *
+     * @param classType The class type to be instantiated.
+     *
+     * @return An instance of {@code classType}.
+     *
+     * @throws NullPointerException           When {@code classType} is null.
+     * @throws ClassCreationFailedException   May occur during instance creation and dependency injection
+     *                                        process. It will give a cause exception.
+     *
+     * @see DependencyManager#installInstance(Object, InstallationType)
+     *
+     * @since 1.0
+     *
+     **/
+    public <T> T installType(Class<T> classType) {
+        return installType(classType, InstallationType.DEFAULT);
+    }
+
+    /**
+     *
+     * Completes the instantiation of a bean created by {@link #instantiateWithInjection(SingletonNode)}
+     * or by the concurrent virtual production: performs the method and field injection,
+     * propagates the instance to the {@link DependencySearchTree} and records the creation.
+     *
+     * @throws IllegalStateException When {@code newInstanceOfType} is null.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private void completeInstantiation(Class<?> nodeClassType, Object newInstanceOfType,
+                                       long instantiationStartTime) {
+        if (newInstanceOfType == null)
+            throw new IllegalStateException("Could not created a instance to " + nodeClassType);
+
+        performMethodAndFieldInjection(newInstanceOfType);
+        dependencySearchTree.propagateSingletonInstanceToNodes(nodeClassType, newInstanceOfType);
+        instantiationOrder.add(nodeClassType);
+        deferredClassTypes.remove(nodeClassType);
+
+        if (singletonEviction != null) {
+            singletonEviction.restore(nodeClassType);
+            singletonEviction.touch(nodeClassType, System.nanoTime());
+        }
+        containerMetrics.recordInstantiation(nodeClassType, System.nanoTime() - instantiationStartTime);
+    }
+
+    /**
+     *
+     * The main core function of {@link DependencyManager}. This function starts the class type
+     * instantiation and dependency propagation through the constructor. Firstly, the function
+     * will try to find an already instantiated object for {@code classType}, if no instance is
+     * found, it will start creating the instance from scratch.
+     * <p>
+     * The function is only able to create constructors with more than one parameter if the
+     * constructor is annotated with {@link Pull}. If no constructor annotated is found, it will
+     * try to create with an empty constructor method.
+     * <p>
+     * After instantiation and constructor injection, a method and field injection will be
+     * performed in methods and fields annotated with {@link Pull} to the built instance.
+     * <p>
+     * All instances created by this function will be propagated to the {@link DependencySearchTree}.
+     *
+     * @param classTypeSingletonNode The singleton node to be instantiated.
+     *
+     * @return A fully handled instance of {@code classType}.
+     *
+     * @throws ClassCreationFailedException May occur during instance creation and dependency
+     *                                      injection process. It will give a cause exception.
+
+     * @throws IllegalStateException        If the function could not instantiate any of the
+     *                                      class constructors.
+     *
+     * @see DependencyManager#installPackage(String)
+     * @see DependencyManager#installType(Class, InstallationType)
+     * @see DependencyManager#installType(Class)
+     *
+     * @since 1.0.4
+     *
+     **/
+    @SuppressWarnings("Unchecked")
+    private <T> T instantiateWithInjection(SingletonNode classTypeSingletonNode) {
+        final Class<?> nodeClassType = classTypeSingletonNode.getNodeClassType();
+
+        if (classTypeSingletonNode.getNodeInstance() != null)
+            return (T) classTypeSingletonNode.getNodeInstance();
+
+        /* a softly held instance that survived its eviction is restored instead of recreated */
+        if (singletonEviction != null && singletonEviction.isEvicted(nodeClassType)) {
+            Object evictedInstance = singletonEviction.getEvictedInstance(nodeClassType);
+            if (evictedInstance != null) {
+                dependencySearchTree.propagateSingletonInstanceToNodes(nodeClassType, evictedInstance);
+                singletonEviction.restore(nodeClassType);
+                return (T) evictedInstance;
+            }
+        }
+
+        StartupTimeline.OpenSpan instantiateSpan = beginSpan(StartupTimeline.INSTANTIATE, nodeClassType);
+        BeanInstantiationEvent beanInstantiationEvent = beginBeanInstantiationEvent();
+        final long instantiationStartTime = System.nanoTime();
+        try {
+            final boolean isVirtual = classTypeSingletonNode instanceof VirtualSingletonNode;
+            Object newInstanceOfType;
+            if (isVirtual)
+                newInstanceOfType = handleVirtualSingletonClassInstantiation(
+                        (VirtualSingletonNode) classTypeSingletonNode, beanInstantiationEvent);
+            else
+                newInstanceOfType = handleConcreteSingletonClassInstantiation(
+                        classTypeSingletonNode, beanInstantiationEvent);
+
+            completeInstantiation(nodeClassType, newInstanceOfType, instantiationStartTime);
+
+            if (beanInstantiationEvent != null && beanInstantiationEvent.shouldCommit()) {
+                beanInstantiationEvent.beanClass = nodeClassType;
+                beanInstantiationEvent.virtual   = isVirtual;
+                beanInstantiationEvent.commit();
+            }
+            return (T) newInstanceOfType;
+
+        } catch (Exception exception) {
+            throw new ClassCreationFailedException(nodeClassType, exception);
+        } finally {
+            endSpan(instantiateSpan);
+        }
+    }
+
+    /**
+     *
+     * The main core function of {@link DependencyManager}. This function starts the class type
+     * instantiation and dependency propagation through the constructor. Firstly, the function
+     * will try to find an already instantiated object for {@code classType}, if no instance is
+     * found, it will start creating the instance from scratch.
+     * <p>
+     * The function is only able to create constructors with more than one parameter if the
+     * constructor is annotated with {@link Pull}. If no constructor annotated is found, it will
+     * try to create with an empty constructor method.
+     * <p>
+     * After instantiation and constructor injection, a method and field injection will be
+     * performed in methods and fields annotated with {@link Pull} to the built instance.
+     * <p>
+     * All instances created by this function will be propagated to the {@link DependencySearchTree}.
+     * This is a convenient function to {@link #instantiateWithInjection(SingletonNode)}.
+     *
+     * @param typeInformationHolder The class type wrapper.
+     *
+     * @return A fully handled instance of {@code classType}.
+     *
+     * @throws ClassCreationFailedException May occur during instance creation and dependency
+     *                                      injection process. It will give a cause exception.
+
+     * @throws IllegalStateException        If the function could not instantiate any of the
+     *                                      class constructors.
+     *
+     * @see DependencyManager#installPackage(String)
+     * @see DependencyManager#installType(Class, InstallationType)
+     * @see DependencyManager#installType(Class)
+     *
+     * @since 1.0.8
+     *
+     **/
+    private <T> T instantiateWithInjection(TypeInformationHolder typeInformationHolder) {
+        return instantiateWithInjection(typeInformationHolder.getWrappedClassType());
+    }
+
+    /**
+     *
+     * The main core function of {@link DependencyManager}. This function starts the class type
+     * instantiation and dependency propagation through the constructor. Firstly, the function
+     * will try to find an already instantiated object for {@code classType}, if no instance is
+     * found, it will start creating the instance from scratch.
+     * <p>
+     * The function is only able to create constructors with more than one parameter if the
+     * constructor is annotated with {@link Pull}. If no constructor annotated is found, it will
+     * try to create with an empty constructor method.
+     * <p>
+     * After instantiation and constructor injection, a method and field injection will be
+     * performed in methods and fields annotated with {@link Pull} to the built instance.
+     * <p>
+     * All instances created by this function will be propagated to the {@link DependencySearchTree}.
+     * This is a convenient function to {@link #instantiateWithInjection(SingletonNode)}.
+     *
+     * @param classType The class type to be searched or instantiated recursively.
+     *
+     * @return A fully handled instance of {@code classType}.
+     *
+     * @throws ClassCreationFailedException May occur during instance creation and dependency
+     *                                      injection process. It will give a cause exception.
+
+     * @throws IllegalStateException        If the function could not instantiate any of the
+     *                                      class constructors.
+     *
+     * @see DependencyManager#installPackage(String)
+     * @see DependencyManager#installType(Class, InstallationType)
+     * @see DependencyManager#installType(Class)
+     *
+     * @since 1.0.4
+     *
+     **/
+    @SuppressWarnings("unchecked")
+    private <T> T instantiateWithInjection(Class<?> classType) {
+        TypeInformationHolder typeInformationHolder = TypeInformationHolderFactory
+                .createTypeInformation(classType);
+
+        if (typeInformationHolder.isDynamic())
+            return (T) handleDynamicClassInstantiation(classType);
+
+        SingletonNode classTypeSingletonNode = resolveSingletonNode(classType, QueryOptions.none());
+
+        if (classTypeSingletonNode == null)
+            return null;
+
+        else if (classTypeSingletonNode.getNodeInstance() != null)
+            return (T) classTypeSingletonNode.getNodeInstance();
+
+        return (T) instantiateThroughOwner(classTypeSingletonNode);
+    }
+
+    /**
+     *
+     * Creates the instance of {@code singletonNode} through the manager of the chain that
+     * owns it, while holding the lock of that manager, see
+     * {@link #instantiateOwnedNode(SingletonNode)}. A fork standing between this manager
+     * and the owner creates its own copy of the bean instead.
+     *
+     * @return The instance of {@code singletonNode}, or of its copy.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private Object instantiateThroughOwner(SingletonNode singletonNode) {
+        DependencyManager nodeOwner = findNodeOwner(singletonNode);
+
+        if (nodeOwner == this)
+            return instantiateOwnedNode(singletonNode);
+
+        DependencyManager nearestFork = findNearestFork(nodeOwner);
+        return (nearestFork != null)
+                ? nearestFork.copyParentSingletonNode(singletonNode).getNodeInstance()
+                : nodeOwner.instantiateOwnedNode(singletonNode);
+    }
+
+    /**
+     *
+     * Creates the instance of {@code singletonNode}, owned by this manager, for a query of
+     * this manager or for a query or an injection made by a child. The lock of this manager
+     * is held, like by the warm-up thread, so a deferred bean is never created twice and
+     * children never modify this manager concurrently with each other or with this manager.
+     *
+     * @return The instance of {@code singletonNode}, created by another thread meanwhile or not.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private Object instantiateOwnedNode(SingletonNode singletonNode) {
+        synchronized (managerLock) {
+            return instantiateWithInjection(singletonNode);
+        }
+    }
+
+    /**
+     *
+     * Handles instantiation of a generic class type. This function instantiates any class
+     * type that is annotated with {@link Managed}. There are two types of class instantiation:
+     * <pre>
+     * 1. Instantiation with Empty constructor, the instantiation is made with the
+     *    default java constructor if the class does not private it.
+     * 2. Instantiation with constructor annotated with {@link Pull}. This type of instantiation
+     *    will also propagates the constructor dependency injection.
+     * </pre>
+     *
+     * @param dependencyClassType The singleton node to have its node instance created.
+     * @param beanInstantiationEvent The JFR event of the created bean. It receives the
+     *                               constructor duration, or null when the event is disabled.
+     *
+     * @return An instance assignable to {@link SingletonNode#getNodeClassType()} which
+     *         is the dependency class type.
+     *
+     * @see DependencyManager#instantiateWithInjection(SingletonNode)
+     *
+     * @since 1.0.4
+     *
+     **/
+    private Object handleSingletonClassInstantiation(Class<?> dependencyClassType,
+                                                     BeanInstantiationEvent beanInstantiationEvent) {
+        Constructor<?> annotatedConstructor = getConstructorAnnotatedWithPull(dependencyClassType);
+
+        if (annotatedConstructor != null)
+            return createInstanceWithAnnotatedConstructor(annotatedConstructor, beanInstantiationEvent);
+
+        return createInstanceWithEmptyConstructor(dependencyClassType, beanInstantiationEvent);
+    }
+
+    /**
+     *
+     * Creates a new instance of a dynamic {@link Managed} class. Dynamic classes are not
+     * stored in the {@link DependencySearchTree}, so every call creates a new instance.
+     *
+     * @param dynamicClassType The dynamic class type to be instantiated.
+     *
+     * @return A new instance of {@code dynamicClassType}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private Object handleDynamicClassInstantiation(Class<?> dynamicClassType) {
+        BeanInstantiationEvent beanInstantiationEvent = beginBeanInstantiationEvent();
+
+        Object dynamicInstance = handleSingletonClassInstantiation(dynamicClassType, beanInstantiationEvent);
+        containerMetrics.recordDynamicInstantiation(dynamicClassType);
+
+        if (beanInstantiationEvent != null && beanInstantiationEvent.shouldCommit()) {
+            beanInstantiationEvent.beanClass = dynamicClassType;
+            beanInstantiationEvent.commit();
+        }
+        return dynamicInstance;
+    }
+
+    /**
+     *
+     * Begins the JFR event of a bean instantiation. The event type is checked first, as in
+     * {@link DependencySearchTree#querySingletonNode(Class, QueryOptions)}, so no event is
+     * allocated while no recording enables it.
+     *
+     * @return The begun event, or null when the event is disabled.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private static BeanInstantiationEvent beginBeanInstantiationEvent() {
+        if (!BEAN_INSTANTIATION_EVENT_TYPE.isEnabled())
+            return null;
+
+        BeanInstantiationEvent beanInstantiationEvent = new BeanInstantiationEvent();
+        beanInstantiationEvent.begin();
+        return beanInstantiationEvent;
+    }
+
+    /**
+     *
+     * Handles instantiation of a concrete SingletonNode. A class type to be concrete
+     * needs to be scanned with {@link #installPackage(String)}, installed by
+     * {@link #installType(Class)} or {@link #installInstance(Object)}. This function
+     * is able to create an instance of a given {@link SingletonNode} and should be
+     * used only by {@link #instantiateWithInjection(SingletonNode)} to created new
+     * objects.
+     * <p>
+     * This is a convenient function used to handle concrete managed classes using
+     * {@link #instantiateWithInjection(SingletonNode)}
+     *
+     * @param singletonNode The singleton node to have its node instance created.
+     * @param beanInstantiationEvent The JFR event of the created bean. It receives the
+     *                               constructor duration, or null when the event is disabled.
+     *
+     * @return An instance assignable to {@link SingletonNode#getNodeClassType()} which
+     *         is the dependency class type.
+     *
+     * @see DependencyManager#instantiateWithInjection(SingletonNode)
+     *
+     * @since 1.0.4
+     *
+     **/
+    private Object handleConcreteSingletonClassInstantiation(SingletonNode singletonNode,
+                                                             BeanInstantiationEvent beanInstantiationEvent) {
+        return handleSingletonClassInstantiation(singletonNode.getNodeClassType(), beanInstantiationEvent);
+    }
+
+    /**
+     *
+     * Handles instantiation of a virtual SingletonNode. A class type to be virtual
+     * needs to have a parent {@link SingletonNode}. Virtual singleton nodes are
+     * singletons detected when using the {@link Virtual} annotation in method.
+     * The annotation indicates that the method is virtual and its results should be
+     * treated as a Singleton instance. A virtual singleton node is handled by the
+     * node class {@link VirtualSingletonNode}.
+     *
+     * @param virtualSingletonNode The singleton node to have its node instance created.
+     * @param beanInstantiationEvent The JFR event of the created bean. It receives the
+     *                               duration of the virtual method invocation, or null when the event is disabled.
+     *
+     * @return An instance assignable to {@link VirtualSingletonNode#getNodeClassType()}
+     *         which is the dependency class type.
+     *
+     * @see DependencyManager#instantiateWithInjection(SingletonNode)
+     *
+     * @since 1.0.4
+     *
+     **/
+    private Object handleVirtualSingletonClassInstantiation(VirtualSingletonNode virtualSingletonNode,
+                                                            BeanInstantiationEvent beanInstantiationEvent) {
+        SingletonNode parentSingletonNode = virtualSingletonNode.getParentSingletionNode();
+        Class<?> parentClassType = parentSingletonNode.getNodeClassType();
+        Object virtualizedObject = parentSingletonNode.getNodeInstance();
+        recordDependency(virtualSingletonNode.getNodeClassType(), parentClassType);
+
+        if (virtualizedObject == null)
+            virtualizedObject = instantiateWithInjection(parentClassType);
+
+        Checks.nonNull(virtualizedObject, "virtualized object failed to create.");
+        Method virtualizedMethod = virtualSingletonNode.getVirtualMethod();
+        Object[] parameterValues = createObjectsFromParameters(
+                virtualizedObject.getClass(), virtualizedMethod, virtualizedMethod.getParameters());
+
+        if (injectionPoints != null)
+            injectionPoints.recordCreation(virtualSingletonNode.getNodeClassType(),
+                    prependArgument(virtualizedObject, parameterValues));
+
+        return invokeVirtualMethod(virtualizedObject, virtualizedMethod, parameterValues, beanInstantiationEvent);
+    }
+
+    /**
+     *
+     * This function works together with {@link #fetchOrCreateObjectFromClassType(Class, Class, AccessibleObject)}
+     * To fetch and create an array of all required objects for a specific {@code accessibleObject}.
+     * It will iterate over all the parameters and collect the objects to that specific
+     * parameter.
+     * <p>
+     * In the current implementation of Dependency4j, an {@code accessibleObject} can be a
+     * {@link Constructor} or {@link Method}.
+     *
+     * @param parentClassType  Is the class type of the current handled instance.
+     * @param accessibleObject A {@link Constructor} or {@link Method} depending on the current
+     *                         injection method being executed.
+     * @param parameters       The list of parameters of the current {@code accessibleObject}.
+     *
+     * @return An array of objects instances, ready to be used as invocation arguments. An
+     *         element can be null when no instance was found to that particular parameter type.
+     *
+     * @see #fetchOrCreateObjectFromClassType(Class, Class, AccessibleObject)
+     *
+     * @since 1.0
+     *
+     **/
+    private Object[] createObjectsFromParameters(Class<?> parentClassType,
+                                                 AccessibleObject accessibleObject, Parameter[] parameters) {
+        final Object[] parameterValues = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++)
+            parameterValues[i] = fetchOrCreateObjectFromMemberType(
+                    parentClassType,
+                    parameters[i].getType(),
+                    parameters[i].getParameterizedType(),
+                    accessibleObject);
+
+        return parameterValues;
+    }
+
+    /**
+     *
+     * This method is used to fetch/retrieve a valid object for the {@code subjectClassType}
+     * required on the current injection type. This function works together with
+     * {@code instantiateWithInjection} to guarantee the correct instantiation and injection
+     * for all classes being installed through:
+     *
+     * {@link #installPackage(String)},
+     * {@link #installType(Class, InstallationType)} and
+     * {@link #createObjectsFromParameters(Class, AccessibleObject, Parameter[])}
+     *
+     * functions.
+     *
+     * @param parentClassType the parent instantiated object class type.
+     *
+     * @param subjectClassType The class type relative to the member that is being injected.
+     *                         For a field injection, this is equivalent to {@link Field#getType()},
+     *                         and for a method invoke injection, this is equivalent to the current
+     *                         parameter type being fetched and injected, equivalent to
+     *                         {@link Parameter#getType()}.
+     *
+     * @param accessibleObject The member that is being injected. The value can be a {@link Method},
+     *                         {@link Field} or {@link Constructor} reference, it depends on the type
+     *                         of the current injection that calls this method.
+     *
+     * @return assignable object for {@code subjectClassType}. Returns null if no {@link SingletonNode}
+     *         is found on the {@link DependencySearchTree}.
+     *
+     * @throws IllegalStateException If parentClassType and subjectClassType are equals, meaning
+     *                               a loop on itself.
+     *
+     * @since 1.0
+     *
+     **/
+    private Object fetchOrCreateObjectFromClassType(Class<?> parentClassType, Class<?> subjectClassType,
+                                                    AccessibleObject accessibleObject) {
+
+        if (subjectClassType.isPrimitive())
+            if (enablePrimitiveDefaultValue)
+                return ReflectionUtil.defaultValueToClassType(subjectClassType);
+            else
+                return null;
+
+        final QueryOptions optionalQueryOptions = ClassMetadataRegistry
+                .getInjectionPlan(((Member) accessibleObject).getDeclaringClass())
+                .getQueryOptions(accessibleObject);
+
+        SingletonNode singletonNode = resolveSingletonNode(subjectClassType, optionalQueryOptions);
+
+        /* singleton nodes are null when the class type was not found in the installPackage section. */
+        if (singletonNode == null)
+            return null;
+
+        if (parentClassType.equals(singletonNode.getNodeClassType()))
+            throw new IllegalStateException("\"" + parentClassType.getSimpleName() +
+                    "\" loops itself on member: \"" + accessibleObject + "\".");
+
+        recordDependency(parentClassType, singletonNode.getNodeClassType());
+        recordAccess(singletonNode);
+
+        DependencyManager ownerManager = findNodeOwner(singletonNode);
+        Object instanceValue = singletonNode.getNodeInstance();
+
+        if (instanceValue == null && ownerManager != this && findNearestFork(ownerManager) != null) {
+            ownerManager  = findNearestFork(ownerManager);
+            singletonNode = ownerManager.copyParentSingletonNode(singletonNode);
+            instanceValue = singletonNode.getNodeInstance();
+        }
+        else if (instanceValue == null)
+            instanceValue = (ownerManager == this)
+                    ? instantiateWithInjection(singletonNode.getNodeClassType())
+                    : ownerManager.instantiateOwnedNode(singletonNode);
+
+        if (instanceValue == null || forwardingReferences == null
+                || !ForwardingReferences.isForwardable(subjectClassType))
+            return instanceValue;
+
+        return forwardingReferences.forward(subjectClassType, singletonNode, ownerManager);
+    }
+
+    /**
+     *
+     * Resolves the value of an injected member whose declared type may be a collection of
+     * managed objects. When {@code subjectClassType} is {@link List} or {@link Collection}
+     * parameterized with an element type, all implementations of the element type are
+     * instantiated and injected as the immutable result of {@link #queryAll(Class)}. Names
+     * specified in {@link Pull} are not used to filter collections. Any other member type
+     * is resolved by {@link #fetchOrCreateObjectFromClassType(Class, Class, AccessibleObject)}.
+     *
+     * @param parentClassType    the parent instantiated object class type.
+     * @param subjectClassType   The raw class type of the member that is being injected.
+     * @param subjectGenericType The generic type of the member that is being injected.
+     * @param accessibleObject   The member that is being injected.
+     *
+     * @return assignable object for {@code subjectClassType}.
+     *
+     * @see #fetchOrCreateObjectFromClassType(Class, Class, AccessibleObject)
+     *
+     * @since 1.0.9
+     *
+     **/
+    private Object fetchOrCreateObjectFromMemberType(Class<?> parentClassType, Class<?> subjectClassType,
+                                                     Type subjectGenericType, AccessibleObject accessibleObject) {
+
+        Class<?> elementClassType = ReflectionUtil
+                .resolveCollectionElementType(subjectClassType, subjectGenericType);
+
+        if (elementClassType == null)
+            return fetchOrCreateObjectFromClassType(parentClassType, subjectClassType, accessibleObject);
+
+        for (DependencyManager manager = this; manager != null; manager = manager.parent) {
+            for (SingletonNode singletonNode : manager.dependencySearchTree.querySingletonsByAssignableType(elementClassType)) {
+                if (parentClassType.equals(singletonNode.getNodeClassType()))
+                    continue;
+
+                recordDependency(parentClassType, singletonNode.getNodeClassType());
+
+                if (!singletonNode.hasSingletonInstance())
+                    manager.instantiateWithInjection(singletonNode);
+            }
+        }
+        return queryLayeredInstances(elementClassType);
+    }
+
+    /**
+     *
+     * Records that {@code dependentClassType} was injected with, or created by,
+     * {@code dependencyClassType}. The recorded graph orders {@link #close()}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private void recordDependency(Class<?> dependentClassType, Class<?> dependencyClassType) {
+        beanDependencies
+                .computeIfAbsent(dependentClassType, classType -> new LinkedHashSet<>())
+                .add(dependencyClassType);
+    }
+
+    /**
+     *
+     * This method is used to fetch/retrieve a valid object for the {@code subjectClassType}
+     * Creates an instance of {@code classType} using its {@link Pull} annotated constructor.
+     * This function is used by {@link #instantiateWithInjection(Class)} when a constructor
+     * annotated with {@link Pull} was found.
+     *
+     * @param annotatedConstructor The {@link Pull} annotated java constructor.
+     * @param beanInstantiationEvent The JFR event of the created bean. It receives the
+     *                               constructor duration, or null when the event is disabled.
+     *
+     * @return An instance of {@code classType}.
+     *
+     * @throws ReflectionStateException May occur during instantiation of an empty constructor
+     *                                  process. It will give a cause exception.
+     *
+     * @since 1.0
+     *
+     * */
+    private Object createInstanceWithAnnotatedConstructor(Constructor<?> annotatedConstructor,
+                                                          BeanInstantiationEvent beanInstantiationEvent) {
+        final Class<?> classType = annotatedConstructor.getDeclaringClass();
+        try {
+            Object[] createdObjects =
+                    createObjectsFromParameters(classType, annotatedConstructor,
+                            annotatedConstructor.getParameters());
+
+            if (injectionPoints != null)
+                injectionPoints.recordCreation(classType, createdObjects);
+
+            final long constructorStartTime = System.nanoTime();
+            Object newInstance = annotatedConstructor.newInstance(createdObjects);
+
+            if (beanInstantiationEvent != null)
+                beanInstantiationEvent.constructorDuration = System.nanoTime() - constructorStartTime;
+
+            return newInstance;
+        }
+        catch (Exception exception) {
+            handleConstructorInstantiationException(ANNOTATED_CONSTRUCTOR, classType, exception);
+        }
+        return null;
+    }
+
+    /**
+     *
+     * This method is used to fetch/retrieve a valid object for the {@code subjectClassType}
+     * Creates an instance of {@code classType} using its empty constructor. This function
+     * is used by {@link #instantiateWithInjection(Class)} when a constructor annotated with
+     * {@link Pull} was not found.
+     *
+     * @param classType The class type to be instantiated.
+     * @param beanInstantiationEvent The JFR event of the created bean. It receives the
+     *                               constructor duration, or null when the event is disabled.
+     *
+     * @return An instance of {@code classType}.
+     *
+     * @throws ReflectionStateException May occur during instantiation of an empty constructor
+     *                                  process. It will give a cause exception.
+     *
+     * @since 1.0
+     *
+     **/
+    @SuppressWarnings("Unchecked")
+    private Object createInstanceWithEmptyConstructor(Class<?> classType,
+                                                      BeanInstantiationEvent beanInstantiationEvent) {
+        try {
+            Constructor<?> emptyConstructor = ClassMetadataRegistry
+                    .getInjectionPlan(classType).getEmptyConstructor();
+
+            if (emptyConstructor == null)
+                return null;
+
+            final long constructorStartTime = System.nanoTime();
+            Object newInstance = emptyConstructor.newInstance();
+
+            if (beanInstantiationEvent != null)
+                beanInstantiationEvent.constructorDuration = System.nanoTime() - constructorStartTime;
+
+            return newInstance;
+        } catch (Exception exception) {
+            handleConstructorInstantiationException(DEFAULT_CONSTRUCTOR, classType, exception);
+        }
+        return null;
+    }
+
+    /**
+     *
+     * Handles a thrown exception from a creation of instance by {@link Constructor}. This
+     * function is used by {@link #createInstanceWithAnnotatedConstructor(Constructor, BeanInstantiationEvent)} and
+     * {@link #createInstanceWithEmptyConstructor(Class, BeanInstantiationEvent)} to handle generically reflexive
+     * excetion such as {@link InstantiationException}.
+     *
+     * @param constructorType {@link DependencyManager#ANNOTATED_CONSTRUCTOR} or
+     *                        {@link DependencyManager#DEFAULT_CONSTRUCTOR}
+     *
+     * @param classType The {@link Class} to being instantiated.
+     *
+     * @param exception The thrown reflexive exception.
+     *
+     * @throws ReflectionStateException This exception is used to handle all reflexive exceptions
+     *                                  caused by an error while instantiating a given class type.
+     *
+     * @since 1.0
+     *
+     * */
+    private void handleConstructorInstantiationException(String constructorType,
+                                                         Class<?> classType, Exception exception) {
+        String exceptionMessage;
+        if (exception instanceof InvocationTargetException)
+            exceptionMessage = format("The constructor of \"%s\" threw a error.", classType.getName());
+
+        else if (exception instanceof IllegalAccessException)
+            exceptionMessage = format("The constructor of \"%s\" is inaccessible.", classType.getName());
+        else
+            exceptionMessage = format("An error occurred while instantiating the " +
+                    "constructor of \"%s\".", classType.getName());
+
+        exceptionMessage = format("[Constructor type: %s] %s", constructorType, exceptionMessage);
+        throw new ReflectionStateException(exceptionMessage, exception);
+    }
+
+    /**
+     *
+     * Performs field injection in a {@code instance}. This function is used with
+     * {@link #performMethodAndFieldInjection(Object)} to perform both method and field
+     * injection. The field injection is done on each field of the instance object and
+     * uses {@link #fetchOrCreateObjectFromClassType(Class, Class, AccessibleObject)} to
+     * get and set the assignable instance value.
+     *
+     * @param instance A receiver object to field injection.
+     *
+     * @return The number of injected fields.
+     *
+     * @throws MemberInjectionFailedException May occur during field injection if any
+     *                                        reflexive exception is thrown. It will
+     *                                        give a cause exception.
+     *
+     * @since 1.0
+     *
+     **/
+    private int performFieldInjection(Object instance) {
+        Class<?> parentClassType = instance.getClass();
+        int injectedFieldCount = 0;
+        for (Field field : ClassMetadataRegistry.getInjectionPlan(parentClassType).getPullFields()) {
+
+            Class<?> fieldClassType = field.getType();
+            Object objectFromClassType = fetchOrCreateObjectFromMemberType(
+                    parentClassType, fieldClassType, field.getGenericType(), field);
+
+            if (!field.canAccess(instance))
+                field.setAccessible(true);
+
+            try {
+                field.set(instance, objectFromClassType);
+                if (injectionPoints != null)
+                    injectionPoints.recordMember(instance, field, new Object[] {objectFromClassType});
+                injectedFieldCount++;
+            } catch (IllegalAccessException cause) {
+                throw new MemberInjectionFailedException(field, parentClassType, cause);
+            }
+        }
+        return injectedFieldCount;
+    }
+
+    /**
+     *
+     * Performs method invocation injection in a {@code instance}. This function is used with
+     * {@link #performMethodAndFieldInjection(Object)} to perform both method and field
+     * injection. Method injection occurs in any method whose name begins with "set" and it is
+     * annotated with {@link Pull} in a given instance object. It uses
+     * {@link #createObjectsFromParameters(Class, AccessibleObject, Parameter[])} to get and set
+     * the assignable instances values.
+     *
+     * @param instance A receiver object to method injection.
+     *
+     * @return The number of invoked setters.
+     *
+     * @throws MemberInjectionFailedException May occur during method injection if any
+     *                                        reflexive exception is thrown. It will
+     *                                        give a cause exception.
+     *
+     * @since 1.0
+     *
+     **/
+    private int performSetterMethodInvocationInjection(Object instance) {
+        final Class<?> parentClassType = instance.getClass();
+        int invokedSetterCount = 0;
+        for (Method method : ClassMetadataRegistry.getInjectionPlan(parentClassType).getPullSetters()) {
+
+            Object[] parameterValues =
+                    createObjectsFromParameters(parentClassType, method, method.getParameters());
+
+            invokeMethodWithArguments(instance, method, parameterValues, null);
+            if (injectionPoints != null)
+                injectionPoints.recordMember(instance, method, parameterValues);
+            invokedSetterCount++;
+        }
+        return invokedSetterCount;
+    }
+
+    /**
+     *
+     * Performs method invocation injection in a {@code instance}. This function is used with
+     * {@link #performSetterMethodInvocationInjection(Object)} and
+     * {@link #handleVirtualSingletonClassInstantiation(VirtualSingletonNode, BeanInstantiationEvent)} to perform method
+     * It uses {@link #createObjectsFromParameters(Class, AccessibleObject, Parameter[])} to get and
+     * set the assignable instances values.
+     *
+     * @param instance A receiver object to method injection.
+     *
+     * @throws MemberInjectionFailedException May occur during method injection if any
+     *                                        reflexive exception is thrown. It will
+     *                                        give a cause exception.
+     *
+     * @since 1.0.4
+     *
+     **/
+    private Object invokeMethodWithInjection(Object instance, Method method) {
+        return invokeMethodWithInjection(instance, method, null);
+    }
+
+    /**
+     *
+     * Performs method invocation injection in a {@code instance}, recording the time spent
+     * in the method itself as the constructor duration of {@code beanInstantiationEvent}.
+     *
+     * @param instance A receiver object to method injection.
+     * @param beanInstantiationEvent The event of the bean created by the method, or null.
+     *
+     * @see #invokeMethodWithInjection(Object, Method)
+     *
+     * @since 1.0.9
+     *
+     **/
+    private Object invokeMethodWithInjection(Object instance, Method method,
+                                             BeanInstantiationEvent beanInstantiationEvent) {
+        Object[] parameterValues =
+                createObjectsFromParameters(instance.getClass(), method, method.getParameters());
+
+        return invokeMethodWithArguments(instance, method, parameterValues, beanInstantiationEvent);
+    }
+
+    /**
+     *
+     * Invokes {@code method} of {@code instance} with already resolved arguments, recording
+     * the time spent in the method itself as the constructor duration of
+     * {@code beanInstantiationEvent}.
+     *
+     * @param instance        A receiver object to method injection.
+     * @param parameterValues The resolved arguments.
+     * @param beanInstantiationEvent The event of the bean created by the method, or null.
+     *
+     * @throws MemberInjectionFailedException May occur during method injection if any
+     *                                        reflexive exception is thrown. It will
+     *                                        give a cause exception.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private Object invokeMethodWithArguments(Object instance, Method method, Object[] parameterValues,
+                                             BeanInstantiationEvent beanInstantiationEvent) {
+        final Class<?> parentClassType = instance.getClass();
+        try {
+            final long invocationStartTime = System.nanoTime();
+            Object returnedObject = method.invoke(instance, parameterValues);
+
+            if (beanInstantiationEvent != null)
+                beanInstantiationEvent.constructorDuration = System.nanoTime() - invocationStartTime;
+
+            return returnedObject;
+
+        } catch (IllegalAccessException | InvocationTargetException cause) {
+            throw new MemberInjectionFailedException(method, parentClassType, cause);
+        }
+    }
+
+    /**
+     *
+     * Invokes the {@link Virtual} method {@code virtualMethod} of {@code instance} through its
+     * linked {@link VirtualMethodInvoker}, recording the time spent in the method itself as
+     * the constructor duration of {@code beanInstantiationEvent}.
+     *
+     * @param instance        The parent instance.
+     * @param parameterValues The resolved arguments.
+     * @param beanInstantiationEvent The event of the bean created by the method, or null.
+     *
+     * @return The virtual product.
+     *
+     * @throws MemberInjectionFailedException When the virtual method throws.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private Object invokeVirtualMethod(Object instance, Method virtualMethod, Object[] parameterValues,
+                                       BeanInstantiationEvent beanInstantiationEvent) {
+        try {
+            final long invocationStartTime = System.nanoTime();
+            Object virtualProduct = VirtualMethodInvoker.of(virtualMethod).invoke(instance, parameterValues);
+
+            if (beanInstantiationEvent != null)
+                beanInstantiationEvent.constructorDuration = System.nanoTime() - invocationStartTime;
+
+            return virtualProduct;
+
+        } catch (VirtualMachineError error) {
+            throw error;
+        } catch (Throwable cause) {
+            throw new MemberInjectionFailedException(virtualMethod, instance.getClass(), cause);
+        }
+    }
+
+    /**
+     *
+     * Performs method invocation and field injection in a {@code instance}.
+     * Method injection occurs in any method whose name begins with "set" and
+     * it is annotated with {@link Pull} in a given instance object. It uses
+     * {@link #createObjectsFromParameters(Class, AccessibleObject, Parameter[])}
+     * to get and set the assignable instances values. The field injection is
+     * done on each field of the instance object and uses
+     * {@link #fetchOrCreateObjectFromClassType(Class, Class, AccessibleObject)}
+     * to get and set the assignable instance value.
+     *
+     * @param instance A receiver object to method injection.
+     *
+     * @throws MemberInjectionFailedException May occur during method/field injection if
+     *                                        any reflexive exception is thrown. It will
+     *                                        give a cause exception.
+     *
+     * @since 1.0
+     *
+     **/
+    private void performMethodAndFieldInjection(Object instance) {
+        /* the event is only allocated while a recording enables it */
+        if (!INJECTION_EVENT_TYPE.isEnabled()) {
+            performSetterMethodInvocationInjection(instance);
+            performFieldInjection(instance);
+            return;
+        }
+        InjectionEvent injectionEvent = new InjectionEvent();
+        injectionEvent.begin();
+
+        int setterCount = performSetterMethodInvocationInjection(instance);
+        int fieldCount  = performFieldInjection(instance);
+
+        if (injectionEvent.shouldCommit()) {
+            injectionEvent.targetClass = instance.getClass();
+            injectionEvent.fieldCount  = fieldCount;
+            injectionEvent.setterCount = setterCount;
+            injectionEvent.commit();
+        }
+    }
+
+    /**
+     *
+     * Checks if a given class type can be instantiated and handled by the manager.
+     * Given a class type, this function returns the first {@link Constructor} annotated
+     * with {@link Pull}. Used by {@link #instantiateWithInjection(Class)} to perform
+     * constructor injection.
+     *
+     * @param classType The class type to be instantiated.
+     *
+     * @return The first constructor annotated will {@link Pull}
+     *
+     * @see #instantiateWithInjection(Class)
+     *
+     * @since 1.0
+     *
+     **/
+    private Constructor<?> getConstructorAnnotatedWithPull(Class<?> classType) {
+        return ClassMetadataRegistry.getInjectionPlan(classType).getPullConstructor();
+    }
+
+    /**
+     *
+     * Checks if a given class type wrapper can be instantiated and handled by the manager.
+     * The eligibility options are:
+     * <pre>
+     * 1. It checks if the {@code dynamic} parameter of {@link Managed} is {@code true}.
+     * If it is {@code true}, then it will return false since dynamic classes are used
+     * for handling dynamic dependency injection on new instances during the program
+     * execution with {@link #installType(Class)} and {@link #installInstance(Object)}
+     * functions.
+     * 2. If no strategy was defined on {@link DependencyManager} instance,
+     * there are no restrictions to instantiate a package class. It will return
+     * {@code true}.
+     * 3. If strategies were defined, the function will check the {@link Managed}
+     * strategies to check if at least one them match with the {@link DependencyManager}
+     * strategies. If one matches, it will return {@code true}. Both sides are interned
+     * {@link StrategyMask}s, so the check does not compare strategy names.
+     * 4. If no strategy matched and the {@link Managed} is not disposable, the
+     * class must be instantiated anyway. It will return {@code true}.
+     *</pre>
+     *
+     * @param typeInformationHolder The class type properties holder.
+     *
+     * @return {@code true} if the class type match with the eligibility options.
+     *
+     * @see TypeInformationHolder#isDynamic()
+     * @see TypeInformationHolder#isDisposable()
+     * @see TypeInformationHolder#getStrategyMask()
+     *
+     * @since 1.0.8
+     *
+     **/
+    private boolean checkTypeInformationHolderEligibility(TypeInformationHolder typeInformationHolder) {
+        boolean flagInstanceAnyways = !typeInformationHolder.isDisposable();
+
+        if (typeInformationHolder.isDynamic())
+            return false;
+
+        /*
+         * if no strategy was defined, all managed classes should be instantiated.
+         */
+        if (strategies.isEmpty())
+            return true;
+
+        return typeInformationHolder.getStrategyMask().intersects(strategyMask) || flagInstanceAnyways;
+    }
+
+    /**
+     *
+     * Checks if {@code classType} is not an interface or abstract class. This classes
+     * types cannot be instantiated. Used in {@link #installPackage(String)}
+     *
+     * @param classType The class type to be checked.
+     *
+     * @return {@code true} if {@code classType} is neither an interface nor an abstract
+     *         class.
+     *
+     * @since 1.0.2
+     *
+     **/
+    public boolean checkNonAbstractClassType(Class<?> classType) {
+        return !classType.isInterface() && !Modifier.isAbstract(classType.getModifiers());
+    }
+
+    /**
+     *
+     * Append the current {@link DependencyManager} instance to itself {@link DependencySearchTree}.
+     * This function can be useful when a dependency class uses {@code query()} function to
+     * search through the tree. This is equivalent to:
+     * <pre>
+     *  dependencySearchTree.insertPropagation(DependencyManager.class, dependencyManager);
+     *  <i>or</i>
+     *  dependencyManager.installInstance(dependencyManager);
+     * </pre>
+     *
+     * @since 1.0.2
+     *
+     **/
+    public void includeDependencyManagerAsDependency() {
+        dependencySearchTree.insertPropagation(DependencyManager.class, this);
+    }
+
+    /**
+     *
+     * Adds strategies to the strategy set of {@link DependencyManager}. Strategies will
+     * eventually be used to define which class should be instantiated and handled by the
+     * dependency search tree. This function should be called before {@link #installPackage(String)}
+     * to apply the strategy validation.
+     *
+     * @param strategyNames A single or multiple strategy names.
+     *
+     * @throws NullPointerException If any of {@code strategyNames} is null or blank.
+     *
+     * @since 1.0.2
+     *
+     **/
+    public void addStrategy(String... strategyNames) {
+        Arrays.stream(strategyNames)
+                .map(strategyName -> Checks.nonNullOrBlank(strategyName, "The strategy name must not be null."))
+                .forEach(strategies::add);
+
+        strategyMask = StrategyMask.of(strategies);
+    }
+
+    /**
+     *
+     * Replaces the strategies of the {@link DependencyManager} and applies them to the
+     * classes already found by {@link #installPackage(String)}, without scanning the
+     * packages again. The eligibility of every retained candidate is checked again:
+     *
+     * <pre>
+     *  1. Classes that are no longer eligible are removed from the {@link DependencySearchTree},
+     *     together with the virtual beans they produce.
+     *  2. Classes that became eligible are inserted and instantiated.
+     *  3. Injection points are resolved again, and only the ones whose resolution changed are
+     *     updated: {@link Pull} fields are set and {@link Pull} setters invoked again, and beans
+     *     whose constructor or {@link Virtual} method arguments changed are recreated.
+     * </pre>
+     *
+     * Beans that keep their eligibility and injections keep their instances. The removed
+     * instances are not closed, they are returned in the {@link StrategySwitch}. The injections
+     * are only known when {@link #enableInjectionRewiring()} was called before the install.
      * <p>
-     * After instantiation and constructor injection, a method and field injection will be
-     * performed in methods and fields annotated with {@link Pull} to the built instance.
+     * Queries of this manager and of the managers linked to it can run during the switch.
+     * They still read the trees without locking, and a query that overlaps a switch is made
+     * again, holding the locks, once the switch completes. It sees the beans of the previous
+     * or of the new strategies, never a tree half switched.
+     *
+     * @param strategyNames The new strategies. No strategy makes every class eligible.
+     *
+     * @return What was installed, removed and rewired.
+     *
+     * @throws NullPointerException         If any of {@code strategyNames} is null or blank.
+     * @throws StateException               If injection rewiring is not enabled.
+     * @throws ClassCreationFailedException When a bean cannot be created.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public StrategySwitch switchStrategies(String... strategyNames) {
+        Checks.nonNull(strategyNames, "strategyNames must not be null.");
+        Arrays.stream(strategyNames)
+                .forEach(strategyName -> Checks.nonNullOrBlank(strategyName, "The strategy name must not be null."));
+        Checks.state(injectionPoints != null, "Strategies can only be switched with injection rewiring enabled.");
+
+        final long switchStamp = strategySwitchLock.writeLock();
+        try {
+            synchronized (managerLock) {
+                strategies.clear();
+                addStrategy(strategyNames);
+
+                final Set<Class<?>> removedClassTypes = new LinkedHashSet<>();
+                final Set<Object> removedInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+                final List<TypeInformationHolder> installedTypeInformations = new ArrayList<>();
+
+                for (TypeInformationHolder candidateTypeInformation : candidateTypeInformations) {
+                    final Class<?> candidateClassType = candidateTypeInformation.getWrappedClassType();
+                    final boolean installed = dependencySearchTree.getRegisteredSingletonNode(candidateClassType) != null;
+                    final boolean eligible = checkTypeInformationHolderEligibility(candidateTypeInformation);
+
+                    if (installed && !eligible)
+                        removeBean(candidateClassType, removedClassTypes, removedInstances);
+
+                    else if (!installed && eligible)
+                        installedTypeInformations.add(candidateTypeInformation);
+                }
+
+                injectionPoints.forget(removedClassTypes, removedInstances);
+
+                installedTypeInformations.forEach(this::insertToSearchTree);
+                installedTypeInformations.forEach(this::instantiateWithInjection);
+
+                final Set<Class<?>> installedClassTypes = installedTypeInformations.stream()
+                        .map(TypeInformationHolder::getWrappedClassType)
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+
+                return new StrategySwitch(installedClassTypes, removedClassTypes,
+                        List.copyOf(removedInstances), rewireInjectionPoints());
+            }
+        } finally {
+            strategySwitchLock.unlockWrite(switchStamp);
+        }
+    }
+
+    /**
+     *
+     * Watches the class directories of {@code packagePath}, loaded by the system class loader.
+     *
+     * @see #watchPackage(String, ClassLoader)
+     *
+     * @since 1.0.9
+     *
+     **/
+    public PackageWatcher watchPackage(String packagePath) {
+        return watchPackage(packagePath, ClassLoader.getSystemClassLoader());
+    }
+
+    /**
+     *
+     * Watches the class directories of {@code packagePath} for changed class files. The
+     * returned {@link PackageWatcher} reloads the changed classes into a new class loader and
+     * applies them to this manager: only the nodes of the changed classes are inserted again,
+     * and only the changed beans and the beans injected with them are instantiated again.
+     * The package is expected to be installed with the same {@code classLoader}, and
+     * {@link #enableInjectionRewiring()} called before the install.
      * <p>
-     * All instances created by this function will be propagated to the {@link DependencySearchTree}.
-     * This is a convenient function to {@link #instantiateWithInjection(SingletonNode)}.
+     * Reloads are applied while holding the lock of this manager. Until the watcher is
+     * closed, queries take the lock as well, so they never see a reload half applied.
+     *
+     * @param packagePath The watched package. Its subpackages are watched as well.
+     * @param classLoader The class loader used to install the package.
+     *
+     * @return A new watcher, not started yet.
+     *
+     * @throws StateException      If this manager was closed, if injection rewiring is not
+     *                             enabled, or if no class directory holds the package.
+     * @throws ScanFailedException If the directories could not be watched.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public PackageWatcher watchPackage(String packagePath, ClassLoader classLoader) {
+        Checks.nonNullOrBlank(packagePath, "packagePath must not be null or blank.");
+        Checks.nonNull(classLoader, "classLoader must not be null.");
+        Checks.state(!closed, "A closed manager can not watch packages.");
+        Checks.state(injectionPoints != null, "Packages can only be watched with injection rewiring enabled.");
+
+        PackageWatcher packageWatcher = new PackageWatcher(this, classLoader, packagePath);
+        openPackageWatchers.incrementAndGet();
+
+        return packageWatcher;
+    }
+
+    /**
+     *
+     * Called once by each {@link PackageWatcher} when it is closed, so queries stop taking
+     * the lock of this manager after the last one.
+     *
+     * @since 1.0.9
+     *
+     **/
+    void closePackageWatcher() {
+        openPackageWatchers.decrementAndGet();
+    }
+
+    /**
+     *
+     * Replaces the changed and deleted classes by their new versions, loaded by
+     * {@code reloadingClassLoader}. The previous versions are removed like the classes that
+     * lose their eligibility in {@link #switchStrategies(String...)}, the new {@link Managed}
+     * versions are inserted and instantiated, and the injection points are rewired. The
+     * reload holds the lock of this manager, like the queries made while a watcher is open.
+     *
+     * @return What was reloaded, removed and rewired.
+     *
+     * @throws ScanFailedException If a changed class could not be loaded.
+     *
+     * @since 1.0.9
+     *
+     **/
+    ClassReload reloadClasses(ClassLoader reloadingClassLoader, Set<String> changedClassNames,
+                              Set<String> deletedClassNames) {
+        synchronized (managerLock) {
+            Checks.state(!closed, "A closed manager can not reload classes.");
+
+            final Set<Class<?>> removedClassTypes = new LinkedHashSet<>();
+            final Set<Object> removedInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+
+            candidateTypeInformations.removeIf(candidateTypeInformation -> {
+                final Class<?> candidateClassType = candidateTypeInformation.getWrappedClassType();
+                final String candidateClassName = candidateClassType.getName();
+
+                if (!changedClassNames.contains(candidateClassName) && !deletedClassNames.contains(candidateClassName))
+                    return false;
+
+                if (dependencySearchTree.getRegisteredSingletonNode(candidateClassType) != null)
+                    removeBean(candidateClassType, removedClassTypes, removedInstances);
+
+                return true;
+            });
+
+            injectionPoints.forget(removedClassTypes, removedInstances);
+
+            final List<TypeInformationHolder> reloadedTypeInformations = new ArrayList<>();
+            for (String changedClassName : changedClassNames) {
+                final Class<?> reloadedClassType;
+                try {
+                    reloadedClassType = Class.forName(changedClassName, true, reloadingClassLoader);
+                } catch (ClassNotFoundException | LinkageError exception) {
+                    throw new ScanFailedException("Could not reload the class \"" + changedClassName + "\".", exception);
+                }
+
+                if (!AnnotationDecomposer.isAnnotationComposed(reloadedClassType, Managed.class)
+                        || !checkNonAbstractClassType(reloadedClassType))
+                    continue;
+
+                TypeInformationHolder reloadedTypeInformation = createTypeInformation(reloadedClassType);
+                candidateTypeInformations.add(reloadedTypeInformation);
+
+                if (checkTypeInformationHolderEligibility(reloadedTypeInformation))
+                    reloadedTypeInformations.add(reloadedTypeInformation);
+            }
+
+            reloadedTypeInformations.forEach(this::insertToSearchTree);
+            reloadedTypeInformations.forEach(this::instantiateWithInjection);
+
+            final Set<Class<?>> reloadedClassTypes = reloadedTypeInformations.stream()
+                    .map(TypeInformationHolder::getWrappedClassType)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+
+            return new ClassReload(reloadedClassTypes, removedClassTypes,
+                    List.copyOf(removedInstances), rewireInjectionPoints());
+        }
+    }
+
+    /**
+     *
+     * Removes {@code classType} and its virtual beans from the {@link DependencySearchTree}
+     * and from the records of the manager, collecting the removed class types and instances.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private void removeBean(Class<?> classType, Set<Class<?>> removedClassTypes, Set<Object> removedInstances) {
+        for (SingletonNode removedSingletonNode : dependencySearchTree.removeSingletonNodes(classType)) {
+            final Class<?> removedClassType = removedSingletonNode.getNodeClassType();
+
+            if (removedSingletonNode.hasSingletonInstance())
+                removedInstances.add(removedSingletonNode.getNodeInstance());
+
+            removedClassTypes.add(removedClassType);
+            instantiationOrder.remove(removedClassType);
+            deferredClassTypes.remove(removedClassType);
+            beanDependencies.remove(removedClassType);
+            beanDependencies.values().forEach(dependencies -> dependencies.remove(removedClassType));
+        }
+    }
+
+    /**
+     *
+     * Resolves every recorded injection point again and updates the ones whose resolution
+     * changed. A bean whose creation arguments changed is recreated, which can change the
+     * creation arguments of the beans created with it, so the resolution is repeated until
+     * no bean is recreated.
+     *
+     * @return The number of recreated beans and rewired members.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private int rewireInjectionPoints() {
+        if (forwardingReferences != null)
+            forwardingReferences.forget(dependencySearchTree);
+
+        int rewiredInjectionPoints = 0;
+        boolean recreatedBeans;
+        do {
+            recreatedBeans = false;
+            for (Class<?> createdClassType : injectionPoints.getCreatedClassTypes()) {
+                SingletonNode singletonNode = dependencySearchTree.getRegisteredSingletonNode(createdClassType);
+
+                if (singletonNode == null || !singletonNode.hasSingletonInstance())
+                    continue;
+
+                Object[] resolvedArguments = resolveCreationArguments(singletonNode);
+                if (injectionPoints.sameCreationArguments(createdClassType, resolvedArguments))
+                    continue;
+
+                Object staleInstance = singletonNode.getNodeInstance();
+                dependencySearchTree.evictSingletonInstance(createdClassType);
+                injectionPoints.forget(Set.of(), Collections.singleton(staleInstance));
+                instantiateWithInjection(singletonNode);
+
+                recreatedBeans = true;
+                rewiredInjectionPoints++;
+            }
+
+            for (InjectionPoints.MemberInjection memberInjection : injectionPoints.getMemberInjections())
+                if (rewireMemberInjection(memberInjection))
+                    rewiredInjectionPoints++;
+
+        } while (recreatedBeans);
+
+        return rewiredInjectionPoints;
+    }
+
+    /**
+     *
+     * Resolves the creation arguments of {@code singletonNode} again, in the form recorded
+     * by {@link InjectionPoints#recordCreation(Class, Object[])}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private Object[] resolveCreationArguments(SingletonNode singletonNode) {
+        final Class<?> nodeClassType = singletonNode.getNodeClassType();
+
+        if (singletonNode instanceof VirtualSingletonNode virtualSingletonNode) {
+            SingletonNode parentSingletonNode = dependencySearchTree.getRegisteredSingletonNode(
+                    virtualSingletonNode.getParentSingletionNode().getNodeClassType());
+            Object virtualizedObject = (parentSingletonNode != null)
+                    ? instantiateWithInjection(parentSingletonNode) : null;
+
+            Method virtualMethod = virtualSingletonNode.getVirtualMethod();
+            return prependArgument(virtualizedObject, (virtualizedObject == null) ? new Object[0] :
+                    createObjectsFromParameters(virtualizedObject.getClass(),
+                            virtualMethod, virtualMethod.getParameters()));
+        }
+
+        Constructor<?> annotatedConstructor = getConstructorAnnotatedWithPull(nodeClassType);
+        return (annotatedConstructor == null) ? new Object[0] :
+                createObjectsFromParameters(nodeClassType, annotatedConstructor, annotatedConstructor.getParameters());
+    }
+
+    /**
+     *
+     * Resolves a {@link Pull} field or setter again, and sets the field or invokes the
+     * setter when the resolution changed.
+     *
+     * @return {@code true} if the member was rewired.
+     *
+     * @throws MemberInjectionFailedException When the field cannot be set or the setter fails.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private boolean rewireMemberInjection(InjectionPoints.MemberInjection memberInjection) {
+        final Object target = memberInjection.getTarget();
+        final Class<?> targetClassType = target.getClass();
+        final Object[] resolvedValues;
+
+        if (memberInjection.getMember() instanceof Field field)
+            resolvedValues = new Object[] {fetchOrCreateObjectFromMemberType(
+                    targetClassType, field.getType(), field.getGenericType(), field)};
+        else {
+            Method method = (Method) memberInjection.getMember();
+            resolvedValues = createObjectsFromParameters(targetClassType, method, method.getParameters());
+        }
+
+        if (memberInjection.sameValues(resolvedValues))
+            return false;
+
+        if (memberInjection.getMember() instanceof Field field) {
+            try {
+                field.set(target, resolvedValues[0]);
+            } catch (IllegalAccessException cause) {
+                throw new MemberInjectionFailedException(field, targetClassType, cause);
+            }
+        } else
+            invokeMethodWithArguments(target, (Method) memberInjection.getMember(), resolvedValues, null);
+
+        memberInjection.setValues(resolvedValues);
+        return true;
+    }
+
+    private static Object[] prependArgument(Object firstArgument, Object[] arguments) {
+        Object[] prependedArguments = new Object[arguments.length + 1];
+        prependedArguments[0] = firstArgument;
+        System.arraycopy(arguments, 0, prependedArguments, 1, arguments.length);
+        return prependedArguments;
+    }
+
+    /**
+     *
+     * Enables variables with a primitive type to be initialized with its default value.
+     * This is useful when using methods where its parameters contain a primitive type.
+     * When this flag is {@link true}, the injected property will not receive a null value.
+     *
+     * @since 1.0.4
+     *
+     **/
+    public void enablePrimitiveDefaultValue() {
+        this.enablePrimitiveDefaultValue = true;
+    }
+
+    /**
+     *
+     * Enables the startup timeline. From now on, package scanning, annotation decomposition,
+     * tree insertion and bean instantiation are recorded as nested spans in the returned
+     * {@link StartupTimeline}. Calling it again returns the same timeline.
+     * <p>
+     * The timeline is disabled by default, and a disabled manager records nothing.
+     *
+     * @return The startup timeline of this manager.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public StartupTimeline enableStartupTimeline() {
+        if (startupTimeline == null)
+            startupTimeline = new StartupTimeline();
+        return startupTimeline;
+    }
+
+    /**
+     *
+     * Enables the access trace. From now on, the order in which beans are first queried or
+     * injected after their package is installed is recorded in the returned
+     * {@link AccessTrace}, and saved to {@code traceFile} by {@link #saveAccessTrace()} and
+     * {@link #close()}.
+     * <p>
+     * When {@code traceFile} already holds the trace of a previous run, the next
+     * {@link #installPackage(String)} uses it to shorten the time to the first request. The
+     * hot beans, the ones accessed by the previous run, are instantiated first, in access
+     * order. The cold beans are deferred and created one by one on a background daemon
+     * thread, or by the first query that needs them. {@link #awaitWarmUp(Duration)} waits
+     * for the cold beans. Rooted installs ignore the previous trace.
+     *
+     * @param traceFile The file of the saved trace, read now if it exists.
+     *
+     * @return The access trace of this run.
+     *
+     * @throws NullPointerException When {@code traceFile} is null.
+     * @throws StateException       When the access trace was already enabled, or
+     *                              {@code traceFile} cannot be read.
+     *
+     * @see AccessTrace#getTimeToFirstAccess()
+     *
+     * @since 1.0.9
+     *
+     **/
+    public AccessTrace enableAccessTrace(Path traceFile) {
+        Checks.nonNull(traceFile, "traceFile must not be null.");
+        Checks.state(accessTrace == null, "The access trace was already enabled.");
+        try {
+            previousAccessOrder = AccessTrace.load(traceFile);
+        } catch (IOException exception) {
+            throw new StateException("Could not read the access trace \"" + traceFile + "\".", exception);
+        }
+        accessTraceFile = traceFile;
+        accessTrace     = new AccessTrace();
+        return accessTrace;
+    }
+
+    /**
+     *
+     * @return The access trace enabled by {@link #enableAccessTrace(Path)}, or null if it
+     *         is disabled.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public AccessTrace getAccessTrace() {
+        return accessTrace;
+    }
+
+    /**
+     *
+     * Saves the {@link AccessTrace} to the file given to {@link #enableAccessTrace(Path)}.
+     * Does nothing when the trace is disabled, or when nothing was accessed, so a run that
+     * ends before its first request keeps the trace of the previous run.
      *
-     * @param typeInformationHolder The class type wrapper.
+     * @throws StateException When the trace cannot be written.
      *
-     * @return A fully handled instance of {@code classType}.
+     * @since 1.0.9
      *
-     * @throws ClassCreationFailedException May occur during instance creation and dependency
-     *                                      injection process. It will give a cause exception.
+     **/
+    public void saveAccessTrace() {
+        if (accessTrace == null || accessTrace.getAccessOrder().isEmpty())
+            return;
+        try {
+            accessTrace.save(accessTraceFile);
+        } catch (IOException exception) {
+            throw new StateException("Could not write the access trace \"" + accessTraceFile + "\".", exception);
+        }
+    }
 
-     * @throws IllegalStateException        If the function could not instantiate any of the
-     *                                      class constructors.
+    /**
      *
-     * @see DependencyManager#installPackage(String)
-     * @see DependencyManager#installType(Class, InstallationType)
-     * @see DependencyManager#installType(Class)
+     * @return The startup timeline, or null if {@link #enableStartupTimeline()} was
+     *         never called.
      *
-     * @since 1.0.8
+     * @since 1.0.9
      *
      **/
-    private <T> T instantiateWithInjection(TypeInformationHolder typeInformationHolder) {
-        return instantiateWithInjection(typeInformationHolder.getWrappedClassType());
+    public StartupTimeline getStartupTimeline() {
+        return startupTimeline;
     }
 
     /**
      *
-     * The main core function of {@link DependencyManager}. This function starts the class type
-     * instantiation and dependency propagation through the constructor. Firstly, the function
-     * will try to find an already instantiated object for {@code classType}, if no instance is
-     * found, it will start creating the instance from scratch.
-     * <p>
-     * The function is only able to create constructors with more than one parameter if the
-     * constructor is annotated with {@link Pull}. If no constructor annotated is found, it will
-     * try to create with an empty constructor method.
-     * <p>
-     * After instantiation and constructor injection, a method and field injection will be
-     * performed in methods and fields annotated with {@link Pull} to the built instance.
-     * <p>
-     * All instances created by this function will be propagated to the {@link DependencySearchTree}.
-     * This is a convenient function to {@link #instantiateWithInjection(SingletonNode)}.
+     * Installs the {@link ContainerMetrics} that receive the queries and instantiations of
+     * this manager and of its {@link DependencySearchTree}. By default, {@link ContainerMetrics#NOOP}
+     * is installed.
      *
-     * @param classType The class type to be searched or instantiated recursively.
+     * @param containerMetrics The metrics implementation.
      *
-     * @return A fully handled instance of {@code classType}.
+     * @throws NullPointerException When {@code containerMetrics} is null.
      *
-     * @throws ClassCreationFailedException May occur during instance creation and dependency
-     *                                      injection process. It will give a cause exception.
+     * @since 1.0.9
+     *
+     **/
+    public void setContainerMetrics(ContainerMetrics containerMetrics) {
+        Checks.nonNull(containerMetrics, "containerMetrics must not be null.");
+        this.containerMetrics = containerMetrics;
+        dependencySearchTree.setContainerMetrics(containerMetrics);
+    }
 
-     * @throws IllegalStateException        If the function could not instantiate any of the
-     *                                      class constructors.
+    public ContainerMetrics getContainerMetrics() {
+        return containerMetrics;
+    }
+
+    /**
      *
-     * @see DependencyManager#installPackage(String)
-     * @see DependencyManager#installType(Class, InstallationType)
-     * @see DependencyManager#installType(Class)
+     * Registers a {@link io.github.dependency4j.metrics.ContainerMetricsMXBean} for this
+     * manager in the platform MBean server, under
+     * {@code io.github.dependency4j:type=DependencyManager,name=<name>}. If the installed
+     * metrics are not a {@link DefaultContainerMetrics}, a new one is installed first.
      *
-     * @since 1.0.4
+     * @param name The value of the {@code name} key of the MBean object name.
+     *
+     * @return The object name of the registered MBean.
+     *
+     * @throws NullPointerException When {@code name} is null or blank.
+     * @throws StateException       When the MBean cannot be registered, for instance when
+     *                              the name is already used.
+     *
+     * @since 1.0.9
      *
      **/
-    @SuppressWarnings("unchecked")
-    private <T> T instantiateWithInjection(Class<?> classType) {
-        Managed composedManagedAnnotation = decomposeManagedAnnotationFrom(classType);
+    public ObjectName registerMBean(String name) {
+        Checks.nonNullOrBlank(name, "name must not be null or blank.");
 
-        if (composedManagedAnnotation != null && composedManagedAnnotation.dynamic())
-            return (T) handleSingletonClassInstantiation(classType);
+        if (!(containerMetrics instanceof DefaultContainerMetrics))
+            setContainerMetrics(new DefaultContainerMetrics());
 
-        SingletonNode classTypeSingletonNode =
-                dependencySearchTree.querySingletonNode(classType, QueryOptions.none());
-
-        if (classTypeSingletonNode == null)
-            return null;
+        try {
+            ObjectName objectName = new ObjectName("io.github.dependency4j", new Hashtable<>(Map.of(
+                    "type", "DependencyManager", "name", ObjectName.quote(name))));
 
-        else if (classTypeSingletonNode.getNodeInstance() != null)
-            return (T) classTypeSingletonNode.getNodeInstance();
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new ContainerMetricsMBean(
+                    (DefaultContainerMetrics) containerMetrics, dependencySearchTree), objectName);
 
-        return instantiateWithInjection(classTypeSingletonNode);
+            return objectName;
+        } catch (JMException exception) {
+            throw new StateException("Could not register the metrics MBean \"" + name + "\".", exception);
+        }
     }
 
     /**
      *
-     * Handles instantiation of a generic class type. This function instantiates any class
-     * type that is annotated with {@link Managed}. There are two types of class instantiation:
-     * <pre>
-     * 1. Instantiation with Empty constructor, the instantiation is made with the
-     *    default java constructor if the class does not private it.
-     * 2. Instantiation with constructor annotated with {@link Pull}. This type of instantiation
-     *    will also propagates the constructor dependency injection.
-     * </pre>
-     *
-     * @param dependencyClassType The singleton node to have its node instance created.
+     * Closes every {@link AutoCloseable} bean created by this manager, in reverse dependency
+     * order: a bean is closed only after all the beans it was injected into. Beans of
+     * independent branches are closed in parallel, and each close call is given at most
+     * {@link #getCloseTimeout()}, so the shutdown takes about as long as its slowest
+     * dependency chain. A bean that fails or times out does not stop the others.
+     * <p>
+     * Instances installed with {@link #installInstance(Object)} and this manager itself are
+     * not closed, nor the beans of the parents of a child manager. Calling the function
+     * again has no effect.
+     * <p>
+     * The warm-up thread stops after the cold bean it is creating, and the access trace,
+     * when enabled, is saved before the beans are closed.
      *
-     * @return An instance assignable to {@link SingletonNode#getNodeClassType()} which
-     *         is the dependency class type.
+     * @throws ShutdownFailedException When any bean failed to close or timed out. Each
+     *                                 failure is a suppressed exception.
      *
-     * @see DependencyManager#instantiateWithInjection(SingletonNode)
+     * @see #setCloseTimeout(Duration)
      *
-     * @since 1.0.4
+     * @since 1.0.9
      *
      **/
-    private Object handleSingletonClassInstantiation(Class<?> dependencyClassType) {
-        Constructor<?> annotatedConstructor = getConstructorAnnotatedWithPull(dependencyClassType);
+    @Override
+    public void close() {
+        if (closed)
+            return;
 
-        if (annotatedConstructor != null)
-            return createInstanceWithAnnotatedConstructor(annotatedConstructor);
+        closed = true;
+        try {
+            awaitWarmUpThread();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        saveAccessTrace();
 
-        return createInstanceWithEmptyConstructor(dependencyClassType);
+        Map<Class<?>, AutoCloseable> closeableBeans = new LinkedHashMap<>();
+        Set<Object> closeableInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (Class<?> classType : instantiationOrder) {
+            SingletonNode singletonNode = dependencySearchTree.getRegisteredSingletonNode(classType);
+            Object nodeInstance = (singletonNode != null) ? singletonNode.getNodeInstance() : null;
+
+            if (nodeInstance instanceof AutoCloseable closeableBean && nodeInstance != this
+                    && closeableInstances.add(nodeInstance))
+                closeableBeans.put(classType, closeableBean);
+        }
+
+        new BeanShutdown(closeableBeans, beanDependencies, closeTimeout).closeAll();
     }
 
     /**
      *
-     * Handles instantiation of a concrete SingletonNode. A class type to be concrete
-     * needs to be scanned with {@link #installPackage(String)}, installed by
-     * {@link #installType(Class)} or {@link #installInstance(Object)}. This function
-     * is able to create an instance of a given {@link SingletonNode} and should be
-     * used only by {@link #instantiateWithInjection(SingletonNode)} to created new
-     * objects.
-     * <p>
-     * This is a convenient function used to handle concrete managed classes using
-     * {@link #instantiateWithInjection(SingletonNode)}
+     * Sets the maximum time given to each bean by {@link #close()}. The default value is
+     * {@link #DEFAULT_CLOSE_TIMEOUT}.
      *
-     * @param singletonNode The singleton node to have its node instance created.
+     * @throws NullPointerException     When {@code closeTimeout} is null.
+     * @throws IllegalArgumentException When {@code closeTimeout} is not positive.
      *
-     * @return An instance assignable to {@link SingletonNode#getNodeClassType()} which
-     *         is the dependency class type.
+     * @since 1.0.9
      *
-     * @see DependencyManager#instantiateWithInjection(SingletonNode)
+     **/
+    public void setCloseTimeout(Duration closeTimeout) {
+        Checks.nonNull(closeTimeout, "closeTimeout must not be null.");
+
+        if (closeTimeout.isNegative() || closeTimeout.isZero())
+            throw new IllegalArgumentException("closeTimeout must be positive.");
+
+        this.closeTimeout = closeTimeout;
+    }
+
+    public Duration getCloseTimeout() {
+        return closeTimeout;
+    }
+
+    /**
      *
-     * @since 1.0.4
+     * Produces the {@link Virtual} beans during {@link #installPackage(String)} on the
+     * {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @see #enableConcurrentVirtualProduction(Executor)
+     *
+     * @since 1.0.9
      *
      **/
-    private Object handleConcreteSingletonClassInstantiation(SingletonNode singletonNode) {
-        return handleSingletonClassInstantiation(singletonNode.getNodeClassType());
+    public void enableConcurrentVirtualProduction() {
+        enableConcurrentVirtualProduction(ForkJoinPool.commonPool());
     }
 
     /**
      *
-     * Handles instantiation of a virtual SingletonNode. A class type to be virtual
-     * needs to have a parent {@link SingletonNode}. Virtual singleton nodes are
-     * singletons detected when using the {@link Virtual} annotation in method.
-     * The annotation indicates that the method is virtual and its results should be
-     * treated as a Singleton instance. A virtual singleton node is handled by the
-     * node class {@link VirtualSingletonNode}.
-     *
-     * @param virtualSingletonNode The singleton node to have its node instance created.
+     * Produces the {@link Virtual} beans during {@link #installPackage(String)}, instead of
+     * when they are first pulled. The virtual methods of one parent bean are invoked
+     * concurrently on {@code executor}, so independent slow factories do not add up. The
+     * arguments are resolved and the products injected on the installing thread, so the
+     * virtual methods of one parent must only be safe to be called concurrently.
      *
-     * @return An instance assignable to {@link VirtualSingletonNode#getNodeClassType()}
-     *         which is the dependency class type.
+     * @param executor The executor of the virtual methods.
      *
-     * @see DependencyManager#instantiateWithInjection(SingletonNode)
+     * @throws NullPointerException When {@code executor} is null.
      *
-     * @since 1.0.4
+     * @since 1.0.9
      *
      **/
-    private Object handleVirtualSingletonClassInstantiation(VirtualSingletonNode virtualSingletonNode) {
-        SingletonNode parentSingletonNode = virtualSingletonNode.getParentSingletionNode();
-        Class<?> parentClassType = parentSingletonNode.getNodeClassType();
-        Object virtualizedObject = parentSingletonNode.getNodeInstance();
-
-        if (virtualizedObject == null)
-            virtualizedObject = instantiateWithInjection(parentClassType);
-
-        Checks.nonNull(virtualizedObject, "virtualized object failed to create.");
-        Method virtualizedMethod = virtualSingletonNode.getVirtualMethod();
-        return invokeMethodWithInjection(virtualizedObject, virtualizedMethod);
+    public void enableConcurrentVirtualProduction(Executor executor) {
+        this.virtualProductionExecutor = Checks.nonNull(executor, "executor must not be null.");
     }
 
     /**
      *
-     * This function works together with {@link #fetchOrCreateObjectFromClassType(Class, Class, AccessibleObject)}
-     * To fetch and create a list of all required objects for a specific {@code accessibleObject}.
-     * It will map with Stream all the parameters and collect the objects to that specific
-     * parameter.
+     * Enables the eviction of idle disposable singletons. From now on, a singleton that
+     * was not queried during {@link EvictionPolicy#idleTimeout()} is removed from the
+     * {@link DependencySearchTree}, and the next query creates it again through the normal
+     * instantiation and injection. Idle singletons are looked for at most once per idle
+     * timeout, on the thread of a query, or when {@link #evictIdleSingletons()} is called.
+     * Sweeps and recreations hold the lock of this manager; the queries of singletons that
+     * have an instance only record their access, without locking.
      * <p>
-     * In the current implementation of Dependency4j, an {@code accessibleObject} can be a
-     * {@link Constructor} or {@link Method}.
+     * A singleton is only evicted when it can be recreated without breaking other beans:
+     * its {@link Managed} class must be disposable, it must have been created by this
+     * manager, it must not be injected into any other bean and it must not be
+     * {@link AutoCloseable}.
      *
-     * @param parentClassType  Is the class type of the current handled instance.
-     * @param accessibleObject A {@link Constructor} or {@link Method} depending on the current
-     *                         injection method being executed.
-     * @param parameters       The list of parameters of the current {@code accessibleObject}.
+     * @param evictionPolicy The idle timeout and whether evicted instances are held softly.
      *
-     * @return A {@link List} of objects instances. An element can be null when no instance was
-     *         found to that particular parameter type.
+     * @throws NullPointerException When {@code evictionPolicy} is null.
      *
-     * @see #fetchOrCreateObjectFromClassType(Class, Class, AccessibleObject)
+     * @see EvictionPolicy
      *
-     * @since 1.0
+     * @since 1.0.9
      *
      **/
-    private List<Object> createObjectsFromParameters(Class<?> parentClassType,
-                                                     AccessibleObject accessibleObject, Parameter[] parameters) {
-        return Stream.of(parameters)
-                .map(parameter ->
-                    fetchOrCreateObjectFromClassType(
-                            parentClassType,
-                            parameter.getType(),
-                            accessibleObject))
-                .collect(Collectors.toList());
+    public void enableEviction(EvictionPolicy evictionPolicy) {
+        Checks.nonNull(evictionPolicy, "evictionPolicy must not be null.");
+        this.singletonEviction = new SingletonEviction(evictionPolicy, System.nanoTime());
     }
 
     /**
      *
-     * This method is used to fetch/retrieve a valid object for the {@code subjectClassType}
-     * required on the current injection type. This function works together with
-     * {@code instantiateWithInjection} to guarantee the correct instantiation and injection
-     * for all classes being installed through:
-     *
-     * {@link #installPackage(String)},
-     * {@link #installType(Class, InstallationType)} and
-     * {@link #createObjectsFromParameters(Class, AccessibleObject, Parameter[])}
-     *
-     * functions.
-     *
-     * @param parentClassType the parent instantiated object class type.
-     *
-     * @param subjectClassType The class type relative to the member that is being injected.
-     *                         For a field injection, this is equivalent to {@link Field#getType()},
-     *                         and for a method invoke injection, this is equivalent to the current
-     *                         parameter type being fetched and injected, equivalent to
-     *                         {@link Parameter#getType()}.
+     * Evicts every eligible singleton that was not queried during the idle timeout of the
+     * enabled {@link EvictionPolicy}.
      *
-     * @param accessibleObject The member that is being injected. The value can be a {@link Method},
-     *                         {@link Field} or {@link Constructor} reference, it depends on the type
-     *                         of the current injection that calls this method.
+     * @return The number of evicted singletons.
      *
-     * @return assignable object for {@code subjectClassType}. Returns null if no {@link SingletonNode}
-     *         is found on the {@link DependencySearchTree}.
+     * @throws StateException When no eviction policy is enabled.
      *
-     * @throws IllegalStateException If parentClassType and subjectClassType are equals, meaning
-     *                               a loop on itself.
+     * @see #enableEviction(EvictionPolicy)
      *
-     * @since 1.0
+     * @since 1.0.9
      *
      **/
-    private Object fetchOrCreateObjectFromClassType(Class<?> parentClassType, Class<?> subjectClassType,
-                                                    AccessibleObject accessibleObject) {
-
-        if (subjectClassType.isPrimitive())
-            if (enablePrimitiveDefaultValue)
-                return ReflectionUtil.defaultValueToClassType(subjectClassType);
-            else
-                return null;
-
-        Pull pullAnnotation = AnnotationDecomposer
-                .decomposeAnnotationFromMember(accessibleObject, Pull.class);
+    public int evictIdleSingletons() {
+        if (singletonEviction == null)
+            throw new StateException("No eviction policy is enabled.");
 
-        final QueryOptions optionalQueryOptions = (pullAnnotation != null)
-                ? AnnotationTransformer.transformPullAnnotationToQueryOptions(pullAnnotation)
-                : QueryOptions.none();
-
-        SingletonNode singletonNode = dependencySearchTree
-                .querySingletonNode(subjectClassType, optionalQueryOptions);
+        return evictIdleSingletons(System.nanoTime());
+    }
 
-        /* singleton nodes are null when the class type was not found in the installPackage section. */
-        if (singletonNode == null)
-            return null;
+    private int evictIdleSingletons(long nowNanos) {
+        synchronized (managerLock) {
+            Set<Class<?>> injectedClassTypes = new HashSet<>();
+            beanDependencies.values().forEach(injectedClassTypes::addAll);
 
-        if (parentClassType.equals(singletonNode.getNodeClassType()))
-            throw new IllegalStateException("\"" + parentClassType.getSimpleName() +
-                    "\" loops itself on member: \"" + accessibleObject + "\".");
+            int evictedSingletons = 0;
+            for (Class<?> classType : instantiationOrder) {
+                SingletonNode singletonNode = dependencySearchTree.getRegisteredSingletonNode(classType);
 
-        Object instanceValue = singletonNode.getNodeInstance();
+                if (singletonNode == null || !checkSingletonNodeEvictability(singletonNode, injectedClassTypes)
+                        || !singletonEviction.isIdle(classType, nowNanos))
+                    continue;
 
-        return (instanceValue != null) ? instanceValue :
-                instantiateWithInjection(singletonNode.getNodeClassType());
+                singletonEviction.evict(classType, singletonNode.getNodeInstance());
+                dependencySearchTree.evictSingletonInstance(classType);
+                evictedSingletons++;
+            }
+            return evictedSingletons;
+        }
     }
 
     /**
      *
-     * This method is used to fetch/retrieve a valid object for the {@code subjectClassType}
-     * Creates an instance of {@code classType} using its {@link Pull} annotated constructor.
-     * This function is used by {@link #instantiateWithInjection(Class)} when a constructor
-     * annotated with {@link Pull} was found.
-     *
-     * @param annotatedConstructor The {@link Pull} annotated java constructor.
-     *
-     * @return An instance of {@code classType}.
+     * Checks if the instance of {@code singletonNode} can be evicted and recreated later.
+     * See {@link #enableEviction(EvictionPolicy)}.
      *
-     * @throws ReflectionStateException May occur during instantiation of an empty constructor
-     *                                  process. It will give a cause exception.
+     * @param injectedClassTypes The class types injected into, or creating, other beans.
      *
-     * @since 1.0
+     * @since 1.0.9
      *
-     * */
-    private Object createInstanceWithAnnotatedConstructor(Constructor<?> annotatedConstructor) {
-        final Class<?> classType = annotatedConstructor.getDeclaringClass();
-        try {
-            List<Object> listOfCreatedObjects =
-                    createObjectsFromParameters(classType, annotatedConstructor,
-                            annotatedConstructor.getParameters());
-
-            return annotatedConstructor.newInstance(listOfCreatedObjects.toArray());
-        }
-        catch (Exception exception) {
-            handleConstructorInstantiationException(ANNOTATED_CONSTRUCTOR, classType, exception);
-        }
-        return null;
+     **/
+    private boolean checkSingletonNodeEvictability(SingletonNode singletonNode, Set<Class<?>> injectedClassTypes) {
+        Object nodeInstance = singletonNode.getNodeInstance();
+
+        return nodeInstance != null
+                && nodeInstance != this
+                && !(nodeInstance instanceof AutoCloseable)
+                && singletonNode.getTypeInformationHolder().isDisposable()
+                && !injectedClassTypes.contains(singletonNode.getNodeClassType());
     }
 
     /**
      *
-     * This method is used to fetch/retrieve a valid object for the {@code subjectClassType}
-     * Creates an instance of {@code classType} using its empty constructor. This function
-     * is used by {@link #instantiateWithInjection(Class)} when a constructor annotated with
-     * {@link Pull} was not found.
-     *
-     * @param classType The class type to be instantiated.
-     *
-     * @return An instance of {@code classType}.
+     * @return The enabled {@link EvictionPolicy}, or null if eviction is not enabled.
      *
-     * @throws ReflectionStateException May occur during instantiation of an empty constructor
-     *                                  process. It will give a cause exception.
-     *
-     * @since 1.0
+     * @since 1.0.9
      *
      **/
-    @SuppressWarnings("Unchecked")
-    private Object createInstanceWithEmptyConstructor(Class<?> classType) {
-        try {
-            Constructor<?>[] constructors = classType.getConstructors();
-            Constructor<?> emptyConstructor = null;
-            for (Constructor<?> constructor : constructors)
-                if (constructor.getParameterCount() == 0) {
-                    emptyConstructor = constructor;
-                    break;
-                }
-
-            if (emptyConstructor == null)
-                return null;
-
-            return emptyConstructor.newInstance();
-        } catch (Exception exception) {
-            handleConstructorInstantiationException(DEFAULT_CONSTRUCTOR, classType, exception);
-        }
-        return null;
+    public EvictionPolicy getEvictionPolicy() {
+        return (singletonEviction != null) ? singletonEviction.getEvictionPolicy() : null;
     }
 
     /**
      *
-     * Handles a thrown exception from a creation of instance by {@link Constructor}. This
-     * function is used by {@link #createInstanceWithAnnotatedConstructor(Constructor)} and
-     * {@link #createInstanceWithEmptyConstructor(Class)} to handle generically reflexive
-     * excetion such as {@link InstantiationException}.
-     *
-     * @param constructorType {@link DependencyManager#ANNOTATED_CONSTRUCTOR} or
-     *                        {@link DependencyManager#DEFAULT_CONSTRUCTOR}
+     * Writes a binary snapshot of the resolved graph of this manager: the class types and
+     * their class file checksums, the node layout of the {@link DependencySearchTree}, the
+     * {@link Managed} properties, strategies, virtual methods and the instantiation order.
+     * A snapshot lets {@link #restore(Path)} skip package scanning and annotation
+     * decomposition on the next start.
+     * <p>
+     * Only beans created by this manager are written. Instances installed with
+     * {@link #installInstance(Object)}, including this manager when it is included as a
+     * dependency, must be installed again after the restore.
      *
-     * @param classType The {@link Class} to being instantiated.
+     * @param snapshotFile The snapshot file. It is created or replaced.
      *
-     * @param exception The thrown reflexive exception.
+     * @throws NullPointerException    When {@code snapshotFile} is null.
+     * @throws SnapshotFailedException When the snapshot cannot be written.
      *
-     * @throws ReflectionStateException This exception is used to handle all reflexive exceptions
-     *                                  caused by an error while instantiating a given class type.
+     * @see #restore(Path)
      *
-     * @since 1.0
+     * @since 1.0.9
      *
-     * */
-    private void handleConstructorInstantiationException(String constructorType,
-                                                         Class<?> classType, Exception exception) {
-        String exceptionMessage;
-        if (exception instanceof InvocationTargetException)
-            exceptionMessage = format("The constructor of \"%s\" threw a error.", classType.getName());
+     **/
+    public void snapshot(Path snapshotFile) {
+        Checks.nonNull(snapshotFile, "snapshotFile must not be null.");
+        try (DataOutputStream outputStream = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(snapshotFile)))) {
 
-        else if (exception instanceof IllegalAccessException)
-            exceptionMessage = format("The constructor of \"%s\" is inaccessible.", classType.getName());
-        else
-            exceptionMessage = format("An error occurred while instantiating the " +
-                    "constructor of \"%s\".", classType.getName());
+            ContainerSnapshot.write(dependencySearchTree, strategies, instantiationOrder, outputStream);
+
+        } catch (IOException exception) {
+            throw new SnapshotFailedException("Could not write the snapshot \"" + snapshotFile + "\".", exception);
+        }
+    }
 
-        exceptionMessage = format("[Constructor type: %s] %s", constructorType, exceptionMessage);
-        throw new ReflectionStateException(exceptionMessage, exception);
+    /**
+     *
+     * Restores a snapshot written by {@link #snapshot(Path)}, loading its classes with the
+     * system class loader.
+     *
+     * @param snapshotFile The snapshot file.
+     *
+     * @see #restore(Path, ClassLoader)
+     *
+     * @since 1.0.9
+     *
+     **/
+    public void restore(Path snapshotFile) {
+        restore(snapshotFile, ClassLoader.getSystemClassLoader());
     }
 
     /**
      *
-     * Performs field injection in a {@code instance}. This function is used with
-     * {@link #performMethodAndFieldInjection(Object)} to perform both method and field
-     * injection. The field injection is done on each field of the instance object and
-     * uses {@link #fetchOrCreateObjectFromClassType(Class, Class, AccessibleObject)} to
-     * get and set the assignable instance value.
+     * Restores a snapshot written by {@link #snapshot(Path)}. The {@link DependencySearchTree}
+     * is rebuilt from the snapshot node layout, then the beans are created in the recorded
+     * instantiation order, so no package is scanned and no {@link Managed} annotation is
+     * decomposed. Every class file is checked against the checksum recorded in the snapshot
+     * before any node is created.
+     * <p>
+     * The manager must not have installed anything yet, and its strategies must be the ones
+     * the snapshot was written with.
      *
-     * @param instance A receiver object to field injection.
+     * @param snapshotFile The snapshot file.
+     * @param classLoader  The class loader of the snapshot classes.
      *
-     * @throws MemberInjectionFailedException May occur during field injection if any
-     *                                        reflexive exception is thrown. It will
-     *                                        give a cause exception.
+     * @throws NullPointerException         When any argument is null.
+     * @throws StateException               When the manager already holds installed classes.
+     * @throws SnapshotFailedException      When the snapshot cannot be read, its strategies
+     *                                      differ, or a class changed since it was written.
+     * @throws ClassCreationFailedException When a bean cannot be created.
      *
-     * @since 1.0
+     * @since 1.0.9
      *
      **/
-    private void performFieldInjection(Object instance) {
-        Class<?> parentClassType = instance.getClass();
-        for (Field field : parentClassType.getDeclaredFields()) {
+    public void restore(Path snapshotFile, ClassLoader classLoader) {
+        Checks.nonNull(snapshotFile, "snapshotFile must not be null.");
+        Checks.nonNull(classLoader, "classLoader must not be null.");
 
-            if (!AnnotationDecomposer.isAnnotationComposed(field, Pull.class))
-                continue;
+        if (dependencySearchTree.getRootNode().childCount() > 0)
+            throw new StateException("A snapshot can only be restored by a manager without installed classes.");
 
-            Class<?> fieldClassType = field.getType();
-            Object objectFromClassType =
-                    fetchOrCreateObjectFromClassType(parentClassType, fieldClassType, field);
+        StartupTimeline.OpenSpan restoreSpan = beginSpan(StartupTimeline.RESTORE, null);
+        try (DataInputStream inputStream = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
 
-            if (!field.canAccess(instance))
-                field.setAccessible(true);
+            List<Class<?>> snapshotInstantiationOrder =
+                    ContainerSnapshot.read(inputStream, classLoader, dependencySearchTree, strategies);
 
-            try {
-                field.set(instance, objectFromClassType);
-            } catch (IllegalAccessException cause) {
-                throw new MemberInjectionFailedException(field, parentClassType, cause);
+            for (Class<?> classType : snapshotInstantiationOrder) {
+                SingletonNode singletonNode = dependencySearchTree.getRegisteredSingletonNode(classType);
+                if (singletonNode != null)
+                    instantiateWithInjection(singletonNode);
             }
+        } catch (IOException exception) {
+            throw new SnapshotFailedException("Could not read the snapshot \"" + snapshotFile + "\".", exception);
+        } finally {
+            endSpan(restoreSpan);
         }
     }
 
     /**
      *
-     * Performs method invocation injection in a {@code instance}. This function is used with
-     * {@link #performMethodAndFieldInjection(Object)} to perform both method and field
-     * injection. Method injection occurs in any method whose name begins with "set" and it is
-     * annotated with {@link Pull} in a given instance object. It uses
-     * {@link #createObjectsFromParameters(Class, AccessibleObject, Parameter[])} to get and set
-     * the assignable instances values.
+     * {@inheritDoc}
      *
-     * @param instance A receiver object to method injection.
+     */
+    @Override
+    public <T> T query(Class<? extends T> classType, QueryOptions queryOptions) {
+        /* a query overlapping a strategy switch of the lineage is discarded and made again under the locks */
+        final long switchStamp = strategySwitchLock.tryOptimisticRead();
+        if (switchStamp != 0) {
+            try {
+                T queriedInstance = queryWithoutSwitch(classType, queryOptions);
+                if (strategySwitchLock.validate(switchStamp))
+                    return queriedInstance;
+
+            } catch (RuntimeException exception) {
+                if (strategySwitchLock.validate(switchStamp))
+                    throw exception;
+            }
+        }
+        return queryHoldingChainLocks(this, classType, queryOptions);
+    }
+
+    private <T> T queryWithoutSwitch(Class<? extends T> classType, QueryOptions queryOptions) {
+        if (singletonEviction == null && parent == null && accessTrace == null && deferredClassTypes.isEmpty()
+                && openPackageWatchers.get() == 0)
+            return dependencySearchTree.query(classType, queryOptions);
+
+        /* classes may be reloaded by a watcher, deferred beans only take the lock once resolved */
+        if (openPackageWatchers.get() > 0) {
+            synchronized (managerLock) {
+                return resolveAndAccess(classType, queryOptions);
+            }
+        }
+        return resolveAndAccess(classType, queryOptions);
+    }
+
+    /**
      *
-     * @throws MemberInjectionFailedException May occur during method injection if any
-     *                                        reflexive exception is thrown. It will
-     *                                        give a cause exception.
+     * Makes a query of this manager while holding the lock of {@code manager} and of its
+     * parents, in the usual child to parent order. A strategy switch holds the lock of its
+     * manager until it completes, so the query sees no tree of the chain half switched.
      *
-     * @since 1.0
+     * @since 1.0.9
      *
      **/
-    private void performSetterMethodInvocationInjection(Object instance) {
-        final Class<?> parentClassType = instance.getClass();
-        for (Method method : parentClassType.getDeclaredMethods()) {
+    private <T> T queryHoldingChainLocks(DependencyManager manager, Class<? extends T> classType,
+                                         QueryOptions queryOptions) {
+        synchronized (manager.managerLock) {
+            return (manager.parent != null)
+                    ? queryHoldingChainLocks(manager.parent, classType, queryOptions)
+                    : resolveAndAccess(classType, queryOptions);
+        }
+    }
 
-            if (!AnnotationDecomposer.isAnnotationComposed(method, Pull.class) ||
-                    !method.getName().startsWith("set")) continue;
+    @SuppressWarnings("unchecked")
+    private <T> T resolveAndAccess(Class<? extends T> classType, QueryOptions queryOptions) {
+        final long nowNanos = System.nanoTime();
+        if (singletonEviction != null && singletonEviction.isSweepDue(nowNanos))
+            evictIdleSingletons(nowNanos);
 
-            invokeMethodWithInjection(instance, method);
-        }
+        SingletonNode singletonNode = resolveSingletonNode(classType, queryOptions);
+
+        if (singletonNode == null)
+            return null;
+
+        recordAccess(singletonNode);
+        return (T) accessSingletonNode(singletonNode, nowNanos);
     }
 
     /**
      *
-     * Performs method invocation injection in a {@code instance}. This function is used with
-     * {@link #performSetterMethodInvocationInjection(Object)} and
-     * {@link #handleVirtualSingletonClassInstantiation(VirtualSingletonNode)} to perform method
-     * It uses {@link #createObjectsFromParameters(Class, AccessibleObject, Parameter[])} to get and
-     * set the assignable instances values.
+     * {@inheritDoc}
      *
-     * @param instance A receiver object to method injection.
+     */
+    @Override
+    public <T> T query(Class<? extends T> classType) {
+        return query(classType, QueryOptions.none());
+    }
+
+    /**
      *
-     * @throws MemberInjectionFailedException May occur during method injection if any
-     *                                        reflexive exception is thrown. It will
-     *                                        give a cause exception.
+     * Retrieves all singleton instances assignable to {@code classType}, in the order their
+     * class types were installed. The instances of a child manager come after the instances
+     * of its parents. The result is an immutable {@link List} that is cached by
+     * the {@link DependencySearchTree}, so repeated calls do not allocate until a matching
+     * singleton is installed or receives a new instance.
+     * <p>
+     * The same list can be injected with {@link Pull} on members declared as {@code List<T>}
+     * or {@code Collection<T>}.
      *
-     * @since 1.0.4
+     * @param classType The class type to be searched in the tree.
+     *
+     * @return A non-null immutable {@link List} of instances assignable to {@code classType}.
+     *
+     * @see DependencySearchTree#queryAll(Class)
+     *
+     * @since 1.0.9
      *
      **/
-    private Object invokeMethodWithInjection(Object instance, Method method) {
-        final Class<?> parentClassType = instance.getClass();
-        try {
-            Parameter[] parameters = method.getParameters();
-            List<Object> parameterValues =
-                    createObjectsFromParameters(parentClassType, method, parameters);
-            return method.invoke(instance, parameterValues.toArray());
+    public <T> List<T> queryAll(Class<T> classType) {
+        final long switchStamp = strategySwitchLock.tryOptimisticRead();
+        if (switchStamp != 0) {
+            try {
+                List<T> queriedInstances = queryAllWithoutSwitch(classType);
+                if (strategySwitchLock.validate(switchStamp))
+                    return queriedInstances;
 
-        } catch (IllegalAccessException | InvocationTargetException cause) {
-            throw new MemberInjectionFailedException(method, parentClassType, cause);
+            } catch (RuntimeException exception) {
+                if (strategySwitchLock.validate(switchStamp))
+                    throw exception;
+            }
+        }
+        return queryAllHoldingChainLocks(this, classType);
+    }
+
+    private <T> List<T> queryAllWithoutSwitch(Class<T> classType) {
+        /* the instances are listed without a sweep or reload changing them meanwhile, deferred beans are created first */
+        if (singletonEviction != null || openPackageWatchers.get() > 0) {
+            synchronized (managerLock) {
+                return accessAll(classType);
+            }
         }
+        return accessAll(classType);
     }
 
     /**
      *
-     * Performs method invocation and field injection in a {@code instance}.
-     * Method injection occurs in any method whose name begins with "set" and
-     * it is annotated with {@link Pull} in a given instance object. It uses
-     * {@link #createObjectsFromParameters(Class, AccessibleObject, Parameter[])}
-     * to get and set the assignable instances values. The field injection is
-     * done on each field of the instance object and uses
-     * {@link #fetchOrCreateObjectFromClassType(Class, Class, AccessibleObject)}
-     * to get and set the assignable instance value.
-     *
-     * @param instance A receiver object to method injection.
-     *
-     * @throws MemberInjectionFailedException May occur during method/field injection if
-     *                                        any reflexive exception is thrown. It will
-     *                                        give a cause exception.
+     * Runs {@link #queryAll(Class)} holding the locks of the manager chain, like
+     * {@link #queryHoldingChainLocks(DependencyManager, Class, QueryOptions)}.
      *
-     * @since 1.0
+     * @since 1.0.9
      *
      **/
-    private void performMethodAndFieldInjection(Object instance) {
-        performSetterMethodInvocationInjection(instance);
-        performFieldInjection(instance);
+    private <T> List<T> queryAllHoldingChainLocks(DependencyManager manager, Class<T> classType) {
+        synchronized (manager.managerLock) {
+            return (manager.parent != null)
+                    ? queryAllHoldingChainLocks(manager.parent, classType)
+                    : accessAll(classType);
+        }
+    }
+
+    private <T> List<T> accessAll(Class<T> classType) {
+        if (singletonEviction != null || accessTrace != null) {
+            final long nowNanos = System.nanoTime();
+            for (SingletonNode singletonNode : dependencySearchTree.querySingletonsByAssignableType(classType)) {
+                recordAccess(singletonNode);
+
+                if (singletonEviction != null)
+                    accessEvictableNode(singletonNode, nowNanos);
+            }
+        }
+        return queryLayeredInstances(classType);
     }
 
     /**
      *
-     * Checks if a given class type can be instantiated and handled by the manager.
-     * Given a class type, this function returns the first {@link Constructor} annotated
-     * with {@link Pull}. Used by {@link #instantiateWithInjection(Class)} to perform
-     * constructor injection.
+     * Records the access of {@code singletonNode} in the {@link AccessTrace}, when enabled.
+     * Injections made while a package is installed, or by the warm-up thread, are part of
+     * the startup and are not recorded.
      *
-     * @param classType The class type to be instantiated.
+     * @since 1.0.9
      *
-     * @return The first constructor annotated will {@link Pull}
+     **/
+    private void recordAccess(SingletonNode singletonNode) {
+        if (accessTrace != null && !installingPackage && Thread.currentThread() != warmUpThread)
+            accessTrace.record(singletonNode.getNodeClassType());
+    }
+
+    /**
      *
-     * @see #instantiateWithInjection(Class)
+     * @return The instances of the parents assignable to {@code classType}, followed by
+     *         the instances of this manager. A fork recreates its stale beans first and
+     *         leaves out the parent instances it shadows.
      *
-     * @since 1.0
+     * @since 1.0.9
      *
      **/
-    private Constructor<?> getConstructorAnnotatedWithPull(Class<?> classType) {
-        return Stream.of(classType.getConstructors())
-                .filter(constructor
-                        -> constructor.isAnnotationPresent(Pull.class))
-                .findFirst()
-                .orElse(null);
+    private <T> List<T> queryLayeredInstances(Class<T> classType) {
+        return queryLayeredInstances(classType, true);
     }
 
     /**
      *
-     * Checks if a given class type wrapper can be instantiated and handled by the manager.
-     * The eligibility options are:
-     * <pre>
-     * 1. It checks if the {@code dynamic} parameter of {@link Managed} is {@code true}.
-     * If it is {@code true}, then it will return false since dynamic classes are used
-     * for handling dynamic dependency injection on new instances during the program
-     * execution with {@link #installType(Class)} and {@link #installInstance(Object)}
-     * functions.
-     * 2. If no strategy was defined on {@link DependencyManager} instance,
-     * there are no restrictions to instantiate a package class. It will return
-     * {@code true}.
-     * 3. If strategies were defined, the function will check the {@link Managed}
-     * strategies to check if at least one them match with the {@link DependencyManager}
-     * strategies. If one matches, it will return {@code true}.
-     * 4. If no strategy matched and the {@link Managed} is not disposable, the
-     * class must be instantiated anyway. It will return {@code true}.
-     *</pre>
-     *
-     * @param typeInformationHolder The class type properties holder.
-     *
-     * @return {@code true} if the class type match with the eligibility options.
+     * @param materializeDeferred {@code false} when a fork below this manager lists the
+     *                            instances. The fork copies the deferred beans of its parents
+     *                            itself, so they are left uncreated in the parents.
      *
-     * @see TypeInformationHolder#isDynamic()
-     * @see TypeInformationHolder#isDisposable()
-     * @see TypeInformationHolder#getStrategies()
+     * @see #queryLayeredInstances(Class)
      *
-     * @since 1.0.8
+     * @since 1.0.9
      *
      **/
-    private boolean checkTypeInformationHolderEligibility(TypeInformationHolder typeInformationHolder) {
-        boolean flagInstanceAnyways = !typeInformationHolder.isDisposable();
-
-        if (typeInformationHolder.isDynamic())
-            return false;
+    private <T> List<T> queryLayeredInstances(Class<T> classType, boolean materializeDeferred) {
+        if (materializeDeferred)
+            materializeDeferredSingletons(classType);
 
-        /*
-         * if no strategy was defined, all managed classes should be instantiated.
-         */
-        if (strategies.isEmpty())
-            return true;
+        if (forkOverlay != null) {
+            if (materializeDeferred)
+                copyDeferredParentSingletons(classType);
 
-        for (String classStrategyName : typeInformationHolder.getStrategies()) {
-            for (String strategyName : strategies) {
-                if (classStrategyName.equals(strategyName))
-                    return true;
-            }
+            for (Class<?> staleClassType : forkOverlay.getStaleClassTypes(classType))
+                resolveSingletonNode(staleClassType, QueryOptions.none());
         }
-        return flagInstanceAnyways;
+        List<T> ownInstances = dependencySearchTree.queryAll(classType);
+
+        if (parent == null)
+            return ownInstances;
+
+        List<T> inheritedInstances = parent.queryLayeredInstances(classType, materializeDeferred && forkOverlay == null);
+        return layeredResolutionCache.combineInstances(classType, inheritedInstances,
+                ownInstances, (forkOverlay != null) ? forkOverlay.getShadowedClassTypes() : Set.of());
     }
 
     /**
      *
-     * Checks if {@code classType} is not an interface or abstract class. This classes
-     * types cannot be instantiated. Used in {@link #installPackage(String)}
-     *
-     * @param classType The class type to be checked.
-     *
-     * @return {@code true} if {@code classType} is neither an interface nor an abstract
-     *         class.
+     * Copies into this fork the deferred beans of the parents assignable to {@code classType},
+     * so they are listed by {@link #queryAll(Class)} without being created by the parents.
      *
-     * @since 1.0.2
+     * @since 1.0.9
      *
      **/
-    public boolean checkNonAbstractClassType(Class<?> classType) {
-        return !classType.isInterface() && !Modifier.isAbstract(classType.getModifiers());
+    private void copyDeferredParentSingletons(Class<?> classType) {
+        for (DependencyManager manager = parent; manager != null; manager = manager.parent) {
+            if (manager.deferredClassTypes.isEmpty())
+                continue;
+
+            for (SingletonNode singletonNode : List.copyOf(manager.dependencySearchTree.querySingletonsByAssignableType(classType))) {
+                if (manager.isDeferred(singletonNode))
+                    copyParentSingletonNode(singletonNode);
+            }
+        }
     }
 
     /**
      *
-     * Append the current {@link DependencyManager} instance to itself {@link DependencySearchTree}.
-     * This function can be useful when a dependency class uses {@code query()} function to
-     * search through the tree. This is equivalent to:
-     * <pre>
-     *  dependencySearchTree.insertPropagation(DependencyManager.class, dependencyManager);
-     *  <i>or</i>
-     *  dependencyManager.installInstance(dependencyManager);
-     * </pre>
+     * Resolves the singleton node of {@code classType} through the chain of managers, from
+     * this manager to its root parent. Named queries look for the name in every manager
+     * before {@link QueryOptions#retrieveAnyways()} falls back to a match by type. Unnamed
+     * resolutions made through the parents are cached by the {@link LayeredResolutionCache}.
+     * In a fork, a stale bean of the parents is recreated before being returned.
      *
-     * @since 1.0.2
+     * @return The singleton node of the nearest manager that has {@code classType}, or
+     *         null if no manager of the chain has it.
+     *
+     * @since 1.0.9
      *
      **/
-    public void includeDependencyManagerAsDependency() {
-        dependencySearchTree.insertPropagation(DependencyManager.class, this);
+    private SingletonNode resolveSingletonNode(Class<?> classType, QueryOptions queryOptions) {
+        SingletonNode singletonNode = resolveLayeredSingletonNode(classType, queryOptions);
+
+        if (singletonNode != null && forkOverlay != null && forkOverlay.isStale(singletonNode.getNodeClassType()))
+            return copyStaleSingletonNode(singletonNode);
+
+        return singletonNode;
+    }
+
+    private SingletonNode resolveLayeredSingletonNode(Class<?> classType, QueryOptions queryOptions) {
+        if (parent == null)
+            return dependencySearchTree.querySingletonNode(classType, queryOptions);
+
+        if (!isNullOrBlank(queryOptions.filteredClassName())) {
+            SingletonNode namedSingletonNode = querySingletonNodeThroughChain(classType,
+                    queryOptions.retrieveAnyways()
+                            ? new QueryOptions(false, queryOptions.filteredClassName())
+                            : queryOptions);
+
+            if (namedSingletonNode != null || !queryOptions.retrieveAnyways())
+                return namedSingletonNode;
+
+            return querySingletonNodeThroughChain(classType, queryOptions);
+        }
+
+        /* the count is read before resolving, so a resolution made while the chain changes is never reused */
+        final long lineageModificationCount = this.lineageModificationCount.get();
+
+        LayeredResolutionCache.Resolution resolution =
+                layeredResolutionCache.getResolution(classType, lineageModificationCount);
+        if (resolution != null)
+            return resolution.singletonNode();
+
+        SingletonNode ownSingletonNode = dependencySearchTree.querySingletonNode(classType, queryOptions);
+        if (ownSingletonNode != null)
+            return ownSingletonNode;
+
+        SingletonNode inheritedSingletonNode = parent.resolveSingletonNode(classType, queryOptions);
+        layeredResolutionCache.cacheResolution(classType, inheritedSingletonNode, lineageModificationCount);
+
+        return inheritedSingletonNode;
+    }
+
+    private SingletonNode querySingletonNodeThroughChain(Class<?> classType, QueryOptions queryOptions) {
+        for (DependencyManager manager = this; manager != null; manager = manager.parent) {
+            SingletonNode singletonNode = manager.dependencySearchTree.querySingletonNode(classType, queryOptions);
+            if (singletonNode != null)
+                return singletonNode;
+        }
+        return null;
     }
 
     /**
      *
-     * Adds strategies to the strategy set of {@link DependencyManager}. Strategies will
-     * eventually be used to define which class should be instantiated and handled by the
-     * dependency search tree. This function should be called before {@link #installPackage(String)}
-     * to apply the strategy validation.
-     *
-     * @param strategyNames A single or multiple strategy names.
-     *
-     * @throws NullPointerException If any of {@code strategyNames} is null or blank.
+     * @return The manager of the chain whose tree holds {@code singletonNode}. The node is
+     *         created, injected and evicted by that manager only.
      *
-     * @since 1.0.2
+     * @since 1.0.9
      *
      **/
-    public void addStrategy(String... strategyNames) {
-        Arrays.stream(strategyNames)
-                .map(strategyName -> Checks.nonNullOrBlank(strategyName, "The strategy name must not be null."))
-                .forEach(strategies::add);
+    private DependencyManager findNodeOwner(SingletonNode singletonNode) {
+        for (DependencyManager manager = this; manager.parent != null; manager = manager.parent) {
+            if (manager.dependencySearchTree.containsSingletonNode(singletonNode))
+                return manager;
+        }
+        /* the root manager owns every node that no child holds */
+        DependencyManager rootManager = this;
+        while (rootManager.parent != null)
+            rootManager = rootManager.parent;
+
+        return rootManager;
     }
 
     /**
      *
-     * Enables variables with a primitive type to be initialized with its default value.
-     * This is useful when using methods where its parameters contain a primitive type.
-     * When this flag is {@link true}, the injected property will not receive a null value.
+     * Accesses {@code singletonNode} through its owner, so an evictable node of any manager
+     * of the chain is recreated when needed.
      *
-     * @since 1.0.4
+     * @return The instance of {@code singletonNode}.
+     *
+     * @since 1.0.9
      *
      **/
-    public void enablePrimitiveDefaultValue() {
-        this.enablePrimitiveDefaultValue = true;
+    private Object accessSingletonNode(SingletonNode singletonNode, long nowNanos) {
+        DependencyManager nodeOwner = findNodeOwner(singletonNode);
+
+        /* a fork copies the parent beans it needs without an instance, deferred, evicted or virtual */
+        if (nodeOwner != this && !singletonNode.hasSingletonInstance()) {
+            DependencyManager nearestFork = findNearestFork(nodeOwner);
+            if (nearestFork != null)
+                return nearestFork.copyParentSingletonNode(singletonNode).getNodeInstance();
+        }
+        if (nodeOwner.isDeferred(singletonNode))
+            instantiateThroughOwner(singletonNode);
+
+        return (nodeOwner.singletonEviction != null)
+                ? nodeOwner.accessEvictableNode(singletonNode, nowNanos)
+                : singletonNode.getNodeInstance();
     }
 
     /**
      *
-     * {@inheritDoc}
+     * Recreates the instance of {@code singletonNode} if it was evicted, then records the
+     * access, so the singleton stays in the tree for another idle timeout. The instance is
+     * recreated while holding the lock of this manager, like the sweeps.
      *
-     */
-    @Override
-    public <T> T query(Class<? extends T> classType, QueryOptions queryOptions) {
-        return dependencySearchTree.query(classType, queryOptions);
-    }
-
-    /**
+     * @return The instance of {@code singletonNode}.
      *
-     * {@inheritDoc}
+     * @since 1.0.9
      *
-     */
-    @Override
-    public <T> T query(Class<? extends T> classType) {
-        return query(classType, QueryOptions.none());
+     **/
+    private Object accessEvictableNode(SingletonNode singletonNode, long nowNanos) {
+        final Class<?> nodeClassType = singletonNode.getNodeClassType();
+        Object nodeInstance = singletonNode.getNodeInstance();
+
+        /* the eviction is checked under the lock, a query that recreated the instance after
+           this one read the slot has already restored it, and the slot is set again */
+        if (nodeInstance == null) {
+            synchronized (managerLock) {
+                nodeInstance = singletonNode.getNodeInstance();
+                if (nodeInstance == null && singletonEviction.isEvicted(nodeClassType))
+                    nodeInstance = instantiateWithInjection(singletonNode);
+            }
+        }
+        singletonEviction.touch(nodeClassType, nowNanos);
+        return nodeInstance;
     }
 
     /**
@@ -1039,29 +3483,25 @@ public @InternalDynamicallyManaged class DependencyManager implements QueryableP
 
     /**
      *
-     * Given a {@code classType}, this function will decompose the {@link Managed} annotation.
-     * The use of annotation composition allows the user to create custom annotations and use
-     * them strategically to their need.
-     *
-     * @see AnnotationDecomposer
+     * A read-only {@link Set} of all {@link DependencyManager} strategies. Strategies are
+     * added with {@link #addStrategy(String...)}, which also updates {@link #getStrategyMask()}.
      *
-     * @since 1.0.7
+     * @since 1.0
      *
      **/
-    private Managed decomposeManagedAnnotationFrom(Class<?> classType) {
-        return AnnotationDecomposer
-                .decomposeAnnotationFromMember(classType, Managed.class);
+    public Set<String> getStrategies() {
+        return Collections.unmodifiableSet(strategies);
     }
 
     /**
      *
-     * A {@link Set} of all {@link DependencyManager} strategies.
+     * The interned {@link StrategyMask} of {@link #getStrategies()}.
      *
-     * @since 1.0
+     * @since 1.0.9
      *
      **/
-    public Set<String> getStrategies() {
-        return strategies;
+    public StrategyMask getStrategyMask() {
+        return strategyMask;
     }
 
 }
@@ -1,7 +1,12 @@
 package io.github.dependency4j;
 
+import io.github.dependency4j.metrics.ContainerMetrics;
 import io.github.dependency4j.util.Checks;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
 public final class DependencyManagerChainBuilder {
 
     private final DependencyManager dependencyManager;
@@ -26,6 +31,16 @@ public final class DependencyManagerChainBuilder {
         return this;
     }
 
+    public DependencyManagerChainBuilder installPackage(String packageName, Class<?>... rootClassTypes) {
+        dependencyManager.installPackage(packageName, rootClassTypes);
+        return this;
+    }
+
+    public DependencyManagerChainBuilder restore(Path snapshotFile) {
+        dependencyManager.restore(snapshotFile);
+        return this;
+    }
+
     public DependencyManagerChainBuilder includeDependencyManagerAsDependency() {
         dependencyManager.includeDependencyManagerAsDependency();
         return this;
@@ -42,6 +57,46 @@ public final class DependencyManagerChainBuilder {
         return this;
     }
 
+    public DependencyManagerChainBuilder enableStartupTimeline() {
+        dependencyManager.enableStartupTimeline();
+        return this;
+    }
+
+    public DependencyManagerChainBuilder containerMetrics(ContainerMetrics containerMetrics) {
+        dependencyManager.setContainerMetrics(containerMetrics);
+        return this;
+    }
+
+    public DependencyManagerChainBuilder closeTimeout(Duration closeTimeout) {
+        dependencyManager.setCloseTimeout(closeTimeout);
+        return this;
+    }
+
+    public DependencyManagerChainBuilder evictionPolicy(EvictionPolicy evictionPolicy) {
+        dependencyManager.enableEviction(evictionPolicy);
+        return this;
+    }
+
+    public DependencyManagerChainBuilder concurrentVirtualProduction(Executor executor) {
+        dependencyManager.enableConcurrentVirtualProduction(executor);
+        return this;
+    }
+
+    public DependencyManagerChainBuilder forwardingReferences() {
+        dependencyManager.enableForwardingReferences();
+        return this;
+    }
+
+    public DependencyManagerChainBuilder injectionRewiring() {
+        dependencyManager.enableInjectionRewiring();
+        return this;
+    }
+
+    public DependencyManagerChainBuilder registerMBean(String name) {
+        dependencyManager.registerMBean(name);
+        return this;
+    }
+
     public DependencyManager getDependencyManager() {
         return dependencyManager;
     }
@@ -1,5 +1,8 @@
 package io.github.dependency4j;
 
+import io.github.dependency4j.jfr.SlowQueryEvent;
+import io.github.dependency4j.metrics.ContainerMetrics;
+import io.github.dependency4j.node.BaseNode;
 import io.github.dependency4j.node.JavaTypeNode;
 import io.github.dependency4j.node.RootNode;
 import io.github.dependency4j.node.SingletonNode;
@@ -8,9 +11,12 @@ import io.github.dependency4j.util.Checks;
 import io.github.dependency4j.util.ReflectionUtil;
 import io.github.dependency4j.util.StrUtil;
 
+import jdk.jfr.EventType;
+
 import java.lang.reflect.Method;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  *
@@ -24,10 +30,40 @@ import java.util.stream.Collectors;
  **/
 public final class DependencySearchTree {
 
+    private static final EventType SLOW_QUERY_EVENT_TYPE = EventType.getEventType(SlowQueryEvent.class);
+
     private final RootNode rootNode;
+    private final Map<Class<?>, Map<String, SingletonNode>> namedSingletonIndex;
+    private final Map<Class<?>, CachedSingletonNode> firstSingletonNodeCache;
+    private final Map<Class<?>, SingletonNode> singletonNodeRegistry;
+    private final Map<Class<?>, List<SingletonNode>> classTypeSingletonNodes;
+    private final Map<Class<?>, List<?>> allInstancesCache;
+    private ContainerMetrics containerMetrics = ContainerMetrics.NOOP;
+    private final AtomicLong lineageModificationCount;
+    private volatile int modificationCount;
+    private volatile long instanceVersion;
 
     public DependencySearchTree() {
-        rootNode = new RootNode();
+        this(new AtomicLong());
+    }
+
+    /**
+     *
+     * Creates a tree whose insertions and removals are also counted by
+     * {@code lineageModificationCount}, a count shared by the trees of a manager and of its
+     * children, so a child validates what it resolved through its parents with one read.
+     *
+     * @since 1.0.9
+     *
+     **/
+    DependencySearchTree(AtomicLong lineageModificationCount) {
+        rootNode                = new RootNode();
+        namedSingletonIndex     = new HashMap<>();
+        firstSingletonNodeCache = new ConcurrentHashMap<>();
+        singletonNodeRegistry   = new LinkedHashMap<>();
+        classTypeSingletonNodes = new HashMap<>();
+        allInstancesCache       = new ConcurrentHashMap<>();
+        this.lineageModificationCount = lineageModificationCount;
     }
 
     /**
@@ -129,22 +165,21 @@ public final class DependencySearchTree {
 
         Class<?> dependencyClassType = typeInformationHolder.getWrappedClassType();
 
-        Map<Class<?>, Set<Class<?>>> interfacesTreeMapping =
-                createInterfaceTreeMapping(dependencyClassType);
+        /* the hierarchy paths are computed once per class and shared by every tree */
+        ClassMetadataRegistry.HierarchyPaths hierarchyPaths =
+                ClassMetadataRegistry.getHierarchyPaths(dependencyClassType);
+
+        Map<Class<?>, Set<Class<?>>> interfacesTreeMapping = hierarchyPaths.interfaceTreeMapping();
 
         /* it should add the dependency class to the root node if no interface is implemented */
         if (interfacesTreeMapping.isEmpty())
-            rootNode.addChildNode(singletonNode);
+            appendSingletonNode(rootNode, singletonNode);
 
-        appendClassTypesInSearchTree(interfacesTreeMapping, typeInformationHolder);
+        appendClassTypesInSearchTree(interfacesTreeMapping, singletonNode);
 
-        if (!dependencyClassType.isInterface()) {
+        if (!dependencyClassType.isInterface())
+            appendClassTypesInSearchTree(hierarchyPaths.superclassTreeMapping(), singletonNode);
 
-            final Map<Class<?>, Set<Class<?>>> superclassTreeMapping
-                    = createSuperclassTreeMapping(dependencyClassType);
-
-            appendClassTypesInSearchTree(superclassTreeMapping, typeInformationHolder);
-        }
         createVirtualSingletonsInSearchTree(singletonNode);
     }
 
@@ -158,19 +193,18 @@ public final class DependencySearchTree {
      *
      * @param classTypesMapping The sub-interfaces & superclasses mapping of the
      *                          dependency class type.
-     * @param typeInformationHolder The {@link TypeInformationHolder} wraps the dependency
-     *                              class type that will receive a new {@link SingletonNode}.
+     * @param singletonNode The inserted node. Each path receives a new node of the same kind.
      *
-     * @see DependencySearchTree#appendToSearchTree(Set, TypeInformationHolder)
+     * @see DependencySearchTree#appendToSearchTree(Set, SingletonNode)
      *
      * @since 1.0
      *
      **/
     private void appendClassTypesInSearchTree(Map<Class<?>, Set<Class<?>>> classTypesMapping,
-                                              TypeInformationHolder typeInformationHolder)
+                                              SingletonNode singletonNode)
     {
         for (Map.Entry<Class<?>, Set<Class<?>>> classEntries : classTypesMapping.entrySet())
-            appendToSearchTree(classEntries.getValue(), typeInformationHolder);
+            appendToSearchTree(classEntries.getValue(), singletonNode);
     }
 
     /**
@@ -201,7 +235,7 @@ public final class DependencySearchTree {
      * @since 1.0
      *
      **/
-    private Map<Class<?>, Set<Class<?>>> createInterfaceTreeMapping(Class<?> dependencyClassType) {
+    static Map<Class<?>, Set<Class<?>>> createInterfaceTreeMapping(Class<?> dependencyClassType) {
         Map<Class<?>, Set<Class<?>>> interfaceTreeMapping = new LinkedHashMap<>();
 
         for (Class<?> interfaceClassType : dependencyClassType.getInterfaces()) {
@@ -227,7 +261,7 @@ public final class DependencySearchTree {
      * @since 1.0
      *
      **/
-    private void generateSubInterfacePathSet(Class<?> interfaceClassType, Set<Class<?>> subInterfacesSet)
+    private static void generateSubInterfacePathSet(Class<?> interfaceClassType, Set<Class<?>> subInterfacesSet)
     {
         for (Class<?> childInterfaceClassType : interfaceClassType.getInterfaces()) {
             generateSubInterfacePathSet(childInterfaceClassType, subInterfacesSet);
@@ -250,7 +284,7 @@ public final class DependencySearchTree {
      * @since 1.0
      *
      **/
-    private Map<Class<?>, Set<Class<?>>> createSuperclassTreeMapping(Class<?> dependencyClassType) {
+    static Map<Class<?>, Set<Class<?>>> createSuperclassTreeMapping(Class<?> dependencyClassType) {
         Map<Class<?>, Set<Class<?>>> superclassTreeMapping = new LinkedHashMap<>();
         Set<Class<?>> subSuperclassesSet = new LinkedHashSet<>();
         generateSuperclassPathSet(dependencyClassType, subSuperclassesSet);
@@ -273,7 +307,7 @@ public final class DependencySearchTree {
      * @since 1.0
      *
      **/
-    private void generateSuperclassPathSet(Class<?> dependencySuperclassClassType, Set<Class<?>> subSuperclassesSet) {
+    private static void generateSuperclassPathSet(Class<?> dependencySuperclassClassType, Set<Class<?>> subSuperclassesSet) {
         Class<?> superclassClassType = dependencySuperclassClassType.getSuperclass();
         /*
          * If superclassClassType is equals to Object.class, it means it is
@@ -292,21 +326,137 @@ public final class DependencySearchTree {
      * last element inserted it is the {@link SingletonNode} of {@code dependencyObject}.
      *
      * @param orderedClassType  The {@link Class} object of {@code dependencyObject}.
-     * @param typeInformationHolder The {@link TypeInformationHolder} wraps the dependency
-     *                              class type that will receive a new {@link SingletonNode}.
+     * @param singletonNode     The inserted node. The path receives a new node of the same kind.
      *
      * @see DependencySearchTree#createInterfaceTreeMapping(Class)
      *
      * @since 1.0
      *
      **/
-    private void appendToSearchTree(Set<Class<?>> orderedClassType, TypeInformationHolder typeInformationHolder) {
+    private void appendToSearchTree(Set<Class<?>> orderedClassType, SingletonNode singletonNode) {
         AbstractNode parentNode = rootNode;
 
         for (Class<?> classType : orderedClassType)
             parentNode = findOrCreateJavaTypeNode(classType, parentNode);
 
-        parentNode.addChildNode(new SingletonNode(typeInformationHolder));
+        appendSingletonNode(parentNode, createPathSingletonNode(singletonNode));
+    }
+
+    /**
+     *
+     * Creates the {@link SingletonNode} of {@code singletonNode} for one more path in the
+     * tree. A {@link VirtualSingletonNode} stays virtual in every path, otherwise a virtual
+     * class type with a superclass, such as a record, could be resolved through a concrete
+     * node and instantiated through its constructor. Every path shares the instance slot of
+     * {@code singletonNode}, so the instance of a class type is swapped in all of its paths
+     * at once.
+     *
+     * @param singletonNode The node inserted by {@link #createTypeFamiliesInSearchTree(SingletonNode)}.
+     *
+     * @return A new node of the same kind, wrapping the same class type.
+     *
+     * @since 1.0.9
+     *
+     **/
+    SingletonNode createPathSingletonNode(SingletonNode singletonNode) {
+        return singletonNode.createPathCopy();
+    }
+
+    /**
+     *
+     * Adds {@code singletonNode} as a child of {@code parentNode} and registers it in the
+     * name index. The node name is resolved here, at insertion time, so queries filtered
+     * by name never trigger the {@link Managed} annotation decomposition.
+     *
+     * @param parentNode    The node that will receive {@code singletonNode} as a child.
+     * @param singletonNode The singleton node to be appended and indexed.
+     *
+     * @see DependencySearchTree#queryNamedSingletonNode(Class, String)
+     *
+     * @since 1.0.9
+     *
+     **/
+    void appendSingletonNode(AbstractNode parentNode, SingletonNode singletonNode) {
+        parentNode.addChildNode(singletonNode);
+
+        final Class<?> nodeClassType = singletonNode.getNodeClassType();
+        final String nodeName        = singletonNode.getNodeName();
+
+        /* the new node may now be the first match of any type it is assignable to */
+        for (Class<?> assignableClassType : getAssignableClassTypes(nodeClassType)) {
+            indexSingletonNodeName(assignableClassType, nodeName, singletonNode);
+            firstSingletonNodeCache.remove(assignableClassType);
+        }
+        /* incremented last, so a first match cached concurrently with the insertion is discarded */
+        modificationCount++;
+        lineageModificationCount.incrementAndGet();
+
+        classTypeSingletonNodes
+                .computeIfAbsent(nodeClassType, classType -> new ArrayList<>(2))
+                .add(singletonNode);
+
+        if (singletonNodeRegistry.putIfAbsent(nodeClassType, singletonNode) == null)
+            invalidateAllInstancesCache(nodeClassType);
+    }
+
+    /**
+     *
+     * Discards the cached results of {@link #queryAll(Class)} that {@code nodeClassType}
+     * takes part of. Only the cached lists of types assignable from {@code nodeClassType}
+     * are affected. It must be called after the change, since the instance version is
+     * incremented here to discard the lists built concurrently with it.
+     *
+     * @param nodeClassType The class type of the changed {@link SingletonNode}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private void invalidateAllInstancesCache(Class<?> nodeClassType) {
+        instanceVersion++;
+
+        if (!allInstancesCache.isEmpty()) {
+            for (Class<?> assignableClassType : getAssignableClassTypes(nodeClassType))
+                allInstancesCache.remove(assignableClassType);
+        }
+    }
+
+    /**
+     *
+     * Collects every class type that {@code classType} can be assigned to: the class itself,
+     * all of its superclasses and all interfaces implemented along the hierarchy. These are
+     * the keys under which a {@link SingletonNode} is registered in the name index.
+     *
+     * @param classType The wrapped class type of a {@link SingletonNode}.
+     *
+     * @return A {@link Set} of class types assignable from {@code classType}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    static Set<Class<?>> collectAssignableClassTypes(Class<?> classType) {
+        Set<Class<?>> assignableClassTypes = new LinkedHashSet<>();
+        for (Class<?> currentClassType = classType; currentClassType != null;
+             currentClassType = currentClassType.getSuperclass()) {
+            assignableClassTypes.add(currentClassType);
+            for (Class<?> interfaceClassType : currentClassType.getInterfaces()) {
+                assignableClassTypes.add(interfaceClassType);
+                generateSubInterfacePathSet(interfaceClassType, assignableClassTypes);
+            }
+        }
+        return assignableClassTypes;
+    }
+
+    /**
+     *
+     * @return The class types {@code classType} is assignable to, as collected by
+     *         {@link #collectAssignableClassTypes(Class)} and shared through the
+     *         {@link ClassMetadataRegistry}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private static Set<Class<?>> getAssignableClassTypes(Class<?> classType) {
+        return ClassMetadataRegistry.getHierarchyPaths(classType).assignableClassTypes();
     }
 
     /**
@@ -338,7 +488,7 @@ public final class DependencySearchTree {
     /**
      *
      * This function is used internally by
-     * {@link DependencySearchTree#appendToSearchTree(Set, TypeInformationHolder)} to find
+     * {@link DependencySearchTree#appendToSearchTree(Set, SingletonNode)} to find
      * the {@link JavaTypeNode} relative to {@code parentNode} that has the same class type
      * as the parameter {@code classType}. Returns null if no {@link JavaTypeNode} correspondent
      * node exists in the tree.
@@ -347,13 +497,14 @@ public final class DependencySearchTree {
      * @param parentNode The scanned node used to find the correspondent {@link JavaTypeNode}.
      *
      * @see DependencySearchTree#findOrCreateJavaTypeNode(Class, AbstractNode)
-     * @see DependencySearchTree#appendToSearchTree(Set, TypeInformationHolder)
+     * @see DependencySearchTree#appendToSearchTree(Set, SingletonNode)
      *
      * @since 1.0
      *
      **/
     private JavaTypeNode findJavaTypeNode(Class<?> classType, AbstractNode parentNode) {
-        for (AbstractNode childNode : parentNode.children()) {
+        for (int i = 0; i < parentNode.childCount(); i++) {
+            AbstractNode childNode = parentNode.childAt(i);
             if (childNode instanceof JavaTypeNode javaTypeNode) {
                 if (classType.equals(javaTypeNode.getNodeClassType())) {
                     return javaTypeNode;
@@ -371,7 +522,7 @@ public final class DependencySearchTree {
     /**
      *
      * This function is used internally by
-     * {@link DependencySearchTree#appendToSearchTree(Set, TypeInformationHolder)} to find the
+     * {@link DependencySearchTree#appendToSearchTree(Set, SingletonNode)} to find the
      * {@link JavaTypeNode} relative to {@code parentNode} that has the same class type as the
      * parameter {@code classType}. If there is no correspondent {@link JavaTypeNode}, a new node
      * is created as a child of {@code parentNode}. The function should never return a null value.
@@ -380,7 +531,7 @@ public final class DependencySearchTree {
      * @param parentNode The scanned node used to find the correspondent {@link JavaTypeNode}.
      *
      * @see DependencySearchTree#findJavaTypeNode(Class, AbstractNode)
-     * @see DependencySearchTree#appendToSearchTree(Set, TypeInformationHolder)
+     * @see DependencySearchTree#appendToSearchTree(Set, SingletonNode)
      *
      * @since 1.0
      *
@@ -436,34 +587,208 @@ public final class DependencySearchTree {
      *         If no correspondent was found, the function will return null.
      *
      * @see DependencySearchTree#query(Class, QueryOptions)
+     * @see SlowQueryEvent
      *
      * @since 1.0
      *
      **/
     public SingletonNode querySingletonNode(Class<?> classType, QueryOptions queryOptions) {
+        /* the event is only created while a JFR recording enables it, keeping queries allocation-free */
+        if (!SLOW_QUERY_EVENT_TYPE.isEnabled())
+            return resolveSingletonNode(classType, queryOptions);
+
+        SlowQueryEvent slowQueryEvent = new SlowQueryEvent();
+        slowQueryEvent.begin();
+
+        SingletonNode singletonNode = resolveSingletonNode(classType, queryOptions);
+
+        slowQueryEvent.end();
+        if (slowQueryEvent.shouldCommit()) {
+            slowQueryEvent.queriedType = classType;
+            slowQueryEvent.name        = queryOptions.filteredClassName();
+            slowQueryEvent.found       = singletonNode != null;
+            slowQueryEvent.commit();
+        }
+        return singletonNode;
+    }
+
+    /**
+     *
+     * Resolves the singleton node of {@code classType}. It is the implementation of
+     * {@link #querySingletonNode(Class, QueryOptions)}, without the JFR instrumentation.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private SingletonNode resolveSingletonNode(Class<?> classType, QueryOptions queryOptions) {
         final String filteredClassName     = queryOptions.filteredClassName();
         final boolean hasFilteredClassName = !StrUtil.isNullOrBlank(filteredClassName);
 
-        List<SingletonNode> matchResultSet = querySingletonsByType(classType);
+        if (hasFilteredClassName) {
+            SingletonNode namedSingletonNode = queryNamedSingletonNode(classType, filteredClassName);
+            containerMetrics.recordQuery(classType, true, namedSingletonNode != null);
 
-        if (matchResultSet.isEmpty())
-            return null;
+            if (namedSingletonNode != null)
+                return namedSingletonNode;
+
+            if (!queryOptions.retrieveAnyways())
+                return null;
+        }
+
+        /*
+         * when the filtered name is not found, retrieveAnyways brings the last
+         * singleton node matched by type, as the linear search used to do.
+         */
+        if (hasFilteredClassName)
+            return queryLastSingletonByType(classType, rootNode, null);
+
+        /* the count is read before the walk, so a match found while the tree changes is never reused */
+        final int currentModificationCount = modificationCount;
+        CachedSingletonNode cachedSingletonNode = firstSingletonNodeCache.get(classType);
+
+        if (cachedSingletonNode != null && cachedSingletonNode.modificationCount() == currentModificationCount) {
+            containerMetrics.recordQuery(classType, false, true);
+            return cachedSingletonNode.singletonNode();
+        }
+        containerMetrics.recordQuery(classType, false, false);
+        SingletonNode firstSingletonNode = queryFirstSingletonByType(classType, rootNode);
+
+        if (firstSingletonNode != null)
+            firstSingletonNodeCache.put(classType, new CachedSingletonNode(firstSingletonNode, currentModificationCount));
+
+        return firstSingletonNode;
+    }
+
+    /**
+     *
+     * Searches recursively through the tree hierarchy for the first {@link SingletonNode}
+     * compatible to {@code classType}. It visits the nodes in the same order as
+     * {@link #querySingletonsByType(Class)}, but stops at the first match and does not
+     * collect the results.
+     *
+     * @param classType The class type to be searched in the tree.
+     * @param node      The parent or root node to be searched.
+     *
+     * @return The first compatible {@link SingletonNode} or null if there is none.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private SingletonNode queryFirstSingletonByType(Class<?> classType, AbstractNode node) {
+        for (int i = 0; i < node.childCount(); i++) {
+            AbstractNode childNode = node.childAt(i);
+            if (childNode instanceof JavaTypeNode javaTypeNode) {
+
+                if (!javaTypeNode.getNodeClassType().isAssignableFrom(classType))
+                    continue;
+
+                SingletonNode singletonNode = queryFirstSingletonByType(classType, javaTypeNode);
 
-        if (!hasFilteredClassName)
-            return matchResultSet.get(0);
+                if (singletonNode != null)
+                    return singletonNode;
+            }
+            else if (childNode instanceof SingletonNode singletonNode) {
+                if (classType.isAssignableFrom(singletonNode.getNodeClassType()))
+                    return singletonNode;
+            }
+        }
+        return null;
+    }
+
+    /**
+     *
+     * Searches recursively through the tree hierarchy for the last {@link SingletonNode}
+     * compatible to {@code classType}, in the same visiting order as
+     * {@link #querySingletonsByType(Class)}, without collecting the results.
+     *
+     * @param classType         The class type to be searched in the tree.
+     * @param node              The parent or root node to be searched.
+     * @param lastSingletonNode The last match found before visiting {@code node}.
+     *
+     * @return The last compatible {@link SingletonNode} or null if there is none.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private SingletonNode queryLastSingletonByType(Class<?> classType, AbstractNode node,
+                                                   SingletonNode lastSingletonNode) {
+        for (int i = 0; i < node.childCount(); i++) {
+            AbstractNode childNode = node.childAt(i);
+            if (childNode instanceof JavaTypeNode javaTypeNode) {
 
-        SingletonNode lastMatchedSingletonNode = null;
+                if (!javaTypeNode.getNodeClassType().isAssignableFrom(classType))
+                    continue;
 
-        for (SingletonNode singletonNode : matchResultSet) {
-            lastMatchedSingletonNode = singletonNode;
-            if (singletonNode.getNodeName().equals(filteredClassName))
-                return singletonNode;
+                lastSingletonNode = queryLastSingletonByType(classType, javaTypeNode, lastSingletonNode);
+            }
+            else if (childNode instanceof SingletonNode singletonNode) {
+                if (classType.isAssignableFrom(singletonNode.getNodeClassType()))
+                    lastSingletonNode = singletonNode;
+            }
         }
+        return lastSingletonNode;
+    }
 
-        if (!queryOptions.retrieveAnyways())
+    /**
+     *
+     * Finds the {@link SingletonNode} named {@code nodeName} that is assignable to
+     * {@code classType} using the name index populated at insertion time. This is
+     * the constant time lookup behind {@link QueryOptions#byName(String)} and
+     * {@code @Pull("name")} injection. A name shared by several nodes assignable to
+     * {@code classType} is resolved by walking the tree, like the linear search did.
+     *
+     * @param classType The class type to be searched in the tree.
+     * @param nodeName  The {@link Managed} name of the singleton node.
+     *
+     * @return The first {@link SingletonNode} in tree order named {@code nodeName}
+     *         and assignable to {@code classType}, or null if there is none.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public SingletonNode queryNamedSingletonNode(Class<?> classType, String nodeName) {
+        Map<String, SingletonNode> namedSingletonNodes = namedSingletonIndex.get(classType);
+
+        if (namedSingletonNodes == null)
             return null;
 
-        return lastMatchedSingletonNode;
+        SingletonNode namedSingletonNode = namedSingletonNodes.get(nodeName);
+
+        if (namedSingletonNode == null && namedSingletonNodes.containsKey(nodeName))
+            return queryFirstNamedSingletonByType(classType, nodeName, rootNode);
+
+        return namedSingletonNode;
+    }
+
+    /**
+     *
+     * Searches recursively through the tree hierarchy for the first {@link SingletonNode}
+     * compatible to {@code classType} and named {@code nodeName}, in the same visiting
+     * order as {@link #querySingletonsByType(Class)}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private SingletonNode queryFirstNamedSingletonByType(Class<?> classType, String nodeName, AbstractNode node) {
+        for (int i = 0; i < node.childCount(); i++) {
+            AbstractNode childNode = node.childAt(i);
+            if (childNode instanceof JavaTypeNode javaTypeNode) {
+
+                if (!javaTypeNode.getNodeClassType().isAssignableFrom(classType))
+                    continue;
+
+                SingletonNode singletonNode = queryFirstNamedSingletonByType(classType, nodeName, javaTypeNode);
+
+                if (singletonNode != null)
+                    return singletonNode;
+            }
+            else if (childNode instanceof SingletonNode singletonNode) {
+                if (classType.isAssignableFrom(singletonNode.getNodeClassType())
+                        && singletonNode.getNodeName().equals(nodeName))
+                    return singletonNode;
+            }
+        }
+        return null;
     }
 
     /**
@@ -498,7 +823,8 @@ public final class DependencySearchTree {
      **/
     private void queryRecursivelySingletons(Class<?> classType,
                                             AbstractNode node, List<SingletonNode> matchResultSet) {
-        for (AbstractNode childNode : node.children()) {
+        for (int i = 0; i < node.childCount(); i++) {
+            AbstractNode childNode = node.childAt(i);
             if (childNode instanceof JavaTypeNode javaTypeNode) {
 
                 if (!javaTypeNode.getNodeClassType().isAssignableFrom(classType))
@@ -518,7 +844,9 @@ public final class DependencySearchTree {
     /**
      *
      * Used to propagate an instance object to all {@link SingletonNode}'s where their
-     * {@link SingletonNode#getNodeClassType()} is equals to the {@code classType}.
+     * {@link SingletonNode#getNodeClassType()} is equals to the {@code classType}. The
+     * nodes are taken from the per class type index, so the cost does not depend on the
+     * size of the tree.
      *
      * @param classType   The class type to be searched in the tree.
      * @param nodeInstance The node instance to be propagated.
@@ -528,8 +856,254 @@ public final class DependencySearchTree {
      **/
     public void propagateSingletonInstanceToNodes(Class<?> classType, Object nodeInstance) {
         Checks.nonNull(nodeInstance, "It is not allowed to propagate a null value through nodes.");
-        querySingletonsByType(classType)
-                .forEach(singletonNode -> singletonNode.setNodeInstance(nodeInstance));
+        for (SingletonNode singletonNode : classTypeSingletonNodes.getOrDefault(classType, List.of())) {
+            if (singletonNode.getNodeInstance() == nodeInstance)
+                continue;
+
+            singletonNode.setNodeInstance(nodeInstance);
+            invalidateAllInstancesCache(singletonNode.getNodeClassType());
+        }
+    }
+
+    /**
+     *
+     * Removes the instance of every singleton node of {@code classType}, the opposite of
+     * {@link #propagateSingletonInstanceToNodes(Class, Object)}. Used by the eviction of
+     * {@link DependencyManager}.
+     *
+     * @param classType The class type of the evicted singleton.
+     *
+     * @since 1.0.9
+     *
+     **/
+    void evictSingletonInstance(Class<?> classType) {
+        for (SingletonNode singletonNode : classTypeSingletonNodes.getOrDefault(classType, List.of())) {
+            if (!singletonNode.hasSingletonInstance())
+                continue;
+
+            singletonNode.setNodeInstance(null);
+            invalidateAllInstancesCache(singletonNode.getNodeClassType());
+        }
+    }
+
+    /**
+     *
+     * Removes every singleton node of {@code classType} from the tree, together with the
+     * virtual singleton nodes produced by it. Type nodes left without children are removed
+     * as well, and the name index and caches forget the removed nodes.
+     *
+     * @param classType The class type to be removed.
+     *
+     * @return The registered singleton node of each removed class type, {@code classType}
+     *         first, followed by its virtual products. Empty if {@code classType} was not
+     *         in the tree.
+     *
+     * @since 1.0.9
+     *
+     **/
+    List<SingletonNode> removeSingletonNodes(Class<?> classType) {
+        final Set<Class<?>> removedClassTypes = new LinkedHashSet<>();
+        final List<SingletonNode> removedRegisteredNodes = new ArrayList<>();
+
+        if (!classTypeSingletonNodes.containsKey(classType))
+            return removedRegisteredNodes;
+
+        removedClassTypes.add(classType);
+        boolean foundVirtualProduct;
+        do {
+            foundVirtualProduct = false;
+            for (List<SingletonNode> singletonNodes : classTypeSingletonNodes.values()) {
+                if (singletonNodes.get(0) instanceof VirtualSingletonNode virtualSingletonNode
+                        && removedClassTypes.contains(virtualSingletonNode.getParentSingletionNode().getNodeClassType()))
+                    foundVirtualProduct |= removedClassTypes.add(virtualSingletonNode.getNodeClassType());
+            }
+        } while (foundVirtualProduct);
+
+        final Set<SingletonNode> removedSingletonNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Class<?> removedClassType : removedClassTypes) {
+            removedSingletonNodes.addAll(classTypeSingletonNodes.remove(removedClassType));
+            removedRegisteredNodes.add(singletonNodeRegistry.remove(removedClassType));
+            invalidateAllInstancesCache(removedClassType);
+        }
+
+        removeChildNodes(rootNode, removedSingletonNodes);
+        firstSingletonNodeCache.clear();
+
+        /* a removed node may hide another node with the same name, so the index is rebuilt */
+        namedSingletonIndex.clear();
+        for (Class<?> registeredClassType : singletonNodeRegistry.keySet())
+            for (SingletonNode singletonNode : classTypeSingletonNodes.get(registeredClassType))
+                for (Class<?> assignableClassType : getAssignableClassTypes(singletonNode.getNodeClassType()))
+                    indexSingletonNodeName(assignableClassType, singletonNode.getNodeName(), singletonNode);
+
+        modificationCount++;
+        lineageModificationCount.incrementAndGet();
+        return removedRegisteredNodes;
+    }
+
+    /**
+     *
+     * Registers {@code singletonNode} under {@code nodeName} for {@code classType}. Path
+     * copies of an indexed node are skipped. When nodes of different class types assignable
+     * to {@code classType} share the name, the entry is kept with a null node: the tree order
+     * decides which one is the first match, not the insertion order, so those names are
+     * resolved by walking the tree.
+     *
+     * @see DependencySearchTree#queryNamedSingletonNode(Class, String)
+     *
+     * @since 1.0.9
+     *
+     **/
+    private void indexSingletonNodeName(Class<?> classType, String nodeName, SingletonNode singletonNode) {
+        Map<String, SingletonNode> namedSingletonNodes =
+                namedSingletonIndex.computeIfAbsent(classType, indexedClassType -> new HashMap<>());
+
+        if (!namedSingletonNodes.containsKey(nodeName)) {
+            namedSingletonNodes.put(nodeName, singletonNode);
+            return;
+        }
+        SingletonNode indexedSingletonNode = namedSingletonNodes.get(nodeName);
+
+        if (indexedSingletonNode != null
+                && indexedSingletonNode.getNodeClassType() != singletonNode.getNodeClassType())
+            namedSingletonNodes.put(nodeName, null);
+    }
+
+    /**
+     *
+     * @return {@code true} if {@code singletonNode} itself, not just a node of the same
+     *         class type, belongs to this tree.
+     *
+     * @since 1.0.9
+     *
+     **/
+    boolean containsSingletonNode(SingletonNode singletonNode) {
+        final List<SingletonNode> singletonNodes = classTypeSingletonNodes.get(singletonNode.getNodeClassType());
+
+        if (singletonNodes != null) {
+            for (SingletonNode classTypeSingletonNode : singletonNodes) {
+                if (classTypeSingletonNode == singletonNode)
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     *
+     * @return The number of singleton node insertions and removals made in this tree and in
+     *         the other trees sharing its lineage count. Used to validate resolution caches
+     *         kept outside the tree.
+     *
+     * @since 1.0.9
+     *
+     **/
+    long getLineageModificationCount() {
+        return lineageModificationCount.get();
+    }
+
+    /**
+     *
+     * Removes {@code removedSingletonNodes} from the children of {@code parentNode},
+     * recursively, and the type nodes left without children.
+     *
+     * @return {@code true} if {@code parentNode} has no children left.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private boolean removeChildNodes(BaseNode parentNode, Set<SingletonNode> removedSingletonNodes) {
+        for (int i = parentNode.childCount() - 1; i >= 0; i--) {
+            AbstractNode childNode = parentNode.childAt(i);
+
+            if (childNode instanceof SingletonNode singletonNode) {
+                if (removedSingletonNodes.contains(singletonNode))
+                    parentNode.removeChildNode(singletonNode);
+            }
+            else if (childNode instanceof BaseNode baseNode && removeChildNodes(baseNode, removedSingletonNodes))
+                parentNode.removeChildNode(baseNode);
+        }
+        return parentNode.childCount() == 0;
+    }
+
+    /**
+     *
+     * Retrieves the instances of all singleton nodes assignable to {@code classType}, in
+     * the order their class types were inserted into the tree. Each instance appears once,
+     * even when it is shared by more than one singleton node. Singleton nodes without an
+     * instance are not part of the result.
+     * <p>
+     * The returned {@link List} is immutable and cached per {@code classType}. It is only
+     * rebuilt after a singleton node assignable to {@code classType} is inserted or
+     * receives a new instance.
+     *
+     * @param classType The class type to be searched in the tree.
+     *
+     * @return A non-null immutable {@link List} of instances assignable to {@code classType}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    @SuppressWarnings("unchecked")
+    public <T> List<T> queryAll(Class<T> classType) {
+        Checks.nonNull(classType, "classType must not be null.");
+        List<?> allInstances = allInstancesCache.get(classType);
+
+        if (allInstances == null) {
+            final long collectedInstanceVersion = instanceVersion;
+            allInstances = collectAllInstances(classType);
+            allInstancesCache.put(classType, allInstances);
+
+            /* a change made while collecting may have been invalidated before the list was cached */
+            if (instanceVersion != collectedInstanceVersion)
+                allInstancesCache.remove(classType, allInstances);
+        }
+        return (List<T>) allInstances;
+    }
+
+    /**
+     *
+     * Builds the immutable list of instances cached by {@link #queryAll(Class)}.
+     *
+     * @param classType The class type to be searched in the tree.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private List<Object> collectAllInstances(Class<?> classType) {
+        final Set<Object> visitedInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+        final List<Object> allInstances = new ArrayList<>();
+
+        for (SingletonNode singletonNode : singletonNodeRegistry.values()) {
+            Object nodeInstance = singletonNode.getNodeInstance();
+
+            if (nodeInstance == null || !classType.isAssignableFrom(singletonNode.getNodeClassType()))
+                continue;
+
+            if (visitedInstances.add(nodeInstance))
+                allInstances.add(nodeInstance);
+        }
+        return Collections.unmodifiableList(allInstances);
+    }
+
+    /**
+     *
+     * Returns one {@link SingletonNode} per inserted class type assignable to
+     * {@code classType}, in insertion order. Used to instantiate all implementations
+     * before {@link #queryAll(Class)} is injected into a collection member.
+     *
+     * @param classType The class type to be searched in the tree.
+     *
+     * @since 1.0.9
+     *
+     **/
+    List<SingletonNode> querySingletonsByAssignableType(Class<?> classType) {
+        final List<SingletonNode> matchResultList = new ArrayList<>();
+        for (SingletonNode singletonNode : singletonNodeRegistry.values())
+            if (classType.isAssignableFrom(singletonNode.getNodeClassType()))
+                matchResultList.add(singletonNode);
+
+        return matchResultList;
     }
 
     /**
@@ -539,16 +1113,95 @@ public final class DependencySearchTree {
      *
      **/
     public Set<Object> queryAllInstances() {
-        final List<SingletonNode> matchResultList = new ArrayList<>();
-        queryRecursivelySingletons(Object.class, rootNode, matchResultList);
-        return matchResultList.stream()
-                .filter(SingletonNode::hasSingletonInstance)
-                .map(SingletonNode::getNodeInstance)
-                .collect(Collectors.toSet());
+        return new LinkedHashSet<>(queryAll(Object.class));
+    }
+
+    /**
+     *
+     * Counts all the nodes of the tree, including the root node. The count walks the
+     * whole tree, it is meant for diagnostics and monitoring.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public int countNodes() {
+        return countNodes(rootNode);
+    }
+
+    private int countNodes(AbstractNode node) {
+        int nodeCount = 1;
+        for (int i = 0; i < node.childCount(); i++)
+            nodeCount += countNodes(node.childAt(i));
+        return nodeCount;
+    }
+
+    /**
+     *
+     * @return The number of distinct class types held by {@link SingletonNode}s, that
+     *         is the number of beans known by the tree.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public int countSingletonBeans() {
+        return singletonNodeRegistry.size();
+    }
+
+    /**
+     *
+     * @return The first {@link SingletonNode} inserted for exactly {@code classType}, or
+     *         null if the class type was never inserted. Subclasses are not considered.
+     *
+     * @since 1.0.9
+     *
+     **/
+    SingletonNode getRegisteredSingletonNode(Class<?> classType) {
+        return singletonNodeRegistry.get(classType);
+    }
+
+    /**
+     *
+     * @return The registered virtual singleton nodes produced by {@code parentClassType}, in
+     *         insertion order.
+     *
+     * @since 1.0.9
+     *
+     **/
+    List<VirtualSingletonNode> queryVirtualSingletonNodes(Class<?> parentClassType) {
+        final List<VirtualSingletonNode> virtualSingletonNodes = new ArrayList<>();
+        for (SingletonNode singletonNode : singletonNodeRegistry.values())
+            if (singletonNode instanceof VirtualSingletonNode virtualSingletonNode
+                    && virtualSingletonNode.getParentSingletionNode().getNodeClassType().equals(parentClassType))
+                virtualSingletonNodes.add(virtualSingletonNode);
+
+        return virtualSingletonNodes;
+    }
+
+    /**
+     *
+     * Sets the metrics that receive a call for each query. Used by {@link DependencyManager}
+     * to share its {@link ContainerMetrics} with the tree.
+     *
+     * @since 1.0.9
+     *
+     **/
+    void setContainerMetrics(ContainerMetrics containerMetrics) {
+        this.containerMetrics = Checks.nonNull(containerMetrics, "containerMetrics must not be null.");
     }
 
     public AbstractNode getRootNode() {
         return rootNode;
     }
+
+    /**
+     *
+     * A first match cached by {@link #querySingletonNode(Class, QueryOptions)}, valid while
+     * the modification count of the tree is the one it was found with.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private record CachedSingletonNode(SingletonNode singletonNode, int modificationCount) {}
+
 }
 
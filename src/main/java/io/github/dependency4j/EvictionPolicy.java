@@ -0,0 +1,63 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.util.Checks;
+
+import java.time.Duration;
+
+/**
+ *
+ * <b>EvictionPolicy</b> gives {@link Managed#disposable()} a lifetime meaning. When a policy
+ * is enabled in the {@link DependencyManager}, a disposable singleton that was not queried
+ * during {@code idleTimeout} is removed from the {@link DependencySearchTree} and created
+ * again by the next query that needs it.
+ * <p>
+ * Only beans that can be recreated are evicted: disposable beans created by the manager,
+ * not injected into any other bean and not {@link AutoCloseable}.
+ *
+ * @param idleTimeout The time a singleton must stay without queries to be evicted. A zero
+ *                    timeout disables the sweeps made by queries, so every eligible
+ *                    singleton is evicted only by {@link DependencyManager#evictIdleSingletons()}.
+ * @param holdSoftly  When {@code true}, an evicted instance is kept by a
+ *                    {@link java.lang.ref.SoftReference}, so the garbage collector only
+ *                    reclaims it under heap pressure, and a query before that gets the
+ *                    same instance back. When {@code false}, the instance is dropped.
+ *
+ * @see DependencyManager#enableEviction(EvictionPolicy)
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+public record EvictionPolicy(Duration idleTimeout, boolean holdSoftly) {
+
+    public EvictionPolicy {
+        Checks.nonNull(idleTimeout, "idleTimeout must not be null.");
+
+        if (idleTimeout.isNegative())
+            throw new IllegalArgumentException("idleTimeout must not be negative.");
+    }
+
+    /**
+     *
+     * Idle singletons are dropped and recreated on the next query.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public static EvictionPolicy evictAfter(Duration idleTimeout) {
+        return new EvictionPolicy(idleTimeout, false);
+    }
+
+    /**
+     *
+     * Idle singletons are held softly, so they are only reclaimed under heap pressure.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public static EvictionPolicy softlyAfter(Duration idleTimeout) {
+        return new EvictionPolicy(idleTimeout, true);
+    }
+
+}
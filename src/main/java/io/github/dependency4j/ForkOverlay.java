@@ -0,0 +1,112 @@
+package io.github.dependency4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ *
+ * <b>ForkOverlay</b> tracks which beans of the parents a fork can no longer share. A fork
+ * starts with an empty tree and shares every singleton node of its parents. Its own tree
+ * only receives a copy of a singleton node when the bean is overridden, when it must be
+ * recreated because it depends on an overridden bean, or when the fork needs a bean that the
+ * parents did not create:
+ *
+ * <pre>
+ *  1. Overridden class types, replaced by an instance given to {@link DependencyManager#override(Class, Object)}.
+ *  2. Stale class types, parent beans that depend on an overridden bean. They are recreated
+ *     by the fork the first time they are resolved.
+ *  3. Shadowed class types, the overridden, recreated and copied class types, whose parent
+ *     instances are hidden from the fork.
+ * </pre>
+ *
+ * The sets are changed while holding the lock of the fork, and replaced by immutable copies,
+ * so queries of the fork and of its children read them without locking.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+final class ForkOverlay {
+
+    private volatile Set<Class<?>> staleClassTypes;
+    private volatile Set<Class<?>> shadowedClassTypes;
+
+    ForkOverlay() {
+        this.staleClassTypes    = Set.of();
+        this.shadowedClassTypes = Set.of();
+    }
+
+    void recordOverride(Class<?> overriddenClassType, Collection<Class<?>> staleDependents) {
+        final Set<Class<?>> shadowedCopy = copyWith(shadowedClassTypes, overriddenClassType);
+        final Set<Class<?>> staleCopy    = copyWithout(staleClassTypes, overriddenClassType);
+
+        for (Class<?> staleDependent : staleDependents) {
+            if (!shadowedCopy.contains(staleDependent))
+                staleCopy.add(staleDependent);
+        }
+        staleClassTypes    = Collections.unmodifiableSet(staleCopy);
+        shadowedClassTypes = Collections.unmodifiableSet(shadowedCopy);
+    }
+
+    boolean isStale(Class<?> classType) {
+        return staleClassTypes.contains(classType);
+    }
+
+    /**
+     *
+     * Marks {@code classType} as recreated by the fork, so its parent instance is shadowed.
+     *
+     * @since 1.0.9
+     *
+     **/
+    void recordCopy(Class<?> classType) {
+        shadowedClassTypes = Collections.unmodifiableSet(copyWith(shadowedClassTypes, classType));
+        staleClassTypes    = Collections.unmodifiableSet(copyWithout(staleClassTypes, classType));
+    }
+
+    /**
+     *
+     * @return A copy of the stale class types assignable to {@code classType}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    List<Class<?>> getStaleClassTypes(Class<?> classType) {
+        List<Class<?>> assignableStaleClassTypes = new ArrayList<>();
+        for (Class<?> staleClassType : staleClassTypes) {
+            if (classType.isAssignableFrom(staleClassType))
+                assignableStaleClassTypes.add(staleClassType);
+        }
+        return assignableStaleClassTypes;
+    }
+
+    /**
+     *
+     * @return The shadowed class types. The set is immutable and replaced on each change,
+     *         so a result combined from it is current while the same set is returned.
+     *
+     * @since 1.0.9
+     *
+     **/
+    Set<Class<?>> getShadowedClassTypes() {
+        return shadowedClassTypes;
+    }
+
+    private static Set<Class<?>> copyWith(Set<Class<?>> classTypes, Class<?> classType) {
+        Set<Class<?>> copiedClassTypes = new LinkedHashSet<>(classTypes);
+        copiedClassTypes.add(classType);
+        return copiedClassTypes;
+    }
+
+    private static Set<Class<?>> copyWithout(Set<Class<?>> classTypes, Class<?> classType) {
+        Set<Class<?>> copiedClassTypes = new LinkedHashSet<>(classTypes);
+        copiedClassTypes.remove(classType);
+        return copiedClassTypes;
+    }
+
+}
@@ -0,0 +1,124 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.exception.StateException;
+import io.github.dependency4j.node.SingletonNode;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ *
+ * <b>ForwardingReferences</b> creates the forwarding references injected when
+ * {@link DependencyManager#enableForwardingReferences()} is called. A forwarding reference
+ * is a {@link Proxy} of the injected interface that reads the instance slot of its
+ * {@link SingletonNode} on every call, so a bean swapped by
+ * {@link DependencyManager#replace(Class, Object)} is picked up by the next call. The read
+ * is a single volatile read, without locking.
+ * <p>
+ * One reference is created per singleton node and interface, so injecting the same bean
+ * twice injects the same reference.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+final class ForwardingReferences {
+
+    private final Map<SingletonNode, Map<Class<?>, Object>> forwardingReferences;
+
+    ForwardingReferences() {
+        this.forwardingReferences = new IdentityHashMap<>();
+    }
+
+    /**
+     *
+     * @return {@code true} if members declared as {@code classType} can receive a
+     *         forwarding reference, that is, if it is a public interface.
+     *
+     * @since 1.0.9
+     *
+     **/
+    static boolean isForwardable(Class<?> classType) {
+        return classType.isInterface() && Modifier.isPublic(classType.getModifiers());
+    }
+
+    /**
+     *
+     * @return The forwarding reference of {@code singletonNode} implementing
+     *         {@code interfaceType}. Calls made when the node has no instance, such as
+     *         after an eviction, query {@code ownerManager} for a new one.
+     *
+     * @since 1.0.9
+     *
+     **/
+    synchronized Object forward(Class<?> interfaceType, SingletonNode singletonNode,
+                                DependencyManager ownerManager) {
+
+        return forwardingReferences
+                .computeIfAbsent(singletonNode, node -> new HashMap<>())
+                .computeIfAbsent(interfaceType, forwardedType -> Proxy.newProxyInstance(
+                        forwardedType.getClassLoader(), new Class<?>[] { forwardedType },
+                        new ForwardingHandler(singletonNode, ownerManager)));
+    }
+
+    /**
+     *
+     * Forgets the references of singleton nodes removed from the tree, so they can be
+     * collected. References already injected keep forwarding to the last instance.
+     *
+     * @since 1.0.9
+     *
+     **/
+    synchronized void forget(DependencySearchTree dependencySearchTree) {
+        forwardingReferences.keySet().removeIf(singletonNode ->
+                !dependencySearchTree.containsSingletonNode(singletonNode));
+    }
+
+    private static final class ForwardingHandler implements InvocationHandler {
+
+        private final SingletonNode singletonNode;
+        private final DependencyManager ownerManager;
+
+        ForwardingHandler(SingletonNode singletonNode, DependencyManager ownerManager) {
+            this.singletonNode = singletonNode;
+            this.ownerManager  = ownerManager;
+        }
+
+        Object currentInstance() {
+            Object instance = singletonNode.getNodeInstance();
+            if (instance == null)
+                instance = ownerManager.query(singletonNode.getNodeClassType());
+
+            if (instance == null)
+                throw new StateException("\"" + singletonNode.getNodeClassType().getName() +
+                        "\" is no longer installed.");
+
+            return instance;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] arguments) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":   return proxy == arguments[0];
+                    case "hashCode": return System.identityHashCode(proxy);
+                    default:         break;
+                }
+            }
+
+            try {
+                return method.invoke(currentInstance(), arguments);
+            } catch (InvocationTargetException exception) {
+                throw exception.getCause();
+            }
+        }
+    }
+
+}
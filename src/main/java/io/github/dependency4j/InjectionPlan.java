@@ -0,0 +1,111 @@
+package io.github.dependency4j;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *
+ * <b>InjectionPlan</b> is what the {@link DependencyManager} needs to know about a class to
+ * create and inject it, found once by reflection:
+ *
+ * <pre>
+ *  1. The first public constructor annotated with {@link Pull}, and the public empty constructor.
+ *  2. The declared fields annotated with {@link Pull}.
+ *  3. The declared methods annotated with {@link Pull} whose name starts with "set".
+ *  4. The {@link QueryOptions} of each injected member, decomposed from its {@link Pull}
+ *     annotation the first time the member is injected.
+ * </pre>
+ *
+ * Plans are immutable apart from the lazily decomposed query options, and are shared by every
+ * {@link DependencyManager} of the JVM through the {@link ClassMetadataRegistry}.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+final class InjectionPlan {
+
+    private final Constructor<?> pullConstructor;
+    private final Constructor<?> emptyConstructor;
+    private final List<Field> pullFields;
+    private final List<Method> pullSetters;
+    private final Map<AccessibleObject, QueryOptions> memberQueryOptions;
+
+    InjectionPlan(Class<?> classType) {
+        Constructor<?> firstPullConstructor = null;
+        Constructor<?> firstEmptyConstructor = null;
+
+        for (Constructor<?> constructor : classType.getConstructors()) {
+            if (firstPullConstructor == null && constructor.isAnnotationPresent(Pull.class))
+                firstPullConstructor = constructor;
+
+            if (firstEmptyConstructor == null && constructor.getParameterCount() == 0)
+                firstEmptyConstructor = constructor;
+        }
+
+        List<Field> annotatedFields = new ArrayList<>();
+        for (Field field : classType.getDeclaredFields()) {
+            if (AnnotationDecomposer.isAnnotationComposed(field, Pull.class))
+                annotatedFields.add(field);
+        }
+
+        List<Method> annotatedSetters = new ArrayList<>();
+        for (Method method : classType.getDeclaredMethods()) {
+            if (AnnotationDecomposer.isAnnotationComposed(method, Pull.class) && method.getName().startsWith("set"))
+                annotatedSetters.add(method);
+        }
+
+        this.pullConstructor    = firstPullConstructor;
+        this.emptyConstructor   = firstEmptyConstructor;
+        this.pullFields         = List.copyOf(annotatedFields);
+        this.pullSetters        = List.copyOf(annotatedSetters);
+        this.memberQueryOptions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     *
+     * @return The query options of {@code member}, declared by the planned class. Members
+     *         without {@link Pull} are queried with {@link QueryOptions#none()}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    QueryOptions getQueryOptions(AccessibleObject member) {
+        QueryOptions queryOptions = memberQueryOptions.get(member);
+
+        if (queryOptions == null) {
+            Pull pullAnnotation = AnnotationDecomposer.decomposeAnnotationFromMember(member, Pull.class);
+
+            queryOptions = (pullAnnotation != null)
+                    ? AnnotationTransformer.transformPullAnnotationToQueryOptions(pullAnnotation)
+                    : QueryOptions.none();
+
+            memberQueryOptions.putIfAbsent(member, queryOptions);
+        }
+        return queryOptions;
+    }
+
+    Constructor<?> getPullConstructor() {
+        return pullConstructor;
+    }
+
+    Constructor<?> getEmptyConstructor() {
+        return emptyConstructor;
+    }
+
+    List<Field> getPullFields() {
+        return pullFields;
+    }
+
+    List<Method> getPullSetters() {
+        return pullSetters;
+    }
+
+}
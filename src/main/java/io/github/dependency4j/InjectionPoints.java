@@ -0,0 +1,251 @@
+package io.github.dependency4j;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.AccessibleObject;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ *
+ * Keeps what the {@link DependencyManager} injected, so a strategy switch can tell which
+ * injections resolve differently afterward. There are two kinds of injection points:
+ *
+ * <pre>
+ *  1. Creation arguments, the values passed to the {@link Pull} constructor of a bean,
+ *     or to the {@link Virtual} method of a virtual bean, preceded by its parent instance.
+ *  2. Member injections, the values set to a {@link Pull} field or passed to a {@link Pull}
+ *     setter. The target instance is weakly referenced, so dynamic instances can still be
+ *     collected.
+ * </pre>
+ *
+ * Injection points are only recorded once {@link DependencyManager#enableInjectionRewiring()}
+ * was called. The injected values are held weakly: instances that were evicted, replaced or
+ * reloaded are not kept reachable by the records of their dependents. A collected value can not be
+ * the value resolved again, so its injection point simply counts as changed. Null values
+ * and primitive defaults are held as they are.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+final class InjectionPoints {
+
+    private static final int MIN_PRUNE_THRESHOLD = 64;
+
+    private final Map<Class<?>, Object[]> creationArguments;
+    private final List<MemberInjection> memberInjections;
+    private int pruneThreshold = MIN_PRUNE_THRESHOLD;
+
+    InjectionPoints() {
+        this.creationArguments = new LinkedHashMap<>();
+        this.memberInjections  = new ArrayList<>();
+    }
+
+    void recordCreation(Class<?> beanClassType, Object[] arguments) {
+        creationArguments.put(beanClassType, holdWeakly(arguments));
+    }
+
+    /**
+     *
+     * @return {@code true} if {@code resolvedArguments} are the recorded creation arguments
+     *         of {@code beanClassType}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    boolean sameCreationArguments(Class<?> beanClassType, Object[] resolvedArguments) {
+        Object[] heldArguments = creationArguments.get(beanClassType);
+        return heldArguments != null && sameInjectedValues(heldArguments, resolvedArguments);
+    }
+
+    /**
+     *
+     * @return A copy of the class types with recorded creation arguments, in creation order.
+     *
+     * @since 1.0.9
+     *
+     **/
+    List<Class<?>> getCreatedClassTypes() {
+        return new ArrayList<>(creationArguments.keySet());
+    }
+
+    /**
+     *
+     * Records the values injected into {@code member} of {@code target}. Injections whose
+     * target was collected are pruned once the list doubles in size.
+     *
+     * @since 1.0.9
+     *
+     **/
+    void recordMember(Object target, AccessibleObject member, Object[] values) {
+        memberInjections.add(new MemberInjection(new WeakReference<>(target), member, holdWeakly(values)));
+
+        if (memberInjections.size() >= pruneThreshold) {
+            memberInjections.removeIf(memberInjection -> memberInjection.getTarget() == null);
+            pruneThreshold = Math.max(MIN_PRUNE_THRESHOLD, memberInjections.size() * 2);
+        }
+    }
+
+    /**
+     *
+     * @return A copy of the member injections whose target is still reachable.
+     *
+     * @since 1.0.9
+     *
+     **/
+    List<MemberInjection> getMemberInjections() {
+        memberInjections.removeIf(memberInjection -> memberInjection.getTarget() == null);
+        return new ArrayList<>(memberInjections);
+    }
+
+    /**
+     *
+     * Forgets the injection points of removed beans: their creation arguments and the member
+     * injections made into {@code removedInstances}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    void forget(Set<Class<?>> removedClassTypes, Set<Object> removedInstances) {
+        creationArguments.keySet().removeAll(removedClassTypes);
+        memberInjections.removeIf(memberInjection -> {
+            Object target = memberInjection.getTarget();
+            return target == null || removedInstances.contains(target);
+        });
+    }
+
+    /**
+     *
+     * Turns injected values into the form they are recorded in: instances are weakly
+     * referenced, and so are the elements of injected lists. Null values and primitive
+     * defaults are kept as they are.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private static Object[] holdWeakly(Object[] values) {
+        Object[] heldValues = new Object[values.length];
+        for (int i = 0; i < values.length; i++)
+            heldValues[i] = holdWeakly(values[i]);
+
+        return heldValues;
+    }
+
+    private static Object holdWeakly(Object value) {
+        if (value == null || isPrimitiveDefault(value))
+            return value;
+
+        if (value instanceof List<?> list) {
+            List<WeakReference<Object>> heldElements = new ArrayList<>(list.size());
+            for (Object element : list)
+                heldElements.add(new WeakReference<>(element));
+
+            return new HeldList(heldElements);
+        }
+        return new WeakReference<>(value);
+    }
+
+    /**
+     *
+     * Compares recorded values to injected values. Managed instances are compared by
+     * identity, the elements of injected lists as well, and boxed primitive defaults by
+     * equality.
+     *
+     * @param heldValues The values recorded by {@link #holdWeakly(Object[])}.
+     * @param values     The injected values.
+     *
+     * @return {@code true} if both arrays hold the same injected values.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private static boolean sameInjectedValues(Object[] heldValues, Object[] values) {
+        if (heldValues.length != values.length)
+            return false;
+
+        for (int i = 0; i < heldValues.length; i++) {
+            if (!sameInjectedValue(heldValues[i], values[i]))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean sameInjectedValue(Object heldValue, Object value) {
+        if (heldValue instanceof WeakReference<?> heldReference)
+            return value != null && heldReference.get() == value;
+
+        if (heldValue instanceof HeldList heldList && value instanceof List<?> list) {
+            if (heldList.elements().size() != list.size())
+                return false;
+
+            for (int i = 0; i < list.size(); i++) {
+                if (heldList.elements().get(i).get() != list.get(i))
+                    return false;
+            }
+            return true;
+        }
+
+        return heldValue == value || (isPrimitiveDefault(heldValue) && heldValue.equals(value));
+    }
+
+    private static boolean isPrimitiveDefault(Object value) {
+        return value instanceof Number || value instanceof Boolean || value instanceof Character;
+    }
+
+    /**
+     *
+     * The weakly referenced elements of an injected list.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private record HeldList(List<WeakReference<Object>> elements) {}
+
+    /**
+     *
+     * The values injected into a {@link Pull} field or setter of one target instance.
+     *
+     * @since 1.0.9
+     *
+     **/
+    static final class MemberInjection {
+
+        private final WeakReference<Object> target;
+        private final AccessibleObject member;
+        private Object[] heldValues;
+
+        private MemberInjection(WeakReference<Object> target, AccessibleObject member, Object[] heldValues) {
+            this.target     = target;
+            this.member     = member;
+            this.heldValues = heldValues;
+        }
+
+        Object getTarget() {
+            return target.get();
+        }
+
+        AccessibleObject getMember() {
+            return member;
+        }
+
+        /**
+         *
+         * @return {@code true} if {@code values} are the values recorded for this injection.
+         *
+         * @since 1.0.9
+         *
+         **/
+        boolean sameValues(Object[] values) {
+            return sameInjectedValues(heldValues, values);
+        }
+
+        void setValues(Object[] values) {
+            this.heldValues = holdWeakly(values);
+        }
+    }
+
+}
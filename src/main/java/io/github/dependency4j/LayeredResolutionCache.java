@@ -0,0 +1,143 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.node.SingletonNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *
+ * <b>LayeredResolutionCache</b> keeps the resolutions that a child {@link DependencyManager}
+ * made through its parents, so querying a parent bean from a child costs a single lookup,
+ * however deep the chain is. Three kinds of resolution are kept:
+ *
+ * <pre>
+ *  1. Inherited singleton nodes, the node of a parent resolved for an unnamed query.
+ *  2. Unresolved class types, the class types that no manager of the chain has.
+ *  3. Layered instances, the instances of the parents followed by the child instances.
+ * </pre>
+ *
+ * The first two are stamped with the lineage modification count, shared by the trees of
+ * the root manager and of all its descendants, and are ignored once any of those trees
+ * inserted or removed a singleton node since. Layered instances are kept while the lists
+ * they were built from are the same, since each tree already rebuilds its own lists when
+ * they change.
+ * <p>
+ * Queries of the child and of its own children use the cache concurrently, so resolutions
+ * are kept in concurrent maps as immutable entries.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+final class LayeredResolutionCache {
+
+    private final Map<Class<?>, Resolution> resolutions;
+    private final Map<Class<?>, LayeredInstances> layeredInstances;
+
+    LayeredResolutionCache() {
+        this.resolutions      = new ConcurrentHashMap<>();
+        this.layeredInstances = new ConcurrentHashMap<>();
+    }
+
+    /**
+     *
+     * @param lineageModificationCount The lineage modification count, read before the
+     *                                 resolution that would be cached.
+     *
+     * @return The resolution of {@code classType} cached at {@code lineageModificationCount},
+     *         or null if {@code classType} was not resolved since the last modification.
+     *
+     * @since 1.0.9
+     *
+     **/
+    Resolution getResolution(Class<?> classType, long lineageModificationCount) {
+        Resolution resolution = resolutions.get(classType);
+
+        return (resolution != null && resolution.lineageModificationCount() == lineageModificationCount)
+                ? resolution
+                : null;
+    }
+
+    /**
+     *
+     * Caches {@code singletonNode} as the resolution of {@code classType}. A null node
+     * records {@code classType} as unresolved.
+     *
+     * @param lineageModificationCount The lineage modification count read before resolving.
+     *
+     * @since 1.0.9
+     *
+     **/
+    void cacheResolution(Class<?> classType, SingletonNode singletonNode, long lineageModificationCount) {
+        resolutions.put(classType, new Resolution(singletonNode, lineageModificationCount));
+    }
+
+    /**
+     *
+     * @return An immutable list with {@code inheritedInstances} followed by {@code ownInstances}.
+     *         Inherited instances of {@code shadowedClassTypes} are left out. The list is reused
+     *         while the three arguments are the same instances.
+     *
+     * @since 1.0.9
+     *
+     **/
+    @SuppressWarnings("unchecked")
+    <T> List<T> combineInstances(Class<T> classType, List<T> inheritedInstances, List<T> ownInstances,
+                                 Set<Class<?>> shadowedClassTypes) {
+        if (inheritedInstances.isEmpty())
+            return ownInstances;
+
+        if (ownInstances.isEmpty() && shadowedClassTypes.isEmpty())
+            return inheritedInstances;
+
+        LayeredInstances cachedInstances = layeredInstances.get(classType);
+
+        if (cachedInstances == null || cachedInstances.inheritedInstances() != inheritedInstances
+                || cachedInstances.ownInstances() != ownInstances
+                || cachedInstances.shadowedClassTypes() != shadowedClassTypes) {
+
+            List<Object> allInstances = new ArrayList<>(inheritedInstances.size() + ownInstances.size());
+            for (T inheritedInstance : inheritedInstances) {
+                if (!shadowedClassTypes.contains(inheritedInstance.getClass()))
+                    allInstances.add(inheritedInstance);
+            }
+            allInstances.addAll(ownInstances);
+
+            cachedInstances = new LayeredInstances(inheritedInstances, ownInstances, shadowedClassTypes,
+                    Collections.unmodifiableList(allInstances));
+            layeredInstances.put(classType, cachedInstances);
+        }
+        return (List<T>) cachedInstances.allInstances();
+    }
+
+    /**
+     *
+     * Discards the layered instances, for when the instances of the child change.
+     *
+     * @since 1.0.9
+     *
+     **/
+    void clearLayeredInstances() {
+        layeredInstances.clear();
+    }
+
+    /**
+     *
+     * A resolution made through the parents. {@code singletonNode} is null when no manager
+     * of the chain had the class type.
+     *
+     * @since 1.0.9
+     *
+     **/
+    record Resolution(SingletonNode singletonNode, long lineageModificationCount) {}
+
+    private record LayeredInstances(List<?> inheritedInstances, List<?> ownInstances,
+                                    Set<Class<?>> shadowedClassTypes, List<?> allInstances) {}
+
+}
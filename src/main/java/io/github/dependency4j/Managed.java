@@ -55,6 +55,10 @@ public @interface Managed {
      * Disposable set to {@code false} should be used whenever you want to instantiate
      * the managed class, regardless of the manager's strategies. It enables managed classes
      * instantiation and dependency injection to be done at a <i>Package-Installation-Level</i>.
+     * <p>
+     * When an {@link EvictionPolicy} is enabled, disposable singletons that stay idle can
+     * also be evicted and recreated on the next query. See
+     * {@link DependencyManager#enableEviction(EvictionPolicy)}.
      *
      * @since 1.0
      *
@@ -0,0 +1,355 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.exception.ScanFailedException;
+import io.github.dependency4j.util.Checks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ *
+ * <b>PackageWatcher</b> reloads the classes of an installed package when their class files
+ * change, without installing the package again. It watches, with a {@link WatchService}, the
+ * class directories that {@link ClassFinder} scans for the package, and their subdirectories.
+ * Each batch of changes is applied as follows:
+ *
+ * <pre>
+ *  1. The changed classes are loaded by a new child-first {@link ClassLoader}, together with
+ *     the classes reloaded by the previous batches. Other classes and interfaces are still
+ *     loaded by the original class loader.
+ *  2. The previous versions of the reloaded and deleted classes are removed from the
+ *     {@link DependencySearchTree}. The new versions of the {@link Managed} classes are
+ *     inserted and instantiated.
+ *  3. The beans injected with a reloaded bean are recreated, and the {@link Pull} fields and
+ *     setters pointing to one are injected again. Other beans keep their instances.
+ * </pre>
+ *
+ * Each loader has the original class loader as parent, and not the loader of the previous
+ * batch, so a previous loader can be collected once the application releases the instances
+ * it created. Reloading every class reloaded before keeps the classes of a batch consistent
+ * with each other, at the cost of recreating their beans again.
+ * <p>
+ * Beans should depend on the reloaded classes through types that are not reloaded, such as
+ * interfaces, since a reloaded class is a different type than its previous version. For
+ * the same reason, reloaded classes can not access package-private members of classes that
+ * were not reloaded with them. Packages read from jar files can not be watched.
+ * <p>
+ * Changes can be applied on the calling thread with {@link #poll()} and
+ * {@link #awaitReload(Duration)}, or on a background daemon thread with {@link #start(Consumer)}.
+ * Either way, they are applied while holding the lock of the {@link DependencyManager}, and
+ * its queries take the lock too until the watcher is closed.
+ *
+ * @author daviddev16
+ *
+ * @see DependencyManager#watchPackage(String, ClassLoader)
+ *
+ * @since 1.0.9
+ *
+ **/
+public final class PackageWatcher implements AutoCloseable {
+
+    private static final long QUIET_PERIOD_MILLIS = 100;
+    private static final Duration BACKGROUND_POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final DependencyManager dependencyManager;
+    private final WatchService watchService;
+    private final Map<WatchKey, WatchedDirectory> watchedDirectories;
+    private final List<Path> classDirectories;
+    private final ClassLoader classLoader;
+    private final Set<String> reloadedClassNames;
+    private Thread watcherThread;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile RuntimeException lastFailure;
+
+    PackageWatcher(DependencyManager dependencyManager, ClassLoader classLoader, String packageName) {
+        List<File> packageDirectories = ClassFinder.findPackageDirectories(classLoader, packageName);
+        Checks.state(!packageDirectories.isEmpty(), "No class directory holds \"" + packageName + "\". " +
+                "Packages read from jar files can not be watched.");
+
+        this.dependencyManager  = dependencyManager;
+        this.classLoader        = classLoader;
+        this.reloadedClassNames = new LinkedHashSet<>();
+        this.watchedDirectories = new ConcurrentHashMap<>();
+        this.classDirectories   = new ArrayList<>();
+
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+
+            for (File packageDirectory : packageDirectories) {
+                Path classDirectory = packageDirectory.toPath();
+                for (int i = 0; i < packageName.split("\\.").length; i++)
+                    classDirectory = classDirectory.getParent();
+
+                classDirectories.add(classDirectory);
+                registerDirectories(packageDirectory.toPath(), packageName, null);
+            }
+        } catch (IOException exception) {
+            throw new ScanFailedException("Could not watch the directories of \"" + packageName + "\".", exception);
+        }
+    }
+
+    /**
+     *
+     * Registers {@code directory} and its subdirectories to the {@link WatchService}. When
+     * {@code classChanges} is not null, the class files already in them are collected as
+     * changes, for directories created after the watcher.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private void registerDirectories(Path directory, String packageName,
+                                     Map<String, Path> classChanges) throws IOException {
+
+        WatchKey watchKey = directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        watchedDirectories.put(watchKey, new WatchedDirectory(directory, packageName));
+
+        try (Stream<Path> directoryFiles = Files.list(directory)) {
+            for (Path file : directoryFiles.toList()) {
+                final String fileName = file.getFileName().toString();
+
+                if (Files.isDirectory(file))
+                    registerDirectories(file, packageName + '.' + fileName, classChanges);
+
+                else if (classChanges != null)
+                    collectClassChange(packageName, file, classChanges);
+            }
+        }
+    }
+
+    /**
+     *
+     * Applies the changes already reported by the {@link WatchService}, without waiting for
+     * new ones. The changes are collected until the directories stay quiet for a moment, so
+     * the class files written by a single compilation are reloaded together.
+     *
+     * @return The applied reload, or null if nothing changed.
+     *
+     * @throws ScanFailedException If a changed class could not be loaded.
+     * @throws StateException      If the watcher was closed.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public synchronized ClassReload poll() throws InterruptedException {
+        Checks.state(!closed.get(), "The package watcher was closed.");
+        WatchKey watchKey = watchService.poll();
+
+        return (watchKey != null) ? collectAndReload(watchKey) : null;
+    }
+
+    /**
+     *
+     * Waits up to {@code timeout} for the class files to change, then applies the changes
+     * like {@link #poll()}.
+     *
+     * @return The applied reload, or null if nothing changed before the timeout.
+     *
+     * @throws ScanFailedException If a changed class could not be loaded.
+     * @throws StateException      If the watcher was closed.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public synchronized ClassReload awaitReload(Duration timeout) throws InterruptedException {
+        Checks.nonNull(timeout, "timeout must not be null.");
+        Checks.state(!closed.get(), "The package watcher was closed.");
+        WatchKey watchKey = watchService.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        return (watchKey != null) ? collectAndReload(watchKey) : null;
+    }
+
+    /**
+     *
+     * Starts applying the changes on a background daemon thread, until the watcher is closed.
+     * {@code reloadListener} receives each applied reload. A reload that fails does not stop
+     * the thread, and its exception is kept by {@link #getLastFailure()}.
+     * <p>
+     * Reloads modify the {@link DependencyManager} from the watcher thread, while holding
+     * its lock, so this mode is meant for development, when the application can tolerate
+     * the queries waiting for a reload.
+     *
+     * @return This watcher.
+     *
+     * @throws StateException If the watcher was already started or closed.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public synchronized PackageWatcher start(Consumer<ClassReload> reloadListener) {
+        Checks.nonNull(reloadListener, "reloadListener must not be null.");
+        Checks.state(!closed.get(), "The package watcher was closed.");
+        Checks.state(watcherThread == null, "The package watcher was already started.");
+
+        watcherThread = new Thread(() -> {
+            while (!closed.get()) {
+                try {
+                    ClassReload classReload = awaitReload(BACKGROUND_POLL_TIMEOUT);
+                    if (classReload != null)
+                        reloadListener.accept(classReload);
+
+                } catch (InterruptedException | ClosedWatchServiceException exception) {
+                    return;
+                } catch (RuntimeException exception) {
+                    if (closed.get())
+                        return;
+                    lastFailure = exception;
+                }
+            }
+        }, "dependency4j-package-watcher");
+
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        return this;
+    }
+
+    private ClassReload collectAndReload(WatchKey watchKey) throws InterruptedException {
+        final Map<String, Path> classChanges = new LinkedHashMap<>();
+        do {
+            collectClassChanges(watchKey, classChanges);
+            watchKey = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        } while (watchKey != null);
+
+        return reloadClassChanges(classChanges);
+    }
+
+    private void collectClassChanges(WatchKey watchKey, Map<String, Path> classChanges) {
+        final WatchedDirectory watchedDirectory = watchedDirectories.get(watchKey);
+
+        if (watchedDirectory != null) {
+            for (WatchEvent<?> watchEvent : watchKey.pollEvents()) {
+                if (watchEvent.kind() == OVERFLOW)
+                    continue;
+
+                final Path file = watchedDirectory.directory().resolve((Path) watchEvent.context());
+
+                if (watchEvent.kind() == ENTRY_CREATE && Files.isDirectory(file)) {
+                    try {
+                        registerDirectories(file, watchedDirectory.packageName() + '.' + file.getFileName(),
+                                classChanges);
+                    } catch (IOException exception) {
+                        throw new ScanFailedException("Could not watch the directory \"" + file + "\".", exception);
+                    }
+                } else
+                    collectClassChange(watchedDirectory.packageName(), file, classChanges);
+            }
+        }
+
+        if (!watchKey.reset())
+            watchedDirectories.remove(watchKey);
+    }
+
+    private static void collectClassChange(String packageName, Path file, Map<String, Path> classChanges) {
+        final String fileName = file.getFileName().toString();
+
+        if (fileName.endsWith(".class"))
+            classChanges.put(packageName + '.' + fileName.substring(0, fileName.length() - ".class".length()), file);
+    }
+
+    /**
+     *
+     * Loads the changed classes, and the classes reloaded before, with a new
+     * {@link ReloadingClassLoader} and applies them to the {@link DependencyManager}.
+     * Classes whose file no longer exists are deleted.
+     *
+     * @return The applied reload, or null if no class changed.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private ClassReload reloadClassChanges(Map<String, Path> classChanges) {
+        if (classChanges.isEmpty())
+            return null;
+
+        final Set<String> changedClassNames = new LinkedHashSet<>();
+        final Set<String> deletedClassNames = new LinkedHashSet<>();
+
+        classChanges.forEach((className, classFile) -> {
+            if (Files.isRegularFile(classFile))
+                changedClassNames.add(className);
+            else
+                deletedClassNames.add(className);
+        });
+
+        reloadedClassNames.removeAll(deletedClassNames);
+        reloadedClassNames.addAll(changedClassNames);
+
+        final ReloadingClassLoader reloadingClassLoader =
+                new ReloadingClassLoader(classLoader, classDirectories, reloadedClassNames);
+
+        return dependencyManager.reloadClasses(reloadingClassLoader,
+                new LinkedHashSet<>(reloadedClassNames), deletedClassNames);
+    }
+
+    /**
+     *
+     * @return The watched package directories and their subdirectories.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public List<Path> getWatchedDirectories() {
+        return watchedDirectories.values().stream()
+                .map(WatchedDirectory::directory)
+                .toList();
+    }
+
+    /**
+     *
+     * @return The exception of the last reload that failed on the background thread, or
+     *         null if none failed.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     *
+     * Stops watching the directories and the background thread, if started. The classes
+     * already reloaded stay installed.
+     *
+     * @since 1.0.9
+     *
+     **/
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true))
+            return;
+
+        dependencyManager.closePackageWatcher();
+        try {
+            watchService.close();
+        } catch (IOException exception) {
+            throw new ScanFailedException("Could not close the package watcher.", exception);
+        }
+    }
+
+    private record WatchedDirectory(Path directory, String packageName) {}
+
+}
@@ -4,6 +4,16 @@ import io.github.dependency4j.util.Checks;
 
 public record QueryOptions(boolean retrieveAnyways, String filteredClassName) {
 
+    /**
+     *
+     * Shared options with no filtered name and {@code retrieveAnyways} enabled. Used by
+     * {@link #none()} so the query path does not allocate options on every call.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public static final QueryOptions NONE = new QueryOptions(true, "");
+
     public static final class QueryOptionsBuilder {
 
         private String filteredClassName = "";
@@ -35,9 +45,7 @@ public record QueryOptions(boolean retrieveAnyways, String filteredClassName) {
     }
 
     public static QueryOptions none() {
-        return QueryOptions
-                .builder()
-                .build();
+        return NONE;
     }
 
     public static QueryOptionsBuilder builder() {
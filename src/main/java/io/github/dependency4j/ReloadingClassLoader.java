@@ -0,0 +1,78 @@
+package io.github.dependency4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+/**
+ *
+ * <b>ReloadingClassLoader</b> loads a new version of changed classes. The classes named in
+ * {@code reloadedClassNames} are defined by this loader from the class directories, child
+ * first, even if the parent loader already has them. Any other class is delegated to the
+ * parent, so the reloaded classes keep seeing the same interfaces and unchanged classes as
+ * the rest of the application.
+ * <p>
+ * Each reload creates a new loader whose parent is the original class loader, and that
+ * defines every class reloaded so far, so a class reloaded earlier is seen in its latest
+ * version by the classes reloaded after it, and the loaders of the previous reloads are
+ * not referenced by the new one.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+final class ReloadingClassLoader extends ClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    private final List<Path> classDirectories;
+    private final Set<String> reloadedClassNames;
+
+    ReloadingClassLoader(ClassLoader parent, List<Path> classDirectories, Set<String> reloadedClassNames) {
+        super("dependency4j-reload", parent);
+        this.classDirectories   = List.copyOf(classDirectories);
+        this.reloadedClassNames = Set.copyOf(reloadedClassNames);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (!reloadedClassNames.contains(name))
+            return super.loadClass(name, resolve);
+
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> loadedClass = findLoadedClass(name);
+            if (loadedClass == null)
+                loadedClass = findClass(name);
+
+            if (resolve)
+                resolveClass(loadedClass);
+
+            return loadedClass;
+        }
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        final String classFileName = name.replace('.', '/') + ".class";
+
+        for (Path classDirectory : classDirectories) {
+            Path classFile = classDirectory.resolve(classFileName);
+            if (!Files.isRegularFile(classFile))
+                continue;
+
+            try {
+                byte[] classBytes = Files.readAllBytes(classFile);
+                return defineClass(name, classBytes, 0, classBytes.length);
+            } catch (IOException exception) {
+                throw new ClassNotFoundException("Could not read \"" + classFile + "\".", exception);
+            }
+        }
+        throw new ClassNotFoundException(name);
+    }
+
+}
@@ -0,0 +1,139 @@
+package io.github.dependency4j;
+
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ * Keeps the state of an {@link EvictionPolicy}: the last query time of each singleton
+ * class type, the class types currently evicted and, for soft policies, the references
+ * to their evicted instances. Used by {@link DependencyManager}.
+ * <p>
+ * Queries record their accesses concurrently, without holding the lock of the manager,
+ * so the state is kept in concurrent maps and the access times are updated in place.
+ * Sweeps and recreations are made while holding the lock of the manager.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+final class SingletonEviction {
+
+    /* concurrent maps do not hold null values, a strongly evicted instance is held by an empty reference */
+    private static final SoftReference<Object> RELEASED_INSTANCE = new SoftReference<>(null);
+
+    private final EvictionPolicy evictionPolicy;
+    private final long idleTimeoutNanos;
+    private final Map<Class<?>, AtomicLong> lastAccessNanos;
+    private final Map<Class<?>, SoftReference<Object>> evictedInstances;
+    private final AtomicLong lastSweepNanos;
+
+    SingletonEviction(EvictionPolicy evictionPolicy, long nowNanos) {
+        this.evictionPolicy   = evictionPolicy;
+        this.idleTimeoutNanos = evictionPolicy.idleTimeout().toNanos();
+        this.lastAccessNanos  = new ConcurrentHashMap<>();
+        this.evictedInstances = new ConcurrentHashMap<>();
+        this.lastSweepNanos   = new AtomicLong(nowNanos);
+    }
+
+    /**
+     *
+     * Records a query, or the creation, of the singleton of {@code classType}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    void touch(Class<?> classType, long nowNanos) {
+        AtomicLong lastAccess = lastAccessNanos.get(classType);
+
+        if (lastAccess == null)
+            lastAccess = lastAccessNanos.computeIfAbsent(classType, trackedClassType -> new AtomicLong());
+
+        lastAccess.set(nowNanos);
+    }
+
+    /**
+     *
+     * @return {@code true} if the singleton of {@code classType} was not queried during the
+     *         idle timeout. A class type that was never seen starts being tracked now.
+     *
+     * @since 1.0.9
+     *
+     **/
+    boolean isIdle(Class<?> classType, long nowNanos) {
+        AtomicLong lastAccess = lastAccessNanos.computeIfAbsent(classType,
+                trackedClassType -> new AtomicLong(nowNanos));
+
+        return nowNanos - lastAccess.get() >= idleTimeoutNanos;
+    }
+
+    /**
+     *
+     * @return {@code true} when a full sweep is due. A sweep is due once per idle timeout,
+     *         so queries do not scan the singletons each time. A zero idle timeout is
+     *         never due, its sweeps are only explicit. When several queries find the
+     *         sweep due at once, only one of them is told so.
+     *
+     * @since 1.0.9
+     *
+     **/
+    boolean isSweepDue(long nowNanos) {
+        final long lastSweep = lastSweepNanos.get();
+
+        if (idleTimeoutNanos == 0 || nowNanos - lastSweep < idleTimeoutNanos)
+            return false;
+
+        return lastSweepNanos.compareAndSet(lastSweep, nowNanos);
+    }
+
+    /**
+     *
+     * Marks {@code classType} as evicted. Soft policies keep a soft reference to
+     * {@code nodeInstance}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    void evict(Class<?> classType, Object nodeInstance) {
+        evictedInstances.put(classType,
+                evictionPolicy.holdSoftly() ? new SoftReference<>(nodeInstance) : RELEASED_INSTANCE);
+        lastAccessNanos.remove(classType);
+    }
+
+    boolean isEvicted(Class<?> classType) {
+        return evictedInstances.containsKey(classType);
+    }
+
+    /**
+     *
+     * @return The evicted instance of {@code classType} when it is still softly reachable,
+     *         otherwise null and the instance must be created again.
+     *
+     * @since 1.0.9
+     *
+     **/
+    Object getEvictedInstance(Class<?> classType) {
+        SoftReference<Object> evictedInstance = evictedInstances.get(classType);
+        return (evictedInstance != null) ? evictedInstance.get() : null;
+    }
+
+    /**
+     *
+     * Ends the eviction of {@code classType}. Called once its instance is back in the tree,
+     * so a query that finds no instance still sees the eviction and waits for the recreation.
+     *
+     * @since 1.0.9
+     *
+     **/
+    void restore(Class<?> classType) {
+        evictedInstances.remove(classType);
+    }
+
+    EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+}
@@ -0,0 +1,157 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.util.Checks;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *
+ * <b>StrategyMask</b> is an immutable bit set of {@link Strategy} names. Each strategy name
+ * is interned once into a bit position, shared by every {@link DependencyManager} of the
+ * JVM, so the masks precomputed by {@link TypeInformationHolder} can be compared with the
+ * mask of any manager. Checking if a class matches a manager strategy is then a single
+ * {@code AND} per 64 strategies, without any string comparison.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+public final class StrategyMask {
+
+    public static final StrategyMask EMPTY = new StrategyMask(new long[0]);
+
+    private static final Map<String, Integer> STRATEGY_BIT_POSITIONS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_BIT_POSITION = new AtomicInteger();
+
+    private final long[] words;
+
+    private StrategyMask(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     *
+     * Creates the mask of {@code strategyNames}, interning the names seen for the first time.
+     *
+     * @throws NullPointerException If any strategy name is null or blank.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public static StrategyMask of(Collection<String> strategyNames) {
+        Checks.nonNull(strategyNames, "strategyNames must not be null.");
+
+        if (strategyNames.isEmpty())
+            return EMPTY;
+
+        long[] words = new long[0];
+        for (String strategyName : strategyNames) {
+            final int bitPosition = intern(strategyName);
+            final int wordIndex = bitPosition >>> 6;
+
+            if (wordIndex >= words.length)
+                words = Arrays.copyOf(words, wordIndex + 1);
+
+            words[wordIndex] |= 1L << bitPosition;
+        }
+        return new StrategyMask(words);
+    }
+
+    /**
+     *
+     * @return The bit position of {@code strategyName}. The same name always has the same
+     *         position.
+     *
+     * @since 1.0.9
+     *
+     **/
+    static int intern(String strategyName) {
+        Checks.nonNullOrBlank(strategyName, "The strategy name must not be null.");
+        return STRATEGY_BIT_POSITIONS.computeIfAbsent(strategyName,
+                internedName -> NEXT_BIT_POSITION.getAndIncrement());
+    }
+
+    /**
+     *
+     * @return {@code true} if this mask and {@code strategyMask} have at least one
+     *         strategy in common.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public boolean intersects(StrategyMask strategyMask) {
+        final long[] otherWords = strategyMask.words;
+        final int commonLength = Math.min(words.length, otherWords.length);
+
+        for (int i = 0; i < commonLength; i++) {
+            if ((words[i] & otherWords[i]) != 0)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     *
+     * @return A new mask with the strategies of this mask and of {@code strategyMask}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public StrategyMask union(StrategyMask strategyMask) {
+        final long[] otherWords = strategyMask.words;
+        final long[] unionWords = Arrays.copyOf(words, Math.max(words.length, otherWords.length));
+
+        for (int i = 0; i < otherWords.length; i++)
+            unionWords[i] |= otherWords[i];
+
+        return new StrategyMask(unionWords);
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0)
+                return false;
+        }
+        return true;
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (long word : words)
+            cardinality += Long.bitCount(word);
+
+        return cardinality;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this)
+            return true;
+        else if (obj instanceof StrategyMask strategyMask) {
+            final long[] otherWords = strategyMask.words;
+            for (int i = 0; i < Math.max(words.length, otherWords.length); i++) {
+                long word = (i < words.length) ? words[i] : 0;
+                long otherWord = (i < otherWords.length) ? otherWords[i] : 0;
+                if (word != otherWord)
+                    return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        int lastWord = words.length;
+        while (lastWord > 0 && words[lastWord - 1] == 0)
+            lastWord--;
+
+        return Arrays.hashCode(Arrays.copyOf(words, lastWord));
+    }
+
+}
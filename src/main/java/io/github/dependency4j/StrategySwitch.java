@@ -0,0 +1,27 @@
+package io.github.dependency4j;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ *
+ * The result of {@link DependencyManager#switchStrategies(String...)}.
+ *
+ * @param installedClassTypes    The class types that became eligible and were installed.
+ * @param removedClassTypes      The class types that are no longer eligible, and the virtual
+ *                               class types they produced, removed from the tree.
+ * @param removedInstances       The instances of the removed class types. They are not closed,
+ *                               so the caller can release them.
+ * @param rewiredInjectionPoints The number of recreated beans and rewired {@link Pull} fields
+ *                               and setters whose resolution changed.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+public record StrategySwitch(Set<Class<?>> installedClassTypes,
+                             Set<Class<?>> removedClassTypes,
+                             List<Object> removedInstances,
+                             int rewiredInjectionPoints) {
+}
@@ -0,0 +1,63 @@
+package io.github.dependency4j;
+
+import java.util.List;
+
+/**
+ *
+ * <b>TypeInformation</b> is the eager form of {@link TypeInformationHolder}. All the
+ * {@link Managed} properties are decomposed once, when the record is created by
+ * {@link TypeInformationHolderFactory}, so reading them never triggers reflection.
+ * The record does not keep the source annotation.
+ *
+ * @param wrappedClassType The wrapped class type.
+ * @param name             The decomposed {@code @Managed.name}, or the class simple name.
+ * @param strategies       The decomposed {@code @Managed.strategy} values.
+ * @param disposable       The decomposed {@code @Managed.disposable} flag.
+ * @param dynamic          The decomposed {@code @Managed.dynamic} flag.
+ * @param strategyMask     The interned mask of {@code strategies}.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+record TypeInformation(Class<?> wrappedClassType, String name, List<String> strategies,
+                       boolean disposable, boolean dynamic, StrategyMask strategyMask)
+        implements TypeInformationHolder {
+
+    TypeInformation(Class<?> wrappedClassType, String name, List<String> strategies,
+                    boolean disposable, boolean dynamic) {
+        this(wrappedClassType, name, strategies, disposable, dynamic, StrategyMask.of(strategies));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public List<String> getStrategies() {
+        return strategies;
+    }
+
+    @Override
+    public StrategyMask getStrategyMask() {
+        return strategyMask;
+    }
+
+    @Override
+    public boolean isDisposable() {
+        return disposable;
+    }
+
+    @Override
+    public boolean isDynamic() {
+        return dynamic;
+    }
+
+    @Override
+    public Class<?> getWrappedClassType() {
+        return wrappedClassType;
+    }
+
+}
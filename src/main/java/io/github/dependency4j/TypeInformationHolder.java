@@ -8,6 +8,18 @@ public interface TypeInformationHolder {
 
     List<String> getStrategies();
 
+    /**
+     *
+     * The {@link StrategyMask} of {@link #getStrategies()}. Implementations should compute
+     * it once, since it is read for each eligibility check.
+     *
+     * @since 1.0.9
+     *
+     **/
+    default StrategyMask getStrategyMask() {
+        return StrategyMask.of(getStrategies());
+    }
+
     boolean isDisposable();
 
     boolean isDynamic();
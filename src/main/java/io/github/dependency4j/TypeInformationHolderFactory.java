@@ -1,13 +1,12 @@
 package io.github.dependency4j;
 
+import io.github.dependency4j.util.Checks;
 import io.github.dependency4j.util.ReflectionUtil;
 import io.github.dependency4j.util.StrUtil;
 
 import java.lang.annotation.Annotation;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static io.github.dependency4j.AnnotationDecomposer.decomposeProperty;
 import static io.github.dependency4j.AnnotationDecomposer.decomposeSiblingAnnotation;
@@ -16,9 +15,13 @@ import static io.github.dependency4j.AnnotationDecomposer.decomposeSiblingAnnota
  * <b>TypeInformationHolderFactory</b> is responsible for wrapping a class type to a
  * new {@link TypeInformationHolder}. This class decompose the {@link Managed} annotation
  * properties to the {@link TypeInformationHolder} related methods.
+ * <p>
+ * The properties are decomposed once per class type and cached in a {@link ClassValue},
+ * so the same {@link TypeInformationHolder} is shared by every {@link DependencyManager}
+ * of the JVM.
  *
  * @author daviddev16
- * @version 1.0.8
+ * @version 1.0.9
  **/
 public final class TypeInformationHolderFactory {
 
@@ -27,51 +30,35 @@ public final class TypeInformationHolderFactory {
     public static final String MANAGED_PROPERTY_DISPOSABLE = "@Managed.disposable";
     public static final String MANAGED_PROPERTY_DYNAMIC    = "@Managed.dynamic";
 
+    private static final ClassValue<TypeInformationHolder> TYPE_INFORMATION_CACHE = new ClassValue<>() {
+        @Override
+        protected TypeInformationHolder computeValue(Class<?> classType) {
+            return resolveTypeInformation(classType);
+        }
+    };
+
     private TypeInformationHolderFactory() {}
 
     public static TypeInformationHolder createTypeInformation(Class<?> classType) {
+        Checks.nonNull(classType, "classType must not be null.");
+        return TYPE_INFORMATION_CACHE.get(classType);
+    }
+
+    private static TypeInformationHolder resolveTypeInformation(Class<?> classType) {
         Annotation managedSiblingAnnotation =
                 decomposeSiblingAnnotation(classType, Managed.class);
 
         if (managedSiblingAnnotation == null)
             return createDefaultTypeInformation(classType);
 
-        return new TypeInformationHolder() {
-            private String name             = null;
-            private List<String> strategies = null;
-            private Boolean disposableFlag  = null;
-            private Boolean dynamicFlag     = null;
-
-            @Override
-            public String getName() {
-                return (name == null) ? (name = StrUtil.coalesceBlank(
+        return new TypeInformation(
+                classType,
+                StrUtil.coalesceBlank(
                         decomposeProperty(MANAGED_PROPERTY_NAME, managedSiblingAnnotation),
-                        classType.getSimpleName()))
-                        : name;
-            }
-            @Override
-            public List<String> getStrategies() {
-                return (strategies == null) ? (strategies =
-                        createStrategyListFromAnnotation(managedSiblingAnnotation))
-                        : strategies;
-            }
-            @Override
-            public boolean isDisposable() {
-                return (disposableFlag == null) ? (disposableFlag =
-                        createBooleanPropertyValue(MANAGED_PROPERTY_DISPOSABLE, managedSiblingAnnotation))
-                        : disposableFlag;
-            }
-            @Override
-            public boolean isDynamic() {
-                return (dynamicFlag == null) ? (dynamicFlag =
-                        createBooleanPropertyValue(MANAGED_PROPERTY_DYNAMIC, managedSiblingAnnotation))
-                        : dynamicFlag;
-            }
-            @Override
-            public Class<?> getWrappedClassType() {
-                return classType;
-            }
-        };
+                        classType.getSimpleName()),
+                createStrategyListFromAnnotation(managedSiblingAnnotation),
+                createBooleanPropertyValue(MANAGED_PROPERTY_DISPOSABLE, managedSiblingAnnotation),
+                createBooleanPropertyValue(MANAGED_PROPERTY_DYNAMIC, managedSiblingAnnotation));
     }
 
     private static List<String> createStrategyListFromAnnotation(Annotation managedSiblingAnnotation) {
@@ -81,12 +68,10 @@ public final class TypeInformationHolderFactory {
         if (decomposedStrategyInformation == null)
             return Collections.emptyList();
 
-        return Stream
-                .of(decomposedStrategyInformation.value())
-                .collect(Collectors.toList());
+        return List.of(decomposedStrategyInformation.value());
     }
 
-    private static Boolean createBooleanPropertyValue(String flagPropertyName,
+    private static boolean createBooleanPropertyValue(String flagPropertyName,
                                                       Annotation managedSiblingAnnotation) {
         return ReflectionUtil.defaultValueWhenNull(
                 Boolean.class,
@@ -94,30 +79,8 @@ public final class TypeInformationHolderFactory {
     }
 
     private static TypeInformationHolder createDefaultTypeInformation(Class<?> classType) {
-        return new TypeInformationHolder() {
-            @Override
-            public String getName() {
-                return classType.getSimpleName();
-            }
-            @Override
-            public List<String> getStrategies() {
-                return Collections.emptyList();
-            }
-            @Override
-            public boolean isDisposable() {
-                return true;
-            }
-            @Override
-            public boolean isDynamic() {
-                return false;
-            }
-            @Override
-            public Class<?> getWrappedClassType() {
-                return classType;
-            }
-        };
+        return new TypeInformation(classType, classType.getSimpleName(),
+                Collections.emptyList(), true, false);
     }
 
-
-
 }
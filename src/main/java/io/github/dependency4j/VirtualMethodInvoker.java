@@ -0,0 +1,130 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.util.ReflectionUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ *
+ * <b>VirtualMethodInvoker</b> is the linked form of a {@link Virtual} method. The method is
+ * unreflected once into a {@link MethodHandle} adapted to {@code (Object, Object[])Object},
+ * so each invocation skips the access and argument checks of {@link Method#invoke}.
+ * Methods that cannot be unreflected, such as methods of classes not accessible to
+ * this library, are invoked through reflection.
+ * <p>
+ * Invokers are linked lazily and cached per declaring class.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+final class VirtualMethodInvoker {
+
+    private static final ClassValue<Map<Method, VirtualMethodInvoker>> INVOKERS_CACHE = new ClassValue<>() {
+        @Override
+        protected Map<Method, VirtualMethodInvoker> computeValue(Class<?> declaringClassType) {
+            Map<Method, VirtualMethodInvoker> virtualMethodInvokers = new HashMap<>();
+            for (Method virtualMethod : ReflectionUtil.getVirtualMethods(declaringClassType))
+                if (virtualMethod.getDeclaringClass() == declaringClassType)
+                    virtualMethodInvokers.put(virtualMethod, new VirtualMethodInvoker(virtualMethod));
+
+            return Map.copyOf(virtualMethodInvokers);
+        }
+    };
+
+    private final Method virtualMethod;
+    private final MethodHandle spreadInvoker;
+
+    private VirtualMethodInvoker(Method virtualMethod) {
+        this.virtualMethod = virtualMethod;
+        this.spreadInvoker = linkSpreadInvoker(virtualMethod);
+    }
+
+    /**
+     *
+     * @return The cached invoker of {@code virtualMethod}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    static VirtualMethodInvoker of(Method virtualMethod) {
+        VirtualMethodInvoker virtualMethodInvoker =
+                INVOKERS_CACHE.get(virtualMethod.getDeclaringClass()).get(virtualMethod);
+
+        /* methods that are not annotated with Virtual are linked but not cached */
+        return (virtualMethodInvoker != null) ? virtualMethodInvoker : new VirtualMethodInvoker(virtualMethod);
+    }
+
+    /**
+     *
+     * Unreflects {@code virtualMethod} and adapts it to take the receiver and a spread
+     * argument array, both as {@link Object}. Static methods take no receiver, so the
+     * receiver argument is dropped.
+     *
+     * @return The adapted handle, or null when the method cannot be unreflected.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private static MethodHandle linkSpreadInvoker(Method virtualMethod) {
+        try {
+            MethodHandle methodHandle;
+            try {
+                methodHandle = MethodHandles.publicLookup().unreflect(virtualMethod);
+            } catch (IllegalAccessException exception) {
+                if (!virtualMethod.trySetAccessible())
+                    return null;
+                methodHandle = MethodHandles.lookup().unreflect(virtualMethod);
+            }
+
+            if (Modifier.isStatic(virtualMethod.getModifiers()))
+                methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+
+            final int parameterCount = virtualMethod.getParameterCount();
+            return methodHandle
+                    .asType(MethodType.genericMethodType(parameterCount + 1))
+                    .asSpreader(Object[].class, parameterCount);
+
+        } catch (IllegalAccessException exception) {
+            return null;
+        }
+    }
+
+    /**
+     *
+     * Invokes the virtual method of {@code instance} with {@code arguments}.
+     *
+     * @throws Throwable Any exception thrown by the virtual method itself. Reflective
+     *                   invocations unwrap the {@link InvocationTargetException}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    Object invoke(Object instance, Object[] arguments) throws Throwable {
+        if (spreadInvoker != null)
+            return (Object) spreadInvoker.invokeExact(instance, arguments);
+
+        try {
+            return virtualMethod.invoke(instance, arguments);
+        } catch (InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    Method getVirtualMethod() {
+        return virtualMethod;
+    }
+
+    boolean isLinked() {
+        return spreadInvoker != null;
+    }
+
+}
@@ -0,0 +1,25 @@
+package io.github.dependency4j.diagnostics;
+
+/**
+ *
+ * The cost of resolving one requested type in a {@code DependencySearchTree}, measured
+ * as the number of nodes visited by an uncached query.
+ *
+ * @param requestedType       The requested class type.
+ * @param firstMatchVisits    Nodes visited by a single result query, which stops at the
+ *                            first match. This is the cost of a first-match cache miss.
+ * @param fullScanVisits      Nodes visited when collecting every match, as done by
+ *                            {@code querySingletonsByType}.
+ * @param matchCount          The number of {@code SingletonNode}s matching the type, duplicated
+ *                            nodes included.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+public record ResolutionCost(Class<?> requestedType,
+                             int firstMatchVisits,
+                             int fullScanVisits,
+                             int matchCount) {
+}
@@ -0,0 +1,283 @@
+package io.github.dependency4j.diagnostics;
+
+import io.github.dependency4j.AbstractNode;
+import io.github.dependency4j.DependencySearchTree;
+import io.github.dependency4j.node.JavaTypeNode;
+import io.github.dependency4j.node.SingletonNode;
+import io.github.dependency4j.node.VirtualSingletonNode;
+import io.github.dependency4j.util.Checks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ *
+ * <b>TreeDiagnostics</b> reports the shape of a {@link DependencySearchTree} and the cost
+ * of resolving types in it, to find the class hierarchies that make lookups slow:
+ * <pre>
+ *  1. Depth and fan-out histograms
+ *  2. Class types held by more than one SingletonNode
+ *  3. Nodes visited by an uncached query, for each requested type
+ *  4. The most expensive types to resolve
+ * </pre>
+ * The report can be exported as JSON, and the tree itself as a Graphviz DOT graph. The
+ * visit counts follow the same walk as the tree queries, but the tree is only read: no
+ * cache is filled and no instance is created.
+ *
+ * @see io.github.dependency4j.util.D4JUtil#printDependencySearchTree(DependencySearchTree)
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+public final class TreeDiagnostics {
+
+    private TreeDiagnostics() {}
+
+    /**
+     *
+     * Analyzes {@code dependencySearchTree}, using every class type present in the tree
+     * as a requested type.
+     *
+     * @param dependencySearchTree The tree to be analyzed.
+     *
+     * @return The tree report.
+     *
+     * @throws NullPointerException When {@code dependencySearchTree} is null.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public static TreeDiagnosticsReport analyze(DependencySearchTree dependencySearchTree) {
+        Checks.nonNull(dependencySearchTree, "dependencySearchTree must not be null.");
+        Set<Class<?>> requestedTypes = new LinkedHashSet<>();
+        collectClassTypes(dependencySearchTree.getRootNode(), requestedTypes);
+        return analyze(dependencySearchTree, requestedTypes);
+    }
+
+    /**
+     *
+     * Analyzes {@code dependencySearchTree}, measuring the resolution cost of the given
+     * requested types only.
+     *
+     * @param dependencySearchTree The tree to be analyzed.
+     * @param requestedTypes       The types whose resolution cost is measured.
+     *
+     * @return The tree report.
+     *
+     * @throws NullPointerException When any argument is null.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public static TreeDiagnosticsReport analyze(DependencySearchTree dependencySearchTree,
+                                                Collection<Class<?>> requestedTypes) {
+        Checks.nonNull(dependencySearchTree, "dependencySearchTree must not be null.");
+        Checks.nonNull(requestedTypes, "requestedTypes must not be null.");
+
+        AbstractNode rootNode = dependencySearchTree.getRootNode();
+        SortedMap<Integer, Integer> depthHistogram  = new TreeMap<>();
+        SortedMap<Integer, Integer> fanOutHistogram = new TreeMap<>();
+        Map<Class<?>, Integer> singletonNodeCount   = new HashMap<>();
+
+        measureShape(rootNode, 0, depthHistogram, fanOutHistogram, singletonNodeCount);
+
+        Map<Class<?>, Integer> duplicatedSingletons = new LinkedHashMap<>();
+        singletonNodeCount.entrySet().stream()
+                .filter(entry -> entry.getValue() > 1)
+                .sorted(Map.Entry.<Class<?>, Integer>comparingByValue().reversed()
+                        .thenComparing(entry -> entry.getKey().getName()))
+                .forEach(entry -> duplicatedSingletons.put(entry.getKey(), entry.getValue()));
+
+        List<ResolutionCost> resolutionCosts = new ArrayList<>();
+        for (Class<?> requestedType : requestedTypes)
+            resolutionCosts.add(measureResolutionCost(rootNode, requestedType));
+
+        resolutionCosts.sort(Comparator.comparingInt(ResolutionCost::firstMatchVisits)
+                .thenComparingInt(ResolutionCost::fullScanVisits)
+                .reversed()
+                .thenComparing(resolutionCost -> resolutionCost.requestedType().getName()));
+
+        int nodeCount = depthHistogram.values().stream().mapToInt(Integer::intValue).sum();
+
+        return new TreeDiagnosticsReport(nodeCount, depthHistogram.lastKey(),
+                Collections.unmodifiableSortedMap(depthHistogram),
+                Collections.unmodifiableSortedMap(fanOutHistogram),
+                Collections.unmodifiableMap(duplicatedSingletons),
+                Collections.unmodifiableList(resolutionCosts));
+    }
+
+    /**
+     *
+     * Writes {@code dependencySearchTree} as a Graphviz DOT file.
+     *
+     * @param dependencySearchTree The tree to be written.
+     * @param file                 The output file. It is created or replaced.
+     *
+     * @throws IOException When the file cannot be written.
+     *
+     * @see #writeDot(DependencySearchTree, Writer)
+     *
+     * @since 1.0.9
+     *
+     **/
+    public static void writeDot(DependencySearchTree dependencySearchTree, Path file) throws IOException {
+        Checks.nonNull(file, "file must not be null.");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeDot(dependencySearchTree, writer);
+        }
+    }
+
+    /**
+     *
+     * Writes {@code dependencySearchTree} as a Graphviz DOT graph. Java type nodes are
+     * ellipses, singleton nodes are boxes, virtual singleton nodes are dashed boxes, and
+     * singleton nodes whose class type is held by more than one node are filled.
+     *
+     * @param dependencySearchTree The tree to be written.
+     * @param writer               The output writer. It is not closed.
+     *
+     * @throws IOException When the writer fails.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public static void writeDot(DependencySearchTree dependencySearchTree, Writer writer) throws IOException {
+        Checks.nonNull(dependencySearchTree, "dependencySearchTree must not be null.");
+        Checks.nonNull(writer, "writer must not be null.");
+
+        Set<Class<?>> duplicatedClassTypes =
+                analyze(dependencySearchTree, List.of()).duplicatedSingletons().keySet();
+
+        writer.write("digraph DependencySearchTree {\n");
+        writer.write("  rankdir=LR;\n");
+        writer.write("  node [fontname=\"Helvetica\"];\n");
+        writeDotNode(dependencySearchTree.getRootNode(), new int[] {0}, duplicatedClassTypes, writer);
+        writer.write("}\n");
+        writer.flush();
+    }
+
+    private static int writeDotNode(AbstractNode node, int[] nextNodeId,
+                                    Set<Class<?>> duplicatedClassTypes, Writer writer) throws IOException {
+        int nodeId = nextNodeId[0]++;
+        writer.write("  n" + nodeId + " [" + dotAttributes(node, duplicatedClassTypes) + "];\n");
+
+        for (int i = 0; i < node.childCount(); i++) {
+            int childNodeId = writeDotNode(node.childAt(i), nextNodeId, duplicatedClassTypes, writer);
+            writer.write("  n" + nodeId + " -> n" + childNodeId + ";\n");
+        }
+        return nodeId;
+    }
+
+    private static String dotAttributes(AbstractNode node, Set<Class<?>> duplicatedClassTypes) {
+        if (node instanceof JavaTypeNode javaTypeNode)
+            return "label=" + quote(javaTypeNode.getNodeClassType().getSimpleName()) + ", shape=ellipse";
+
+        if (node instanceof SingletonNode singletonNode) {
+            String attributes = "label=" + quote(singletonNode.getNodeClassType().getSimpleName()) + ", shape=box";
+
+            if (singletonNode instanceof VirtualSingletonNode)
+                attributes += ", style=\"dashed\"";
+
+            else if (duplicatedClassTypes.contains(singletonNode.getNodeClassType()))
+                attributes += ", style=filled, fillcolor=\"#f4cccc\"";
+
+            return attributes;
+        }
+        return "label=\"root\", shape=doublecircle";
+    }
+
+    private static void measureShape(AbstractNode node, int depth,
+                                     Map<Integer, Integer> depthHistogram,
+                                     Map<Integer, Integer> fanOutHistogram,
+                                     Map<Class<?>, Integer> singletonNodeCount) {
+
+        depthHistogram.merge(depth, 1, Integer::sum);
+
+        if (node instanceof SingletonNode singletonNode)
+            singletonNodeCount.merge(singletonNode.getNodeClassType(), 1, Integer::sum);
+
+        if (node.childCount() > 0)
+            fanOutHistogram.merge(node.childCount(), 1, Integer::sum);
+
+        for (int i = 0; i < node.childCount(); i++)
+            measureShape(node.childAt(i), depth + 1, depthHistogram, fanOutHistogram, singletonNodeCount);
+    }
+
+    private static void collectClassTypes(AbstractNode node, Set<Class<?>> classTypes) {
+        for (int i = 0; i < node.childCount(); i++) {
+            AbstractNode childNode = node.childAt(i);
+
+            if (childNode instanceof JavaTypeNode javaTypeNode)
+                classTypes.add(javaTypeNode.getNodeClassType());
+
+            else if (childNode instanceof SingletonNode singletonNode)
+                classTypes.add(singletonNode.getNodeClassType());
+
+            collectClassTypes(childNode, classTypes);
+        }
+    }
+
+    private static ResolutionCost measureResolutionCost(AbstractNode rootNode, Class<?> requestedType) {
+        int[] firstMatchVisits = {0};
+        visitUntilFirstMatch(rootNode, requestedType, firstMatchVisits);
+
+        int[] fullScanVisits = {0};
+        int matchCount = visitAllMatches(rootNode, requestedType, fullScanVisits);
+
+        return new ResolutionCost(requestedType, firstMatchVisits[0], fullScanVisits[0], matchCount);
+    }
+
+    /* same walk as DependencySearchTree#queryFirstSingletonByType */
+    private static boolean visitUntilFirstMatch(AbstractNode node, Class<?> requestedType, int[] visits) {
+        for (int i = 0; i < node.childCount(); i++) {
+            AbstractNode childNode = node.childAt(i);
+            visits[0]++;
+
+            if (childNode instanceof JavaTypeNode javaTypeNode) {
+                if (javaTypeNode.getNodeClassType().isAssignableFrom(requestedType)
+                        && visitUntilFirstMatch(javaTypeNode, requestedType, visits))
+                    return true;
+            }
+            else if (childNode instanceof SingletonNode singletonNode
+                    && requestedType.isAssignableFrom(singletonNode.getNodeClassType()))
+                return true;
+        }
+        return false;
+    }
+
+    /* same walk as DependencySearchTree#querySingletonsByType */
+    private static int visitAllMatches(AbstractNode node, Class<?> requestedType, int[] visits) {
+        int matchCount = 0;
+        for (int i = 0; i < node.childCount(); i++) {
+            AbstractNode childNode = node.childAt(i);
+            visits[0]++;
+
+            if (childNode instanceof JavaTypeNode javaTypeNode) {
+                if (javaTypeNode.getNodeClassType().isAssignableFrom(requestedType))
+                    matchCount += visitAllMatches(javaTypeNode, requestedType, visits);
+            }
+            else if (childNode instanceof SingletonNode singletonNode
+                    && requestedType.isAssignableFrom(singletonNode.getNodeClassType()))
+                matchCount++;
+        }
+        return matchCount;
+    }
+
+    static String quote(String value) {
+        StringBuilder quotedValue = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character == '"' || character == '\\')
+                quotedValue.append('\\');
+            quotedValue.append(character);
+        }
+        return quotedValue.append('"').toString();
+    }
+
+}
@@ -0,0 +1,123 @@
+package io.github.dependency4j.diagnostics;
+
+import io.github.dependency4j.util.Checks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ *
+ * The shape and resolution cost report of a {@code DependencySearchTree}, created by
+ * {@link TreeDiagnostics#analyze}.
+ *
+ * @param nodeCount            The number of nodes, including the root node.
+ * @param maxDepth             The depth of the deepest node. The root node has depth 0.
+ * @param depthHistogram       The number of nodes at each depth.
+ * @param fanOutHistogram      The number of nodes with each child count, leaves excluded.
+ * @param duplicatedSingletons The number of {@code SingletonNode}s of each class type held by
+ *                             more than one node, highest first.
+ * @param resolutionCosts      The resolution cost of each requested type, most expensive first.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+public record TreeDiagnosticsReport(int nodeCount,
+                                    int maxDepth,
+                                    SortedMap<Integer, Integer> depthHistogram,
+                                    SortedMap<Integer, Integer> fanOutHistogram,
+                                    Map<Class<?>, Integer> duplicatedSingletons,
+                                    List<ResolutionCost> resolutionCosts) {
+
+    /**
+     *
+     * @param limit The maximum number of returned costs.
+     *
+     * @return The {@code limit} most expensive types to resolve.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public List<ResolutionCost> mostExpensive(int limit) {
+        Checks.state(limit >= 0, "limit must not be negative.");
+        return resolutionCosts.subList(0, Math.min(limit, resolutionCosts.size()));
+    }
+
+    /**
+     *
+     * Writes the report as a JSON file.
+     *
+     * @param file The output file. It is created or replaced.
+     *
+     * @throws IOException When the file cannot be written.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public void writeJson(Path file) throws IOException {
+        Checks.nonNull(file, "file must not be null.");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeJson(writer);
+        }
+    }
+
+    /**
+     *
+     * Writes the report as a JSON document.
+     *
+     * @param writer The output writer. It is not closed.
+     *
+     * @throws IOException When the writer fails.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public void writeJson(Writer writer) throws IOException {
+        Checks.nonNull(writer, "writer must not be null.");
+        writer.write("{\n");
+        writer.write("  \"nodeCount\": " + nodeCount + ",\n");
+        writer.write("  \"maxDepth\": " + maxDepth + ",\n");
+        writer.write("  \"depthHistogram\": " + toJsonObject(depthHistogram) + ",\n");
+        writer.write("  \"fanOutHistogram\": " + toJsonObject(fanOutHistogram) + ",\n");
+
+        writer.write("  \"duplicatedSingletons\": {");
+        String separator = "";
+        for (Map.Entry<Class<?>, Integer> duplicatedSingleton : duplicatedSingletons.entrySet()) {
+            writer.write(separator + "\n    " + TreeDiagnostics.quote(duplicatedSingleton.getKey().getName())
+                    + ": " + duplicatedSingleton.getValue());
+            separator = ",";
+        }
+        writer.write(duplicatedSingletons.isEmpty() ? "},\n" : "\n  },\n");
+
+        writer.write("  \"resolutionCosts\": [");
+        separator = "";
+        for (ResolutionCost resolutionCost : resolutionCosts) {
+            writer.write(separator + "\n    {\"type\": " + TreeDiagnostics.quote(resolutionCost.requestedType().getName()) +
+                    ", \"firstMatchVisits\": " + resolutionCost.firstMatchVisits() +
+                    ", \"fullScanVisits\": " + resolutionCost.fullScanVisits() +
+                    ", \"matchCount\": " + resolutionCost.matchCount() + "}");
+            separator = ",";
+        }
+        writer.write(resolutionCosts.isEmpty() ? "]\n" : "\n  ]\n");
+        writer.write("}\n");
+        writer.flush();
+    }
+
+    private static String toJsonObject(Map<Integer, Integer> histogram) {
+        StringBuilder jsonObject = new StringBuilder("{");
+        String separator = "";
+        for (Map.Entry<Integer, Integer> bucket : histogram.entrySet()) {
+            jsonObject.append(separator).append('"').append(bucket.getKey()).append("\": ").append(bucket.getValue());
+            separator = ", ";
+        }
+        return jsonObject.append('}').toString();
+    }
+
+}
@@ -0,0 +1,18 @@
+package io.github.dependency4j.exception;
+
+/**
+ *
+ * Thrown by {@code DependencyManager.close()} when one or more beans failed to close or
+ * did not close in time. Each failure is added as a suppressed exception.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+public final class ShutdownFailedException extends RuntimeException {
+
+    public ShutdownFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.dependency4j.exception;
+
+public final class SnapshotFailedException extends RuntimeException {
+
+    public SnapshotFailedException(String message) {
+        super(message);
+    }
+
+    public SnapshotFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
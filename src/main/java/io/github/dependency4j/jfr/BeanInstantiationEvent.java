@@ -0,0 +1,36 @@
+package io.github.dependency4j.jfr;
+
+import jdk.jfr.*;
+
+/**
+ *
+ * JFR event committed by {@code DependencyManager} for each created bean. The event
+ * duration covers the whole instantiation, including the creation of the dependencies
+ * and the member injection. {@link #constructorDuration} is the time spent in the
+ * constructor itself.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+@Name("io.github.dependency4j.BeanInstantiation")
+@Label("Bean Instantiation")
+@Category("Dependency4j")
+@Description("Creation of a managed bean")
+@StackTrace(false)
+public final class BeanInstantiationEvent extends Event {
+
+    @Label("Bean Class")
+    public Class<?> beanClass;
+
+    @Label("Virtual")
+    @Description("The bean was created by a @Virtual method")
+    public boolean virtual;
+
+    @Label("Constructor Duration")
+    @Description("Time spent in the constructor or @Virtual method, without resolving its parameters")
+    @Timespan(Timespan.NANOSECONDS)
+    public long constructorDuration;
+
+}
@@ -0,0 +1,31 @@
+package io.github.dependency4j.jfr;
+
+import jdk.jfr.*;
+
+/**
+ *
+ * JFR event committed by {@code DependencyManager} after the {@code @Pull} field and
+ * setter injection of an instance.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+@Name("io.github.dependency4j.Injection")
+@Label("Injection")
+@Category("Dependency4j")
+@Description("Field and setter injection of an instance")
+@StackTrace(false)
+public final class InjectionEvent extends Event {
+
+    @Label("Target Class")
+    public Class<?> targetClass;
+
+    @Label("Field Count")
+    public int fieldCount;
+
+    @Label("Setter Count")
+    public int setterCount;
+
+}
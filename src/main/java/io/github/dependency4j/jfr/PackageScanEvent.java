@@ -0,0 +1,33 @@
+package io.github.dependency4j.jfr;
+
+import jdk.jfr.*;
+
+/**
+ *
+ * JFR event committed by {@code ClassFinder.scanPackages} for each scanned package.
+ * The event duration is the scan duration, including class loading.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+@Name("io.github.dependency4j.PackageScan")
+@Label("Package Scan")
+@Category("Dependency4j")
+@Description("Scan of a package for managed classes")
+@StackTrace(false)
+public final class PackageScanEvent extends Event {
+
+    @Label("Package")
+    public String packageName;
+
+    @Label("Class Count")
+    public int classCount;
+
+    @Label("Bytes Read")
+    @Description("Size of the scanned class files")
+    @DataAmount
+    public long bytesRead;
+
+}
@@ -0,0 +1,33 @@
+package io.github.dependency4j.jfr;
+
+import jdk.jfr.*;
+
+/**
+ *
+ * JFR event committed by {@code DependencySearchTree} for singleton queries slower than
+ * the event threshold, {@code 1 ms} by default. The threshold can be changed in the
+ * recording settings, like any other JFR event.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+@Name("io.github.dependency4j.SlowQuery")
+@Label("Slow Query")
+@Category("Dependency4j")
+@Description("Singleton query slower than the threshold")
+@Threshold("1 ms")
+public final class SlowQueryEvent extends Event {
+
+    @Label("Queried Type")
+    public Class<?> queriedType;
+
+    @Label("Name")
+    @Description("The name filter of the query, if any")
+    public String name;
+
+    @Label("Found")
+    public boolean found;
+
+}
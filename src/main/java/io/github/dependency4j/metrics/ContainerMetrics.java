@@ -0,0 +1,68 @@
+package io.github.dependency4j.metrics;
+
+/**
+ *
+ * <b>ContainerMetrics</b> is the metrics SPI of {@code DependencyManager}. The manager
+ * and its {@code DependencySearchTree} report every query and instantiation to the
+ * installed implementation, which can forward them to any metrics library.
+ * <p>
+ * All methods have empty default implementations and are called on the caller thread,
+ * so implementations must be thread-safe and should not block. {@link #NOOP} is installed
+ * by default, and {@link DefaultContainerMetrics} is the built-in {@code LongAdder}
+ * based implementation used by the JMX MBean.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+public interface ContainerMetrics {
+
+    /**
+     *
+     * The default metrics, which discard everything.
+     *
+     * @since 1.0.9
+     *
+     **/
+    ContainerMetrics NOOP = new ContainerMetrics() {};
+
+    /**
+     *
+     * Called for each singleton query, including the queries done while resolving
+     * injection points.
+     *
+     * @param queriedType The queried class type.
+     * @param byName      True if the query was filtered by a managed name.
+     * @param cacheHit    True if the query was answered by the name index or by the
+     *                    first-match cache, without walking the tree.
+     *
+     * @since 1.0.9
+     *
+     **/
+    default void recordQuery(Class<?> queriedType, boolean byName, boolean cacheHit) {}
+
+    /**
+     *
+     * Called after a singleton bean was created and injected.
+     *
+     * @param beanType      The class type of the created bean.
+     * @param durationNanos The instantiation duration, including its dependencies.
+     *
+     * @since 1.0.9
+     *
+     **/
+    default void recordInstantiation(Class<?> beanType, long durationNanos) {}
+
+    /**
+     *
+     * Called after a new instance of a dynamic {@code @Managed} class was created.
+     *
+     * @param beanType The dynamic class type.
+     *
+     * @since 1.0.9
+     *
+     **/
+    default void recordDynamicInstantiation(Class<?> beanType) {}
+
+}
@@ -0,0 +1,96 @@
+package io.github.dependency4j.metrics;
+
+import io.github.dependency4j.DependencySearchTree;
+import io.github.dependency4j.util.Checks;
+
+import java.util.Map;
+
+/**
+ *
+ * The {@link ContainerMetricsMXBean} implementation. Counters are read from a
+ * {@link DefaultContainerMetrics} and the tree gauges from the {@link DependencySearchTree}
+ * of the manager, at the time the attribute is read.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+public final class ContainerMetricsMBean implements ContainerMetricsMXBean {
+
+    private final DefaultContainerMetrics containerMetrics;
+    private final DependencySearchTree dependencySearchTree;
+
+    public ContainerMetricsMBean(DefaultContainerMetrics containerMetrics,
+                                 DependencySearchTree dependencySearchTree) {
+        this.containerMetrics     = Checks.nonNull(containerMetrics, "containerMetrics must not be null.");
+        this.dependencySearchTree = Checks.nonNull(dependencySearchTree, "dependencySearchTree must not be null.");
+    }
+
+    @Override
+    public long getQueryCount() {
+        return containerMetrics.getQueryCount();
+    }
+
+    @Override
+    public long getQueryByTypeCount() {
+        return containerMetrics.getQueryByTypeCount();
+    }
+
+    @Override
+    public long getQueryByNameCount() {
+        return containerMetrics.getQueryByNameCount();
+    }
+
+    @Override
+    public double getCacheHitRatio() {
+        return containerMetrics.getCacheHitRatio();
+    }
+
+    @Override
+    public long getInstantiationCount() {
+        return containerMetrics.getInstantiationCount();
+    }
+
+    @Override
+    public long getMeanInstantiationNanos() {
+        long instantiationCount = containerMetrics.getInstantiationCount();
+        return (instantiationCount == 0) ? 0 : containerMetrics.getInstantiationNanos() / instantiationCount;
+    }
+
+    @Override
+    public Map<String, Long> getInstantiationCountByType() {
+        return containerMetrics.getInstantiationCountByType();
+    }
+
+    @Override
+    public Map<String, Long> getMeanInstantiationNanosByType() {
+        return containerMetrics.getMeanInstantiationNanosByType();
+    }
+
+    @Override
+    public long[] getInstantiationHistogram() {
+        return containerMetrics.getInstantiationHistogram();
+    }
+
+    @Override
+    public long getDynamicInstantiationCount() {
+        return containerMetrics.getDynamicInstantiationCount();
+    }
+
+    @Override
+    public double getDynamicInstantiationRate() {
+        return containerMetrics.getDynamicInstantiationRate();
+    }
+
+    @Override
+    public int getTreeNodeCount() {
+        return dependencySearchTree.countNodes();
+    }
+
+    @Override
+    public int getBeanCount() {
+        return dependencySearchTree.countSingletonBeans();
+    }
+
+}
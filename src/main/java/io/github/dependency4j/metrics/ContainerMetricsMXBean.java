@@ -0,0 +1,44 @@
+package io.github.dependency4j.metrics;
+
+import java.util.Map;
+
+/**
+ *
+ * JMX view of the metrics of a {@code DependencyManager}, registered by
+ * {@code DependencyManager.registerMBean(String)} under
+ * {@code io.github.dependency4j:type=DependencyManager,name=<name>}.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+public interface ContainerMetricsMXBean {
+
+    long getQueryCount();
+
+    long getQueryByTypeCount();
+
+    long getQueryByNameCount();
+
+    double getCacheHitRatio();
+
+    long getInstantiationCount();
+
+    long getMeanInstantiationNanos();
+
+    Map<String, Long> getInstantiationCountByType();
+
+    Map<String, Long> getMeanInstantiationNanosByType();
+
+    long[] getInstantiationHistogram();
+
+    long getDynamicInstantiationCount();
+
+    double getDynamicInstantiationRate();
+
+    int getTreeNodeCount();
+
+    int getBeanCount();
+
+}
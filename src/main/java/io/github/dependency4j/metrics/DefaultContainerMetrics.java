@@ -0,0 +1,179 @@
+package io.github.dependency4j.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *
+ * <b>DefaultContainerMetrics</b> is the built-in {@link ContainerMetrics}. Every counter
+ * is a {@link LongAdder}, so the recording path never locks and does not allocate once
+ * a bean type has been seen.
+ * <p>
+ * Instantiation latencies are kept per type and in a histogram with power-of-two
+ * nanosecond buckets: bucket {@code i} counts durations in {@code [2^i, 2^(i+1))}.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+public final class DefaultContainerMetrics implements ContainerMetrics {
+
+    public static final int HISTOGRAM_BUCKET_COUNT = 64;
+
+    private final long creationTimeNanos;
+
+    private final LongAdder queryByTypeCount   = new LongAdder();
+    private final LongAdder queryByNameCount   = new LongAdder();
+    private final LongAdder queryCacheHitCount = new LongAdder();
+    private final LongAdder instantiationCount = new LongAdder();
+    private final LongAdder instantiationNanos = new LongAdder();
+    private final LongAdder dynamicInstantiationCount = new LongAdder();
+
+    private final LongAdder[] instantiationHistogram;
+    private final Map<Class<?>, TypeStatistics> typeStatistics;
+
+    public DefaultContainerMetrics() {
+        creationTimeNanos      = System.nanoTime();
+        instantiationHistogram = new LongAdder[HISTOGRAM_BUCKET_COUNT];
+        typeStatistics         = new ConcurrentHashMap<>();
+
+        for (int i = 0; i < HISTOGRAM_BUCKET_COUNT; i++)
+            instantiationHistogram[i] = new LongAdder();
+    }
+
+    @Override
+    public void recordQuery(Class<?> queriedType, boolean byName, boolean cacheHit) {
+        (byName ? queryByNameCount : queryByTypeCount).increment();
+        if (cacheHit)
+            queryCacheHitCount.increment();
+    }
+
+    @Override
+    public void recordInstantiation(Class<?> beanType, long durationNanos) {
+        instantiationCount.increment();
+        instantiationNanos.add(durationNanos);
+        instantiationHistogram[histogramBucket(durationNanos)].increment();
+
+        TypeStatistics statistics = typeStatistics.get(beanType);
+        if (statistics == null)
+            statistics = typeStatistics.computeIfAbsent(beanType, classType -> new TypeStatistics());
+
+        statistics.count.increment();
+        statistics.totalNanos.add(durationNanos);
+    }
+
+    @Override
+    public void recordDynamicInstantiation(Class<?> beanType) {
+        dynamicInstantiationCount.increment();
+    }
+
+    public long getQueryCount() {
+        return queryByTypeCount.sum() + queryByNameCount.sum();
+    }
+
+    public long getQueryByTypeCount() {
+        return queryByTypeCount.sum();
+    }
+
+    public long getQueryByNameCount() {
+        return queryByNameCount.sum();
+    }
+
+    /**
+     *
+     * @return The ratio of queries answered without walking the tree, between 0 and 1.
+     *         Zero when no query was recorded.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public double getCacheHitRatio() {
+        long queryCount = getQueryCount();
+        return (queryCount == 0) ? 0.0 : (double) queryCacheHitCount.sum() / queryCount;
+    }
+
+    public long getInstantiationCount() {
+        return instantiationCount.sum();
+    }
+
+    public long getInstantiationNanos() {
+        return instantiationNanos.sum();
+    }
+
+    public long getDynamicInstantiationCount() {
+        return dynamicInstantiationCount.sum();
+    }
+
+    /**
+     *
+     * @return The mean number of dynamic instances created per second since the
+     *         creation of these metrics.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public double getDynamicInstantiationRate() {
+        double elapsedSeconds = (System.nanoTime() - creationTimeNanos) / 1e9;
+        return (elapsedSeconds <= 0) ? 0.0 : dynamicInstantiationCount.sum() / elapsedSeconds;
+    }
+
+    /**
+     *
+     * @return A snapshot of the instantiation latency histogram. See the class
+     *         documentation for the bucket bounds.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public long[] getInstantiationHistogram() {
+        long[] histogram = new long[HISTOGRAM_BUCKET_COUNT];
+        for (int i = 0; i < HISTOGRAM_BUCKET_COUNT; i++)
+            histogram[i] = instantiationHistogram[i].sum();
+        return histogram;
+    }
+
+    /**
+     *
+     * @return A snapshot of the instantiation count per bean type, keyed by class name.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public Map<String, Long> getInstantiationCountByType() {
+        Map<String, Long> countByType = new TreeMap<>();
+        typeStatistics.forEach((beanType, statistics) ->
+                countByType.put(beanType.getName(), statistics.count.sum()));
+        return Collections.unmodifiableMap(countByType);
+    }
+
+    /**
+     *
+     * @return A snapshot of the mean instantiation latency in nanoseconds per bean type,
+     *         keyed by class name.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public Map<String, Long> getMeanInstantiationNanosByType() {
+        Map<String, Long> meanByType = new TreeMap<>();
+        typeStatistics.forEach((beanType, statistics) -> {
+            long count = statistics.count.sum();
+            meanByType.put(beanType.getName(), (count == 0) ? 0 : statistics.totalNanos.sum() / count);
+        });
+        return Collections.unmodifiableMap(meanByType);
+    }
+
+    static int histogramBucket(long durationNanos) {
+        return (durationNanos <= 0) ? 0 : 63 - Long.numberOfLeadingZeros(durationNanos);
+    }
+
+    private static final class TypeStatistics {
+        private final LongAdder count      = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+    }
+
+}
@@ -2,15 +2,19 @@ package io.github.dependency4j.node;
 
 import io.github.dependency4j.AbstractNode;
 
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.*;
 
 /**
  *
  * <b>BaseNode</b> as the name says, it is a base implementation of a
- * {@link AbstractNode} for the tree nodes. Provides a common {@link Set}
- * instance that can be used by the subclasses of {@link BaseNode} to
- * store their children.
+ * {@link AbstractNode} for the tree nodes. Provides a compact children
+ * storage that can be used by the subclasses of {@link BaseNode}.
+ * <p>
+ * Children are kept in an array that grows on demand, preserving the insertion
+ * order. Duplicated children are detected by a linear scan while the node is
+ * small, and by a {@link HashSet} once the node has more than
+ * {@link #HASH_LOOKUP_THRESHOLD} children. Most nodes have only a few children,
+ * so they never allocate a hash table.
  *
  * @see SingletonNode
  * @see JavaTypeNode
@@ -23,40 +27,154 @@ import java.util.Set;
  **/
 public abstract class BaseNode implements AbstractNode {
 
-    private final Set<AbstractNode> childrenSet;
+    private static final AbstractNode[] EMPTY_CHILDREN = new AbstractNode[0];
+    private static final int HASH_LOOKUP_THRESHOLD = 8;
+    private static final int INITIAL_CAPACITY = 2;
+
+    private AbstractNode[] children;
+    private int childCount;
+    private Set<AbstractNode> childLookupSet;
 
     public BaseNode() {
-        this.childrenSet = new LinkedHashSet<>();
+        this.children = EMPTY_CHILDREN;
     }
 
     /**
      *
      * {@inheritDoc}
      * <p>
-     * Adds the {@code abstractNode} to the {@link Set} implementation
-     * of {@link BaseNode}
+     * Appends the {@code abstractNode} to the children array of {@link BaseNode}
+     * if no equal child was added before.
      *
      * @since 1.0.0
      *
      **/
     @Override
     public void addChildNode(AbstractNode abstractNode) {
-        childrenSet.add(abstractNode);
+        if (containsChildNode(abstractNode))
+            return;
+
+        if (childCount == children.length)
+            children = Arrays.copyOf(children, Math.max(INITIAL_CAPACITY, childCount * 2));
+
+        children[childCount++] = abstractNode;
+
+        if (childLookupSet != null)
+            childLookupSet.add(abstractNode);
+
+        else if (childCount > HASH_LOOKUP_THRESHOLD)
+            childLookupSet = new HashSet<>(Arrays.asList(children).subList(0, childCount));
+    }
+
+    /**
+     *
+     * Removes {@code abstractNode} from the children of {@link BaseNode}, keeping the
+     * insertion order of the other children. The child is matched by {@code equals},
+     * like the duplicated children in {@link #addChildNode(AbstractNode)}.
+     *
+     * @return {@code true} if the child was removed.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public boolean removeChildNode(AbstractNode abstractNode) {
+        for (int i = 0; i < childCount; i++) {
+            if (!children[i].equals(abstractNode))
+                continue;
+
+            System.arraycopy(children, i + 1, children, i, childCount - i - 1);
+            children[--childCount] = null;
+
+            if (childLookupSet != null)
+                childLookupSet.remove(abstractNode);
+
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     *
+     * Checks if an equal child was already added to this node.
+     *
+     * @since 1.0.9
+     *
+     **/
+    private boolean containsChildNode(AbstractNode abstractNode) {
+        if (childLookupSet != null)
+            return childLookupSet.contains(abstractNode);
+
+        for (int i = 0; i < childCount; i++)
+            if (children[i].equals(abstractNode))
+                return true;
+
+        return false;
+    }
+
+    /**
+     *
+     * {@inheritDoc}
+     *
+     * @since 1.0.9
+     *
+     **/
+    @Override
+    public int childCount() {
+        return childCount;
+    }
+
+    /**
+     *
+     * {@inheritDoc}
+     *
+     * @since 1.0.9
+     *
+     **/
+    @Override
+    public AbstractNode childAt(int index) {
+        Objects.checkIndex(index, childCount);
+        return children[index];
     }
 
     /**
      *
      * {@inheritDoc}
      * <p>
-     * Returns the {@link Set} instance implemented inside of {@link BaseNode}
-     * constructor.
+     * Returns an unmodifiable {@link Set} view of the children array, in
+     * insertion order.
      *
      * @since 1.0.0
      *
      **/
     @Override
     public Set<AbstractNode> children() {
-        return childrenSet;
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<AbstractNode> iterator() {
+                return new Iterator<>() {
+                    private int index = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < childCount;
+                    }
+                    @Override
+                    public AbstractNode next() {
+                        if (index >= childCount)
+                            throw new NoSuchElementException();
+                        return children[index++];
+                    }
+                };
+            }
+            @Override
+            public boolean contains(Object object) {
+                return object instanceof AbstractNode abstractNode && containsChildNode(abstractNode);
+            }
+            @Override
+            public int size() {
+                return childCount;
+            }
+        };
     }
 
 }
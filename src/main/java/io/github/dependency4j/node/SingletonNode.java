@@ -20,11 +20,40 @@ import java.util.Set;
  **/
 public class SingletonNode implements AbstractNode {
 
-    private volatile Object nodeSingletonInstance;
+    private final InstanceSlot instanceSlot;
     private final TypeInformationHolder typeInformationHolder;
 
     public SingletonNode(TypeInformationHolder typeInformationHolder) {
         this.typeInformationHolder = typeInformationHolder;
+        this.instanceSlot          = new InstanceSlot();
+    }
+
+    /**
+     *
+     * Creates a path copy of {@code sharedSingletonNode}, wrapping the same class type and
+     * sharing the same instance slot.
+     *
+     * @since 1.0.9
+     *
+     **/
+    protected SingletonNode(SingletonNode sharedSingletonNode) {
+        this.typeInformationHolder = sharedSingletonNode.typeInformationHolder;
+        this.instanceSlot          = sharedSingletonNode.instanceSlot;
+    }
+
+    /**
+     *
+     * Creates a node for another path of the same class type in the search tree. Every
+     * path copy shares the instance slot of this node, so an instance set on any of them
+     * is seen by all of them at once, with a single volatile write.
+     *
+     * @return A new node of the same kind, wrapping the same class type.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public SingletonNode createPathCopy() {
+        return new SingletonNode(this);
     }
 
     public TypeInformationHolder getTypeInformationHolder() {
@@ -54,7 +83,7 @@ public class SingletonNode implements AbstractNode {
      *
      **/
     public void setNodeInstance(Object nodeSingletonInstance) {
-        this.nodeSingletonInstance = nodeSingletonInstance;
+        instanceSlot.nodeSingletonInstance = nodeSingletonInstance;
     }
 
     /**
@@ -75,7 +104,7 @@ public class SingletonNode implements AbstractNode {
      * @since 1.0.0
      * */
     public Object getNodeInstance() {
-        return nodeSingletonInstance;
+        return instanceSlot.nodeSingletonInstance;
     }
 
     /**
@@ -106,7 +135,7 @@ public class SingletonNode implements AbstractNode {
     }
 
     public boolean hasSingletonInstance() {
-        return nodeSingletonInstance != null;
+        return instanceSlot.nodeSingletonInstance != null;
     }
 
     /**
@@ -121,6 +150,34 @@ public class SingletonNode implements AbstractNode {
         return Collections.emptySet();
     }
 
+    /**
+     *
+     * {@inheritDoc}
+     * <p>
+     * This function will always return {@code 0}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    @Override
+    public int childCount() {
+        return 0;
+    }
+
+    /**
+     *
+     * SingletonNode does not have children.
+     *
+     * @throws IndexOutOfBoundsException when the function is called.
+     *
+     * @since 1.0.9
+     *
+     **/
+    @Override
+    public AbstractNode childAt(int index) {
+        throw new IndexOutOfBoundsException("SingletonNode does not have children.");
+    }
+
     /**
      *
      * {@inheritDoc}
@@ -157,4 +214,9 @@ public class SingletonNode implements AbstractNode {
         }
         return false;
     }
+
+    private static final class InstanceSlot {
+        private volatile Object nodeSingletonInstance;
+    }
+
 }
@@ -16,6 +16,26 @@ public class VirtualSingletonNode extends SingletonNode {
         this.virtualMethod = virtualMethod;
     }
 
+    private VirtualSingletonNode(VirtualSingletonNode sharedSingletonNode) {
+        super(sharedSingletonNode);
+        this.parentSingletionNode = sharedSingletonNode.parentSingletionNode;
+        this.virtualMethod = sharedSingletonNode.virtualMethod;
+    }
+
+    /**
+     *
+     * {@inheritDoc}
+     * <p>
+     * The copy stays virtual, produced by the same method of the same parent node.
+     *
+     * @since 1.0.9
+     *
+     **/
+    @Override
+    public VirtualSingletonNode createPathCopy() {
+        return new VirtualSingletonNode(this);
+    }
+
     public Method getVirtualMethod() {
         return virtualMethod;
     }
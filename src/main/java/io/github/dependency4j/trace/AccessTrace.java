@@ -0,0 +1,153 @@
+package io.github.dependency4j.trace;
+
+import io.github.dependency4j.util.Checks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ * <b>AccessTrace</b> records the order in which the beans of a {@code DependencyManager}
+ * are first accessed after startup, by a query or by an injection. Only the first access
+ * of each class type is recorded, so the trace stays as small as the number of beans the
+ * application actually uses.
+ * <p>
+ * The trace is saved as a text file with one class name per line, in access order. On the
+ * next start, the manager reads it back to instantiate the beans that were accessed first
+ * before the others.
+ * <p>
+ * The trace also measures the time to the first access, from the moment it was enabled,
+ * which is usually close to the time to the first request of the application.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+public final class AccessTrace {
+
+    private static final String HEADER = "# dependency4j access trace";
+    private static final long NO_ACCESS = -1;
+
+    private final long originNanos;
+    private final Set<String> recordedClassNames;
+    private final Queue<String> accessOrder;
+    private final AtomicLong firstAccessNanos;
+
+    public AccessTrace() {
+        originNanos        = System.nanoTime();
+        recordedClassNames = ConcurrentHashMap.newKeySet();
+        accessOrder        = new ConcurrentLinkedQueue<>();
+        firstAccessNanos   = new AtomicLong(NO_ACCESS);
+    }
+
+    /**
+     *
+     * Records an access to {@code classType}. Only the first access of each class type is
+     * kept, and the first access of all is timed.
+     *
+     * @throws NullPointerException When {@code classType} is null.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public void record(Class<?> classType) {
+        Checks.nonNull(classType, "classType must not be null.");
+
+        if (recordedClassNames.add(classType.getName())) {
+            firstAccessNanos.compareAndSet(NO_ACCESS, System.nanoTime() - originNanos);
+            accessOrder.add(classType.getName());
+        }
+    }
+
+    /**
+     *
+     * @return A copy of the accessed class names, in the order of their first access.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public List<String> getAccessOrder() {
+        return List.copyOf(accessOrder);
+    }
+
+    /**
+     *
+     * @return The time from the creation of this trace to the first recorded access, or
+     *         null if nothing was accessed yet.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public Duration getTimeToFirstAccess() {
+        long elapsedNanos = firstAccessNanos.get();
+        return (elapsedNanos != NO_ACCESS) ? Duration.ofNanos(elapsedNanos) : null;
+    }
+
+    /**
+     *
+     * Writes the access order to {@code traceFile}, one class name per line. The file is
+     * written next to its destination first, then moved, so a crash never leaves a
+     * truncated trace behind.
+     *
+     * @throws NullPointerException When {@code traceFile} is null.
+     * @throws IOException          When the file cannot be written.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public void save(Path traceFile) throws IOException {
+        Checks.nonNull(traceFile, "traceFile must not be null.");
+
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        lines.addAll(accessOrder);
+
+        Path absoluteTraceFile = traceFile.toAbsolutePath();
+        Files.createDirectories(absoluteTraceFile.getParent());
+
+        Path temporaryFile = absoluteTraceFile.resolveSibling(absoluteTraceFile.getFileName() + ".tmp");
+        Files.write(temporaryFile, lines, StandardCharsets.UTF_8);
+        Files.move(temporaryFile, absoluteTraceFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     *
+     * Reads the access order saved by {@link #save(Path)}.
+     *
+     * @return The saved class names, in access order, or an empty list if
+     *         {@code traceFile} does not exist.
+     *
+     * @throws NullPointerException When {@code traceFile} is null.
+     * @throws IOException          When the file cannot be read.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public static List<String> load(Path traceFile) throws IOException {
+        Checks.nonNull(traceFile, "traceFile must not be null.");
+
+        if (!Files.isRegularFile(traceFile))
+            return List.of();
+
+        List<String> classNames = new ArrayList<>();
+        for (String line : Files.readAllLines(traceFile, StandardCharsets.UTF_8)) {
+            String className = line.strip();
+            if (!className.isEmpty() && !className.startsWith("#"))
+                classNames.add(className);
+        }
+        return List.copyOf(classNames);
+    }
+
+}
@@ -0,0 +1,251 @@
+package io.github.dependency4j.trace;
+
+import io.github.dependency4j.util.Checks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ *
+ * <b>StartupTimeline</b> records nested, timed spans of the startup phases of a
+ * {@code DependencyManager}: package scanning, annotation decomposition, tree insertion
+ * and bean instantiation. Spans opened while another span is open on the same thread are
+ * nested in it, so the instantiation of a bean required by another bean shows up inside
+ * the span of that bean.
+ * <p>
+ * The timeline only exists when it is enabled in the manager. A disabled manager holds
+ * no timeline and records nothing.
+ * <p>
+ * Recorded spans can be exported as a Chrome trace-event JSON file, which can be opened
+ * in {@code chrome://tracing} or <a href="https://ui.perfetto.dev">Perfetto</a>.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+public final class StartupTimeline {
+
+    public static final String INSTALL_PACKAGE = "installPackage";
+    public static final String SCAN            = "scan";
+    public static final String DECOMPOSE       = "decompose";
+    public static final String INSERT          = "insert";
+    public static final String INSTANTIATE     = "instantiate";
+    public static final String RESTORE         = "restore";
+
+    private final long originNanos;
+    private final Queue<TimelineSpan> recordedSpans;
+    private final ThreadLocal<Deque<OpenSpan>> openSpans;
+
+    public StartupTimeline() {
+        originNanos   = System.nanoTime();
+        recordedSpans = new ConcurrentLinkedQueue<>();
+        openSpans     = ThreadLocal.withInitial(ArrayDeque::new);
+    }
+
+    /**
+     *
+     * Opens a new span on the current thread. Every opened span must be closed
+     * with {@link #end(OpenSpan)} by the same thread, usually in a {@code finally} block.
+     *
+     * @param phase    The startup phase of the span.
+     * @param beanType The bean handled by the span, or null.
+     *
+     * @return The open span, to be passed to {@link #end(OpenSpan)}.
+     *
+     * @throws NullPointerException When {@code phase} is null.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public OpenSpan begin(String phase, Class<?> beanType) {
+        Checks.nonNull(phase, "phase must not be null.");
+        Deque<OpenSpan> threadOpenSpans = openSpans.get();
+
+        Class<?> parentBeanType = null;
+        for (OpenSpan openSpan : threadOpenSpans) {
+            if (openSpan.beanType != null) {
+                parentBeanType = openSpan.beanType;
+                break;
+            }
+        }
+
+        OpenSpan openSpan = new OpenSpan(phase, beanType, parentBeanType,
+                threadOpenSpans.size(), System.nanoTime() - originNanos);
+
+        threadOpenSpans.push(openSpan);
+        return openSpan;
+    }
+
+    /**
+     *
+     * Closes the span opened by {@link #begin(String, Class)} and records it. Spans
+     * opened after it on the same thread and not closed yet are discarded.
+     *
+     * @param openSpan The span returned by {@link #begin(String, Class)}.
+     *
+     * @throws IllegalStateException When the span is not open on the current thread.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public void end(OpenSpan openSpan) {
+        Deque<OpenSpan> threadOpenSpans = openSpans.get();
+
+        if (openSpan == null || !threadOpenSpans.contains(openSpan))
+            throw new IllegalStateException("span is not open on the current thread.");
+
+        while (threadOpenSpans.pop() != openSpan);
+
+        Thread currentThread = Thread.currentThread();
+        recordedSpans.add(new TimelineSpan(openSpan.phase, openSpan.beanType, openSpan.parentBeanType,
+                currentThread.getName(), currentThread.getId(), openSpan.depth,
+                openSpan.startNanos, System.nanoTime() - originNanos));
+    }
+
+    /**
+     *
+     * @return A snapshot of all recorded spans, ordered by start time.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public List<TimelineSpan> getSpans() {
+        List<TimelineSpan> spans = new ArrayList<>(recordedSpans);
+        spans.sort(Comparator.comparingLong(TimelineSpan::startNanos)
+                .thenComparingInt(TimelineSpan::depth));
+        return Collections.unmodifiableList(spans);
+    }
+
+    /**
+     *
+     * Writes the recorded spans as a Chrome trace-event JSON file.
+     *
+     * @param file The output file. It is created or replaced.
+     *
+     * @throws IOException When the file cannot be written.
+     *
+     * @see #writeChromeTrace(Writer)
+     *
+     * @since 1.0.9
+     *
+     **/
+    public void writeChromeTrace(Path file) throws IOException {
+        Checks.nonNull(file, "file must not be null.");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeChromeTrace(writer);
+        }
+    }
+
+    /**
+     *
+     * Writes the recorded spans in the Chrome trace-event format. Each span is a complete
+     * event ({@code "ph": "X"}) with the bean and parent bean as arguments. Each thread
+     * also gets a {@code thread_name} metadata event.
+     *
+     * @param writer The output writer. It is not closed.
+     *
+     * @throws IOException When the writer fails.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public void writeChromeTrace(Writer writer) throws IOException {
+        Checks.nonNull(writer, "writer must not be null.");
+        List<TimelineSpan> spans = getSpans();
+        Map<Long, String> threadNames = new TreeMap<>();
+
+        writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        boolean firstEvent = true;
+
+        for (TimelineSpan span : spans) {
+            threadNames.putIfAbsent(span.threadId(), span.threadName());
+
+            if (!firstEvent)
+                writer.write(',');
+            firstEvent = false;
+
+            String eventName = (span.beanType() != null)
+                    ? span.phase() + " " + span.beanType().getSimpleName()
+                    : span.phase();
+
+            writer.write("\n{\"name\":" + quote(eventName) +
+                    ",\"cat\":" + quote(span.phase()) +
+                    ",\"ph\":\"X\",\"pid\":1,\"tid\":" + span.threadId() +
+                    ",\"ts\":" + toMicros(span.startNanos()) +
+                    ",\"dur\":" + toMicros(span.durationNanos()) +
+                    ",\"args\":{\"bean\":" + quoteClassName(span.beanType()) +
+                    ",\"parent\":" + quoteClassName(span.parentBeanType()) + "}}");
+        }
+
+        for (Map.Entry<Long, String> threadName : threadNames.entrySet()) {
+            if (!firstEvent)
+                writer.write(',');
+            firstEvent = false;
+
+            writer.write("\n{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":" + threadName.getKey() +
+                    ",\"args\":{\"name\":" + quote(threadName.getValue()) + "}}");
+        }
+        writer.write("\n]}\n");
+        writer.flush();
+    }
+
+    private static String toMicros(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1000.0);
+    }
+
+    private static String quoteClassName(Class<?> classType) {
+        return (classType != null) ? quote(classType.getName()) : "null";
+    }
+
+    private static String quote(String value) {
+        StringBuilder quotedValue = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            switch (character) {
+                case '"'  -> quotedValue.append("\\\"");
+                case '\\' -> quotedValue.append("\\\\");
+                case '\n' -> quotedValue.append("\\n");
+                case '\r' -> quotedValue.append("\\r");
+                case '\t' -> quotedValue.append("\\t");
+                default -> {
+                    if (character < 0x20)
+                        quotedValue.append(String.format("\\u%04x", (int) character));
+                    else
+                        quotedValue.append(character);
+                }
+            }
+        }
+        return quotedValue.append('"').toString();
+    }
+
+    /**
+     *
+     * A span opened by {@link #begin(String, Class)} and not yet recorded.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public static final class OpenSpan {
+
+        private final String phase;
+        private final Class<?> beanType;
+        private final Class<?> parentBeanType;
+        private final int depth;
+        private final long startNanos;
+
+        private OpenSpan(String phase, Class<?> beanType, Class<?> parentBeanType, int depth, long startNanos) {
+            this.phase          = phase;
+            this.beanType       = beanType;
+            this.parentBeanType = parentBeanType;
+            this.depth          = depth;
+            this.startNanos     = startNanos;
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package io.github.dependency4j.trace;
+
+/**
+ *
+ * A single timed phase recorded by {@link StartupTimeline}. Times are in nanoseconds,
+ * relative to the creation of the timeline.
+ *
+ * @param phase          The startup phase, one of the {@link StartupTimeline} phase constants.
+ * @param beanType       The bean handled by the span, or null for package level phases.
+ * @param parentBeanType The bean whose span was open on the same thread when this one
+ *                       started. It is the bean that required {@code beanType}.
+ * @param threadName     The name of the thread that recorded the span.
+ * @param threadId       The id of the thread that recorded the span.
+ * @param depth          The number of spans open on the same thread when this one started.
+ * @param startNanos     Start time of the span.
+ * @param endNanos       End time of the span.
+ *
+ * @author daviddev16
+ *
+ * @since 1.0.9
+ *
+ **/
+public record TimelineSpan(String phase,
+                           Class<?> beanType,
+                           Class<?> parentBeanType,
+                           String threadName,
+                           long threadId,
+                           int depth,
+                           long startNanos,
+                           long endNanos) {
+
+    /**
+     *
+     * @return The duration of the span in nanoseconds.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public long durationNanos() {
+        return endNanos - startNanos;
+    }
+
+}
@@ -3,23 +3,83 @@ package io.github.dependency4j.util;
 import io.github.dependency4j.Virtual;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Collection;
+import java.util.List;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public final class ReflectionUtil {
-    
+
+    private static final ClassValue<List<Method>> VIRTUAL_METHODS_CACHE = new ClassValue<>() {
+        @Override
+        protected List<Method> computeValue(Class<?> classType) {
+            return Stream.of(classType.getMethods())
+                    .filter(method -> method.isAnnotationPresent(Virtual.class))
+                    .toList();
+        }
+    };
+
     public static void consumeAllVirtualMethodsFromClassType(Class<?> parentClassType,
                                                              Consumer<Method> virtualMethodConsumer) {
 
         Checks.nonNull(parentClassType, "parentClassType must not be null.");
         Checks.nonNull(virtualMethodConsumer, "virtualMethodConsumer must not be null.");
 
-        for (Method virtualMethod : parentClassType.getMethods()) {
+        getVirtualMethods(parentClassType).forEach(virtualMethodConsumer);
+    }
 
-            if (!virtualMethod.isAnnotationPresent(Virtual.class))
-                continue;
+    /**
+     *
+     * Retrieves the public methods of {@code classType} annotated with {@link Virtual},
+     * inherited ones included. The methods are looked up once per class and cached, so
+     * the tree insertion and {@code installInstance} do not copy the method table of
+     * the class again.
+     *
+     * @param classType The class type that declares or inherits the virtual methods.
+     *
+     * @return An immutable {@link List} of virtual methods, in {@link Class#getMethods()} order.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public static List<Method> getVirtualMethods(Class<?> classType) {
+        Checks.nonNull(classType, "classType must not be null.");
+        return VIRTUAL_METHODS_CACHE.get(classType);
+    }
 
-            virtualMethodConsumer.accept(virtualMethod);
-        }
+    /**
+     *
+     * Resolves the element type of a member declared as {@code List<T>} or
+     * {@code Collection<T>}. Wildcards are resolved to their upper bound.
+     *
+     * @param rawClassType The raw type of the member.
+     * @param genericType  The generic type of the member.
+     *
+     * @return The element class type, or null if the member is not a parameterized
+     *         {@link List} or {@link Collection}.
+     *
+     * @since 1.0.9
+     *
+     **/
+    public static Class<?> resolveCollectionElementType(Class<?> rawClassType, Type genericType) {
+        if (!List.class.equals(rawClassType) && !Collection.class.equals(rawClassType))
+            return null;
+
+        if (!(genericType instanceof ParameterizedType parameterizedType))
+            return null;
+
+        Type elementType = parameterizedType.getActualTypeArguments()[0];
+
+        if (elementType instanceof WildcardType wildcardType)
+            elementType = wildcardType.getUpperBounds()[0];
+
+        if (elementType instanceof ParameterizedType parameterizedElementType)
+            elementType = parameterizedElementType.getRawType();
+
+        return (elementType instanceof Class<?> elementClassType) ? elementClassType : null;
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,132 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.rooted.AuditTrail;
+import io.github.dependency4j.example.rooted.Cart;
+import io.github.dependency4j.example.rooted.Checkout;
+import io.github.dependency4j.example.rooted.PricingConfig;
+import io.github.dependency4j.example.rooted.ReportingConfig;
+import io.github.dependency4j.example.warmup.OrderEndpoint;
+import io.github.dependency4j.example.warmup.SearchIndex;
+import io.github.dependency4j.trace.AccessTrace;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("Access-ordered startup")
+public class AccessTraceTest {
+
+    private static final String ROOTED_PACKAGE = "io.github.dependency4j.example.rooted";
+
+    @TempDir
+    private Path traceDirectory;
+
+    private static DependencyManager createTracedManager(Path traceFile) {
+        DependencyManager dependencyManager = new DependencyManager();
+        dependencyManager.addStrategy("Rooted");
+        dependencyManager.enableAccessTrace(traceFile);
+        return dependencyManager;
+    }
+
+    private static boolean isInstantiated(DependencyManager dependencyManager, Class<?> classType) {
+        return dependencyManager.getDependencySearchTree()
+                .getRegisteredSingletonNode(classType)
+                .hasSingletonInstance();
+    }
+
+    @Test
+    @DisplayName("The first accesses after startup are recorded and saved on close")
+    void recordAccessOrderTest() throws Exception {
+        Path traceFile = traceDirectory.resolve("access.trace");
+        DependencyManager dependencyManager = createTracedManager(traceFile);
+        dependencyManager.installPackage(ROOTED_PACKAGE);
+
+        AccessTrace accessTrace = dependencyManager.getAccessTrace();
+        Assertions.assertTrue(accessTrace.getAccessOrder().isEmpty());
+        Assertions.assertNull(accessTrace.getTimeToFirstAccess());
+
+        dependencyManager.query(AuditTrail.class);
+        dependencyManager.query(Cart.class);
+        dependencyManager.query(AuditTrail.class);
+
+        Assertions.assertEquals(List.of(AuditTrail.class.getName(), Cart.class.getName()),
+                accessTrace.getAccessOrder());
+        Assertions.assertNotNull(accessTrace.getTimeToFirstAccess());
+
+        dependencyManager.close();
+        Assertions.assertEquals(accessTrace.getAccessOrder(), AccessTrace.load(traceFile));
+    }
+
+    @Test
+    @DisplayName("Hot beans are instantiated first and cold beans in the background")
+    void accessOrderedInstallTest() throws Exception {
+        Path traceFile = traceDirectory.resolve("access.trace");
+        Files.write(traceFile, List.of("# dependency4j access trace",
+                "io.github.dependency4j.example.rooted.Removed", AuditTrail.class.getName()));
+
+        DependencyManager dependencyManager = createTracedManager(traceFile);
+        dependencyManager.installPackage(ROOTED_PACKAGE);
+
+        /* the hot bean and everything it pulls are ready when the install returns */
+        Assertions.assertTrue(isInstantiated(dependencyManager, AuditTrail.class));
+        Assertions.assertTrue(isInstantiated(dependencyManager, Checkout.class));
+        Assertions.assertTrue(isInstantiated(dependencyManager, PricingConfig.class));
+
+        /* a cold bean is created by the query if the warm-up did not reach it yet */
+        Assertions.assertNotNull(dependencyManager.query(ReportingConfig.class));
+
+        Assertions.assertTrue(dependencyManager.awaitWarmUp(Duration.ofSeconds(10)));
+        Assertions.assertTrue(isInstantiated(dependencyManager, Cart.class));
+        Assertions.assertSame(dependencyManager.query(Checkout.class),
+                dependencyManager.query(AuditTrail.class).getCheckout());
+    }
+
+    @Test
+    @DisplayName("A run without accesses keeps the previous trace")
+    void keepPreviousTraceTest() throws Exception {
+        Path traceFile = traceDirectory.resolve("access.trace");
+        Files.write(traceFile, List.of(Checkout.class.getName()));
+
+        DependencyManager dependencyManager = createTracedManager(traceFile);
+        dependencyManager.installPackage(ROOTED_PACKAGE);
+        dependencyManager.awaitWarmUp(Duration.ofSeconds(10));
+        dependencyManager.close();
+
+        Assertions.assertEquals(List.of(Checkout.class.getName()), AccessTrace.load(traceFile));
+    }
+
+    @Test
+    @DisplayName("Queries of hot beans do not wait for a cold bean being created")
+    void hotQueryDuringWarmUpTest() throws Exception {
+        Path traceFile = traceDirectory.resolve("access.trace");
+        Files.write(traceFile, List.of(OrderEndpoint.class.getName()));
+
+        DependencyManager dependencyManager = new DependencyManager();
+        dependencyManager.addStrategy("WarmUp");
+        dependencyManager.enableAccessTrace(traceFile);
+        dependencyManager.installPackage("io.github.dependency4j.example.warmup");
+        try {
+            Assertions.assertTrue(SearchIndex.BUILD_STARTED.await(10, TimeUnit.SECONDS));
+
+            /* the warm-up thread is inside the constructor of the cold bean */
+            OrderEndpoint orderEndpoint = CompletableFuture
+                    .supplyAsync(() -> dependencyManager.query(OrderEndpoint.class))
+                    .get(5, TimeUnit.SECONDS);
+
+            Assertions.assertNotNull(orderEndpoint);
+            Assertions.assertFalse(isInstantiated(dependencyManager, SearchIndex.class));
+        } finally {
+            SearchIndex.BUILD_RELEASED.countDown();
+        }
+        Assertions.assertTrue(dependencyManager.awaitWarmUp(Duration.ofSeconds(10)));
+        Assertions.assertNotNull(dependencyManager.query(SearchIndex.class));
+    }
+
+}
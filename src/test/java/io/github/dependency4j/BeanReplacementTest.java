@@ -0,0 +1,159 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.snapshot.ReportConfig;
+import io.github.dependency4j.example.snapshot.ReportFormatter;
+import io.github.dependency4j.example.snapshot.ReportRepository;
+import io.github.dependency4j.example.snapshot.ReportService;
+import io.github.dependency4j.example.snapshot.SqlReportRepository;
+import io.github.dependency4j.example.tenant.TenantReportRepository;
+import io.github.dependency4j.exception.StateException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@DisplayName("Atomic bean replacement")
+public class BeanReplacementTest {
+
+    private static DependencyManager installSnapshotPackage(boolean forwardingReferences) {
+        DependencyManagerChainBuilder builder = DependencyManager.builder().strategy("Snapshot");
+        if (forwardingReferences)
+            builder.forwardingReferences();
+
+        return builder
+                .installPackage("io.github.dependency4j.example.snapshot")
+                .getDependencyManager();
+    }
+
+    @Test
+    @DisplayName("replace swaps the instance in every path of the bean")
+    void replaceEveryPathTest() {
+        DependencyManager dependencyManager = installSnapshotPackage(false);
+        ReportRepository previousRepository = dependencyManager.query(ReportRepository.class);
+        Assertions.assertEquals(0, dependencyManager.getInstanceVersion());
+        Assertions.assertEquals(1, dependencyManager.queryAll(ReportRepository.class).size());
+
+        SqlReportRepository replacingRepository = new SqlReportRepository();
+        Assertions.assertSame(previousRepository,
+                dependencyManager.replace(ReportRepository.class, replacingRepository));
+
+        Assertions.assertEquals(1, dependencyManager.getInstanceVersion());
+        Assertions.assertSame(replacingRepository, dependencyManager.query(ReportRepository.class));
+        Assertions.assertSame(replacingRepository, dependencyManager.query(SqlReportRepository.class));
+        Assertions.assertSame(replacingRepository,
+                dependencyManager.query(ReportRepository.class, QueryOptions.byName("sql")));
+        Assertions.assertEquals(List.of(replacingRepository),
+                dependencyManager.queryAll(ReportRepository.class));
+
+        /* members injected without forwarding references keep the previous instance */
+        Assertions.assertSame(previousRepository,
+                dependencyManager.query(ReportService.class).getReportRepository());
+    }
+
+    @Test
+    @DisplayName("replace rejects foreign beans and instances of another class type")
+    void replaceValidationTest() {
+        DependencyManager dependencyManager = installSnapshotPackage(false);
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> dependencyManager.replace(ReportRepository.class, new TenantReportRepository()));
+
+        Assertions.assertThrows(StateException.class,
+                () -> dependencyManager.replace(TenantReportRepository.class, new TenantReportRepository()));
+
+        Assertions.assertThrows(StateException.class,
+                () -> dependencyManager.createChild().replace(ReportRepository.class, new SqlReportRepository()));
+
+        Assertions.assertEquals(0, dependencyManager.getInstanceVersion());
+    }
+
+    @Test
+    @DisplayName("Forwarding references pick up the replaced instance on the next call")
+    void forwardingReferencesTest() {
+        DependencyManager dependencyManager = installSnapshotPackage(true);
+        ReportService reportService = dependencyManager.query(ReportService.class);
+        ReportRepository injectedRepository = reportService.getReportRepository();
+
+        Assertions.assertNotSame(dependencyManager.query(ReportRepository.class), injectedRepository);
+        Assertions.assertEquals("monthly", injectedRepository.findReportName());
+
+        /* members declared as a class still receive the instance */
+        Assertions.assertSame(dependencyManager.query(ReportFormatter.class), reportService.getReportFormatter());
+
+        dependencyManager.replace(SqlReportRepository.class, new SqlReportRepository() {
+            @Override
+            public String findReportName() {
+                return "weekly";
+            }
+        });
+
+        Assertions.assertSame(injectedRepository, reportService.getReportRepository());
+        Assertions.assertEquals("weekly", injectedRepository.findReportName());
+        Assertions.assertEquals(injectedRepository, injectedRepository);
+        Assertions.assertSame(reportService, dependencyManager.query(ReportService.class));
+    }
+
+    @Test
+    @DisplayName("The recorded injection points do not keep a replaced instance reachable")
+    void replacedInstanceCollectableTest() throws InterruptedException {
+        DependencyManager dependencyManager = installSnapshotPackage(false);
+        WeakReference<ReportConfig> previousConfig = new WeakReference<>(
+                dependencyManager.replace(ReportConfig.class, new ReportConfig()));
+
+        for (int attempt = 0; attempt < 50 && previousConfig.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        Assertions.assertNull(previousConfig.get());
+        Assertions.assertNotNull(dependencyManager.query(ReportFormatter.class));
+    }
+
+    @Test
+    @DisplayName("Concurrent queries see either instance, never a partial replacement")
+    void concurrentReplaceTest() throws Exception {
+        DependencyManager dependencyManager = installSnapshotPackage(false);
+        AtomicBoolean replacing = new AtomicBoolean(true);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> queries = new ArrayList<>();
+            for (int index = 0; index < 4; index++) {
+                queries.add(executorService.submit(() -> {
+                    while (replacing.get()) {
+                        ReportRepository reportRepository = dependencyManager.query(ReportRepository.class);
+                        Assertions.assertNotNull(reportRepository);
+
+                        List<ReportRepository> reportRepositories = dependencyManager.queryAll(ReportRepository.class);
+                        Assertions.assertEquals(1, reportRepositories.size());
+                    }
+                    return null;
+                }));
+            }
+            SqlReportRepository replacingRepository = null;
+            for (int replacement = 0; replacement < 2000; replacement++) {
+                replacingRepository = new SqlReportRepository();
+                dependencyManager.replace(ReportRepository.class, replacingRepository);
+            }
+            replacing.set(false);
+
+            for (Future<?> query : queries)
+                query.get(10, TimeUnit.SECONDS);
+
+            Assertions.assertEquals(2000, dependencyManager.getInstanceVersion());
+            Assertions.assertSame(replacingRepository, dependencyManager.query(SqlReportRepository.class));
+            Assertions.assertEquals(List.of(replacingRepository), dependencyManager.queryAll(ReportRepository.class));
+        } finally {
+            replacing.set(false);
+            executorService.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.snapshot.ReportRepository;
+import io.github.dependency4j.example.snapshot.ReportService;
+import io.github.dependency4j.example.snapshot.SqlReportRepository;
+import io.github.dependency4j.example.tenant.TenantGreeter;
+import io.github.dependency4j.example.tenant.TenantReportRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+@DisplayName("Child containers sharing the parent beans")
+public class ChildContainerTest {
+
+    private static final String TENANT_PACKAGE = "io.github.dependency4j.example.tenant";
+
+    private DependencyManager parentManager;
+
+    @BeforeEach
+    void installParent() {
+        parentManager = DependencyManager.builder()
+                .strategy("Snapshot")
+                .installPackage("io.github.dependency4j.example.snapshot")
+                .getDependencyManager();
+    }
+
+    @Test
+    @DisplayName("Queries fall through to the parent instances without copying them")
+    void fallthroughTest() {
+        DependencyManager childManager = parentManager.createChild();
+
+        Assertions.assertSame(parentManager, childManager.getParent());
+        Assertions.assertEquals(0, childManager.getDependencySearchTree().getRootNode().childCount());
+
+        ReportService reportService = parentManager.query(ReportService.class);
+        Assertions.assertNotNull(reportService);
+        Assertions.assertSame(reportService, childManager.query(ReportService.class));
+        Assertions.assertSame(reportService, childManager.query(ReportService.class));
+        Assertions.assertSame(parentManager.query(ReportRepository.class, QueryOptions.byName("sql")),
+                childManager.query(ReportRepository.class, QueryOptions.byName("sql")));
+        Assertions.assertNull(childManager.query(TenantGreeter.class));
+
+        TenantGreeter tenantGreeter = childManager.installType(TenantGreeter.class);
+        Assertions.assertSame(reportService, tenantGreeter.getReportService());
+        Assertions.assertInstanceOf(SqlReportRepository.class, tenantGreeter.getReportRepository());
+    }
+
+    @Test
+    @DisplayName("Child installs stay in the child and override the parent beans")
+    void childOverlayTest() {
+        DependencyManager childManager = parentManager.createChild();
+        childManager.addStrategy("Tenant");
+        childManager.installPackage(TENANT_PACKAGE);
+
+        Assertions.assertNull(parentManager.query(TenantGreeter.class));
+        Assertions.assertInstanceOf(SqlReportRepository.class, parentManager.query(ReportRepository.class));
+        Assertions.assertFalse(parentManager.getStrategies().contains("Tenant"));
+
+        TenantGreeter tenantGreeter = childManager.query(TenantGreeter.class);
+        Assertions.assertNotNull(tenantGreeter);
+        Assertions.assertInstanceOf(TenantReportRepository.class, childManager.query(ReportRepository.class));
+        Assertions.assertInstanceOf(TenantReportRepository.class, tenantGreeter.getReportRepository());
+        Assertions.assertSame(parentManager.query(ReportService.class), tenantGreeter.getReportService());
+
+        /* the parent beans keep the parent dependencies */
+        Assertions.assertInstanceOf(SqlReportRepository.class,
+                tenantGreeter.getReportService().getReportRepository());
+
+        DependencyManager otherChildManager = parentManager.createChild();
+        otherChildManager.addStrategy("Tenant");
+        otherChildManager.installPackage(TENANT_PACKAGE);
+        Assertions.assertNotSame(tenantGreeter, otherChildManager.query(TenantGreeter.class));
+    }
+
+    @Test
+    @DisplayName("Cached parent resolutions are discarded when the child installs a class")
+    void layeredCacheInvalidationTest() {
+        DependencyManager childManager = parentManager.createChild();
+
+        Assertions.assertInstanceOf(SqlReportRepository.class, childManager.query(ReportRepository.class));
+        Assertions.assertNull(childManager.query(TenantReportRepository.class));
+
+        childManager.installType(TenantReportRepository.class);
+
+        Assertions.assertInstanceOf(TenantReportRepository.class, childManager.query(ReportRepository.class));
+        Assertions.assertNotNull(childManager.query(TenantReportRepository.class));
+        Assertions.assertInstanceOf(SqlReportRepository.class, parentManager.query(ReportRepository.class));
+    }
+
+    @Test
+    @DisplayName("queryAll returns the parent instances followed by the child instances")
+    void layeredQueryAllTest() {
+        DependencyManager childManager = parentManager.createChild();
+        childManager.installType(TenantReportRepository.class);
+
+        List<ReportRepository> reportRepositories = childManager.queryAll(ReportRepository.class);
+
+        Assertions.assertEquals(2, reportRepositories.size());
+        Assertions.assertInstanceOf(SqlReportRepository.class, reportRepositories.get(0));
+        Assertions.assertInstanceOf(TenantReportRepository.class, reportRepositories.get(1));
+        Assertions.assertSame(reportRepositories, childManager.queryAll(ReportRepository.class));
+        Assertions.assertEquals(1, parentManager.queryAll(ReportRepository.class).size());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> reportRepositories.remove(0));
+    }
+
+}
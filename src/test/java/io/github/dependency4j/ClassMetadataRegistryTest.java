@@ -0,0 +1,84 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.named.CheckoutService;
+import io.github.dependency4j.example.snapshot.ReportRepository;
+import io.github.dependency4j.example.snapshot.SqlReportRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Set;
+
+@DisplayName("Class metadata shared by every manager")
+public class ClassMetadataRegistryTest {
+
+    private static final String NAMED_PACKAGE = "io.github.dependency4j.example.named";
+
+    @Test
+    @DisplayName("A package is scanned once per class loader")
+    void sharedScanTest() {
+        ClassLoader classLoader = ClassLoader.getSystemClassLoader();
+        ClassMetadataRegistry.forgetScannedPackages(classLoader);
+        Assertions.assertFalse(ClassMetadataRegistry.isPackageScanned(classLoader, NAMED_PACKAGE));
+
+        DependencyManager.builder()
+                .strategy("NamedQuery")
+                .installPackage(NAMED_PACKAGE)
+                .getDependencyManager();
+
+        Assertions.assertTrue(ClassMetadataRegistry.isPackageScanned(classLoader, NAMED_PACKAGE));
+
+        Set<Class<?>> scannedClasses = ClassMetadataRegistry.scanPackage(classLoader, NAMED_PACKAGE);
+        Assertions.assertEquals(ClassFinder.scanPackages(classLoader, NAMED_PACKAGE), scannedClasses);
+        Assertions.assertEquals(List.copyOf(scannedClasses),
+                List.copyOf(ClassMetadataRegistry.scanPackage(classLoader, NAMED_PACKAGE)));
+    }
+
+    @Test
+    @DisplayName("Injection plans and hierarchy paths are computed once per class")
+    void sharedClassMetadataTest() {
+        InjectionPlan injectionPlan = ClassMetadataRegistry.getInjectionPlan(CheckoutService.class);
+
+        Assertions.assertSame(injectionPlan, ClassMetadataRegistry.getInjectionPlan(CheckoutService.class));
+        Assertions.assertEquals(2, injectionPlan.getPullFields().size());
+        Assertions.assertTrue(injectionPlan.getPullSetters().isEmpty());
+
+        ClassMetadataRegistry.HierarchyPaths hierarchyPaths =
+                ClassMetadataRegistry.getHierarchyPaths(SqlReportRepository.class);
+
+        Assertions.assertSame(hierarchyPaths, ClassMetadataRegistry.getHierarchyPaths(SqlReportRepository.class));
+        Assertions.assertTrue(hierarchyPaths.assignableClassTypes().contains(ReportRepository.class));
+        Assertions.assertTrue(hierarchyPaths.interfaceTreeMapping().containsKey(ReportRepository.class));
+    }
+
+    @Test
+    @DisplayName("Scanned packages do not keep their class loader reachable")
+    void classLoaderUnloadingTest() throws Exception {
+        URL testClassesLocation = ClassMetadataRegistryTest.class.getProtectionDomain().getCodeSource().getLocation();
+        URL classesLocation = DependencyManager.class.getProtectionDomain().getCodeSource().getLocation();
+
+        URLClassLoader pluginClassLoader = new URLClassLoader(
+                new URL[] {testClassesLocation, classesLocation}, ClassLoader.getPlatformClassLoader());
+
+        Set<Class<?>> pluginClasses = ClassMetadataRegistry.scanPackage(pluginClassLoader, NAMED_PACKAGE);
+        Assertions.assertFalse(pluginClasses.isEmpty());
+        Assertions.assertSame(pluginClassLoader, pluginClasses.iterator().next().getClassLoader());
+        Assertions.assertTrue(ClassMetadataRegistry.isPackageScanned(pluginClassLoader, NAMED_PACKAGE));
+
+        WeakReference<ClassLoader> pluginClassLoaderReference = new WeakReference<>(pluginClassLoader);
+        pluginClassLoader.close();
+        pluginClassLoader = null;
+        pluginClasses = null;
+
+        for (int i = 0; i < 50 && pluginClassLoaderReference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Assertions.assertNull(pluginClassLoaderReference.get());
+    }
+
+}
@@ -0,0 +1,101 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.node.JavaTypeNode;
+import io.github.dependency4j.node.NodeType;
+import io.github.dependency4j.node.RootNode;
+import io.github.dependency4j.node.SingletonNode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@DisplayName("Compact children storage of tree nodes")
+public class CompactChildrenTest {
+
+    private static final List<Class<?>> CLASS_TYPES = List.of(
+            String.class, Integer.class, Long.class, Double.class, Float.class, Short.class,
+            Byte.class, Character.class, Boolean.class, StringBuilder.class, Thread.class, Object.class);
+
+    @Test
+    @DisplayName("Children keep insertion order and ignore duplicates above the hash threshold")
+    void insertionOrderAndDeduplicationTest() {
+
+        RootNode rootNode = new RootNode();
+
+        for (Class<?> classType : CLASS_TYPES)
+            rootNode.addChildNode(new SingletonNode(TypeInformationHolderFactory.createTypeInformation(classType)));
+
+        for (Class<?> classType : CLASS_TYPES)
+            rootNode.addChildNode(new SingletonNode(TypeInformationHolderFactory.createTypeInformation(classType)));
+
+        Assertions.assertEquals(CLASS_TYPES.size(), rootNode.childCount());
+        Assertions.assertEquals(CLASS_TYPES.size(), rootNode.children().size());
+
+        List<Class<?>> childClassTypes = new ArrayList<>();
+        for (AbstractNode childNode : rootNode.children())
+            childClassTypes.add(((SingletonNode) childNode).getNodeClassType());
+
+        Assertions.assertEquals(CLASS_TYPES, childClassTypes);
+    }
+
+    @Test
+    @DisplayName("Children view is read only")
+    void readOnlyChildrenViewTest() {
+
+        JavaTypeNode javaTypeNode = new JavaTypeNode(CharSequence.class);
+        SingletonNode singletonNode = new SingletonNode(TypeInformationHolderFactory.createTypeInformation(String.class));
+        javaTypeNode.addChildNode(singletonNode);
+
+        Assertions.assertTrue(javaTypeNode.children().contains(singletonNode));
+        Assertions.assertSame(singletonNode, javaTypeNode.childAt(0));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> javaTypeNode.children().clear());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> javaTypeNode.childAt(1));
+    }
+
+    @Test
+    @DisplayName("Children are removed by the same equality that deduplicates them")
+    void removeEqualChildTest() {
+
+        RootNode rootNode = new RootNode();
+        rootNode.addChildNode(new SingletonNode(TypeInformationHolderFactory.createTypeInformation(String.class)));
+        rootNode.addChildNode(new SingletonNode(TypeInformationHolderFactory.createTypeInformation(Integer.class)));
+
+        Assertions.assertTrue(rootNode.removeChildNode(
+                new SingletonNode(TypeInformationHolderFactory.createTypeInformation(String.class))));
+        Assertions.assertEquals(1, rootNode.childCount());
+        Assertions.assertEquals(Integer.class, ((SingletonNode) rootNode.childAt(0)).getNodeClassType());
+    }
+
+    @Test
+    @DisplayName("Nodes that only implement children() get indexed access by default")
+    void defaultIndexedAccessTest() {
+
+        List<AbstractNode> childNodes = new ArrayList<>();
+        for (Class<?> classType : CLASS_TYPES.subList(0, 3))
+            childNodes.add(new SingletonNode(TypeInformationHolderFactory.createTypeInformation(classType)));
+
+        AbstractNode externalNode = new AbstractNode() {
+            @Override
+            public Set<? extends AbstractNode> children() {
+                return new LinkedHashSet<>(childNodes);
+            }
+            @Override
+            public void addChildNode(AbstractNode abstractNode) {
+                childNodes.add(abstractNode);
+            }
+            @Override
+            public NodeType getNodeType() {
+                return NodeType.ROOT;
+            }
+        };
+
+        Assertions.assertEquals(3, externalNode.childCount());
+        Assertions.assertSame(childNodes.get(2), externalNode.childAt(2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> externalNode.childAt(3));
+    }
+
+}
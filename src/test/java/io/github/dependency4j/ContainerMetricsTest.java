@@ -0,0 +1,116 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.named.CheckoutService;
+import io.github.dependency4j.example.named.IPaymentGateway;
+import io.github.dependency4j.example.plugin.LateMessageHandler;
+import io.github.dependency4j.metrics.ContainerMetrics;
+import io.github.dependency4j.metrics.DefaultContainerMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@DisplayName("Container metrics and JMX MBean")
+public class ContainerMetricsTest {
+
+    @Test
+    @DisplayName("Default metrics count queries, cache hits and instantiations")
+    void defaultMetricsTest() {
+        DefaultContainerMetrics containerMetrics = new DefaultContainerMetrics();
+        DependencyManager dependencyManager = DependencyManager.builder()
+                .strategy("NamedQuery")
+                .containerMetrics(containerMetrics)
+                .installPackage("io.github.dependency4j.example.named")
+                .getDependencyManager();
+
+        Assertions.assertEquals(3, containerMetrics.getInstantiationCount());
+        Assertions.assertEquals(1L, containerMetrics.getInstantiationCountByType().get(CheckoutService.class.getName()));
+        Assertions.assertEquals(3, containerMetrics.getInstantiationCountByType().size());
+        Assertions.assertEquals(3, sum(containerMetrics.getInstantiationHistogram()));
+
+        long queryByTypeCount = containerMetrics.getQueryByTypeCount();
+        long queryByNameCount = containerMetrics.getQueryByNameCount();
+
+        dependencyManager.query(IPaymentGateway.class);
+        dependencyManager.query(IPaymentGateway.class);
+        dependencyManager.query(IPaymentGateway.class, QueryOptions.byName("stripe"));
+
+        Assertions.assertEquals(queryByTypeCount + 2, containerMetrics.getQueryByTypeCount());
+        Assertions.assertEquals(queryByNameCount + 1, containerMetrics.getQueryByNameCount());
+        Assertions.assertTrue(containerMetrics.getCacheHitRatio() > 0.0);
+        Assertions.assertTrue(containerMetrics.getCacheHitRatio() <= 1.0);
+    }
+
+    @Test
+    @DisplayName("Dynamic instances are counted on each creation")
+    void dynamicInstantiationTest() {
+        DefaultContainerMetrics containerMetrics = new DefaultContainerMetrics();
+        DependencyManager dependencyManager = new DependencyManager();
+        dependencyManager.setContainerMetrics(containerMetrics);
+
+        dependencyManager.installType(LateMessageHandler.class);
+        dependencyManager.installType(LateMessageHandler.class);
+
+        Assertions.assertEquals(2, containerMetrics.getDynamicInstantiationCount());
+        Assertions.assertTrue(containerMetrics.getDynamicInstantiationRate() > 0.0);
+    }
+
+    @Test
+    @DisplayName("Custom metrics receive the container calls")
+    void customMetricsTest() {
+        List<Class<?>> instantiatedTypes = new ArrayList<>();
+        DependencyManager.builder()
+                .strategy("NamedQuery")
+                .containerMetrics(new ContainerMetrics() {
+                    @Override
+                    public void recordInstantiation(Class<?> beanType, long durationNanos) {
+                        instantiatedTypes.add(beanType);
+                    }
+                })
+                .installPackage("io.github.dependency4j.example.named");
+
+        Assertions.assertTrue(instantiatedTypes.contains(CheckoutService.class));
+    }
+
+    @Test
+    @DisplayName("The MBean exposes the metrics and the tree gauges")
+    void metricsMBeanTest() throws Exception {
+        DependencyManager dependencyManager = DependencyManager.builder()
+                .strategy("NamedQuery")
+                .installPackage("io.github.dependency4j.example.named")
+                .getDependencyManager();
+
+        ObjectName objectName = dependencyManager.registerMBean("metricsMBeanTest");
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            Assertions.assertInstanceOf(DefaultContainerMetrics.class, dependencyManager.getContainerMetrics());
+
+            dependencyManager.query(CheckoutService.class);
+
+            Assertions.assertEquals(1L, mBeanServer.getAttribute(objectName, "QueryByTypeCount"));
+            Assertions.assertEquals(3, mBeanServer.getAttribute(objectName, "BeanCount"));
+            Assertions.assertEquals(dependencyManager.getDependencySearchTree().countNodes(),
+                    mBeanServer.getAttribute(objectName, "TreeNodeCount"));
+            Assertions.assertNotNull(mBeanServer.getAttribute(objectName, "InstantiationCountByType"));
+
+            Assertions.assertThrows(RuntimeException.class,
+                    () -> dependencyManager.registerMBean("metricsMBeanTest"));
+        } finally {
+            mBeanServer.unregisterMBean(objectName);
+        }
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values)
+            total += value;
+        return total;
+    }
+
+}
@@ -0,0 +1,164 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.snapshot.ReportConfig;
+import io.github.dependency4j.example.snapshot.ReportFormatter;
+import io.github.dependency4j.example.snapshot.ReportRepository;
+import io.github.dependency4j.example.snapshot.ReportService;
+import io.github.dependency4j.exception.SnapshotFailedException;
+import io.github.dependency4j.exception.StateException;
+import io.github.dependency4j.trace.StartupTimeline;
+import io.github.dependency4j.trace.TimelineSpan;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@DisplayName("Container snapshot and restore")
+public class ContainerSnapshotTest {
+
+    private static final String SNAPSHOT_PACKAGE = "io.github.dependency4j.example.snapshot";
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private Path writeSnapshot() {
+        DependencyManager dependencyManager = DependencyManager.builder()
+                .strategy("Snapshot")
+                .installPackage(SNAPSHOT_PACKAGE)
+                .getDependencyManager();
+
+        Path snapshotFile = temporaryDirectory.resolve("container.d4js");
+        dependencyManager.snapshot(snapshotFile);
+        return snapshotFile;
+    }
+
+    @Test
+    @DisplayName("A restored manager has the same graph and wiring")
+    void restoreTest() {
+        DependencyManager originalManager = DependencyManager.builder()
+                .strategy("Snapshot")
+                .installPackage(SNAPSHOT_PACKAGE)
+                .getDependencyManager();
+
+        Path snapshotFile = temporaryDirectory.resolve("container.d4js");
+        originalManager.snapshot(snapshotFile);
+
+        DependencyManager restoredManager = DependencyManager.builder()
+                .strategy("Snapshot")
+                .restore(snapshotFile)
+                .getDependencyManager();
+
+        ReportService reportService = restoredManager.query(ReportService.class);
+
+        Assertions.assertNotNull(reportService);
+        Assertions.assertNotSame(originalManager.query(ReportService.class), reportService);
+        Assertions.assertSame(restoredManager.query(ReportRepository.class), reportService.getReportRepository());
+        Assertions.assertSame(restoredManager.query(ReportFormatter.class), reportService.getReportFormatter());
+        Assertions.assertEquals("csv", reportService.getReportFormatter().getFormat());
+        Assertions.assertNotNull(restoredManager.query(ReportRepository.class, QueryOptions.byName("sql")));
+
+        Assertions.assertEquals(originalManager.getDependencySearchTree().countNodes(),
+                restoredManager.getDependencySearchTree().countNodes());
+        Assertions.assertEquals(originalManager.getDependencySearchTree().countSingletonBeans(),
+                restoredManager.getDependencySearchTree().countSingletonBeans());
+    }
+
+    @Test
+    @DisplayName("Restore skips scanning and decomposition")
+    void restoreSkipsScanTest() {
+        Path snapshotFile = writeSnapshot();
+
+        DependencyManager restoredManager = DependencyManager.builder()
+                .strategy("Snapshot")
+                .enableStartupTimeline()
+                .restore(snapshotFile)
+                .getDependencyManager();
+
+        Set<String> phases = restoredManager.getStartupTimeline().getSpans().stream()
+                .map(TimelineSpan::phase)
+                .collect(Collectors.toSet());
+
+        Assertions.assertEquals(Set.of(StartupTimeline.RESTORE, StartupTimeline.INSTANTIATE), phases);
+    }
+
+    @Test
+    @DisplayName("A restored manager can write the same snapshot again")
+    void snapshotOfRestoredManagerTest() throws IOException {
+        Path snapshotFile = writeSnapshot();
+
+        DependencyManager restoredManager = DependencyManager.builder()
+                .strategy("Snapshot")
+                .restore(snapshotFile)
+                .getDependencyManager();
+
+        Path secondSnapshotFile = temporaryDirectory.resolve("second.d4js");
+        restoredManager.snapshot(secondSnapshotFile);
+
+        Assertions.assertEquals(Files.size(snapshotFile), Files.size(secondSnapshotFile));
+    }
+
+    @Test
+    @DisplayName("Changed classes, strategies and formats are rejected")
+    void validationTest() throws IOException {
+        Path snapshotFile = writeSnapshot();
+
+        Assertions.assertThrows(SnapshotFailedException.class, () -> DependencyManager.builder()
+                .strategy("Production")
+                .restore(snapshotFile));
+
+        /* corrupts the recorded checksum of ReportConfig */
+        byte[] snapshotBytes = Files.readAllBytes(snapshotFile);
+        byte[] checksumBytes = ByteBuffer.allocate(Long.BYTES)
+                .putLong(ContainerSnapshot.computeClassFileChecksum(ReportConfig.class))
+                .array();
+
+        int checksumOffset = indexOf(snapshotBytes, checksumBytes);
+        Assertions.assertTrue(checksumOffset > 0);
+        snapshotBytes[checksumOffset] ^= 0x7F;
+
+        Path staleSnapshotFile = temporaryDirectory.resolve("stale.d4js");
+        Files.write(staleSnapshotFile, snapshotBytes);
+
+        SnapshotFailedException staleException = Assertions.assertThrows(SnapshotFailedException.class,
+                () -> DependencyManager.builder().strategy("Snapshot").restore(staleSnapshotFile));
+        Assertions.assertTrue(staleException.getMessage().contains(ReportConfig.class.getName()));
+
+        Path invalidSnapshotFile = temporaryDirectory.resolve("invalid.d4js");
+        Files.write(invalidSnapshotFile, new byte[] {1, 2, 3, 4, 5, 6});
+
+        Assertions.assertThrows(SnapshotFailedException.class,
+                () -> DependencyManager.builder().strategy("Snapshot").restore(invalidSnapshotFile));
+    }
+
+    @Test
+    @DisplayName("Only an empty manager can restore a snapshot")
+    void restoreIntoInstalledManagerTest() {
+        Path snapshotFile = writeSnapshot();
+
+        DependencyManager dependencyManager = DependencyManager.builder()
+                .strategy("Snapshot")
+                .installPackage(SNAPSHOT_PACKAGE)
+                .getDependencyManager();
+
+        Assertions.assertThrows(StateException.class, () -> dependencyManager.restore(snapshotFile));
+    }
+
+    private static int indexOf(byte[] bytes, byte[] searchedBytes) {
+        for (int i = 0; i <= bytes.length - searchedBytes.length; i++) {
+            int j = 0;
+            while (j < searchedBytes.length && bytes[i + j] == searchedBytes[j])
+                j++;
+            if (j == searchedBytes.length)
+                return i;
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,147 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.eviction.ReportArchive;
+import io.github.dependency4j.example.eviction.ReportBrowser;
+import io.github.dependency4j.example.eviction.ReportExporter;
+import io.github.dependency4j.example.eviction.ReportIndex;
+import io.github.dependency4j.example.eviction.ReportRegistry;
+import io.github.dependency4j.exception.StateException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@DisplayName("Eviction of idle disposable singletons")
+public class EvictionTest {
+
+    private static final String EVICTION_PACKAGE = "io.github.dependency4j.example.eviction";
+
+    @BeforeEach
+    void resetCreations() {
+        ReportArchive.reset();
+    }
+
+    private DependencyManager createDependencyManager(EvictionPolicy evictionPolicy) {
+        return DependencyManager.builder()
+                .strategy("Eviction")
+                .evictionPolicy(evictionPolicy)
+                .installPackage(EVICTION_PACKAGE)
+                .getDependencyManager();
+    }
+
+    @Test
+    @DisplayName("An evicted singleton is recreated by the next query")
+    void evictAndRecreateTest() {
+        DependencyManager dependencyManager = createDependencyManager(EvictionPolicy.evictAfter(Duration.ZERO));
+
+        ReportArchive firstArchive = dependencyManager.query(ReportArchive.class);
+        Assertions.assertNotNull(firstArchive);
+        Assertions.assertEquals(1, ReportArchive.getCreations());
+
+        Assertions.assertTrue(dependencyManager.evictIdleSingletons() > 0);
+        Assertions.assertNull(dependencyManager.getDependencySearchTree().query(ReportArchive.class, QueryOptions.none()));
+
+        ReportArchive secondArchive = dependencyManager.query(ReportArchive.class);
+        Assertions.assertNotNull(secondArchive);
+        Assertions.assertNotSame(firstArchive, secondArchive);
+        Assertions.assertEquals(2, ReportArchive.getCreations());
+    }
+
+    @Test
+    @DisplayName("Injected, non-disposable and closeable singletons are never evicted")
+    void nonEvictableSingletonsTest() {
+        DependencyManager dependencyManager = createDependencyManager(EvictionPolicy.evictAfter(Duration.ZERO));
+        DependencySearchTree dependencySearchTree = dependencyManager.getDependencySearchTree();
+
+        ReportIndex reportIndex = dependencyManager.query(ReportIndex.class);
+        ReportRegistry reportRegistry = dependencyManager.query(ReportRegistry.class);
+        ReportExporter reportExporter = dependencyManager.query(ReportExporter.class);
+
+        dependencyManager.evictIdleSingletons();
+
+        Assertions.assertSame(reportIndex, dependencySearchTree.query(ReportIndex.class, QueryOptions.none()));
+        Assertions.assertSame(reportRegistry, dependencySearchTree.query(ReportRegistry.class, QueryOptions.none()));
+        Assertions.assertSame(reportExporter, dependencySearchTree.query(ReportExporter.class, QueryOptions.none()));
+
+        /* the browser itself is evictable, its recreation is injected with the same index */
+        Assertions.assertNull(dependencySearchTree.query(ReportBrowser.class, QueryOptions.none()));
+        Assertions.assertSame(reportIndex, dependencyManager.query(ReportBrowser.class).getReportIndex());
+    }
+
+    @Test
+    @DisplayName("A softly held singleton is restored while it is reachable")
+    void softlyHeldSingletonTest() {
+        DependencyManager dependencyManager = createDependencyManager(EvictionPolicy.softlyAfter(Duration.ZERO));
+
+        ReportArchive reportArchive = dependencyManager.query(ReportArchive.class);
+        dependencyManager.evictIdleSingletons();
+
+        Assertions.assertNull(dependencyManager.getDependencySearchTree().query(ReportArchive.class, QueryOptions.none()));
+        Assertions.assertSame(reportArchive, dependencyManager.query(ReportArchive.class));
+        Assertions.assertEquals(1, ReportArchive.getCreations());
+    }
+
+    @Test
+    @DisplayName("Recently queried singletons are kept")
+    void idleTimeoutTest() {
+        DependencyManager dependencyManager = createDependencyManager(EvictionPolicy.evictAfter(Duration.ofHours(1)));
+
+        ReportArchive reportArchive = dependencyManager.query(ReportArchive.class);
+
+        Assertions.assertEquals(0, dependencyManager.evictIdleSingletons());
+        Assertions.assertSame(reportArchive, dependencyManager.query(ReportArchive.class));
+        Assertions.assertEquals(1, ReportArchive.getCreations());
+    }
+
+    @Test
+    @DisplayName("queryAll recreates evicted singletons")
+    void queryAllRecreatesTest() {
+        DependencyManager dependencyManager = createDependencyManager(EvictionPolicy.evictAfter(Duration.ZERO));
+
+        dependencyManager.evictIdleSingletons();
+        List<ReportArchive> reportArchives = dependencyManager.queryAll(ReportArchive.class);
+
+        Assertions.assertEquals(1, reportArchives.size());
+        Assertions.assertEquals(2, ReportArchive.getCreations());
+    }
+
+    @Test
+    @DisplayName("Queries of many threads never see an evicted singleton")
+    void concurrentEvictionTest() throws Exception {
+        DependencyManager dependencyManager = createDependencyManager(EvictionPolicy.evictAfter(Duration.ofNanos(1)));
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> queryFutures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                queryFutures.add(executorService.submit(() -> {
+                    /* the sweep is due on almost every query, so it runs while other threads query */
+                    for (int j = 0; j < 2_000; j++) {
+                        Assertions.assertNotNull(dependencyManager.query(ReportArchive.class));
+                        Assertions.assertEquals(1, dependencyManager.queryAll(ReportArchive.class).size());
+                    }
+                }));
+            }
+            for (Future<?> queryFuture : queryFutures)
+                queryFuture.get();
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assertions.assertTrue(ReportArchive.getCreations() > 1);
+    }
+
+    @Test
+    @DisplayName("Evicting without a policy fails")
+    void noPolicyTest() {
+        Assertions.assertThrows(StateException.class, () -> new DependencyManager().evictIdleSingletons());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> EvictionPolicy.evictAfter(Duration.ofSeconds(-1)));
+    }
+
+}
@@ -0,0 +1,137 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.rooted.AuditTrail;
+import io.github.dependency4j.example.rooted.Cart;
+import io.github.dependency4j.example.rooted.Checkout;
+import io.github.dependency4j.example.rooted.ReportingConfig;
+import io.github.dependency4j.example.rooted.SalesReport;
+import io.github.dependency4j.example.snapshot.ReportFormatter;
+import io.github.dependency4j.example.snapshot.ReportRepository;
+import io.github.dependency4j.example.snapshot.ReportService;
+import io.github.dependency4j.example.snapshot.SqlReportRepository;
+import io.github.dependency4j.example.tenant.TenantReportRepository;
+import io.github.dependency4j.exception.StateException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+@DisplayName("Copy-on-write forks")
+public class ForkTest {
+
+    private DependencyManager parentManager;
+
+    @BeforeEach
+    void installParent() {
+        parentManager = DependencyManager.builder()
+                .strategy("Snapshot")
+                .installPackage("io.github.dependency4j.example.snapshot")
+                .getDependencyManager();
+    }
+
+    @Test
+    @DisplayName("A fork shares every bean until one is overridden")
+    void forkSharesBeansTest() {
+        DependencyManager forkManager = parentManager.fork();
+
+        Assertions.assertTrue(forkManager.isFork());
+        Assertions.assertFalse(parentManager.createChild().isFork());
+        Assertions.assertEquals(0, forkManager.getDependencySearchTree().getRootNode().childCount());
+        Assertions.assertSame(parentManager.query(ReportService.class), forkManager.query(ReportService.class));
+        Assertions.assertSame(parentManager.query(ReportRepository.class), forkManager.query(ReportRepository.class));
+    }
+
+    @Test
+    @DisplayName("Dependents of an overridden bean are recreated lazily by the fork")
+    void overrideRecreatesDependentsTest() {
+        ReportService parentService = parentManager.query(ReportService.class);
+        DependencyManager forkManager = parentManager.fork();
+
+        TenantReportRepository tenantRepository = new TenantReportRepository();
+        forkManager.override(ReportRepository.class, tenantRepository);
+
+        DependencySearchTree forkTree = forkManager.getDependencySearchTree();
+        Assertions.assertNull(forkTree.getRegisteredSingletonNode(ReportService.class));
+
+        ReportService forkService = forkManager.query(ReportService.class);
+        Assertions.assertNotSame(parentService, forkService);
+        Assertions.assertSame(tenantRepository, forkService.getReportRepository());
+        Assertions.assertSame(forkService, forkManager.query(ReportService.class));
+        Assertions.assertNotNull(forkTree.getRegisteredSingletonNode(ReportService.class));
+
+        /* beans that do not depend on the override stay shared */
+        Assertions.assertSame(parentManager.query(ReportFormatter.class), forkService.getReportFormatter());
+
+        Assertions.assertSame(parentService, parentManager.query(ReportService.class));
+        Assertions.assertInstanceOf(SqlReportRepository.class, parentService.getReportRepository());
+        Assertions.assertInstanceOf(SqlReportRepository.class, parentManager.query(ReportRepository.class));
+    }
+
+    @Test
+    @DisplayName("queryAll of a fork hides the parent instances it replaced")
+    void forkQueryAllTest() {
+        DependencyManager forkManager = parentManager.fork();
+        TenantReportRepository tenantRepository = new TenantReportRepository();
+        forkManager.override(SqlReportRepository.class, new SqlReportRepository());
+        forkManager.override(ReportRepository.class, tenantRepository);
+
+        List<ReportRepository> reportRepositories = forkManager.queryAll(ReportRepository.class);
+        Assertions.assertEquals(2, reportRepositories.size());
+        Assertions.assertFalse(reportRepositories.contains(parentManager.query(ReportRepository.class)));
+
+        List<ReportService> reportServices = forkManager.queryAll(ReportService.class);
+        Assertions.assertEquals(1, reportServices.size());
+        Assertions.assertNotSame(parentManager.query(ReportService.class), reportServices.get(0));
+    }
+
+    @Test
+    @DisplayName("Forks are isolated from each other and only forks can override")
+    void forkIsolationTest() {
+        DependencyManager firstFork = parentManager.fork();
+        DependencyManager secondFork = parentManager.fork();
+        firstFork.override(ReportRepository.class, new TenantReportRepository());
+
+        Assertions.assertInstanceOf(TenantReportRepository.class, firstFork.query(ReportRepository.class));
+        Assertions.assertInstanceOf(SqlReportRepository.class, secondFork.query(ReportRepository.class));
+        Assertions.assertSame(parentManager.query(ReportService.class), secondFork.query(ReportService.class));
+
+        Assertions.assertThrows(StateException.class,
+                () -> parentManager.override(ReportRepository.class, new TenantReportRepository()));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> firstFork.override((Class) ReportService.class, new TenantReportRepository()));
+    }
+
+    @Test
+    @DisplayName("A fork creates its own copies of the beans its parent deferred")
+    void forkDeferredBeansTest() {
+        DependencyManager rootedManager = DependencyManager.builder()
+                .strategy("Rooted")
+                .installPackage("io.github.dependency4j.example.rooted", Checkout.class)
+                .getDependencyManager();
+        Checkout parentCheckout = rootedManager.query(Checkout.class);
+
+        DependencyManager sharingFork = rootedManager.fork();
+        AuditTrail sharedAuditTrail = sharingFork.query(AuditTrail.class);
+        Assertions.assertSame(parentCheckout, sharedAuditTrail.getCheckout());
+        Assertions.assertEquals(List.of(sharedAuditTrail), sharingFork.queryAll(AuditTrail.class));
+
+        /* dependents are found from the injection plans, created or not */
+        DependencyManager overridingFork = rootedManager.fork();
+        Cart forkCart = new Cart();
+        overridingFork.override(Cart.class, forkCart);
+
+        AuditTrail auditTrail = overridingFork.query(AuditTrail.class);
+        Assertions.assertSame(forkCart, auditTrail.getCheckout().getCart());
+        Assertions.assertSame(forkCart, overridingFork.query(SalesReport.class).cart());
+        Assertions.assertEquals(List.of(auditTrail), overridingFork.queryAll(AuditTrail.class));
+
+        DependencySearchTree parentTree = rootedManager.getDependencySearchTree();
+        Assertions.assertFalse(parentTree.getRegisteredSingletonNode(AuditTrail.class).hasSingletonInstance());
+        Assertions.assertFalse(parentTree.getRegisteredSingletonNode(ReportingConfig.class).hasSingletonInstance());
+        Assertions.assertFalse(parentTree.getRegisteredSingletonNode(SalesReport.class).hasSingletonInstance());
+        Assertions.assertSame(parentCheckout, rootedManager.query(Checkout.class));
+    }
+
+}
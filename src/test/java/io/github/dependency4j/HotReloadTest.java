@@ -0,0 +1,212 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.reload.Greeting;
+import io.github.dependency4j.example.reload.Reception;
+import io.github.dependency4j.exception.StateException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+@DisplayName("Hot reload of watched class directories")
+public class HotReloadTest {
+
+    private static final String LIVE_PACKAGE = "io.github.dependency4j.example.reload.live";
+
+    @TempDir
+    Path classDirectory;
+
+    @TempDir
+    Path sourceDirectory;
+    private URLClassLoader liveClassLoader;
+    private DependencyManager dependencyManager;
+
+    @BeforeEach
+    void installLivePackage() throws Exception {
+        writeSource("LiveGreeting", """
+                @Managed(strategy = @Strategy("Reload"))
+                public class LiveGreeting implements Greeting {
+                    public String greet() { return "v1"; }
+                }
+                """);
+        writeSource("LiveReception", """
+                @Managed(strategy = @Strategy("Reload"))
+                public class LiveReception implements Reception {
+                    private final Greeting greeting;
+                    @Pull
+                    public LiveReception(Greeting greeting) { this.greeting = greeting; }
+                    public Greeting getGreeting() { return greeting; }
+                }
+                """);
+        writeSource("LiveLedger", """
+                @Managed(strategy = @Strategy("Reload"))
+                public class LiveLedger implements java.util.function.Supplier<String> {
+                    public String get() { return "ledger"; }
+                }
+                """);
+        compileSources("LiveGreeting", "LiveReception", "LiveLedger");
+
+        liveClassLoader = new URLClassLoader(new URL[] {classDirectory.toUri().toURL()},
+                HotReloadTest.class.getClassLoader());
+
+        dependencyManager = new DependencyManager();
+        dependencyManager.addStrategy("Reload");
+        dependencyManager.enableInjectionRewiring();
+        dependencyManager.installPackage(LIVE_PACKAGE, liveClassLoader);
+    }
+
+    @AfterEach
+    void closeClassLoader() throws IOException {
+        liveClassLoader.close();
+    }
+
+    @Test
+    @DisplayName("A changed class is reloaded and only its dependents are recreated")
+    void reloadChangedClassTest() throws Exception {
+        Reception firstReception = dependencyManager.query(Reception.class);
+        Supplier<?> ledger = dependencyManager.query(Supplier.class);
+        Assertions.assertEquals("v1", firstReception.getGreeting().greet());
+
+        try (PackageWatcher packageWatcher = dependencyManager.watchPackage(LIVE_PACKAGE, liveClassLoader)) {
+            Assertions.assertFalse(packageWatcher.getWatchedDirectories().isEmpty());
+
+            writeGreeting("v2");
+
+            ClassReload classReload = awaitReload(packageWatcher);
+            Assertions.assertEquals(1, classReload.reloadedClassTypes().size());
+
+            Class<?> reloadedClassType = classReload.reloadedClassTypes().iterator().next();
+            Assertions.assertEquals(LIVE_PACKAGE + ".LiveGreeting", reloadedClassType.getName());
+            Assertions.assertNotSame(liveClassLoader, reloadedClassType.getClassLoader());
+            Assertions.assertEquals(1, classReload.removedInstances().size());
+        }
+
+        Greeting greeting = dependencyManager.query(Greeting.class);
+        Assertions.assertEquals("v2", greeting.greet());
+
+        Reception secondReception = dependencyManager.query(Reception.class);
+        Assertions.assertNotSame(firstReception, secondReception);
+        Assertions.assertSame(greeting, secondReception.getGreeting());
+        Assertions.assertSame(ledger, dependencyManager.query(Supplier.class));
+    }
+
+    @Test
+    @DisplayName("Each reload uses a new loader, so the previous one can be collected")
+    void reloadReleasesPreviousLoaderTest() throws Exception {
+        WeakReference<ClassLoader> firstReloadingClassLoader = reloadGreetingThenLedger();
+
+        Assertions.assertEquals("v2", dependencyManager.query(Greeting.class).greet());
+        Assertions.assertEquals("ledger v2", dependencyManager.query(Supplier.class).get());
+
+        for (int attempt = 0; attempt < 50 && firstReloadingClassLoader.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assertions.assertNull(firstReloadingClassLoader.get());
+    }
+
+    @Test
+    @DisplayName("A deleted class is removed from the tree")
+    void deleteClassTest() throws Exception {
+        try (PackageWatcher packageWatcher = dependencyManager.watchPackage(LIVE_PACKAGE, liveClassLoader)) {
+            Files.delete(classDirectory.resolve(LIVE_PACKAGE.replace('.', '/')).resolve("LiveGreeting.class"));
+
+            ClassReload classReload = awaitReload(packageWatcher);
+            Assertions.assertTrue(classReload.reloadedClassTypes().isEmpty());
+            Assertions.assertEquals(1, classReload.removedClassTypes().size());
+        }
+
+        Assertions.assertNull(dependencyManager.query(Greeting.class));
+        Assertions.assertNull(dependencyManager.query(Reception.class).getGreeting());
+    }
+
+    @Test
+    @DisplayName("Packages without a class directory can not be watched")
+    void unwatchablePackageTest() {
+        Assertions.assertThrows(StateException.class,
+                () -> dependencyManager.watchPackage("io.github.dependency4j.unknown", liveClassLoader));
+    }
+
+    private static ClassReload awaitReload(PackageWatcher packageWatcher) throws InterruptedException {
+        ClassReload classReload = packageWatcher.awaitReload(Duration.ofSeconds(10));
+        Assertions.assertNotNull(classReload, "No change was reported by the watch service.");
+        return classReload;
+    }
+
+    /* kept out of the test frame, so the test does not retain the reloaded instances */
+    private WeakReference<ClassLoader> reloadGreetingThenLedger() throws Exception {
+        try (PackageWatcher packageWatcher = dependencyManager.watchPackage(LIVE_PACKAGE, liveClassLoader)) {
+            writeGreeting("v2");
+            WeakReference<ClassLoader> firstReloadingClassLoader = new WeakReference<>(
+                    awaitReload(packageWatcher).reloadedClassTypes().iterator().next().getClassLoader());
+
+            writeSource("LiveLedger", """
+                    @Managed(strategy = @Strategy("Reload"))
+                    public class LiveLedger implements java.util.function.Supplier<String> {
+                        public String get() { return "ledger v2"; }
+                    }
+                    """);
+            compileSources("LiveLedger");
+
+            /* the greeting reloaded before is reloaded with the ledger */
+            ClassReload classReload = awaitReload(packageWatcher);
+            Assertions.assertEquals(2, classReload.reloadedClassTypes().size());
+            Assertions.assertTrue(classReload.reloadedClassTypes().stream()
+                    .allMatch(classType -> classType.getClassLoader().getParent() == liveClassLoader));
+
+            return firstReloadingClassLoader;
+        }
+    }
+
+    private void writeGreeting(String greeting) throws Exception {
+        writeSource("LiveGreeting", """
+                @Managed(strategy = @Strategy("Reload"))
+                public class LiveGreeting implements Greeting {
+                    public String greet() { return "%s"; }
+                }
+                """.formatted(greeting));
+        compileSources("LiveGreeting");
+    }
+
+    private void writeSource(String className, String classBody) throws IOException {
+        Path sourceFile = sourceDirectory.resolve(LIVE_PACKAGE.replace('.', '/')).resolve(className + ".java");
+        Files.createDirectories(sourceFile.getParent());
+        Files.writeString(sourceFile, "package " + LIVE_PACKAGE + ";\n\n" +
+                "import io.github.dependency4j.*;\n" +
+                "import io.github.dependency4j.example.reload.*;\n\n" + classBody);
+    }
+
+    private void compileSources(String... classNames) throws Exception {
+        JavaCompiler javaCompiler = ToolProvider.getSystemJavaCompiler();
+        String classPath = Path.of(DependencyManager.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                + File.pathSeparator
+                + Path.of(Greeting.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+        String[] arguments = new String[classNames.length + 5];
+        arguments[0] = "-proc:none";
+        arguments[1] = "-d";
+        arguments[2] = classDirectory.toString();
+        arguments[3] = "-classpath";
+        arguments[4] = classPath;
+        for (int i = 0; i < classNames.length; i++)
+            arguments[i + 5] = sourceDirectory.resolve(LIVE_PACKAGE.replace('.', '/'))
+                    .resolve(classNames[i] + ".java").toString();
+
+        Assertions.assertEquals(0, javaCompiler.run(null, null, null, arguments));
+    }
+
+}
@@ -0,0 +1,90 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.named.CheckoutService;
+import io.github.dependency4j.example.named.IPaymentGateway;
+import io.github.dependency4j.jfr.BeanInstantiationEvent;
+import io.github.dependency4j.jfr.InjectionEvent;
+import io.github.dependency4j.jfr.PackageScanEvent;
+import io.github.dependency4j.jfr.SlowQueryEvent;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+@DisplayName("JDK Flight Recorder events")
+public class JfrEventsTest {
+
+    @Test
+    @DisplayName("Scan, instantiation, injection and slow query events are recorded")
+    void containerEventsTest() throws Exception {
+        List<RecordedEvent> recordedEvents;
+
+        /* the package may already be cached by the registry if another test installed it */
+        ClassMetadataRegistry.forgetScannedPackages(ClassLoader.getSystemClassLoader());
+
+        try (Recording recording = new Recording()) {
+            recording.enable(PackageScanEvent.class);
+            recording.enable(BeanInstantiationEvent.class);
+            recording.enable(InjectionEvent.class);
+            recording.enable(SlowQueryEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            DependencyManager dependencyManager = DependencyManager.builder()
+                    .strategy("NamedQuery")
+                    .installPackage("io.github.dependency4j.example.named")
+                    .getDependencyManager();
+
+            dependencyManager.query(IPaymentGateway.class, QueryOptions.byName("paypal"));
+            recording.stop();
+
+            Path recordingFile = Files.createTempFile("dependency4j", ".jfr");
+            try {
+                recording.dump(recordingFile);
+                recordedEvents = RecordingFile.readAllEvents(recordingFile);
+            } finally {
+                Files.deleteIfExists(recordingFile);
+            }
+        }
+
+        RecordedEvent packageScanEvent = findEvent(recordedEvents, "io.github.dependency4j.PackageScan");
+        Assertions.assertEquals("io.github.dependency4j.example.named", packageScanEvent.getString("packageName"));
+        Assertions.assertEquals(4, packageScanEvent.getInt("classCount"));
+        Assertions.assertTrue(packageScanEvent.getLong("bytesRead") > 0);
+
+        RecordedEvent instantiationEvent = recordedEvents.stream()
+                .filter(event -> event.getEventType().getName().equals("io.github.dependency4j.BeanInstantiation"))
+                .filter(event -> event.getClass("beanClass").getName().equals(CheckoutService.class.getName()))
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertTrue(instantiationEvent.getLong("constructorDuration") > 0);
+        Assertions.assertTrue(instantiationEvent.getDuration().toNanos()
+                >= instantiationEvent.getLong("constructorDuration"));
+
+        RecordedEvent injectionEvent = recordedEvents.stream()
+                .filter(event -> event.getEventType().getName().equals("io.github.dependency4j.Injection"))
+                .filter(event -> event.getClass("targetClass").getName().equals(CheckoutService.class.getName()))
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertEquals(2, injectionEvent.getInt("fieldCount"));
+        Assertions.assertEquals(0, injectionEvent.getInt("setterCount"));
+
+        Assertions.assertTrue(recordedEvents.stream()
+                .filter(event -> event.getEventType().getName().equals("io.github.dependency4j.SlowQuery"))
+                .anyMatch(event -> "paypal".equals(event.getString("name")) && event.getBoolean("found")));
+    }
+
+    private static RecordedEvent findEvent(List<RecordedEvent> recordedEvents, String eventName) {
+        return recordedEvents.stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(eventName + " was not recorded."));
+    }
+
+}
@@ -0,0 +1,85 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.named.CheckoutService;
+import io.github.dependency4j.example.named.IPaymentGateway;
+import io.github.dependency4j.example.named.PaypalPaymentGateway;
+import io.github.dependency4j.example.named.StripePaymentGateway;
+import io.github.dependency4j.example.sharedname.DiskArchive;
+import io.github.dependency4j.example.sharedname.GlacierArchive;
+import io.github.dependency4j.example.sharedname.IArchive;
+import io.github.dependency4j.example.sharedname.TapeArchive;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Querying singletons by their managed name")
+public class NamedQueryTest {
+
+    private final DependencyManager dependencyManager = DependencyManager.builder()
+            .strategy("NamedQuery")
+            .installPackage("io.github.dependency4j.example.named")
+            .getDependencyManager();
+
+    @Test
+    @DisplayName("Query by name through interface and concrete types")
+    void queryByNameTest() {
+
+        IPaymentGateway stripe = dependencyManager.query(IPaymentGateway.class, QueryOptions.byName("stripe"));
+        IPaymentGateway paypal = dependencyManager.query(IPaymentGateway.class, QueryOptions.byName("paypal"));
+
+        Assertions.assertEquals(StripePaymentGateway.class, stripe.getClass());
+        Assertions.assertEquals(PaypalPaymentGateway.class, paypal.getClass());
+
+        Assertions.assertSame(paypal, dependencyManager
+                .query(PaypalPaymentGateway.class, QueryOptions.byName("paypal")));
+    }
+
+    @Test
+    @DisplayName("Unknown name honors retrieveAnyways")
+    void queryByUnknownNameTest() {
+
+        Assertions.assertNotNull(dependencyManager
+                .query(IPaymentGateway.class, QueryOptions.byName("unknown")));
+
+        Assertions.assertNull(dependencyManager.query(IPaymentGateway.class, QueryOptions.builder()
+                .filterByName("unknown")
+                .disableRetrieveAnyways()
+                .build()));
+
+        Assertions.assertNull(dependencyManager.query(StripePaymentGateway.class, QueryOptions.builder()
+                .filterByName("paypal")
+                .disableRetrieveAnyways()
+                .build()));
+    }
+
+    @Test
+    @DisplayName("@Pull with name injects the named singleton")
+    void pullByNameTest() {
+
+        CheckoutService checkoutService = dependencyManager.query(CheckoutService.class);
+
+        Assertions.assertNotNull(checkoutService);
+        Assertions.assertEquals(PaypalPaymentGateway.class, checkoutService.getPaymentGateway().getClass());
+        Assertions.assertNull(checkoutService.getUnknownPaymentGateway());
+    }
+
+    @Test
+    @DisplayName("A name shared by several singletons resolves to the first one in tree order")
+    void sharedNameTreeOrderTest() {
+
+        DependencyManager sharedNameManager = new DependencyManager();
+        sharedNameManager.addStrategy("SharedName");
+        sharedNameManager.installType(TapeArchive.class);
+        sharedNameManager.installType(DiskArchive.class);
+        sharedNameManager.installType(GlacierArchive.class);
+
+        Object firstArchive = sharedNameManager.getDependencySearchTree()
+                .querySingletonsByType(IArchive.class).get(0).getNodeInstance();
+
+        /* TapeArchive was installed first, but DiskArchive is the first one under IArchive */
+        Assertions.assertEquals(DiskArchive.class, firstArchive.getClass());
+        Assertions.assertSame(firstArchive, sharedNameManager
+                .query(IArchive.class, QueryOptions.byName("archive")));
+    }
+
+}
@@ -0,0 +1,94 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.plugin.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+@DisplayName("Querying and injecting all implementations of a type")
+public class QueryAllTest {
+
+    private final DependencyManager dependencyManager = DependencyManager.builder()
+            .strategy("QueryAll")
+            .installPackage("io.github.dependency4j.example.plugin")
+            .getDependencyManager();
+
+    @Test
+    @DisplayName("queryAll returns a cached immutable list of all implementations")
+    void queryAllTest() {
+
+        List<MessageHandler> messageHandlers = dependencyManager.queryAll(MessageHandler.class);
+
+        Assertions.assertEquals(Set.of(AuditMessageHandler.class, MetricsMessageHandler.class,
+                RoutingMessageHandler.class), messageHandlers.stream()
+                        .map(Object::getClass)
+                        .collect(Collectors.toSet()));
+
+        Assertions.assertSame(messageHandlers, dependencyManager.queryAll(MessageHandler.class));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> messageHandlers.clear());
+        Assertions.assertTrue(dependencyManager.queryAll(Runnable.class).isEmpty());
+    }
+
+    @Test
+    @DisplayName("queryAll is rebuilt only when a matching singleton is installed")
+    void queryAllInvalidationTest() {
+
+        List<MessageHandler> messageHandlers = dependencyManager.queryAll(MessageHandler.class);
+        List<MessageDispatcher> messageDispatchers = dependencyManager.queryAll(MessageDispatcher.class);
+
+        LateMessageHandler lateMessageHandler = dependencyManager.installInstance(new LateMessageHandler());
+
+        List<MessageHandler> updatedMessageHandlers = dependencyManager.queryAll(MessageHandler.class);
+
+        Assertions.assertNotSame(messageHandlers, updatedMessageHandlers);
+        Assertions.assertEquals(4, updatedMessageHandlers.size());
+        Assertions.assertSame(lateMessageHandler, updatedMessageHandlers.get(3));
+        Assertions.assertSame(messageDispatchers, dependencyManager.queryAll(MessageDispatcher.class));
+    }
+
+    @Test
+    @DisplayName("queryAll and query can be called by many threads at once")
+    void concurrentQueryAllTest() throws Exception {
+
+        MessageDispatcher messageDispatcher = dependencyManager.query(MessageDispatcher.class);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> queryFutures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                queryFutures.add(executorService.submit(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        Assertions.assertEquals(3, dependencyManager.queryAll(MessageHandler.class).size());
+                        Assertions.assertSame(messageDispatcher, dependencyManager.query(MessageDispatcher.class));
+                    }
+                }));
+            }
+            for (Future<?> queryFuture : queryFutures)
+                queryFuture.get();
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assertions.assertSame(dependencyManager.queryAll(MessageHandler.class),
+                dependencyManager.queryAll(MessageHandler.class));
+    }
+
+    @Test
+    @DisplayName("List and Collection members receive all implementations")
+    void collectionInjectionTest() {
+
+        MessageDispatcher messageDispatcher = dependencyManager.query(MessageDispatcher.class);
+
+        Assertions.assertNotNull(messageDispatcher);
+        Assertions.assertEquals(3, messageDispatcher.getConstructorHandlers().size());
+        Assertions.assertEquals(dependencyManager.queryAll(MessageHandler.class),
+                messageDispatcher.getFieldHandlers());
+    }
+
+}
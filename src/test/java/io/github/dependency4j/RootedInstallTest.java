@@ -0,0 +1,123 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.rooted.AuditTrail;
+import io.github.dependency4j.example.rooted.Cart;
+import io.github.dependency4j.example.rooted.Checkout;
+import io.github.dependency4j.example.rooted.PriceList;
+import io.github.dependency4j.example.rooted.ReportingConfig;
+import io.github.dependency4j.example.rooted.SalesReport;
+import io.github.dependency4j.exception.InstallationFailedException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("Installing a package from root types")
+public class RootedInstallTest {
+
+    private DependencyManager dependencyManager;
+
+    @BeforeEach
+    void installFromRoots() {
+        dependencyManager = DependencyManager.builder()
+                .strategy("Rooted")
+                .installPackage("io.github.dependency4j.example.rooted", Checkout.class)
+                .getDependencyManager();
+    }
+
+    private boolean isInstantiated(Class<?> classType) {
+        return dependencyManager.getDependencySearchTree()
+                .querySingletonNode(classType, QueryOptions.none())
+                .hasSingletonInstance();
+    }
+
+    @Test
+    @DisplayName("Only the beans reachable from the roots are instantiated")
+    void rootClosureTest() {
+        Assertions.assertTrue(isInstantiated(Checkout.class));
+        Assertions.assertTrue(isInstantiated(Cart.class));
+        Assertions.assertTrue(isInstantiated(PriceList.class));
+
+        Assertions.assertFalse(isInstantiated(AuditTrail.class));
+        Assertions.assertFalse(isInstantiated(ReportingConfig.class));
+        Assertions.assertFalse(isInstantiated(SalesReport.class));
+    }
+
+    @Test
+    @DisplayName("Deferred beans are created when they are first queried")
+    void deferredQueryTest() {
+        Checkout checkout = dependencyManager.query(Checkout.class);
+
+        AuditTrail auditTrail = dependencyManager.query(AuditTrail.class);
+        Assertions.assertNotNull(auditTrail);
+        Assertions.assertSame(checkout, auditTrail.getCheckout());
+        Assertions.assertSame(auditTrail, dependencyManager.query(AuditTrail.class));
+
+        /* a deferred virtual bean is produced with its parent */
+        SalesReport salesReport = dependencyManager.query(SalesReport.class);
+        Assertions.assertNotNull(salesReport);
+        Assertions.assertSame(checkout.getCart(), salesReport.cart());
+        Assertions.assertTrue(isInstantiated(ReportingConfig.class));
+
+        Assertions.assertEquals(1, dependencyManager.queryAll(AuditTrail.class).size());
+    }
+
+    @Test
+    @DisplayName("queryAll creates the deferred beans it lists")
+    void deferredQueryAllTest() {
+        Assertions.assertEquals(1, dependencyManager.queryAll(SalesReport.class).size());
+        Assertions.assertFalse(isInstantiated(AuditTrail.class));
+    }
+
+    @Test
+    @DisplayName("Roots must be installed")
+    void missingRootTest() {
+        DependencyManager emptyManager = new DependencyManager();
+        emptyManager.addStrategy("Rooted");
+
+        Assertions.assertThrows(InstallationFailedException.class,
+                () -> emptyManager.installPackage("io.github.dependency4j.example.rooted", String.class));
+        Assertions.assertThrows(NullPointerException.class,
+                () -> emptyManager.installPackage("io.github.dependency4j.example.rooted", (Class<?>) null));
+    }
+
+    @Test
+    @DisplayName("Children create the deferred beans of the parent once, under the parent lock")
+    void concurrentChildrenTest() throws Exception {
+        final int childCount = 8;
+        final Set<Object> createdInstances = ConcurrentHashMap.newKeySet();
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(childCount);
+        try {
+            List<Future<?>> queries = new ArrayList<>();
+            for (int index = 0; index < childCount; index++) {
+                DependencyManager childManager = dependencyManager.createChild();
+                queries.add(executorService.submit(() -> {
+                    startLatch.await();
+                    createdInstances.add(childManager.query(AuditTrail.class));
+                    createdInstances.add(childManager.query(SalesReport.class));
+                    createdInstances.addAll(childManager.queryAll(AuditTrail.class));
+                    return null;
+                }));
+            }
+            startLatch.countDown();
+            for (Future<?> query : queries)
+                query.get(10, TimeUnit.SECONDS);
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assertions.assertEquals(Set.of(dependencyManager.query(AuditTrail.class),
+                dependencyManager.query(SalesReport.class)), createdInstances);
+    }
+
+}
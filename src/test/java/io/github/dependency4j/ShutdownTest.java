@@ -0,0 +1,95 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.shutdown.CacheWarmer;
+import io.github.dependency4j.example.shutdown.CloseRecorder;
+import io.github.dependency4j.example.shutdown.ConnectionPool;
+import io.github.dependency4j.example.shutdown.HangingWorker;
+import io.github.dependency4j.example.shutdown.MessageBroker;
+import io.github.dependency4j.example.shutdown.ReportScheduler;
+import io.github.dependency4j.exception.ShutdownFailedException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+@DisplayName("Ordered parallel shutdown")
+public class ShutdownTest {
+
+    private static final String SHUTDOWN_PACKAGE = "io.github.dependency4j.example.shutdown";
+
+    @BeforeEach
+    void resetRecorder() {
+        CloseRecorder.reset();
+    }
+
+    @Test
+    @DisplayName("Beans are closed after the beans they were injected into")
+    void reverseDependencyOrderTest() {
+        DependencyManager dependencyManager = DependencyManager.builder()
+                .strategy("Shutdown")
+                .includeDependencyManagerAsDependency()
+                .installPackage(SHUTDOWN_PACKAGE)
+                .getDependencyManager();
+
+        dependencyManager.close();
+
+        List<Class<?>> closedTypes = CloseRecorder.getClosedTypes();
+        Assertions.assertEquals(4, closedTypes.size());
+
+        Assertions.assertTrue(closedTypes.indexOf(ReportScheduler.class) < closedTypes.indexOf(MessageBroker.class));
+        Assertions.assertTrue(closedTypes.indexOf(MessageBroker.class) < closedTypes.indexOf(ConnectionPool.class));
+
+        /* a second call has no effect */
+        dependencyManager.close();
+        Assertions.assertEquals(4, CloseRecorder.getClosedTypes().size());
+    }
+
+    @Test
+    @DisplayName("Independent branches are closed in parallel")
+    void parallelShutdownTest() {
+        DependencyManager dependencyManager = DependencyManager.builder()
+                .strategy("Shutdown")
+                .installPackage(SHUTDOWN_PACKAGE)
+                .getDependencyManager();
+
+        dependencyManager.close();
+
+        /* the report scheduler and the cache warmer only finish closing once both are closing */
+        Assertions.assertEquals(Set.of(ReportScheduler.class, CacheWarmer.class),
+                Set.copyOf(CloseRecorder.getOverlappingTypes()));
+        Assertions.assertTrue(CloseRecorder.getClosedTypes().contains(CacheWarmer.class));
+    }
+
+    @Test
+    @DisplayName("A bean that does not close in time is reported and its dependencies are closed")
+    void closeTimeoutTest() {
+        DependencyManager dependencyManager = DependencyManager.builder()
+                .strategy("ShutdownTimeout")
+                .closeTimeout(Duration.ofMillis(200))
+                .installPackage(SHUTDOWN_PACKAGE)
+                .getDependencyManager();
+
+        try {
+            long shutdownStartTime = System.nanoTime();
+            ShutdownFailedException shutdownFailedException =
+                    Assertions.assertThrows(ShutdownFailedException.class, dependencyManager::close);
+            long shutdownMillis = Duration.ofNanos(System.nanoTime() - shutdownStartTime).toMillis();
+
+            Assertions.assertTrue(shutdownMillis < 2_000, "shutdown took " + shutdownMillis + " ms");
+            Assertions.assertEquals(1, shutdownFailedException.getSuppressed().length);
+            Assertions.assertInstanceOf(TimeoutException.class, shutdownFailedException.getSuppressed()[0]);
+            Assertions.assertTrue(shutdownFailedException.getMessage().contains(HangingWorker.class.getName()));
+
+            Assertions.assertEquals(List.of(ConnectionPool.class), CloseRecorder.getClosedTypes());
+        } finally {
+            /* the hanging close ends with its test, without recording anything */
+            CloseRecorder.releaseHangingClose();
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.named.CheckoutService;
+import io.github.dependency4j.example.named.PaypalPaymentGateway;
+import io.github.dependency4j.trace.StartupTimeline;
+import io.github.dependency4j.trace.TimelineSpan;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@DisplayName("Startup timeline tracing")
+public class StartupTimelineTest {
+
+    @Test
+    @DisplayName("Startup phases are recorded as nested spans")
+    void startupPhasesTest() {
+        DependencyManager dependencyManager = DependencyManager.builder()
+                .strategy("NamedQuery")
+                .enableStartupTimeline()
+                .installPackage("io.github.dependency4j.example.named")
+                .getDependencyManager();
+
+        List<TimelineSpan> spans = dependencyManager.getStartupTimeline().getSpans();
+
+        Assertions.assertEquals(Set.of(StartupTimeline.INSTALL_PACKAGE, StartupTimeline.SCAN,
+                StartupTimeline.DECOMPOSE, StartupTimeline.INSERT, StartupTimeline.INSTANTIATE),
+                spans.stream().map(TimelineSpan::phase).collect(Collectors.toSet()));
+
+        TimelineSpan installSpan = spans.get(0);
+        Assertions.assertEquals(StartupTimeline.INSTALL_PACKAGE, installSpan.phase());
+        Assertions.assertEquals(0, installSpan.depth());
+
+        for (TimelineSpan span : spans) {
+            Assertions.assertTrue(span.startNanos() >= installSpan.startNanos());
+            Assertions.assertTrue(span.endNanos() <= installSpan.endNanos());
+            Assertions.assertTrue(span.durationNanos() >= 0);
+        }
+
+        /* a bean is instantiated once, inside the span of the bean that pulled it or at the top level */
+        List<TimelineSpan> paypalSpans = spans.stream()
+                .filter(span -> span.phase().equals(StartupTimeline.INSTANTIATE))
+                .filter(span -> span.beanType() == PaypalPaymentGateway.class)
+                .toList();
+
+        Assertions.assertEquals(1, paypalSpans.size());
+        Assertions.assertTrue(paypalSpans.get(0).parentBeanType() == null
+                || paypalSpans.get(0).parentBeanType() == CheckoutService.class);
+    }
+
+    @Test
+    @DisplayName("Spans are exported as Chrome trace events")
+    void chromeTraceExportTest() throws Exception {
+        DependencyManager dependencyManager = DependencyManager.builder()
+                .strategy("NamedQuery")
+                .enableStartupTimeline()
+                .installPackage("io.github.dependency4j.example.named")
+                .getDependencyManager();
+
+        StringWriter stringWriter = new StringWriter();
+        dependencyManager.getStartupTimeline().writeChromeTrace(stringWriter);
+        String chromeTrace = stringWriter.toString();
+
+        Assertions.assertTrue(chromeTrace.startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":["));
+        Assertions.assertTrue(chromeTrace.contains("\"name\":\"instantiate CheckoutService\""));
+        Assertions.assertTrue(chromeTrace.contains("\"bean\":\"" + CheckoutService.class.getName() + "\""));
+        Assertions.assertTrue(chromeTrace.contains("\"name\":\"thread_name\""));
+        Assertions.assertTrue(chromeTrace.trim().endsWith("]}"));
+    }
+
+    @Test
+    @DisplayName("A disabled timeline records nothing")
+    void disabledTimelineTest() {
+        DependencyManager dependencyManager = DependencyManager.builder()
+                .strategy("NamedQuery")
+                .installPackage("io.github.dependency4j.example.named")
+                .getDependencyManager();
+
+        Assertions.assertNull(dependencyManager.getStartupTimeline());
+
+        StartupTimeline startupTimeline = dependencyManager.enableStartupTimeline();
+        Assertions.assertSame(startupTimeline, dependencyManager.enableStartupTimeline());
+        Assertions.assertTrue(startupTimeline.getSpans().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Spans must be closed by the thread that opened them")
+    void unbalancedSpanTest() {
+        StartupTimeline startupTimeline = new StartupTimeline();
+        StartupTimeline.OpenSpan outerSpan = startupTimeline.begin("outer", null);
+        StartupTimeline.OpenSpan innerSpan = startupTimeline.begin("inner", String.class);
+
+        startupTimeline.end(outerSpan);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> startupTimeline.end(innerSpan));
+        Assertions.assertEquals(1, startupTimeline.getSpans().size());
+    }
+
+}
@@ -0,0 +1,62 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.controller.IHomeController;
+import io.github.dependency4j.example.controller.ProductionHomeController;
+import io.github.dependency4j.example.named.StripePaymentGateway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+@DisplayName("Interned strategy masks")
+public class StrategyMaskTest {
+
+    private static final List<String> TENANT_STRATEGIES = IntStream.range(0, 300)
+            .mapToObj(tenant -> "Tenant-" + tenant)
+            .toList();
+
+    @Test
+    @DisplayName("Masks of hundreds of strategies intersect by bit")
+    void hundredsOfStrategiesTest() {
+        StrategyMask tenantsMask = StrategyMask.of(TENANT_STRATEGIES);
+
+        Assertions.assertEquals(300, tenantsMask.cardinality());
+        Assertions.assertTrue(tenantsMask.intersects(StrategyMask.of(List.of("Tenant-280"))));
+        Assertions.assertTrue(StrategyMask.of(List.of("Tenant-3", "Region-EU")).intersects(tenantsMask));
+        Assertions.assertFalse(tenantsMask.intersects(StrategyMask.of(List.of("Region-US"))));
+        Assertions.assertFalse(tenantsMask.intersects(StrategyMask.EMPTY));
+
+        Assertions.assertEquals(StrategyMask.of(List.of("Tenant-1", "Tenant-299")),
+                StrategyMask.of(List.of("Tenant-299", "Tenant-1")));
+        Assertions.assertEquals(StrategyMask.of(List.of("Tenant-1")).union(StrategyMask.of(List.of("Tenant-299"))),
+                StrategyMask.of(List.of("Tenant-1", "Tenant-299")));
+    }
+
+    @Test
+    @DisplayName("Type information carries the mask of its strategies")
+    void typeInformationMaskTest() {
+        TypeInformationHolder typeInformationHolder =
+                TypeInformationHolderFactory.createTypeInformation(StripePaymentGateway.class);
+
+        Assertions.assertSame(typeInformationHolder.getStrategyMask(), typeInformationHolder.getStrategyMask());
+        Assertions.assertEquals(StrategyMask.of(List.of("NamedQuery")), typeInformationHolder.getStrategyMask());
+    }
+
+    @Test
+    @DisplayName("Eligibility holds with hundreds of manager strategies")
+    void managerWithHundredsOfStrategiesTest() {
+        DependencyManager dependencyManager = new DependencyManager();
+        dependencyManager.addStrategy(TENANT_STRATEGIES.toArray(String[]::new));
+        dependencyManager.addStrategy("Production");
+        dependencyManager.installPackage("io.github.dependency4j.example");
+
+        Assertions.assertEquals(301, dependencyManager.getStrategyMask().cardinality());
+        Assertions.assertEquals(ProductionHomeController.class,
+                dependencyManager.query(IHomeController.class).getClass());
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> dependencyManager.getStrategies().add("Staging"));
+    }
+
+}
@@ -0,0 +1,167 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.toggle.BlueCheckoutFlow;
+import io.github.dependency4j.example.toggle.CheckoutAudit;
+import io.github.dependency4j.example.toggle.CheckoutBanner;
+import io.github.dependency4j.example.toggle.CheckoutController;
+import io.github.dependency4j.example.toggle.CheckoutFlow;
+import io.github.dependency4j.example.toggle.CheckoutReporter;
+import io.github.dependency4j.example.toggle.GreenCheckoutFlow;
+import io.github.dependency4j.example.toggle.GreenPromotions;
+import io.github.dependency4j.example.toggle.PaymentClock;
+import io.github.dependency4j.exception.StateException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@DisplayName("Runtime strategy switching")
+public class StrategySwitchTest {
+
+    private static final String TOGGLE_PACKAGE = "io.github.dependency4j.example.toggle";
+
+    private DependencyManager createBlueDependencyManager() {
+        return DependencyManager.builder()
+                .strategy("Blue")
+                .injectionRewiring()
+                .installPackage(TOGGLE_PACKAGE)
+                .getDependencyManager();
+    }
+
+    @Test
+    @DisplayName("Switching installs new beans and rewires only the changed injection points")
+    void switchAndRewireTest() {
+        DependencyManager dependencyManager = createBlueDependencyManager();
+
+        CheckoutController checkoutController = dependencyManager.query(CheckoutController.class);
+        CheckoutReporter checkoutReporter = dependencyManager.query(CheckoutReporter.class);
+        CheckoutAudit blueCheckoutAudit = dependencyManager.query(CheckoutAudit.class);
+        PaymentClock paymentClock = dependencyManager.query(PaymentClock.class);
+        BlueCheckoutFlow blueCheckoutFlow = dependencyManager.query(BlueCheckoutFlow.class);
+
+        Assertions.assertSame(blueCheckoutFlow, checkoutController.getCheckoutFlow());
+        Assertions.assertNull(dependencyManager.getDependencySearchTree()
+                .querySingletonNode(CheckoutBanner.class, QueryOptions.none()));
+
+        StrategySwitch strategySwitch = dependencyManager.switchStrategies("Green");
+
+        Assertions.assertTrue(strategySwitch.installedClassTypes().contains(GreenCheckoutFlow.class));
+        Assertions.assertTrue(strategySwitch.installedClassTypes().contains(GreenPromotions.class));
+        Assertions.assertEquals(1, strategySwitch.removedClassTypes().size());
+        Assertions.assertSame(blueCheckoutFlow, strategySwitch.removedInstances().get(0));
+
+        /* field, setter and constructor injections: two rewired members and one recreated bean */
+        Assertions.assertEquals(3, strategySwitch.rewiredInjectionPoints());
+
+        CheckoutFlow greenCheckoutFlow = dependencyManager.query(CheckoutFlow.class);
+        Assertions.assertEquals("green", greenCheckoutFlow.variant());
+
+        Assertions.assertSame(checkoutController, dependencyManager.query(CheckoutController.class));
+        Assertions.assertSame(greenCheckoutFlow, checkoutController.getCheckoutFlow());
+        Assertions.assertSame(paymentClock, checkoutController.getPaymentClock());
+
+        Assertions.assertSame(checkoutReporter, dependencyManager.query(CheckoutReporter.class));
+        Assertions.assertSame(greenCheckoutFlow, checkoutReporter.getCheckoutFlow());
+        Assertions.assertEquals(2, checkoutReporter.getWiringCount());
+
+        CheckoutAudit greenCheckoutAudit = dependencyManager.query(CheckoutAudit.class);
+        Assertions.assertNotSame(blueCheckoutAudit, greenCheckoutAudit);
+        Assertions.assertSame(greenCheckoutFlow, greenCheckoutAudit.getCheckoutFlow());
+
+        Assertions.assertSame(paymentClock, dependencyManager.query(PaymentClock.class));
+        /* virtual beans are created when pulled, the switch only inserts their nodes */
+        Assertions.assertNotNull(dependencyManager.getDependencySearchTree()
+                .querySingletonNode(CheckoutBanner.class, QueryOptions.none()));
+    }
+
+    @Test
+    @DisplayName("Switching back removes the virtual beans of removed classes")
+    void switchBackTest() {
+        DependencyManager dependencyManager = createBlueDependencyManager();
+
+        dependencyManager.switchStrategies("Green");
+        StrategySwitch strategySwitch = dependencyManager.switchStrategies("Blue");
+
+        Assertions.assertTrue(strategySwitch.removedClassTypes().contains(GreenPromotions.class));
+        Assertions.assertTrue(strategySwitch.removedClassTypes().contains(CheckoutBanner.class));
+        Assertions.assertNull(dependencyManager.getDependencySearchTree()
+                .querySingletonNode(CheckoutBanner.class, QueryOptions.none()));
+        Assertions.assertNull(dependencyManager.query(GreenCheckoutFlow.class));
+
+        Assertions.assertEquals("blue", dependencyManager.query(CheckoutFlow.class).variant());
+        Assertions.assertEquals("blue",
+                dependencyManager.query(CheckoutController.class).getCheckoutFlow().variant());
+        Assertions.assertEquals(1, dependencyManager.queryAll(CheckoutFlow.class).size());
+    }
+
+    @Test
+    @DisplayName("Switching to the same strategies changes nothing")
+    void sameStrategiesTest() {
+        DependencyManager dependencyManager = createBlueDependencyManager();
+        CheckoutAudit checkoutAudit = dependencyManager.query(CheckoutAudit.class);
+
+        StrategySwitch strategySwitch = dependencyManager.switchStrategies("Blue");
+
+        Assertions.assertTrue(strategySwitch.installedClassTypes().isEmpty());
+        Assertions.assertTrue(strategySwitch.removedClassTypes().isEmpty());
+        Assertions.assertEquals(0, strategySwitch.rewiredInjectionPoints());
+        Assertions.assertSame(checkoutAudit, dependencyManager.query(CheckoutAudit.class));
+    }
+
+    @Test
+    @DisplayName("Switching requires injection rewiring, enabled before the first bean")
+    void rewiringRequiredTest() {
+        DependencyManager dependencyManager = DependencyManager.builder()
+                .strategy("Blue")
+                .installPackage(TOGGLE_PACKAGE)
+                .getDependencyManager();
+
+        Assertions.assertThrows(StateException.class, () -> dependencyManager.switchStrategies("Green"));
+        Assertions.assertThrows(StateException.class, dependencyManager::enableInjectionRewiring);
+    }
+
+    @Test
+    @DisplayName("Queries made during switches see the beans of one strategy")
+    void concurrentSwitchTest() throws Exception {
+        DependencyManager dependencyManager = createBlueDependencyManager();
+        AtomicBoolean switching = new AtomicBoolean(true);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> queryResults = new ArrayList<>();
+            for (int index = 0; index < 4; index++) {
+                queryResults.add(executorService.submit(() -> {
+                    int queryCount = 0;
+                    while (switching.get()) {
+                        String variant = dependencyManager.query(CheckoutFlow.class).variant();
+                        Assertions.assertTrue(variant.equals("blue") || variant.equals("green"));
+                        Assertions.assertEquals(1, dependencyManager.queryAll(CheckoutFlow.class).size());
+                        Assertions.assertNotNull(dependencyManager.query(CheckoutController.class).getCheckoutFlow());
+                        queryCount++;
+                    }
+                    return queryCount;
+                }));
+            }
+            for (int index = 0; index < 200; index++)
+                dependencyManager.switchStrategies((index % 2 == 0) ? "Green" : "Blue");
+
+            switching.set(false);
+            for (Future<Integer> queryResult : queryResults)
+                Assertions.assertTrue(queryResult.get(10, TimeUnit.SECONDS) > 0);
+
+        } finally {
+            switching.set(false);
+            executorService.shutdownNow();
+        }
+        Assertions.assertEquals("blue", dependencyManager.query(CheckoutFlow.class).variant());
+        Assertions.assertEquals("blue",
+                dependencyManager.query(CheckoutController.class).getCheckoutFlow().variant());
+    }
+
+}
@@ -0,0 +1,113 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.diagnostics.ResolutionCost;
+import io.github.dependency4j.diagnostics.TreeDiagnostics;
+import io.github.dependency4j.diagnostics.TreeDiagnosticsReport;
+import io.github.dependency4j.example.named.CheckoutService;
+import io.github.dependency4j.example.named.IPaymentGateway;
+import io.github.dependency4j.example.named.PaypalPaymentGateway;
+import io.github.dependency4j.example.named.StripePaymentGateway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+@DisplayName("Search tree diagnostics")
+public class TreeDiagnosticsTest {
+
+    private static DependencySearchTree createNamedSearchTree() {
+        return DependencyManager.builder()
+                .strategy("NamedQuery")
+                .installPackage("io.github.dependency4j.example.named")
+                .getDependencyManager()
+                .getDependencySearchTree();
+    }
+
+    @Test
+    @DisplayName("Depth and fan-out histograms describe the tree shape")
+    void treeShapeTest() {
+        TreeDiagnosticsReport report = TreeDiagnostics.analyze(createNamedSearchTree());
+
+        Assertions.assertEquals(report.nodeCount(),
+                report.depthHistogram().values().stream().mapToInt(Integer::intValue).sum());
+
+        Assertions.assertEquals(1, report.depthHistogram().get(0));
+        Assertions.assertEquals(report.maxDepth(), report.depthHistogram().lastKey());
+        Assertions.assertTrue(report.maxDepth() >= 2);
+
+        /* every node except the root has exactly one parent */
+        int childCount = report.fanOutHistogram().entrySet().stream()
+                .mapToInt(bucket -> bucket.getKey() * bucket.getValue())
+                .sum();
+
+        Assertions.assertEquals(report.nodeCount() - 1, childCount);
+    }
+
+    @Test
+    @DisplayName("Classes held by more than one SingletonNode are reported")
+    void duplicatedSingletonsTest() {
+        TreeDiagnosticsReport report = TreeDiagnostics.analyze(createNamedSearchTree());
+
+        Assertions.assertEquals(2, report.duplicatedSingletons().get(PaypalPaymentGateway.class));
+        Assertions.assertEquals(2, report.duplicatedSingletons().get(StripePaymentGateway.class));
+        Assertions.assertFalse(report.duplicatedSingletons().containsKey(CheckoutService.class));
+    }
+
+    @Test
+    @DisplayName("Resolution cost counts the nodes visited by uncached queries")
+    void resolutionCostTest() {
+        DependencySearchTree dependencySearchTree = createNamedSearchTree();
+        TreeDiagnosticsReport report = TreeDiagnostics.analyze(dependencySearchTree,
+                List.of(IPaymentGateway.class, StripePaymentGateway.class, Runnable.class));
+
+        ResolutionCost gatewayCost = findCost(report, IPaymentGateway.class);
+        Assertions.assertEquals(dependencySearchTree.querySingletonsByType(IPaymentGateway.class).size(),
+                gatewayCost.matchCount());
+        Assertions.assertTrue(gatewayCost.firstMatchVisits() <= gatewayCost.fullScanVisits());
+
+        /* a missing type scans every root child without descending */
+        ResolutionCost missingCost = findCost(report, Runnable.class);
+        Assertions.assertEquals(0, missingCost.matchCount());
+        Assertions.assertEquals(missingCost.firstMatchVisits(), missingCost.fullScanVisits());
+
+        List<ResolutionCost> mostExpensive = report.mostExpensive(2);
+        Assertions.assertEquals(2, mostExpensive.size());
+        Assertions.assertTrue(mostExpensive.get(0).firstMatchVisits() >= mostExpensive.get(1).firstMatchVisits());
+        Assertions.assertEquals(3, report.mostExpensive(10).size());
+    }
+
+    @Test
+    @DisplayName("The report is exported as JSON and the tree as DOT")
+    void exportTest() throws IOException {
+        DependencySearchTree dependencySearchTree = createNamedSearchTree();
+
+        StringWriter jsonWriter = new StringWriter();
+        TreeDiagnostics.analyze(dependencySearchTree).writeJson(jsonWriter);
+        String json = jsonWriter.toString();
+
+        Assertions.assertTrue(json.startsWith("{"));
+        Assertions.assertTrue(json.contains("\"depthHistogram\""));
+        Assertions.assertTrue(json.contains("\"" + PaypalPaymentGateway.class.getName() + "\": 2"));
+        Assertions.assertTrue(json.contains("\"firstMatchVisits\""));
+
+        StringWriter dotWriter = new StringWriter();
+        TreeDiagnostics.writeDot(dependencySearchTree, dotWriter);
+        String dot = dotWriter.toString();
+
+        Assertions.assertTrue(dot.startsWith("digraph DependencySearchTree {"));
+        Assertions.assertTrue(dot.contains("label=\"IPaymentGateway\", shape=ellipse"));
+        Assertions.assertTrue(dot.contains("label=\"CheckoutService\", shape=box"));
+        Assertions.assertTrue(dot.contains("n0 -> n1;"));
+    }
+
+    private static ResolutionCost findCost(TreeDiagnosticsReport report, Class<?> requestedType) {
+        return report.resolutionCosts().stream()
+                .filter(resolutionCost -> resolutionCost.requestedType() == requestedType)
+                .findFirst()
+                .orElseThrow();
+    }
+
+}
@@ -0,0 +1,60 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.composition.Production2EnvironmentController;
+import io.github.dependency4j.example.named.StripePaymentGateway;
+import io.github.dependency4j.example.other.DynamicComponent;
+import io.github.dependency4j.example.virtual.SecretsManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+@DisplayName("Eager type information resolved once per class")
+public class TypeInformationHolderTest {
+
+    @Test
+    @DisplayName("Type information is shared across lookups and managers")
+    void sharedTypeInformationTest() {
+
+        TypeInformationHolder typeInformationHolder =
+                TypeInformationHolderFactory.createTypeInformation(StripePaymentGateway.class);
+
+        Assertions.assertSame(typeInformationHolder,
+                TypeInformationHolderFactory.createTypeInformation(StripePaymentGateway.class));
+
+        Assertions.assertEquals("stripe", typeInformationHolder.getName());
+        Assertions.assertEquals(List.of("NamedQuery"), typeInformationHolder.getStrategies());
+        Assertions.assertTrue(typeInformationHolder.isDisposable());
+        Assertions.assertFalse(typeInformationHolder.isDynamic());
+    }
+
+    @Test
+    @DisplayName("Composed and mapped @Managed properties are decomposed eagerly")
+    void composedTypeInformationTest() {
+
+        TypeInformationHolder composedTypeInformation =
+                TypeInformationHolderFactory.createTypeInformation(Production2EnvironmentController.class);
+
+        Assertions.assertEquals("Production2EnvironmentController", composedTypeInformation.getName());
+        Assertions.assertEquals(List.of("QA_Prototype2"), composedTypeInformation.getStrategies());
+
+        Assertions.assertTrue(TypeInformationHolderFactory
+                .createTypeInformation(DynamicComponent.class).isDynamic());
+    }
+
+    @Test
+    @DisplayName("Non managed class types receive the default type information")
+    void defaultTypeInformationTest() {
+
+        TypeInformationHolder defaultTypeInformation =
+                TypeInformationHolderFactory.createTypeInformation(SecretsManager.class);
+
+        Assertions.assertEquals("SecretsManager", defaultTypeInformation.getName());
+        Assertions.assertTrue(defaultTypeInformation.getStrategies().isEmpty());
+        Assertions.assertTrue(defaultTypeInformation.isDisposable());
+        Assertions.assertFalse(defaultTypeInformation.isDynamic());
+        Assertions.assertSame(SecretsManager.class, defaultTypeInformation.getWrappedClassType());
+    }
+
+}
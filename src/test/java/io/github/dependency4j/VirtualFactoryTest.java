@@ -0,0 +1,94 @@
+package io.github.dependency4j;
+
+import io.github.dependency4j.example.factory.ForecastClock;
+import io.github.dependency4j.example.factory.ForecastFactories;
+import io.github.dependency4j.example.factory.RainfallModel;
+import io.github.dependency4j.example.factory.TemperatureModel;
+import io.github.dependency4j.example.snapshot.ReportConfig;
+import io.github.dependency4j.example.snapshot.ReportFormatter;
+import io.github.dependency4j.example.staticfactory.SensorCalibration;
+import io.github.dependency4j.example.staticfactory.SensorClock;
+import io.github.dependency4j.example.staticfactory.SensorFactories;
+import io.github.dependency4j.example.staticfactory.SensorMonitor;
+import io.github.dependency4j.util.ReflectionUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@DisplayName("Indexed virtual factories")
+public class VirtualFactoryTest {
+
+    @Test
+    @DisplayName("Virtual methods are looked up once per class")
+    void virtualMethodsCacheTest() {
+        List<Method> virtualMethods = ReflectionUtil.getVirtualMethods(ReportConfig.class);
+
+        Assertions.assertSame(virtualMethods, ReflectionUtil.getVirtualMethods(ReportConfig.class));
+        Assertions.assertEquals(1, virtualMethods.size());
+        Assertions.assertEquals("reportFormatter", virtualMethods.get(0).getName());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> virtualMethods.remove(0));
+    }
+
+    @Test
+    @DisplayName("Virtual methods are invoked through linked method handles")
+    void linkedInvokerTest() throws Throwable {
+        Method virtualMethod = ReflectionUtil.getVirtualMethods(ReportConfig.class).get(0);
+        VirtualMethodInvoker virtualMethodInvoker = VirtualMethodInvoker.of(virtualMethod);
+
+        Assertions.assertSame(virtualMethodInvoker, VirtualMethodInvoker.of(virtualMethod));
+        Assertions.assertTrue(virtualMethodInvoker.isLinked());
+
+        Object virtualProduct = virtualMethodInvoker.invoke(new ReportConfig(), new Object[0]);
+        Assertions.assertInstanceOf(ReportFormatter.class, virtualProduct);
+    }
+
+    @Test
+    @DisplayName("Static virtual methods are linked without a receiver")
+    void staticVirtualMethodTest() throws Throwable {
+        Method virtualMethod = ReflectionUtil.getVirtualMethods(SensorFactories.class).get(0);
+        VirtualMethodInvoker virtualMethodInvoker = VirtualMethodInvoker.of(virtualMethod);
+        Assertions.assertTrue(virtualMethodInvoker.isLinked());
+
+        SensorClock sensorClock = new SensorClock();
+        Object virtualProduct = virtualMethodInvoker.invoke(new SensorFactories(), new Object[] { sensorClock });
+        Assertions.assertSame(sensorClock, ((SensorCalibration) virtualProduct).getSensorClock());
+
+        DependencyManager dependencyManager = DependencyManager.builder()
+                .strategy("StaticFactory")
+                .installPackage("io.github.dependency4j.example.staticfactory")
+                .getDependencyManager();
+
+        SensorCalibration sensorCalibration = dependencyManager.query(SensorMonitor.class).getSensorCalibration();
+        Assertions.assertSame(sensorCalibration, dependencyManager.query(SensorCalibration.class));
+        Assertions.assertSame(dependencyManager.query(SensorClock.class), sensorCalibration.getSensorClock());
+    }
+
+    @Test
+    @DisplayName("Independent virtual beans of one parent are produced concurrently")
+    void concurrentVirtualProductionTest() {
+        ForecastFactories.reset();
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            DependencyManager dependencyManager = DependencyManager.builder()
+                    .strategy("Factory")
+                    .concurrentVirtualProduction(executorService)
+                    .installPackage("io.github.dependency4j.example.factory")
+                    .getDependencyManager();
+
+            TemperatureModel temperatureModel = dependencyManager.query(TemperatureModel.class);
+            RainfallModel rainfallModel = dependencyManager.query(RainfallModel.class);
+
+            Assertions.assertNotNull(temperatureModel);
+            Assertions.assertNotEquals(Thread.currentThread().getName(), temperatureModel.getProducerThread());
+            Assertions.assertSame(dependencyManager.query(ForecastClock.class), rainfallModel.getForecastClock());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+}
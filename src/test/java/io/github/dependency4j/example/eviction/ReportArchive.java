@@ -0,0 +1,30 @@
+package io.github.dependency4j.example.eviction;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Strategy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Managed(strategy = @Strategy("Eviction"))
+public class ReportArchive {
+
+    private static final AtomicInteger CREATIONS = new AtomicInteger();
+
+    private final byte[] archivedReports = new byte[64 * 1024];
+
+    public ReportArchive() {
+        CREATIONS.incrementAndGet();
+    }
+
+    public int size() {
+        return archivedReports.length;
+    }
+
+    public static int getCreations() {
+        return CREATIONS.get();
+    }
+
+    public static void reset() {
+        CREATIONS.set(0);
+    }
+}
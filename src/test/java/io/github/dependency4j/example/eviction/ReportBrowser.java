@@ -0,0 +1,15 @@
+package io.github.dependency4j.example.eviction;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Pull;
+import io.github.dependency4j.Strategy;
+
+@Managed(strategy = @Strategy("Eviction"))
+public class ReportBrowser {
+
+    private @Pull ReportIndex reportIndex;
+
+    public ReportIndex getReportIndex() {
+        return reportIndex;
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.dependency4j.example.eviction;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Strategy;
+
+@Managed(strategy = @Strategy("Eviction"))
+public class ReportExporter implements AutoCloseable {
+
+    @Override
+    public void close() {
+    }
+}
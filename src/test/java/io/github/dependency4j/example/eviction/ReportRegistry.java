@@ -0,0 +1,7 @@
+package io.github.dependency4j.example.eviction;
+
+import io.github.dependency4j.Managed;
+
+@Managed(disposable = false)
+public class ReportRegistry {
+}
@@ -0,0 +1,44 @@
+package io.github.dependency4j.example.factory;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Strategy;
+import io.github.dependency4j.Virtual;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Both factories wait for each other, so they only complete when they run concurrently.
+ **/
+@Managed(strategy = @Strategy("Factory"))
+public class ForecastFactories {
+
+    private static volatile CountDownLatch productionBarrier = new CountDownLatch(2);
+
+    @Virtual
+    public TemperatureModel temperatureModel() {
+        awaitOtherFactory();
+        return new TemperatureModel(Thread.currentThread().getName());
+    }
+
+    @Virtual
+    public RainfallModel rainfallModel(ForecastClock forecastClock) {
+        awaitOtherFactory();
+        return new RainfallModel(forecastClock);
+    }
+
+    private static void awaitOtherFactory() {
+        productionBarrier.countDown();
+        try {
+            if (!productionBarrier.await(5, TimeUnit.SECONDS))
+                throw new IllegalStateException("The factories did not run concurrently.");
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    public static void reset() {
+        productionBarrier = new CountDownLatch(2);
+    }
+}
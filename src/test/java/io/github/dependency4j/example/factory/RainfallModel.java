@@ -0,0 +1,14 @@
+package io.github.dependency4j.example.factory;
+
+public class RainfallModel {
+
+    private final ForecastClock forecastClock;
+
+    public RainfallModel(ForecastClock forecastClock) {
+        this.forecastClock = forecastClock;
+    }
+
+    public ForecastClock getForecastClock() {
+        return forecastClock;
+    }
+}
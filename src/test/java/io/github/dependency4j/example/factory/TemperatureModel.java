@@ -0,0 +1,14 @@
+package io.github.dependency4j.example.factory;
+
+public class TemperatureModel {
+
+    private final String producerThread;
+
+    public TemperatureModel(String producerThread) {
+        this.producerThread = producerThread;
+    }
+
+    public String getProducerThread() {
+        return producerThread;
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.dependency4j.example.named;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Pull;
+import io.github.dependency4j.Strategy;
+
+@Managed(strategy = @Strategy("NamedQuery"))
+public class CheckoutService {
+
+    private @Pull("paypal") IPaymentGateway paymentGateway;
+
+    private @Pull(value = "unknown", retrieveAnyways = false) IPaymentGateway unknownPaymentGateway;
+
+    public IPaymentGateway getPaymentGateway() {
+        return paymentGateway;
+    }
+
+    public IPaymentGateway getUnknownPaymentGateway() {
+        return unknownPaymentGateway;
+    }
+}
@@ -0,0 +1,7 @@
+package io.github.dependency4j.example.named;
+
+public interface IPaymentGateway {
+
+    String providerName();
+
+}
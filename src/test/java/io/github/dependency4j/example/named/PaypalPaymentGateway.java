@@ -0,0 +1,13 @@
+package io.github.dependency4j.example.named;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Strategy;
+
+@Managed(name = "paypal", strategy = @Strategy("NamedQuery"))
+public class PaypalPaymentGateway implements IPaymentGateway {
+
+    @Override
+    public String providerName() {
+        return "Paypal";
+    }
+}
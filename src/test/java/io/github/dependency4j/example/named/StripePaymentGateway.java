@@ -0,0 +1,13 @@
+package io.github.dependency4j.example.named;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Strategy;
+
+@Managed(name = "stripe", strategy = @Strategy("NamedQuery"))
+public class StripePaymentGateway implements IPaymentGateway {
+
+    @Override
+    public String providerName() {
+        return "Stripe";
+    }
+}
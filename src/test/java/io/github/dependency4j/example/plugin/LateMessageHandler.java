@@ -0,0 +1,12 @@
+package io.github.dependency4j.example.plugin;
+
+import io.github.dependency4j.Managed;
+
+@Managed(dynamic = true)
+public class LateMessageHandler implements MessageHandler {
+
+    @Override
+    public String handle(String message) {
+        return "late:" + message;
+    }
+}
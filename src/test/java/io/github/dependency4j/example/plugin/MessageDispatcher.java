@@ -0,0 +1,28 @@
+package io.github.dependency4j.example.plugin;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Pull;
+import io.github.dependency4j.Strategy;
+
+import java.util.Collection;
+import java.util.List;
+
+@Managed(strategy = @Strategy("QueryAll"))
+public class MessageDispatcher {
+
+    private final Collection<MessageHandler> constructorHandlers;
+
+    private @Pull List<MessageHandler> fieldHandlers;
+
+    public @Pull MessageDispatcher(Collection<? extends MessageHandler> constructorHandlers) {
+        this.constructorHandlers = List.copyOf(constructorHandlers);
+    }
+
+    public Collection<MessageHandler> getConstructorHandlers() {
+        return constructorHandlers;
+    }
+
+    public List<MessageHandler> getFieldHandlers() {
+        return fieldHandlers;
+    }
+}
@@ -0,0 +1,7 @@
+package io.github.dependency4j.example.plugin;
+
+public interface MessageHandler {
+
+    String handle(String message);
+
+}
@@ -0,0 +1,13 @@
+package io.github.dependency4j.example.plugin;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Strategy;
+
+@Managed(strategy = @Strategy("QueryAll"))
+public class MetricsMessageHandler implements MessageHandler {
+
+    @Override
+    public String handle(String message) {
+        return "metrics:" + message;
+    }
+}
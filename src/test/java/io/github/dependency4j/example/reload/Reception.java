@@ -0,0 +1,7 @@
+package io.github.dependency4j.example.reload;
+
+public interface Reception {
+
+    Greeting getGreeting();
+
+}
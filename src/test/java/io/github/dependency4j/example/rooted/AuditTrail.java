@@ -0,0 +1,20 @@
+package io.github.dependency4j.example.rooted;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Pull;
+import io.github.dependency4j.Strategy;
+
+@Managed(strategy = @Strategy("Rooted"))
+public class AuditTrail {
+
+    private final Checkout checkout;
+
+    @Pull
+    public AuditTrail(Checkout checkout) {
+        this.checkout = checkout;
+    }
+
+    public Checkout getCheckout() {
+        return checkout;
+    }
+}
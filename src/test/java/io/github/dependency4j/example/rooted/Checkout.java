@@ -0,0 +1,26 @@
+package io.github.dependency4j.example.rooted;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Pull;
+import io.github.dependency4j.Strategy;
+
+@Managed(strategy = @Strategy("Rooted"))
+public class Checkout {
+
+    private final Cart cart;
+    private final PriceList priceList;
+
+    @Pull
+    public Checkout(Cart cart, PriceList priceList) {
+        this.cart = cart;
+        this.priceList = priceList;
+    }
+
+    public Cart getCart() {
+        return cart;
+    }
+
+    public PriceList getPriceList() {
+        return priceList;
+    }
+}
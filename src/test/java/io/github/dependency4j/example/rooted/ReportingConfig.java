@@ -0,0 +1,14 @@
+package io.github.dependency4j.example.rooted;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Strategy;
+import io.github.dependency4j.Virtual;
+
+@Managed(strategy = @Strategy("Rooted"))
+public class ReportingConfig {
+
+    @Virtual
+    public SalesReport salesReport(Cart cart) {
+        return new SalesReport(cart);
+    }
+}
@@ -0,0 +1,4 @@
+package io.github.dependency4j.example.rooted;
+
+public record SalesReport(Cart cart) {
+}
@@ -0,0 +1,8 @@
+package io.github.dependency4j.example.sharedname;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Strategy;
+
+@Managed(name = "archive", strategy = @Strategy("SharedName"))
+public class DiskArchive extends AbstractArchive {
+}
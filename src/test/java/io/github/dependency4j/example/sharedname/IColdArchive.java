@@ -0,0 +1,4 @@
+package io.github.dependency4j.example.sharedname;
+
+public interface IColdArchive extends IArchive {
+}
@@ -0,0 +1,63 @@
+package io.github.dependency4j.example.shutdown;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public final class CloseRecorder {
+
+    private static final List<Class<?>> CLOSED_TYPES = new CopyOnWriteArrayList<>();
+    private static final List<Class<?>> OVERLAPPING_TYPES = new CopyOnWriteArrayList<>();
+
+    private static volatile CountDownLatch parallelCloseLatch = new CountDownLatch(2);
+    private static volatile CountDownLatch hangingCloseLatch = new CountDownLatch(1);
+
+    private CloseRecorder() {}
+
+    public static void closing(Object closedBean) {
+        CLOSED_TYPES.add(closedBean.getClass());
+    }
+
+    /* both branches must be closing at the same time to pass the latch */
+    public static void closingInParallel(Object closedBean) {
+        CountDownLatch currentLatch = parallelCloseLatch;
+        currentLatch.countDown();
+        try {
+            if (currentLatch.await(5, TimeUnit.SECONDS))
+                OVERLAPPING_TYPES.add(closedBean.getClass());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        closing(closedBean);
+    }
+
+    /* blocks until the test releases it, without recording the close */
+    public static void hang() {
+        try {
+            hangingCloseLatch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void releaseHangingClose() {
+        hangingCloseLatch.countDown();
+    }
+
+    public static List<Class<?>> getClosedTypes() {
+        return CLOSED_TYPES;
+    }
+
+    public static List<Class<?>> getOverlappingTypes() {
+        return OVERLAPPING_TYPES;
+    }
+
+    public static void reset() {
+        releaseHangingClose();
+        CLOSED_TYPES.clear();
+        OVERLAPPING_TYPES.clear();
+        parallelCloseLatch = new CountDownLatch(2);
+        hangingCloseLatch  = new CountDownLatch(1);
+    }
+}
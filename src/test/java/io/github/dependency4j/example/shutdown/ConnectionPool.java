@@ -0,0 +1,13 @@
+package io.github.dependency4j.example.shutdown;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Strategy;
+
+@Managed(strategy = @Strategy({"Shutdown", "ShutdownTimeout"}))
+public class ConnectionPool implements AutoCloseable {
+
+    @Override
+    public void close() {
+        CloseRecorder.closing(this);
+    }
+}
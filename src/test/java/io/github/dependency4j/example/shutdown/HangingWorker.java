@@ -0,0 +1,16 @@
+package io.github.dependency4j.example.shutdown;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Pull;
+import io.github.dependency4j.Strategy;
+
+@Managed(strategy = @Strategy("ShutdownTimeout"))
+public class HangingWorker implements AutoCloseable {
+
+    private @Pull ConnectionPool connectionPool;
+
+    @Override
+    public void close() {
+        CloseRecorder.hang();
+    }
+}
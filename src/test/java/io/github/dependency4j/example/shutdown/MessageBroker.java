@@ -0,0 +1,21 @@
+package io.github.dependency4j.example.shutdown;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Pull;
+import io.github.dependency4j.Strategy;
+
+@Managed(strategy = @Strategy("Shutdown"))
+public class MessageBroker implements AutoCloseable {
+
+    private final ConnectionPool connectionPool;
+
+    @Pull
+    public MessageBroker(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    @Override
+    public void close() {
+        CloseRecorder.closing(this);
+    }
+}
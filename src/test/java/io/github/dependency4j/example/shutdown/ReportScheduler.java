@@ -0,0 +1,16 @@
+package io.github.dependency4j.example.shutdown;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Pull;
+import io.github.dependency4j.Strategy;
+
+@Managed(strategy = @Strategy("Shutdown"))
+public class ReportScheduler implements AutoCloseable {
+
+    private @Pull MessageBroker messageBroker;
+
+    @Override
+    public void close() {
+        CloseRecorder.closingInParallel(this);
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.dependency4j.example.snapshot;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Strategy;
+import io.github.dependency4j.Virtual;
+
+@Managed(strategy = @Strategy("Snapshot"))
+public class ReportConfig {
+
+    @Virtual
+    public ReportFormatter reportFormatter() {
+        return new ReportFormatter("csv");
+    }
+}
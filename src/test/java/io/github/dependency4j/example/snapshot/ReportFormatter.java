@@ -0,0 +1,14 @@
+package io.github.dependency4j.example.snapshot;
+
+public class ReportFormatter {
+
+    private final String format;
+
+    public ReportFormatter(String format) {
+        this.format = format;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+}
@@ -0,0 +1,7 @@
+package io.github.dependency4j.example.snapshot;
+
+public interface ReportRepository {
+
+    String findReportName();
+
+}
@@ -0,0 +1,26 @@
+package io.github.dependency4j.example.snapshot;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Pull;
+import io.github.dependency4j.Strategy;
+
+@Managed(strategy = @Strategy("Snapshot"))
+public class ReportService {
+
+    private final ReportRepository reportRepository;
+    private final ReportFormatter reportFormatter;
+
+    @Pull
+    public ReportService(ReportRepository reportRepository, ReportFormatter reportFormatter) {
+        this.reportRepository = reportRepository;
+        this.reportFormatter = reportFormatter;
+    }
+
+    public ReportRepository getReportRepository() {
+        return reportRepository;
+    }
+
+    public ReportFormatter getReportFormatter() {
+        return reportFormatter;
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.dependency4j.example.snapshot;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Strategy;
+
+@Managed(name = "sql", strategy = @Strategy("Snapshot"))
+public class SqlReportRepository implements ReportRepository {
+
+    @Override
+    public String findReportName() {
+        return "monthly";
+    }
+}
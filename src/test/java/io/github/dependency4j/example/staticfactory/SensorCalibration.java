@@ -0,0 +1,14 @@
+package io.github.dependency4j.example.staticfactory;
+
+public class SensorCalibration {
+
+    private final SensorClock sensorClock;
+
+    public SensorCalibration(SensorClock sensorClock) {
+        this.sensorClock = sensorClock;
+    }
+
+    public SensorClock getSensorClock() {
+        return sensorClock;
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.dependency4j.example.staticfactory;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Strategy;
+
+@Managed(strategy = @Strategy("StaticFactory"))
+public class SensorClock {
+}
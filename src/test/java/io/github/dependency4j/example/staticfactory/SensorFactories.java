@@ -0,0 +1,14 @@
+package io.github.dependency4j.example.staticfactory;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Strategy;
+import io.github.dependency4j.Virtual;
+
+@Managed(strategy = @Strategy("StaticFactory"))
+public class SensorFactories {
+
+    @Virtual
+    public static SensorCalibration sensorCalibration(SensorClock sensorClock) {
+        return new SensorCalibration(sensorClock);
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.dependency4j.example.staticfactory;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Pull;
+import io.github.dependency4j.Strategy;
+
+@Managed(strategy = @Strategy("StaticFactory"))
+public class SensorMonitor {
+
+    private final SensorCalibration sensorCalibration;
+
+    @Pull
+    public SensorMonitor(SensorCalibration sensorCalibration) {
+        this.sensorCalibration = sensorCalibration;
+    }
+
+    public SensorCalibration getSensorCalibration() {
+        return sensorCalibration;
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.dependency4j.example.tenant;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Pull;
+import io.github.dependency4j.Strategy;
+import io.github.dependency4j.example.snapshot.ReportRepository;
+import io.github.dependency4j.example.snapshot.ReportService;
+
+@Managed(strategy = @Strategy("Tenant"))
+public class TenantGreeter {
+
+    private final ReportService reportService;
+    private final ReportRepository reportRepository;
+
+    @Pull
+    public TenantGreeter(ReportService reportService, ReportRepository reportRepository) {
+        this.reportService = reportService;
+        this.reportRepository = reportRepository;
+    }
+
+    public ReportService getReportService() {
+        return reportService;
+    }
+
+    public ReportRepository getReportRepository() {
+        return reportRepository;
+    }
+}
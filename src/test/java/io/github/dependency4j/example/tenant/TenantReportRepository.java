@@ -0,0 +1,14 @@
+package io.github.dependency4j.example.tenant;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Strategy;
+import io.github.dependency4j.example.snapshot.ReportRepository;
+
+@Managed(name = "tenant", strategy = @Strategy("Tenant"))
+public class TenantReportRepository implements ReportRepository {
+
+    @Override
+    public String findReportName() {
+        return "tenant";
+    }
+}
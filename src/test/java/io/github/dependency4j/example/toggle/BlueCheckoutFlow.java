@@ -0,0 +1,13 @@
+package io.github.dependency4j.example.toggle;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Strategy;
+
+@Managed(strategy = @Strategy("Blue"))
+public class BlueCheckoutFlow implements CheckoutFlow {
+
+    @Override
+    public String variant() {
+        return "blue";
+    }
+}
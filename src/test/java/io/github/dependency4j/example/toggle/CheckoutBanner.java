@@ -0,0 +1,14 @@
+package io.github.dependency4j.example.toggle;
+
+public class CheckoutBanner {
+
+    private final String message;
+
+    public CheckoutBanner(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.dependency4j.example.toggle;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Pull;
+import io.github.dependency4j.Strategy;
+
+@Managed(strategy = @Strategy({"Blue", "Green"}))
+public class CheckoutController {
+
+    private @Pull CheckoutFlow checkoutFlow;
+    private @Pull PaymentClock paymentClock;
+
+    public CheckoutFlow getCheckoutFlow() {
+        return checkoutFlow;
+    }
+
+    public PaymentClock getPaymentClock() {
+        return paymentClock;
+    }
+}
@@ -0,0 +1,7 @@
+package io.github.dependency4j.example.toggle;
+
+public interface CheckoutFlow {
+
+    String variant();
+
+}
@@ -0,0 +1,26 @@
+package io.github.dependency4j.example.toggle;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Pull;
+import io.github.dependency4j.Strategy;
+
+@Managed(strategy = @Strategy({"Blue", "Green"}))
+public class CheckoutReporter {
+
+    private CheckoutFlow checkoutFlow;
+    private int wiringCount;
+
+    @Pull
+    public void setCheckoutFlow(CheckoutFlow checkoutFlow) {
+        this.checkoutFlow = checkoutFlow;
+        wiringCount++;
+    }
+
+    public CheckoutFlow getCheckoutFlow() {
+        return checkoutFlow;
+    }
+
+    public int getWiringCount() {
+        return wiringCount;
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.dependency4j.example.toggle;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Strategy;
+import io.github.dependency4j.Virtual;
+
+@Managed(strategy = @Strategy("Green"))
+public class GreenPromotions {
+
+    @Virtual
+    public CheckoutBanner checkoutBanner() {
+        return new CheckoutBanner("Free shipping");
+    }
+}
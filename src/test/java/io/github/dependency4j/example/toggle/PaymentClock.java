@@ -0,0 +1,8 @@
+package io.github.dependency4j.example.toggle;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Strategy;
+
+@Managed(strategy = @Strategy({"Blue", "Green"}))
+public class PaymentClock {
+}
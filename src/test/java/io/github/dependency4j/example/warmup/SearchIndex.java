@@ -0,0 +1,19 @@
+package io.github.dependency4j.example.warmup;
+
+import io.github.dependency4j.Managed;
+import io.github.dependency4j.Strategy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@Managed(strategy = @Strategy("WarmUp"))
+public class SearchIndex {
+
+    public static final CountDownLatch BUILD_STARTED = new CountDownLatch(1);
+    public static final CountDownLatch BUILD_RELEASED = new CountDownLatch(1);
+
+    public SearchIndex() throws InterruptedException {
+        BUILD_STARTED.countDown();
+        BUILD_RELEASED.await(10, TimeUnit.SECONDS);
+    }
+}